@@ -0,0 +1,171 @@
+package de.metas.ui.web.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.adempiere.ad.expression.api.ConstantLogicExpression;
+import org.adempiere.ad.expression.api.impl.LogicExpressionCompiler;
+import org.adempiere.test.AdempiereTestHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+
+import de.metas.ui.web.window.datatypes.DocumentId;
+import de.metas.ui.web.window.datatypes.DocumentType;
+import de.metas.ui.web.window.datatypes.json.JSONDocumentField;
+import de.metas.ui.web.window.descriptor.DocumentEntityDescriptor;
+import de.metas.ui.web.window.descriptor.DocumentFieldDescriptor;
+import de.metas.ui.web.window.descriptor.DocumentFieldDescriptor.Characteristic;
+import de.metas.ui.web.window.descriptor.DocumentFieldWidgetType;
+import de.metas.ui.web.window.model.Document;
+import de.metas.ui.web.window.model.Document.CopyMode;
+import de.metas.ui.web.window.model.IDocumentChangesCollector.ReasonSupplier;
+import de.metas.ui.web.window.model.NullDocumentChangesCollector;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * {@link Document} operations which are executed on each document REST call: check-out/check-in (copy), field changes propagated to the depending fields and JSON serialization.
+ * <p>
+ * The document is an in-memory document (no data binding), so no database is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DocumentBenchmark
+{
+	private static final String FIELDNAME_Trigger = "Trigger";
+	private static final String FIELDNAME_Qty = "Qty";
+	private static final ReasonSupplier REASON = () -> "benchmark";
+	private static final String AD_Language = "en_US";
+
+	@Param({ "20", "200" })
+	private int fieldsCount;
+
+	private final ObjectMapper jsonMapper = new ObjectMapper();
+
+	private Document document;
+	private Document writableDocument;
+	private boolean triggerValue = false;
+	private int qtyValue = 0;
+
+	@Setup
+	public void setup()
+	{
+		AdempiereTestHelper.get().init();
+
+		final DocumentEntityDescriptor entityDescriptor = createEntityDescriptor(fieldsCount);
+		document = Document.builder(entityDescriptor)
+				.initializeAsNewDocument(DocumentId.of(1000000), "0")
+				.copy(CopyMode.CheckInReadonly, NullDocumentChangesCollector.instance);
+		writableDocument = document.copy(CopyMode.CheckOutWritable, NullDocumentChangesCollector.instance);
+	}
+
+	/**
+	 * Creates an entity with two "driver" fields and N fields whose display/mandatory logic depends on them.
+	 */
+	private static DocumentEntityDescriptor createEntityDescriptor(final int fieldsCount)
+	{
+		final DocumentEntityDescriptor.Builder entityDescriptor = DocumentEntityDescriptor.builder()
+				.setDocumentType(DocumentType.Window, 1000000)
+				.setCaption("Benchmark")
+				.disableDefaultTableCallouts();
+
+		entityDescriptor.addField(DocumentFieldDescriptor.builder(FIELDNAME_Trigger)
+				.setCaption(FIELDNAME_Trigger)
+				.setWidgetType(DocumentFieldWidgetType.YesNo)
+				.setValueClass(Boolean.class)
+				.setReadonlyLogic(false)
+				.setDisplayLogic(true)
+				.setMandatoryLogic(false)
+				.addCharacteristic(Characteristic.PublicField));
+
+		entityDescriptor.addField(DocumentFieldDescriptor.builder(FIELDNAME_Qty)
+				.setCaption(FIELDNAME_Qty)
+				.setWidgetType(DocumentFieldWidgetType.Integer)
+				.setValueClass(Integer.class)
+				.setReadonlyLogic(false)
+				.setDisplayLogic(true)
+				.setMandatoryLogic(false)
+				.addCharacteristic(Characteristic.PublicField));
+
+		for (int i = 1; i <= fieldsCount; i++)
+		{
+			final String fieldName = "Field" + i;
+			entityDescriptor.addField(DocumentFieldDescriptor.builder(fieldName)
+					.setCaption(fieldName)
+					.setWidgetType(DocumentFieldWidgetType.Text)
+					.setValueClass(String.class)
+					.setReadonlyLogic(LogicExpressionCompiler.instance.compile("@" + FIELDNAME_Qty + "@<0"))
+					.setDisplayLogic("@" + FIELDNAME_Trigger + "@=Y")
+					.setMandatoryLogic(i % 2 == 0 ? LogicExpressionCompiler.instance.compile("@" + FIELDNAME_Qty + "@>10") : ConstantLogicExpression.FALSE)
+					.addCharacteristic(Characteristic.PublicField));
+		}
+
+		return entityDescriptor.build();
+	}
+
+	@Benchmark
+	public Document checkOutAndCheckIn()
+	{
+		final Document documentCopy = document.copy(CopyMode.CheckOutWritable, NullDocumentChangesCollector.instance);
+		return documentCopy.copy(CopyMode.CheckInReadonly, NullDocumentChangesCollector.instance);
+	}
+
+	@Benchmark
+	public Document processValueChange_triggerDependencies()
+	{
+		triggerValue = !triggerValue;
+		writableDocument.processValueChange(FIELDNAME_Trigger, triggerValue, REASON);
+
+		qtyValue = qtyValue > 20 ? 0 : qtyValue + 1;
+		writableDocument.processValueChange(FIELDNAME_Qty, qtyValue, REASON);
+
+		return writableDocument;
+	}
+
+	@Benchmark
+	public byte[] jsonSerialize() throws JsonProcessingException
+	{
+		final List<JSONDocumentField> jsonFields = document.getFieldViews()
+				.stream()
+				.map(field -> JSONDocumentField.ofDocumentField(field, AD_Language))
+				.collect(ImmutableList.toImmutableList());
+		return jsonMapper.writeValueAsBytes(jsonFields);
+	}
+}
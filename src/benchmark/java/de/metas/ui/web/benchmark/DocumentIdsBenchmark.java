@@ -0,0 +1,105 @@
+package de.metas.ui.web.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.ContiguousSet;
+import com.google.common.collect.DiscreteDomain;
+import com.google.common.collect.Range;
+
+import de.metas.ui.web.window.datatypes.DocumentId;
+import de.metas.ui.web.window.datatypes.DocumentIdsSelection;
+import de.metas.ui.web.window.datatypes.DocumentPath;
+import de.metas.ui.web.window.datatypes.WindowId;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Parsing of the document identifiers which are coming with (almost) each REST request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DocumentIdsBenchmark
+{
+	private final WindowId windowId = WindowId.of(143);
+
+	private String documentIdsListStr;
+
+	@Setup
+	public void setup()
+	{
+		documentIdsListStr = Joiner.on(",").join(ContiguousSet.create(Range.closed(1000000, 1000500), DiscreteDomain.integers()));
+	}
+
+	@Benchmark
+	public DocumentId documentId_ofIntString()
+	{
+		return DocumentId.of("1000123");
+	}
+
+	@Benchmark
+	public DocumentId documentId_ofString()
+	{
+		return DocumentId.of("D1000123-ABC");
+	}
+
+	@Benchmark
+	public DocumentPath documentPath_root()
+	{
+		return DocumentPath.rootDocumentPath(windowId, "1000123");
+	}
+
+	@Benchmark
+	public DocumentPath documentPath_included()
+	{
+		return DocumentPath.includedDocumentPath(windowId, "1000123", "1", "1000456");
+	}
+
+	@Benchmark
+	public List<DocumentPath> documentPath_rootsList()
+	{
+		return DocumentPath.rootDocumentPathsList(windowId, documentIdsListStr);
+	}
+
+	@Benchmark
+	public DocumentIdsSelection documentIdsSelection_ofCommaSeparatedString()
+	{
+		return DocumentIdsSelection.ofCommaSeparatedString(documentIdsListStr);
+	}
+}
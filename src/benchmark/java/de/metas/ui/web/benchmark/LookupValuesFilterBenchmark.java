@@ -0,0 +1,89 @@
+package de.metas.ui.web.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.metas.ui.web.window.datatypes.LookupValue.IntegerLookupValue;
+import de.metas.ui.web.window.datatypes.LookupValuesList;
+import de.metas.ui.web.window.model.lookup.LookupValueFilterPredicates;
+import de.metas.ui.web.window.model.lookup.LookupValueFilterPredicates.LookupValueFilterPredicate;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Filtering of a fully cached lookup (e.g. when the user is typing into a list field).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LookupValuesFilterBenchmark
+{
+	@Param({ "100", "10000" })
+	private int lookupValuesCount;
+
+	private LookupValuesList lookupValues;
+	private LookupValueFilterPredicate filter;
+
+	@Setup
+	public void setup()
+	{
+		lookupValues = IntStream.range(1, lookupValuesCount + 1)
+				.mapToObj(id -> IntegerLookupValue.of(id, "Business Partner " + id + " GmbH"))
+				.collect(LookupValuesList.collect());
+
+		filter = LookupValueFilterPredicates.of("partner 1");
+	}
+
+	@Benchmark
+	public LookupValuesList filter_firstPage()
+	{
+		return lookupValues.filter(filter, 0, 10);
+	}
+
+	@Benchmark
+	public LookupValuesList filter_all()
+	{
+		return lookupValues.filter(filter, 0, -1);
+	}
+
+	@Benchmark
+	public boolean containsId()
+	{
+		return lookupValues.containsId(lookupValuesCount / 2);
+	}
+}
@@ -0,0 +1,119 @@
+package de.metas.ui.web.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.metas.ui.web.menu.MenuNode;
+import de.metas.ui.web.menu.MenuNode.MenuNodeType;
+import de.metas.ui.web.menu.MenuTree;
+import de.metas.ui.web.window.datatypes.DocumentId;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Menu search on a menu tree of a typical size (a few thousand nodes).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MenuTreeFilterBenchmark
+{
+	private static final int GROUPS_COUNT = 30;
+	private static final int SUBGROUPS_COUNT = 10;
+	private static final int LEAFS_COUNT = 10;
+
+	private MenuTree menuTree;
+
+	@Setup
+	public void setup()
+	{
+		int nextMenuId = 1;
+		final MenuNode.Builder root = MenuNode.builder()
+				.setAD_Menu_ID(0)
+				.setCaption("Root")
+				.setTypeGroup();
+
+		for (int g = 1; g <= GROUPS_COUNT; g++)
+		{
+			final MenuNode.Builder group = MenuNode.builder()
+					.setAD_Menu_ID(nextMenuId++)
+					.setCaption("Group " + g)
+					.setTypeGroup();
+
+			for (int sg = 1; sg <= SUBGROUPS_COUNT; sg++)
+			{
+				final MenuNode.Builder subgroup = MenuNode.builder()
+						.setAD_Menu_ID(nextMenuId++)
+						.setCaption("Subgroup " + g + "." + sg)
+						.setTypeGroup();
+
+				for (int l = 1; l <= LEAFS_COUNT; l++)
+				{
+					final int menuId = nextMenuId++;
+					subgroup.addChild(MenuNode.builder()
+							.setAD_Menu_ID(menuId)
+							.setCaption((l % 2 == 0 ? "Sales Order " : "Purchase Invoice ") + g + "." + sg + "." + l)
+							.setType(MenuNodeType.Window, DocumentId.of(menuId))
+							.build());
+				}
+
+				group.addChild(subgroup.build());
+			}
+
+			root.addChild(group.build());
+		}
+
+		menuTree = MenuTree.of(1, root.build());
+	}
+
+	@Benchmark
+	public MenuNode filter_manyMatches()
+	{
+		return menuTree.filter("order", false);
+	}
+
+	@Benchmark
+	public MenuNode filter_fewMatches()
+	{
+		return menuTree.filter("invoice 7.3.", false);
+	}
+
+	@Benchmark
+	public MenuNode filter_includeLeafsIfGroupAccepted()
+	{
+		return menuTree.filter("subgroup 1", true);
+	}
+}
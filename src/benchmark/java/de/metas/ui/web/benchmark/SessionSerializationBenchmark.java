@@ -0,0 +1,85 @@
+package de.metas.ui.web.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.adempiere.test.AdempiereTestHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.session.MapSession;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import de.metas.ui.web.session.MapSessionHazelcastSerializerTest;
+import de.metas.ui.web.window.MockedRequestAttributes;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Per-request HTTP session serialization overhead: compact hazelcast format vs. java serialization.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SessionSerializationBenchmark
+{
+	private MapSession session;
+
+	@Setup
+	public void setup()
+	{
+		AdempiereTestHelper.get().init();
+		RequestContextHolder.setRequestAttributes(new MockedRequestAttributes());
+
+		session = MapSessionHazelcastSerializerTest.createTypicalSession();
+	}
+
+	@TearDown
+	public void tearDown()
+	{
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Benchmark
+	public byte[] serialize_compact() throws IOException
+	{
+		return MapSessionHazelcastSerializerTest.serializeCompact(session);
+	}
+
+	@Benchmark
+	public byte[] serialize_java() throws IOException
+	{
+		return MapSessionHazelcastSerializerTest.serializeJava(session);
+	}
+}
@@ -0,0 +1,125 @@
+package de.metas.ui.web.benchmark;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+
+import de.metas.ui.web.view.IViewRow;
+import de.metas.ui.web.view.ViewRow;
+import de.metas.ui.web.view.json.JSONViewRow;
+import de.metas.ui.web.view.json.JSONViewRowsList;
+import de.metas.ui.web.window.datatypes.WindowId;
+import de.metas.ui.web.window.datatypes.json.JSONDate;
+import de.metas.ui.web.window.datatypes.json.JSONLookupValue;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * JSON serialization of a view page, i.e. what the frontend is fetching when scrolling in a grid view.
+ * <p>
+ * Compare {@link #convertAndWrite()} (intermediate {@link JSONViewRow}s) with {@link #streamAndWrite()} (rows written directly by the generator).
+ * The allocation per page is reported as <code>gc.alloc.rate.norm</code> by the GC profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ViewRowsJsonBenchmark
+{
+	private static final String AD_Language = "en_US";
+
+	@Param({ "20", "100" })
+	private int pageLength;
+
+	private final ObjectMapper jsonMapper = new ObjectMapper();
+
+	private List<IViewRow> page;
+
+	@Setup
+	public void setup()
+	{
+		final WindowId windowId = WindowId.of(143);
+		final String dateJson = JSONDate.toJson(System.currentTimeMillis());
+
+		final ImmutableList.Builder<IViewRow> page = ImmutableList.builder();
+		for (int i = 1; i <= pageLength; i++)
+		{
+			page.add(ViewRow.builder(windowId)
+					.setRowIdFromObject(1000000 + i)
+					.putFieldValue("DocumentNo", "SO" + (10000 + i))
+					.putFieldValue("DateOrdered", dateJson)
+					.putFieldValue("C_BPartner_ID", JSONLookupValue.of(2000000 + i, "Business Partner " + i))
+					.putFieldValue("M_Warehouse_ID", JSONLookupValue.of(540000, "Main Warehouse"))
+					.putFieldValue("DocStatus", JSONLookupValue.of("CO", "Completed"))
+					.putFieldValue("GrandTotal", new BigDecimal("1234.56").add(BigDecimal.valueOf(i)))
+					.putFieldValue("IsSOTrx", true)
+					.putFieldValue("Description", "Some description of order " + i)
+					.build());
+		}
+		this.page = page.build();
+	}
+
+	@Benchmark
+	public List<JSONViewRow> convertToJSONRows()
+	{
+		return JSONViewRow.ofViewRows(page, AD_Language);
+	}
+
+	@Benchmark
+	public byte[] convertAndSerialize() throws JsonProcessingException
+	{
+		return jsonMapper.writeValueAsBytes(JSONViewRow.ofViewRows(page, AD_Language));
+	}
+
+	@Benchmark
+	public void convertAndWrite() throws IOException
+	{
+		jsonMapper.writeValue(ByteStreams.nullOutputStream(), JSONViewRow.ofViewRows(page, AD_Language));
+	}
+
+	@Benchmark
+	public void streamAndWrite() throws IOException
+	{
+		jsonMapper.writeValue(ByteStreams.nullOutputStream(), JSONViewRowsList.of(page, AD_Language));
+	}
+}
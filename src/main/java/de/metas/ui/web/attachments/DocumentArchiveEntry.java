@@ -75,4 +75,10 @@ class DocumentArchiveEntry implements IDocumentAttachmentEntry
 		return archiveBL.getContentType(archive);
 	}
 
+	@Override
+	public long getVersion()
+	{
+		return archive.getUpdated().getTime();
+	}
+
 }
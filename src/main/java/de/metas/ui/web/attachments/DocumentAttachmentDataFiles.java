@@ -0,0 +1,301 @@
+package de.metas.ui.web.attachments;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.adempiere.util.Check;
+import org.adempiere.util.lang.ITableRecordReference;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileCopyUtils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+
+import de.metas.logging.LogManager;
+import de.metas.ui.web.window.datatypes.DocumentId;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Spools attachment/archive entries data to local files, so downloads are streamed from disk (including HTTP Range requests)
+ * instead of keeping the whole content in heap while the response is sent.
+ *
+ * Entry data is fetched from database only once per entry version, until the spooled file expires.
+ */
+@Component
+public class DocumentAttachmentDataFiles implements InitializingBean, DisposableBean
+{
+	private static final transient Logger logger = LogManager.getLogger(DocumentAttachmentDataFiles.class);
+
+	private static final String PROPERTY_SpoolDir = "metasfresh.webui.attachments.spoolDir";
+	/** Spooled files are named {@code <prefix><entryId>_<random><suffix>} */
+	private static final String SPOOLED_FILE_PREFIX = "attachment_";
+	private static final String SPOOLED_FILE_SUFFIX = ".data";
+	@Value("${metasfresh.webui.attachments.spoolDir:}")
+	private String spoolDirPath;
+	@Value("${metasfresh.webui.attachments.spool.maxFiles:200}")
+	private int maxFiles;
+	@Value("${metasfresh.webui.attachments.spool.expireMinutes:10}")
+	private int expireMinutes;
+
+	private File spoolDir;
+	/** entry to spooled file */
+	private Cache<DataFileKey, SpooledDataFile> files;
+
+	@Override
+	public void afterPropertiesSet() throws Exception
+	{
+		spoolDir = checkCreateSpoolDir(spoolDirPath);
+		files = CacheBuilder.newBuilder()
+				.maximumSize(maxFiles)
+				.expireAfterAccess(expireMinutes, TimeUnit.MINUTES)
+				.removalListener(this::onFileRemoved)
+				.build();
+		logger.info("Attachments spool directory: {}", spoolDir);
+	}
+
+	@Override
+	public void destroy()
+	{
+		files.invalidateAll(); // delete the spooled files
+	}
+
+	private static File checkCreateSpoolDir(final String spoolDirPath) throws IOException
+	{
+		if (Check.isEmpty(spoolDirPath, true))
+		{
+			// NOTE: use a directory of our own, because the temp directory might be shared with other instances
+			logger.info("Using a temporary attachments spool directory. To configure it, please set '{}' property.", PROPERTY_SpoolDir);
+			final File spoolDir = Files.createTempDirectory("metasfresh-webui-attachments_spool").toFile();
+			spoolDir.deleteOnExit();
+			return spoolDir;
+		}
+
+		final File spoolDir = new File(spoolDirPath);
+		if (!spoolDir.exists() && !spoolDir.mkdirs())
+		{
+			throw new AdempiereException("Cannot create " + spoolDir);
+		}
+
+		// Files spooled by a previous run are not tracked anymore.
+		// NOTE: the configured directory shall not be shared with other instances. Anyways, we delete only the files which we are creating.
+		final File[] staleFiles = spoolDir.listFiles(DocumentAttachmentDataFiles::isSpooledFile);
+		if (staleFiles != null)
+		{
+			for (final File staleFile : staleFiles)
+			{
+				deleteFile(staleFile);
+			}
+		}
+
+		return spoolDir;
+	}
+
+	private static boolean isSpooledFile(final File file)
+	{
+		final String filename = file.getName();
+		return filename.startsWith(SPOOLED_FILE_PREFIX)
+				&& filename.endsWith(SPOOLED_FILE_SUFFIX)
+				&& file.isFile();
+	}
+
+	/**
+	 * @param recordRef the record to which the entry is attached
+	 * @return resource of the entry's spooled data.
+	 *         If the spooled file is deleted before the resource is opened (i.e. it expired or the entry was changed), the entry is spooled again.
+	 */
+	public Resource getDataResource(@NonNull final ITableRecordReference recordRef, @NonNull final IDocumentAttachmentEntry entry)
+	{
+		final DataFileKey key = DataFileKey.of(recordRef, entry.getId());
+		return new SpooledDataFileResource(key, entry, getSpooledDataFile(key, entry));
+	}
+
+	private SpooledDataFile getSpooledDataFile(final DataFileKey key, final IDocumentAttachmentEntry entry)
+	{
+		final long version = entry.getVersion();
+		try
+		{
+			SpooledDataFile dataFile = files.get(key, () -> spool(entry, version));
+			if (dataFile.getVersion() != version)
+			{
+				// entry was changed in meantime
+				// NOTE: remove only the outdated file, in case another thread already spooled the new version
+				files.asMap().remove(key, dataFile);
+				dataFile = files.get(key, () -> spool(entry, version));
+			}
+			return dataFile;
+		}
+		catch (final ExecutionException ex)
+		{
+			throw AdempiereException.wrapIfNeeded(ex);
+		}
+	}
+
+	/**
+	 * Deletes the spooled file of given entry, if any. To be called when the entry was deleted.
+	 */
+	public void forget(@NonNull final ITableRecordReference recordRef, @NonNull final DocumentId entryId)
+	{
+		files.invalidate(DataFileKey.of(recordRef, entryId));
+	}
+
+	private SpooledDataFile spool(final IDocumentAttachmentEntry entry, final long version) throws IOException
+	{
+		final File file = File.createTempFile(SPOOLED_FILE_PREFIX + entry.getId().toJson() + "_", SPOOLED_FILE_SUFFIX, spoolDir);
+		final byte[] data = entry.getData();
+		if (data != null)
+		{
+			FileCopyUtils.copy(data, file);
+		}
+
+		logger.debug("Spooled {} (version={}) to {}", entry, version, file);
+		return SpooledDataFile.of(file, version);
+	}
+
+	private void onFileRemoved(final RemovalNotification<DataFileKey, SpooledDataFile> notification)
+	{
+		// NOTE: on most OSes, downloads which are still streaming the file can read it until the end
+		final SpooledDataFile dataFile = notification.getValue();
+		deleteFile(dataFile != null ? dataFile.getFile() : null);
+	}
+
+	private static void deleteFile(final File file)
+	{
+		if (file == null || !file.exists())
+		{
+			return;
+		}
+
+		if (!file.delete())
+		{
+			file.deleteOnExit();
+			logger.warn("Cannot delete spooled file {}. Scheduled to be deleted on exit", file);
+		}
+	}
+
+	@lombok.Value
+	private static final class DataFileKey
+	{
+		public static DataFileKey of(final ITableRecordReference recordRef, final DocumentId entryId)
+		{
+			return new DataFileKey(recordRef.getTableName(), recordRef.getRecord_ID(), entryId);
+		}
+
+		private final String tableName;
+		private final int recordId;
+		private final DocumentId entryId;
+	}
+
+	@lombok.Value(staticConstructor = "of")
+	private static final class SpooledDataFile
+	{
+		private final File file;
+		private final long version;
+	}
+
+	/**
+	 * Spooled file resource which is spooling the entry again if the file was deleted before it was opened.
+	 * Once opened, the file can be read until the end even if it's deleted in meantime (on most OSes).
+	 */
+	private final class SpooledDataFileResource extends AbstractResource
+	{
+		private final DataFileKey key;
+		private final IDocumentAttachmentEntry entry;
+		private volatile SpooledDataFile dataFile;
+
+		private SpooledDataFileResource(final DataFileKey key, final IDocumentAttachmentEntry entry, final SpooledDataFile dataFile)
+		{
+			this.key = key;
+			this.entry = entry;
+			this.dataFile = dataFile;
+		}
+
+		@Override
+		public String getDescription()
+		{
+			return "spooled data of " + entry + " (" + dataFile.getFile() + ")";
+		}
+
+		@Override
+		public String getFilename()
+		{
+			return entry.getFilename();
+		}
+
+		@Override
+		public boolean exists()
+		{
+			return true; // we can spool it again anytime
+		}
+
+		@Override
+		public InputStream getInputStream() throws IOException
+		{
+			final SpooledDataFile dataFile = this.dataFile;
+			try
+			{
+				return new FileInputStream(dataFile.getFile());
+			}
+			catch (final FileNotFoundException ex)
+			{
+				// the spooled file was deleted in meantime => spool it again (retry once)
+				logger.debug("Spooled file {} was deleted before it was opened. Spooling it again", dataFile.getFile());
+				return new FileInputStream(respool(dataFile).getFile());
+			}
+		}
+
+		@Override
+		public long contentLength()
+		{
+			SpooledDataFile dataFile = this.dataFile;
+			if (!dataFile.getFile().exists())
+			{
+				dataFile = respool(dataFile);
+			}
+			return dataFile.getFile().length();
+		}
+
+		private SpooledDataFile respool(final SpooledDataFile deletedDataFile)
+		{
+			files.asMap().remove(key, deletedDataFile);
+			final SpooledDataFile newDataFile = getSpooledDataFile(key, entry);
+			this.dataFile = newDataFile;
+			return newDataFile;
+		}
+	}
+}
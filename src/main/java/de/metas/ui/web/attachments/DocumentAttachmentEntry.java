@@ -1,6 +1,8 @@
 package de.metas.ui.web.attachments;
 
+import org.adempiere.model.InterfaceWrapperHelper;
 import org.adempiere.util.Services;
+import org.compiere.model.I_AD_AttachmentEntry;
 
 import de.metas.attachments.AttachmentEntry;
 import de.metas.attachments.IAttachmentDAO;
@@ -73,4 +75,11 @@ class DocumentAttachmentEntry implements IDocumentAttachmentEntry
 	{
 		return entry.getContentType();
 	}
+
+	@Override
+	public long getVersion()
+	{
+		final I_AD_AttachmentEntry entryRecord = InterfaceWrapperHelper.load(entry.getId(), I_AD_AttachmentEntry.class);
+		return entryRecord.getUpdated().getTime();
+	}
 }
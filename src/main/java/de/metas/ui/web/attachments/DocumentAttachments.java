@@ -102,6 +102,11 @@ final class DocumentAttachments
 				.toString();
 	}
 
+	public ITableRecordReference getRecordRef()
+	{
+		return recordRef;
+	}
+
 	public List<JSONAttachment> toJson()
 	{
 		final Stream<IDocumentAttachmentEntry> attachments = attachmentsBL.getEntries(recordRef)
@@ -5,6 +5,7 @@ import java.util.List;
 
 import org.adempiere.util.lang.impl.TableRecordReference;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -62,6 +63,8 @@ public class DocumentAttachmentsRestController
 	private DocumentDescriptorFactory documentDescriptorFactory;
 	@Autowired
 	private WebsocketSender websocketSender;
+	@Autowired
+	private DocumentAttachmentDataFiles attachmentDataFiles;
 
 	private DocumentAttachments getDocumentAttachments(final String windowIdStr, final String documentId)
 	{
@@ -104,21 +107,25 @@ public class DocumentAttachmentsRestController
 				.toJson();
 	}
 
+	/**
+	 * Streams the entry content from it's spooled file.
+	 * Because the body is a {@link Resource}, spring also answers HTTP Range requests (i.e. partial content).
+	 */
 	@GetMapping("/{id}")
-	public ResponseEntity<byte[]> getAttachmentById(
+	public ResponseEntity<Resource> getAttachmentById(
 			@PathVariable("windowId") final String windowIdStr //
 			, @PathVariable("documentId") final String documentId //
-			, @PathVariable("id") final String entryIdStr)
+			, @PathVariable("id") final String entryIdStr) throws IOException
 	{
 		userSession.assertLoggedIn();
 
 		final DocumentId entryId = DocumentId.of(entryIdStr);
-		final IDocumentAttachmentEntry entry = getDocumentAttachments(windowIdStr, documentId)
-				.getEntry(entryId);
+		final DocumentAttachments documentAttachments = getDocumentAttachments(windowIdStr, documentId);
+		final IDocumentAttachmentEntry entry = documentAttachments.getEntry(entryId);
 
 		final String entryFilename = entry.getFilename();
-		final byte[] entryData = entry.getData();
-		if (entryData == null || entryData.length == 0)
+		final Resource entryData = attachmentDataFiles.getDataResource(documentAttachments.getRecordRef(), entry);
+		if (entryData.contentLength() <= 0)
 		{
 			throw new EntityNotFoundException("No attachment found (ID=" + entryId + ")");
 		}
@@ -129,7 +136,7 @@ public class DocumentAttachmentsRestController
 		headers.setContentType(MediaType.parseMediaType(entryContentType));
 		headers.set(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + entryFilename + "\"");
 		headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
-		final ResponseEntity<byte[]> response = new ResponseEntity<>(entryData, headers, HttpStatus.OK);
+		final ResponseEntity<Resource> response = new ResponseEntity<>(entryData, headers, HttpStatus.OK);
 		return response;
 	}
 
@@ -143,8 +150,9 @@ public class DocumentAttachmentsRestController
 		userSession.assertLoggedIn();
 
 		final DocumentId entryId = DocumentId.of(entryIdStr);
-		getDocumentAttachments(windowIdStr, documentId)
-				.deleteEntry(entryId);
+		final DocumentAttachments documentAttachments = getDocumentAttachments(windowIdStr, documentId);
+		documentAttachments.deleteEntry(entryId);
+		attachmentDataFiles.forget(documentAttachments.getRecordRef(), entryId);
 	}
 
 }
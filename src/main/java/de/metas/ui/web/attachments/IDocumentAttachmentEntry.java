@@ -35,4 +35,9 @@ public interface IDocumentAttachmentEntry
 
 	String getContentType();
 
+	/**
+	 * @return entry's version, which changes when the entry data is changed (i.e. last updated timestamp)
+	 */
+	long getVersion();
+
 }
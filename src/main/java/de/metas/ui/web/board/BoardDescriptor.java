@@ -76,12 +76,19 @@ public final class BoardDescriptor
 
 	public void assertLaneIdExists(final int laneId)
 	{
-		if (lanes.get(laneId) == null)
+		getLane(laneId);
+	}
+
+	public BoardLaneDescriptor getLane(final int laneId)
+	{
+		final BoardLaneDescriptor lane = lanes.get(laneId);
+		if (lane == null)
 		{
 			throw new AdempiereException("Lane ID=" + laneId + " found for board ID=" + getBoardId())
 					.setParameter("board", this)
 					.setParameter("laneId", laneId);
 		}
+		return lane;
 	}
 
 	public Collection<BoardCardFieldDescriptor> getCardFields()
@@ -6,17 +6,23 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 import org.adempiere.ad.dao.IQueryBL;
 import org.adempiere.ad.expression.api.IExpressionEvaluator.OnVariableNotFound;
 import org.adempiere.ad.expression.api.IStringExpression;
 import org.adempiere.ad.expression.api.impl.CompositeStringExpression;
+import org.adempiere.ad.modelvalidator.AbstractModelInterceptor;
+import org.adempiere.ad.modelvalidator.IModelInterceptorRegistry;
+import org.adempiere.ad.modelvalidator.IModelValidationEngine;
+import org.adempiere.ad.modelvalidator.ModelChangeType;
 import org.adempiere.ad.table.api.IADTableDAO;
 import org.adempiere.ad.trx.api.ITrx;
 import org.adempiere.ad.trx.api.ITrxManager;
@@ -30,6 +36,7 @@ import org.adempiere.model.RecordZoomWindowFinder;
 import org.adempiere.util.NumberUtils;
 import org.adempiere.util.Services;
 import org.adempiere.util.collections.ListUtils;
+import org.compiere.model.I_AD_Client;
 import org.compiere.model.I_AD_User;
 import org.compiere.util.CCache;
 import org.compiere.util.DB;
@@ -60,9 +67,11 @@ import de.metas.ui.web.base.model.I_WEBUI_Board_Lane;
 import de.metas.ui.web.base.model.I_WEBUI_Board_RecordAssignment;
 import de.metas.ui.web.board.BoardCardFieldDescriptor.BoardFieldLoader;
 import de.metas.ui.web.board.BoardDescriptor.BoardDescriptorBuilder;
+import de.metas.ui.web.board.LaneCardsOrdering.LaneLockConflictException;
+import de.metas.ui.web.board.LaneCardsOrdering.LaneLockMode;
+import de.metas.ui.web.board.json.events.JSONBoardCardChangedEvent;
 import de.metas.ui.web.board.json.events.JSONBoardChangedEventsList;
 import de.metas.ui.web.board.json.events.JSONBoardChangedEventsList.JSONBoardChangedEventsListBuilder;
-import de.metas.ui.web.board.json.events.JSONBoardLaneChangedEvent;
 import de.metas.ui.web.document.filter.DocumentFilter;
 import de.metas.ui.web.document.filter.DocumentFilterParam;
 import de.metas.ui.web.exceptions.EntityNotFoundException;
@@ -84,9 +93,7 @@ import de.metas.ui.web.window.descriptor.sql.DocumentFieldValueLoader;
 import de.metas.ui.web.window.descriptor.sql.SqlDocumentEntityDataBindingDescriptor;
 import de.metas.ui.web.window.descriptor.sql.SqlDocumentFieldDataBindingDescriptor;
 import de.metas.ui.web.window.descriptor.sql.SqlLookupDescriptor;
-import lombok.EqualsAndHashCode;
 import lombok.NonNull;
-import lombok.ToString;
 
 /*
  * #%L
@@ -125,6 +132,9 @@ public class BoardDescriptorRepository
 			.addResetForTableName(I_WEBUI_Board_Lane.Table_Name)
 			.addResetForTableName(I_WEBUI_Board_CardField.Table_Name);
 
+	/** Document TableName to boardIds, for which we are listening to document changes */
+	private final ConcurrentHashMap<String, Set<Integer>> documentTableName2boardIds = new ConcurrentHashMap<>();
+
 	private void sendEvents(final BoardDescriptor board, final JSONBoardChangedEventsList events)
 	{
 		if (events.isEmpty())
@@ -251,7 +261,87 @@ public class BoardDescriptorRepository
 		}
 
 		//
-		return boardDescriptor.build();
+		final BoardDescriptor board = boardDescriptor.build();
+		subscribeToDocumentChanges(board);
+		return board;
+	}
+
+	private void subscribeToDocumentChanges(final BoardDescriptor board)
+	{
+		final String tableName = board.getTableName();
+		documentTableName2boardIds
+				.computeIfAbsent(tableName, k -> {
+					Services.get(IModelInterceptorRegistry.class).addModelInterceptor(new BoardDocumentChangesInterceptor(tableName, this));
+					return ConcurrentHashMap.newKeySet();
+				})
+				.add(board.getBoardId());
+	}
+
+	/**
+	 * Computes the card deltas for a changed board document and sends them to the affected boards, after commit.
+	 */
+	private void onDocumentChanged(final Object model, final ModelChangeType changeType)
+	{
+		final String tableName = InterfaceWrapperHelper.getModelTableName(model);
+		final Set<Integer> boardIds = documentTableName2boardIds.get(tableName);
+		if (boardIds == null || boardIds.isEmpty())
+		{
+			return;
+		}
+
+		final int cardId = InterfaceWrapperHelper.getId(model);
+		final List<I_WEBUI_Board_RecordAssignment> assignments = Services.get(IQueryBL.class)
+				.createQueryBuilder(I_WEBUI_Board_RecordAssignment.class)
+				.addInArrayFilter(I_WEBUI_Board_RecordAssignment.COLUMN_WEBUI_Board_ID, boardIds)
+				.addEqualsFilter(I_WEBUI_Board_RecordAssignment.COLUMN_Record_ID, cardId)
+				.create()
+				.list(I_WEBUI_Board_RecordAssignment.class);
+		if (assignments.isEmpty())
+		{
+			return;
+		}
+
+		final boolean activeChanged = changeType == ModelChangeType.AFTER_CHANGE && InterfaceWrapperHelper.isValueChanged(model, WindowConstants.FIELDNAME_IsActive);
+		final boolean active = InterfaceWrapperHelper.isActive(model);
+
+		for (final I_WEBUI_Board_RecordAssignment assignment : assignments)
+		{
+			final BoardDescriptor board = getBoardDescriptor(assignment.getWEBUI_Board_ID());
+			final int boardId = board.getBoardId();
+			final int laneId = assignment.getWEBUI_Board_Lane_ID();
+
+			final JSONBoardCardChangedEvent event;
+			if (changeType == ModelChangeType.BEFORE_DELETE || activeChanged && !active)
+			{
+				event = JSONBoardCardChangedEvent.removed(boardId, laneId, cardId);
+			}
+			else if (activeChanged && active)
+			{
+				event = JSONBoardCardChangedEvent.added(boardId, laneId, cardId, retrieveCardPosition(board, cardId));
+			}
+			else if (changeType == ModelChangeType.AFTER_CHANGE && active)
+			{
+				final Set<String> changedFieldNames = board.getCardFields()
+						.stream()
+						.map(BoardCardFieldDescriptor::getFieldName)
+						.filter(fieldName -> InterfaceWrapperHelper.isValueChanged(model, fieldName))
+						.collect(ImmutableSet.toImmutableSet());
+				if (changedFieldNames.isEmpty() && !InterfaceWrapperHelper.isValueChanged(model, board.getUserIdColumnName()))
+				{
+					continue;
+				}
+				event = JSONBoardCardChangedEvent.changed(boardId, laneId, cardId, changedFieldNames);
+			}
+			else
+			{
+				continue;
+			}
+
+			final JSONBoardChangedEventsList events = JSONBoardChangedEventsList.builder().event(event).build();
+			Services.get(ITrxManager.class)
+					.getCurrentTrxListenerManagerOrAutoCommit()
+					.onAfterCommit(() -> sendEvents(board, events));
+		}
 	}
 
 	private final BoardCardFieldDescriptor createBoardCardFieldDescriptor(final I_WEBUI_Board_CardField cardFieldPO, final DocumentEntityDescriptor documentEntityDescriptor)
@@ -316,10 +406,27 @@ public class BoardDescriptorRepository
 				.build();
 	}
 
-	public List<BoardCard> getCards(final int boardId)
+	/**
+	 * @return first <code>pageLength</code> cards of each lane, ordered by lane and card position
+	 */
+	public List<BoardCard> getCardsFirstPageOfEachLane(final int boardId, final int pageLength)
 	{
-		final Set<Integer> onlyCardIds = ImmutableSet.of();
-		return retrieveCards(boardId, onlyCardIds);
+		Preconditions.checkArgument(pageLength > 0, "pageLength > 0");
+		final int onlyLaneId = -1;
+		final int firstRow = 0;
+		return retrieveCards(boardId, ImmutableSet.of(), onlyLaneId, firstRow, pageLength);
+	}
+
+	/**
+	 * @param firstRow zero based position of the first card to be returned
+	 * @return lane cards page, ordered by card position
+	 */
+	public List<BoardCard> getLaneCards(final int boardId, final int laneId, final int firstRow, final int pageLength)
+	{
+		getBoardDescriptor(boardId).assertLaneIdExists(laneId);
+		Preconditions.checkArgument(firstRow >= 0, "firstRow >= 0");
+		Preconditions.checkArgument(pageLength > 0, "pageLength > 0");
+		return retrieveCards(boardId, ImmutableSet.of(), laneId, firstRow, pageLength);
 	}
 
 	public BoardCard getCard(final int boardId, final int cardId)
@@ -342,6 +449,19 @@ public class BoardDescriptorRepository
 	}
 
 	private List<BoardCard> retrieveCards(final int boardId, final Collection<Integer> onlyCardIds)
+	{
+		final int onlyLaneId = -1;
+		final int firstRow = 0;
+		final int pageLength = -1; // all
+		return retrieveCards(boardId, onlyCardIds, onlyLaneId, firstRow, pageLength);
+	}
+
+	/**
+	 * @param onlyLaneId if positive, only the cards of this lane will be retrieved
+	 * @param firstRow zero based card position in lane
+	 * @param pageLength max cards to be retrieved for each lane; if not positive, all cards will be retrieved
+	 */
+	private List<BoardCard> retrieveCards(final int boardId, final Collection<Integer> onlyCardIds, final int onlyLaneId, final int firstRow, final int pageLength)
 	{
 		final BoardDescriptor boardDescriptor = getBoardDescriptor(boardId);
 
@@ -371,17 +491,21 @@ public class BoardDescriptorRepository
 					//
 					.append("\n, " + tableAlias + ".*") // all exported document fields
 					//
-					.append("\n FROM ").append(I_WEBUI_Board_RecordAssignment.Table_Name).append(" a")
+					.append("\n FROM (").append(buildSqlSelectLaneAssignments(boardDescriptor, onlyCardIds, onlyLaneId, sqlParams)).append(") a")
 					.append("\n INNER JOIN (").append(sqlSelectDocument).append(") " + tableAlias + " ON (" + keyColumnNameFQ + " =a." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_Record_ID + ")")
-					.append("\n LEFT OUTER JOIN " + I_AD_User.Table_Name + " u ON (u." + I_AD_User.COLUMNNAME_AD_User_ID + " = " + userIdColumnNameFQ + ")")
-					.append("\n WHERE ")
-					.append("\n a." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_ID + "=?");
-			sqlParams.add(boardId);
+					.append("\n LEFT OUTER JOIN " + I_AD_User.Table_Name + " u ON (u." + I_AD_User.COLUMNNAME_AD_User_ID + " = " + userIdColumnNameFQ + ")");
 
-			if (!onlyCardIds.isEmpty())
+			//
+			// Paging: the card positions are computed before joining the document,
+			// so we are fetching the document values and display names only for the requested page
+			if (pageLength > 0)
 			{
-				sqlExpr.append("\n AND ").append(DB.buildSqlList(I_WEBUI_Board_RecordAssignment.COLUMNNAME_Record_ID, onlyCardIds, sqlParams));
+				sqlExpr.append("\n WHERE a.card$position >= ? AND a.card$position < ?");
+				sqlParams.add(firstRow);
+				sqlParams.add(firstRow + pageLength);
 			}
+
+			sqlExpr.append("\n ORDER BY a." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_Lane_ID + ", a.card$position");
 		}
 
 		final String sql = sqlExpr.build().evaluate(Evaluatees.empty(), OnVariableNotFound.Fail);
@@ -389,6 +513,93 @@ public class BoardDescriptorRepository
 		return retrieveCardsFromSql(sql, sqlParams, boardDescriptor);
 	}
 
+	/**
+	 * @return SQL which selects board's record assignments of active documents, together with their zero based position in lane (<code>card$position</code>)
+	 */
+	private static String buildSqlSelectLaneAssignments(final BoardDescriptor boardDescriptor, final Collection<Integer> onlyCardIds, final int onlyLaneId, final List<Object> sqlParams)
+	{
+		final StringBuilder sql = new StringBuilder()
+				.append("SELECT ")
+				.append("\n   ra." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_Lane_ID)
+				.append("\n , ra." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_Record_ID)
+				.append("\n , ROW_NUMBER() OVER (PARTITION BY ra." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_Lane_ID)
+				.append(" ORDER BY ra." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_SeqNo + ", ra." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_RecordAssignment_ID + ") - 1 AS card$position")
+				.append("\n FROM " + I_WEBUI_Board_RecordAssignment.Table_Name + " ra")
+				.append("\n INNER JOIN " + boardDescriptor.getTableName() + " d ON (d." + boardDescriptor.getKeyColumnName() + "=ra." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_Record_ID + " AND d.IsActive='Y')")
+				.append("\n WHERE ra." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_ID + "=?");
+		sqlParams.add(boardDescriptor.getBoardId());
+
+		if (onlyLaneId > 0)
+		{
+			sql.append("\n AND ra." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_Lane_ID + "=?");
+			sqlParams.add(onlyLaneId);
+		}
+
+		if (!onlyCardIds.isEmpty())
+		{
+			// NOTE: in this case the card positions are not relevant
+			sql.append("\n AND ").append(DB.buildSqlList("ra." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_Record_ID, onlyCardIds, sqlParams));
+		}
+
+		return sql.toString();
+	}
+
+	/**
+	 * @return number of cards (i.e. record assignments of active documents) indexed by laneId
+	 */
+	public Map<Integer, Integer> retrieveCardsCountByLaneId(final int boardId)
+	{
+		final BoardDescriptor boardDescriptor = getBoardDescriptor(boardId);
+		final String sql = "SELECT ra." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_Lane_ID + ", COUNT(1)"
+				+ " FROM " + I_WEBUI_Board_RecordAssignment.Table_Name + " ra"
+				+ " INNER JOIN " + boardDescriptor.getTableName() + " d ON (d." + boardDescriptor.getKeyColumnName() + "=ra." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_Record_ID + " AND d.IsActive='Y')"
+				+ " WHERE ra." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_ID + "=?"
+				+ " GROUP BY ra." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_Lane_ID;
+		final List<Object> sqlParams = ImmutableList.of(boardId);
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		try
+		{
+			pstmt = DB.prepareStatement(sql, ITrx.TRXNAME_ThreadInherited);
+			DB.setParameters(pstmt, sqlParams);
+			rs = pstmt.executeQuery();
+
+			final Map<Integer, Integer> cardsCountByLaneId = new HashMap<>();
+			while (rs.next())
+			{
+				cardsCountByLaneId.put(rs.getInt(1), rs.getInt(2));
+			}
+			return cardsCountByLaneId;
+		}
+		catch (final SQLException ex)
+		{
+			throw new DBException(ex, sql, sqlParams);
+		}
+		finally
+		{
+			DB.close(rs, pstmt);
+		}
+	}
+
+	/**
+	 * @return zero based position of given card in it's lane, considering only the cards of active documents
+	 */
+	private int retrieveCardPosition(final BoardDescriptor boardDescriptor, final int cardId)
+	{
+		final String sql = "SELECT COUNT(1)"
+				+ " FROM " + I_WEBUI_Board_RecordAssignment.Table_Name + " card"
+				+ " INNER JOIN " + I_WEBUI_Board_RecordAssignment.Table_Name + " ra ON ("
+				+ " ra." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_ID + "=card." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_ID
+				+ " AND ra." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_Lane_ID + "=card." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_Lane_ID
+				+ " AND (ra." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_SeqNo + ", ra." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_RecordAssignment_ID + ")"
+				+ " < (card." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_SeqNo + ", card." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_RecordAssignment_ID + ")"
+				+ ")"
+				+ " INNER JOIN " + boardDescriptor.getTableName() + " d ON (d." + boardDescriptor.getKeyColumnName() + "=ra." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_Record_ID + " AND d.IsActive='Y')"
+				+ " WHERE card." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_ID + "=?"
+				+ " AND card." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_Record_ID + "=?";
+		return DB.getSQLValueEx(ITrx.TRXNAME_ThreadInherited, sql, boardDescriptor.getBoardId(), cardId);
+	}
+
 	/** @return all cardIds contained in given <code>boardId</code> */
 	public List<Integer> retrieveCardIds(final int boardId)
 	{
@@ -659,72 +870,39 @@ public class BoardDescriptorRepository
 		return ITranslatableString.compose(": ", cardField.getCaption(), valueStr);
 	}
 
-	private LaneCardsSequence retrieveCardIdsOrdered(final int boardId, final int laneId)
+	/**
+	 * Moves the card to given position in lane, by updating only the card's SeqNo (see {@link LaneCardsOrdering}).
+	 *
+	 * @param position zero based position; negative or bigger than lane size means at the end of the lane
+	 */
+	private void moveCardInLane(final BoardDescriptor board, final int laneId, final int cardId, final int position, final LaneLockMode laneLockMode)
 	{
-		final List<Integer> cardIds = Services.get(IQueryBL.class)
-				.createQueryBuilder(I_WEBUI_Board_RecordAssignment.class)
-				.addEqualsFilter(I_WEBUI_Board_RecordAssignment.COLUMN_WEBUI_Board_ID, boardId)
-				.addEqualsFilter(I_WEBUI_Board_RecordAssignment.COLUMN_WEBUI_Board_Lane_ID, laneId)
-				.orderBy()
-				.addColumn(I_WEBUI_Board_RecordAssignment.COLUMN_SeqNo)
-				.addColumn(I_WEBUI_Board_RecordAssignment.COLUMN_WEBUI_Board_RecordAssignment_ID)
-				.endOrderBy()
-				.create()
-				.listDistinct(I_WEBUI_Board_RecordAssignment.COLUMNNAME_Record_ID, Integer.class);
-		return new LaneCardsSequence(laneId, cardIds);
+		final boolean laneRenumbered = LaneCardsOrdering.moveCard(SqlLaneCardsSeqNoStore.of(board), laneId, cardId, position, laneLockMode);
+		if (laneRenumbered)
+		{
+			logger.debug("Lane {} of board {} was renumbered while moving card {} to position {}", laneId, board.getBoardId(), cardId, position);
+		}
 	}
 
-	private final void updateCardsOrder(final int boardId, final int laneId, final List<Integer> cardIds)
+	/**
+	 * Runs the card changes in a transaction.
+	 * If a lane has to be renumbered while other cards are moved in it (see {@link LaneCardsOrdering}),
+	 * the changes are rolled back and retried once, locking the lanes exclusively.
+	 */
+	private void runCardChangesInTrx(final Consumer<LaneLockMode> cardChanges)
 	{
-		final String sql = "UPDATE " + I_WEBUI_Board_RecordAssignment.Table_Name
-				+ " SET " + I_WEBUI_Board_RecordAssignment.COLUMNNAME_SeqNo + "=?"
-				+ " WHERE " + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_ID + "=?"
-				+ " AND " + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_Lane_ID + "=?"
-				+ " AND " + I_WEBUI_Board_RecordAssignment.COLUMNNAME_Record_ID + "=?";
-		PreparedStatement pstmt = null;
+		final ITrxManager trxManager = Services.get(ITrxManager.class);
 		try
 		{
-			for (int newSeqNo = 0; newSeqNo < cardIds.size(); newSeqNo++)
-			{
-				final int cardId = cardIds.get(newSeqNo);
-
-				if (pstmt == null)
-				{
-					pstmt = DB.prepareStatement(sql, ITrx.TRXNAME_ThreadInherited);
-				}
-				DB.setParameters(pstmt, new Object[] { newSeqNo, boardId, laneId, cardId });
-				pstmt.addBatch();
-			}
-
-			if (pstmt == null)
-			{
-				return;
-			}
-
-			pstmt.executeBatch();
+			trxManager.run(ITrx.TRXNAME_ThreadInherited, () -> cardChanges.accept(LaneLockMode.SHARED));
 		}
-		catch (final SQLException ex)
-		{
-			throw DBException.wrapIfNeeded(ex);
-		}
-		finally
+		catch (final LaneLockConflictException ex)
 		{
-			DB.close(pstmt);
+			logger.debug("Retrying card changes with the lane locked exclusively", ex);
+			trxManager.run(ITrx.TRXNAME_ThreadInherited, () -> cardChanges.accept(LaneLockMode.EXCLUSIVE));
 		}
 	}
 
-	private final LaneCardsSequence changeCardsOrder(final int boardId, final int laneId, final Consumer<LaneCardsSequence> reorderCards)
-	{
-		final LaneCardsSequence orderedCardIdsOld = retrieveCardIdsOrdered(boardId, laneId);
-		final LaneCardsSequence orderedCardIdsNew = orderedCardIdsOld.copy();
-
-		reorderCards.accept(orderedCardIdsNew);
-
-		updateCardsOrder(boardId, laneId, orderedCardIdsNew.getCardIds());
-
-		return orderedCardIdsNew;
-	}
-
 	public BoardCard addCardForDocumentId(final int boardId, final int laneId, @NonNull final DocumentId documentId, final int position)
 	{
 		final BoardDescriptor board = getBoardDescriptor(boardId);
@@ -734,7 +912,7 @@ public class BoardDescriptorRepository
 
 		final JSONBoardChangedEventsListBuilder eventsCollector = JSONBoardChangedEventsList.builder();
 
-		Services.get(ITrxManager.class).run(ITrx.TRXNAME_ThreadInherited, () -> {
+		runCardChangesInTrx(laneLockMode -> {
 			try
 			{
 				final I_WEBUI_Board_RecordAssignment assignment = InterfaceWrapperHelper.newInstance(I_WEBUI_Board_RecordAssignment.class);
@@ -753,8 +931,8 @@ public class BoardDescriptorRepository
 						.setParameter("cardId", cardId);
 			}
 
-			final LaneCardsSequence orderedCardIds = changeCardsOrder(boardId, laneId, cardIds -> cardIds.addCardIdAtPosition(cardId, position));
-			eventsCollector.event(JSONBoardLaneChangedEvent.of(boardId, laneId, orderedCardIds.getCardIds()));
+			moveCardInLane(board, laneId, cardId, position, laneLockMode);
+			eventsCollector.event(JSONBoardCardChangedEvent.added(boardId, laneId, cardId, retrieveCardPosition(board, cardId)));
 		});
 
 		final BoardCard card = getCard(boardId, cardId);
@@ -781,8 +959,8 @@ public class BoardDescriptorRepository
 
 			if (deletedCount > 0)
 			{
-				final LaneCardsSequence orderedCardIds = changeCardsOrder(boardId, laneId, cardIds -> cardIds.removeCardId(cardId));
-				eventsCollector.event(JSONBoardLaneChangedEvent.of(boardId, laneId, orderedCardIds.getCardIds()));
+				// NOTE: the other cards of the lane don't need to be renumbered
+				eventsCollector.event(JSONBoardCardChangedEvent.removed(boardId, laneId, cardId));
 			}
 		});
 
@@ -795,37 +973,36 @@ public class BoardDescriptorRepository
 
 		final JSONBoardChangedEventsListBuilder eventsCollector = JSONBoardChangedEventsList.builder();
 
-		Services.get(ITrxManager.class)
-				.run(ITrx.TRXNAME_ThreadInherited, () -> {
-					final int oldLaneId = getLaneIdForCardId(boardId, cardId);
-					int laneIdEffective = oldLaneId;
+		runCardChangesInTrx(laneLockMode -> {
+			final int oldLaneId = getLaneIdForCardId(boardId, cardId);
+			int laneIdEffective = oldLaneId;
 
-					boolean positionChanged = false;
+			boolean positionChanged = false;
 
-					if (request.getNewLaneId() > 0 && request.getNewLaneId() != oldLaneId)
-					{
-						final int newLaneId = request.getNewLaneId();
-						changeLane(boardId, cardId, newLaneId); // move card to new lane
+			if (request.getNewLaneId() > 0 && request.getNewLaneId() != oldLaneId)
+			{
+				final int newLaneId = request.getNewLaneId();
+				changeLane(boardId, cardId, newLaneId); // move card to new lane
 
-						final LaneCardsSequence oldLane_cardIds = changeCardsOrder(boardId, oldLaneId, cardIds -> cardIds.removeCardId(cardId)); // update cards order in old lane
-						eventsCollector.event(JSONBoardLaneChangedEvent.of(boardId, oldLane_cardIds.getLaneId(), oldLane_cardIds.getCardIds()));
+				moveCardInLane(board, newLaneId, cardId, request.getNewPosition(), laneLockMode); // update card's order in new lane
 
-						final LaneCardsSequence newLane_cardIds = changeCardsOrder(boardId, newLaneId, cardIds -> cardIds.addCardIdAtPosition(cardId, request.getNewPosition())); // update cards order in new lane
-						eventsCollector.event(JSONBoardLaneChangedEvent.of(boardId, newLane_cardIds.getLaneId(), newLane_cardIds.getCardIds()));
+				laneIdEffective = newLaneId;
+				positionChanged = true;
+			}
 
-						laneIdEffective = newLaneId;
-						positionChanged = true;
-					}
+			if (!positionChanged && request.getNewPosition() >= 0)
+			{
+				final int newPosition = request.getNewPosition();
+				moveCardInLane(board, laneIdEffective, cardId, newPosition, laneLockMode); // update card's order
 
-					if (!positionChanged && request.getNewPosition() >= 0)
-					{
-						final int newPosition = request.getNewPosition();
-						final LaneCardsSequence laneCardIds = changeCardsOrder(boardId, laneIdEffective, cardIds -> cardIds.addCardIdAtPosition(cardId, newPosition)); // update card's order
-						eventsCollector.event(JSONBoardLaneChangedEvent.of(boardId, laneCardIds.getLaneId(), laneCardIds.getCardIds()));
+				positionChanged = true;
+			}
 
-						positionChanged = true;
-					}
-				});
+			if (positionChanged)
+			{
+				eventsCollector.event(JSONBoardCardChangedEvent.moved(boardId, oldLaneId, laneIdEffective, cardId, retrieveCardPosition(board, cardId)));
+			}
+		});
 
 		final BoardCard card = getCard(boardId, cardId);
 
@@ -851,60 +1028,41 @@ public class BoardDescriptorRepository
 		}
 	}
 
-	@EqualsAndHashCode
-	@ToString
-	private static final class LaneCardsSequence
+	/** Listens to board document changes, see {@link BoardDescriptorRepository#onDocumentChanged(Object, ModelChangeType)} */
+	private static final class BoardDocumentChangesInterceptor extends AbstractModelInterceptor
 	{
-		private final int laneId;
-		private final List<Integer> cardIds;
-
-		public LaneCardsSequence(final int laneId, final List<Integer> cardIds)
-		{
-			this.laneId = laneId;
-			this.cardIds = new ArrayList<>(cardIds);
-		}
+		private final String tableName;
+		private final BoardDescriptorRepository boardsRepo;
 
-		public LaneCardsSequence copy()
+		public BoardDocumentChangesInterceptor(@NonNull final String tableName, @NonNull final BoardDescriptorRepository boardsRepo)
 		{
-			return new LaneCardsSequence(laneId, cardIds);
+			this.tableName = tableName;
+			this.boardsRepo = boardsRepo;
 		}
 
-		public int getLaneId()
+		@Override
+		protected void onInit(final IModelValidationEngine engine, final I_AD_Client client)
 		{
-			return laneId;
+			engine.addModelChange(tableName, this);
 		}
 
-		private List<Integer> getCardIds()
+		@Override
+		public void onModelChange(final Object model, final ModelChangeType changeType)
 		{
-			return cardIds;
-		}
-
-		public void addCardIdAtPosition(final int cardId, final int position)
-		{
-			Preconditions.checkArgument(cardId > 0, "cardId > 0");
-
-			if (position < 0)
+			if (changeType != ModelChangeType.AFTER_CHANGE && changeType != ModelChangeType.BEFORE_DELETE)
 			{
-				cardIds.remove((Object)cardId);
-				cardIds.add(cardId);
+				return;
 			}
-			else if (position == Integer.MAX_VALUE || position > cardIds.size() - 1)
+
+			try
 			{
-				cardIds.remove((Object)cardId);
-				cardIds.add(cardId);
+				boardsRepo.onDocumentChanged(model, changeType);
 			}
-			else
+			catch (final Exception ex)
 			{
-				cardIds.remove((Object)cardId);
-				cardIds.add(position, cardId);
+				// don't fail the document save just because we could not notify the boards
+				logger.warn("Failed notifying boards about {} of {}", changeType, model, ex);
 			}
 		}
-
-		public void removeCardId(final int cardId)
-		{
-			Preconditions.checkArgument(cardId > 0, "cardId > 0");
-
-			cardIds.remove((Object)cardId);
-		}
 	}
 }
@@ -12,6 +12,7 @@ import org.adempiere.exceptions.AdempiereException;
 import org.adempiere.util.GuavaCollectors;
 import org.adempiere.util.comparator.FixedOrderByKeyComparator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -92,6 +93,9 @@ public class BoardRestController
 	@Autowired
 	private IViewsRepository viewsRepo;
 
+	@Value("${metasfresh.webui.board.lane.pageLength:50}")
+	private int defaultLanePageLength;
+
 	private final ConcurrentHashMap<Integer, Set<IView>> boardId2newCardsViewId = new ConcurrentHashMap<>();
 
 	private JSONOptions newJSONOptions()
@@ -119,24 +123,31 @@ public class BoardRestController
 		synchronized (boardActiveViews)
 		{
 			// NOTE: because we are actually not deleting from view but just filtering out the board cardIds,
-			// we don't have to actually invalidate the view but just fire an "refresh request" to frontend
-			boardActiveViews.forEach(view -> ViewChangesCollector.getCurrentOrAutoflush()
-					.collectFullyChanged(view));
+			// we don't have to actually invalidate the view but just fire an "refresh request" to frontend.
+			// Still, we invalidate it, to make sure the cached pages (i.e. page ETags) are not considered valid anymore.
+			boardActiveViews.forEach(view -> {
+				view.invalidateAll();
+				ViewChangesCollector.getCurrentOrAutoflush().collectFullyChanged(view);
+			});
 		}
 	}
 
 	@GetMapping("/{boardId}")
-	public JSONBoard getBoard(@PathVariable("boardId") final int boardId)
+	@ApiOperation("gets the board, including the first page of cards of each lane")
+	public JSONBoard getBoard(
+			@PathVariable("boardId") final int boardId,
+			@RequestParam(name = "pageLength", required = false) @ApiParam("max number of cards to be loaded for each lane") final Integer pageLength)
 	{
 		userSession.assertLoggedIn();
 
 		final String adLanguage = userSession.getAD_Language();
 		final BoardDescriptor boardDescriptor = boardsRepo.getBoardDescriptor(boardId);
 
-		final Multimap<Integer, JSONBoardCard> cardsByLaneId = boardsRepo.getCards(boardId)
+		final Multimap<Integer, JSONBoardCard> cardsByLaneId = boardsRepo.getCardsFirstPageOfEachLane(boardId, getLanePageLength(pageLength))
 				.stream()
 				.map(card -> JSONBoardCard.of(card, adLanguage))
 				.collect(GuavaCollectors.toImmutableListMultimap(JSONBoardCard::getLaneId));
+		final Map<Integer, Integer> cardsCountByLaneId = boardsRepo.retrieveCardsCountByLaneId(boardId);
 
 		final JSONBoardBuilder jsonBoard = JSONBoard.builder()
 				.boardId(boardId)
@@ -148,6 +159,8 @@ public class BoardRestController
 				.map(lane -> JSONBoardLane.builder()
 						.laneId(lane.getLaneId())
 						.caption(lane.getCaption().translate(adLanguage))
+						.cardsCount(cardsCountByLaneId.getOrDefault(lane.getLaneId(), 0))
+						.firstRow(0)
 						.cards(cardsByLaneId.get(lane.getLaneId()))
 						.build())
 				.forEach(jsonBoard::lane);
@@ -155,6 +168,36 @@ public class BoardRestController
 		return jsonBoard.build();
 	}
 
+	@GetMapping("/{boardId}/lane/{laneId}/cards")
+	@ApiOperation("gets a page of lane cards, ordered by their position in lane")
+	public JSONBoardLane getLaneCards(
+			@PathVariable("boardId") final int boardId,
+			@PathVariable("laneId") final int laneId,
+			@RequestParam(name = "firstRow", required = false, defaultValue = "0") @ApiParam("zero based position of the first card") final int firstRow,
+			@RequestParam(name = "pageLength", required = false) final Integer pageLength)
+	{
+		userSession.assertLoggedIn();
+
+		final String adLanguage = userSession.getAD_Language();
+		final BoardLaneDescriptor lane = boardsRepo.getBoardDescriptor(boardId).getLane(laneId);
+
+		return JSONBoardLane.builder()
+				.laneId(laneId)
+				.caption(lane.getCaption().translate(adLanguage))
+				.cardsCount(boardsRepo.retrieveCardsCountByLaneId(boardId).getOrDefault(laneId, 0))
+				.firstRow(firstRow)
+				.cards(boardsRepo.getLaneCards(boardId, laneId, firstRow, getLanePageLength(pageLength))
+						.stream()
+						.map(card -> JSONBoardCard.of(card, adLanguage))
+						.collect(ImmutableList.toImmutableList()))
+				.build();
+	}
+
+	private int getLanePageLength(final Integer pageLength)
+	{
+		return pageLength != null && pageLength > 0 ? pageLength : defaultLanePageLength;
+	}
+
 	@PostMapping("/{boardId}/card")
 	public JSONBoardCard addCard(@PathVariable("boardId") final int boardId, @RequestBody final JSONBoardCardAddRequest request)
 	{
@@ -0,0 +1,184 @@
+package de.metas.ui.web.board;
+
+import java.util.OptionalInt;
+
+import org.adempiere.exceptions.AdempiereException;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Sparse ordering of the cards in a board lane.
+ * <p>
+ * The cards are numbered using gaps of {@link #SEQNO_STEP}, so moving or adding a card usually updates only that card's SeqNo,
+ * which is picked between the SeqNos of it's new neighbours.
+ * Only when there is no gap left, the whole lane is renumbered (in one statement) and the SeqNo is picked again.
+ * <p>
+ * The lane is locked until the end of the move transaction (see {@link LaneCardsSeqNoStore#lockLane(int, LaneLockMode)}):
+ * <ul>
+ * <li>the moves which are only updating the moved card's SeqNo are holding a shared lock, so they are running concurrently.
+ * Two concurrent moves to the same gap might get the same SeqNo, in which case the cards are ordered by their assignment ID.
+ * <li>the moves which have to renumber the lane are holding an exclusive lock, so no other move is reading the SeqNos while they are changed.
+ * </ul>
+ * A move holding the shared lock does not wait for the exclusive lock, because two such moves would deadlock.
+ * It fails with {@link LaneLockConflictException} instead, and the caller shall retry it in a new transaction, using {@link LaneLockMode#EXCLUSIVE} from the start.
+ */
+final class LaneCardsOrdering
+{
+	static final int SEQNO_STEP = 1024;
+
+	/** Card SeqNos storage of a board */
+	static interface LaneCardsSeqNoStore
+	{
+		/**
+		 * Locks the given lane until the end of current transaction, waiting for the conflicting locks of other transactions to be released.
+		 * <p>
+		 * NOTE: it's called before anything else, so the moves are not deadlocking each other when they need to renumber the lane.
+		 */
+		void lockLane(int laneId, LaneLockMode lockMode);
+
+		/**
+		 * Locks the given lane exclusively until the end of current transaction, if that's possible without waiting.
+		 * The shared lock of current transaction is not conflicting.
+		 *
+		 * @return true if locked
+		 */
+		boolean tryLockLaneExclusive(int laneId);
+
+		/**
+		 * @param position zero based position, not counting the moved card; negative or bigger than the lane size means at the end of the lane
+		 * @return SeqNos of the cards which will be right before and right after the moved card
+		 */
+		Neighbours getNeighbours(int laneId, int cardId, int position);
+
+		void setSeqNo(int laneId, int cardId, int seqNo);
+
+		/** Renumbers all cards of given lane, keeping their order and using given step (i.e. step, 2*step, 3*step ...). */
+		void renumberLane(int laneId, int step);
+	}
+
+	static enum LaneLockMode
+	{
+		/** lock held by the moves which are updating only the moved card */
+		SHARED,
+		/** lock held by the moves which are renumbering the lane */
+		EXCLUSIVE,
+	}
+
+	/**
+	 * Thrown when a move needs to renumber the lane but other moves are holding the lane lock.
+	 * The move shall be retried in a new transaction, using {@link LaneLockMode#EXCLUSIVE}.
+	 */
+	@SuppressWarnings("serial")
+	static final class LaneLockConflictException extends AdempiereException
+	{
+		private LaneLockConflictException(final int laneId)
+		{
+			super("Lane " + laneId + " cannot be renumbered while other cards are moved in it");
+		}
+	}
+
+	@Value(staticConstructor = "of")
+	static class Neighbours
+	{
+		/** previous card's SeqNo or null if the moved card will be the first one */
+		private final Integer prevSeqNo;
+		/** next card's SeqNo or null if the moved card will be the last one */
+		private final Integer nextSeqNo;
+	}
+
+	private LaneCardsOrdering()
+	{
+	}
+
+	/**
+	 * Sets the card's SeqNo so it will be at given position in lane.
+	 *
+	 * @param lockMode how to lock the lane; use {@link LaneLockMode#SHARED}, unless the move is retried after a {@link LaneLockConflictException}
+	 * @return true if the lane had to be renumbered
+	 * @throws LaneLockConflictException if the lane had to be renumbered but it could not be locked exclusively
+	 */
+	public static boolean moveCard(@NonNull final LaneCardsSeqNoStore store, final int laneId, final int cardId, final int position, @NonNull final LaneLockMode lockMode)
+	{
+		store.lockLane(laneId, lockMode);
+
+		boolean lockedExclusively = lockMode == LaneLockMode.EXCLUSIVE;
+		boolean renumbered = false;
+		while (true)
+		{
+			final Neighbours neighbours = store.getNeighbours(laneId, cardId, position);
+			final OptionalInt seqNo = computeSeqNoBetween(neighbours.getPrevSeqNo(), neighbours.getNextSeqNo());
+			if (seqNo.isPresent())
+			{
+				store.setSeqNo(laneId, cardId, seqNo.getAsInt());
+				return renumbered;
+			}
+
+			if (renumbered)
+			{
+				// shall not happen because after renumbering we always have gaps
+				throw new AdempiereException("No SeqNo available for card even after renumbering the lane")
+						.setParameter("laneId", laneId)
+						.setParameter("cardId", cardId)
+						.setParameter("position", position)
+						.setParameter("neighbours", neighbours);
+			}
+
+			if (!lockedExclusively)
+			{
+				// NOTE: don't wait for the exclusive lock while holding the shared one, because another mover might do the same
+				if (!store.tryLockLaneExclusive(laneId))
+				{
+					throw new LaneLockConflictException(laneId);
+				}
+				lockedExclusively = true;
+
+				// the neighbours might have changed until we got the exclusive lock
+				continue;
+			}
+
+			store.renumberLane(laneId, SEQNO_STEP);
+			renumbered = true;
+		}
+	}
+
+	/**
+	 * @param prevSeqNo previous card's SeqNo or null if first
+	 * @param nextSeqNo next card's SeqNo or null if last
+	 * @return SeqNo strictly between the given ones or empty if there is no gap left
+	 */
+	static OptionalInt computeSeqNoBetween(final Integer prevSeqNo, final Integer nextSeqNo)
+	{
+		// NOTE: we keep the SeqNos positive, so we always have some room before the first card after renumbering
+		final long prev = prevSeqNo != null ? prevSeqNo : 0;
+		final long next = nextSeqNo != null ? nextSeqNo : (long)Integer.MAX_VALUE + 1;
+		final long seqNo = nextSeqNo != null ? (prev + next) / 2 : prev + SEQNO_STEP;
+		if (seqNo <= prev || seqNo >= next)
+		{
+			return OptionalInt.empty();
+		}
+		return OptionalInt.of((int)seqNo);
+	}
+}
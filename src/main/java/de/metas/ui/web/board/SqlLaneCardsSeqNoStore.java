@@ -0,0 +1,175 @@
+package de.metas.ui.web.board;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.adempiere.ad.trx.api.ITrx;
+import org.adempiere.exceptions.DBException;
+import org.compiere.util.DB;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+
+import de.metas.ui.web.base.model.I_WEBUI_Board_Lane;
+import de.metas.ui.web.base.model.I_WEBUI_Board_RecordAssignment;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * {@link LaneCardsOrdering.LaneCardsSeqNoStore} implementation backed by {@link I_WEBUI_Board_RecordAssignment}.
+ * <p>
+ * NOTE: all methods are expected to run in the same (thread inherited) transaction, which is holding the lane lock until commit.
+ */
+final class SqlLaneCardsSeqNoStore implements LaneCardsOrdering.LaneCardsSeqNoStore
+{
+	public static SqlLaneCardsSeqNoStore of(@NonNull final BoardDescriptor board)
+	{
+		return new SqlLaneCardsSeqNoStore(board.getBoardId(), board.getTableName(), board.getKeyColumnName());
+	}
+
+	/** Advisory locks namespace (first key) of the board lanes; the second key is the WEBUI_Board_Lane_ID */
+	@VisibleForTesting
+	static final int LOCK_NAMESPACE_BoardLane = I_WEBUI_Board_Lane.Table_Name.hashCode();
+
+	private final int boardId;
+	private final String sqlFromLaneCards;
+
+	@VisibleForTesting
+	SqlLaneCardsSeqNoStore(final int boardId, @NonNull final String documentTableName, @NonNull final String documentKeyColumnName)
+	{
+		this.boardId = boardId;
+
+		// NOTE: we consider only the cards of active documents, the same way as the card positions are computed when loading the lane
+		sqlFromLaneCards = " FROM " + I_WEBUI_Board_RecordAssignment.Table_Name + " ra"
+				+ " INNER JOIN " + documentTableName + " d ON (d." + documentKeyColumnName + "=ra." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_Record_ID + " AND d.IsActive='Y')"
+				+ " WHERE ra." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_ID + "=?"
+				+ " AND ra." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_Lane_ID + "=?"
+				+ " AND ra." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_Record_ID + "<>?";
+	}
+
+	@Override
+	public void lockLane(final int laneId, @NonNull final LaneCardsOrdering.LaneLockMode lockMode)
+	{
+		// NOTE: the lock is released on commit/rollback.
+		// We are not locking the lane rows because a mover is not knowing which rows it will update (e.g. when renumbering the lane)
+		// and because locking the neighbours of two movers in different order would deadlock.
+		final String sql = lockMode == LaneCardsOrdering.LaneLockMode.EXCLUSIVE
+				? "SELECT 1 FROM pg_advisory_xact_lock(?, ?)"
+				: "SELECT 1 FROM pg_advisory_xact_lock_shared(?, ?)";
+		DB.getSQLValueEx(ITrx.TRXNAME_ThreadInherited, sql, LOCK_NAMESPACE_BoardLane, laneId);
+	}
+
+	@Override
+	public boolean tryLockLaneExclusive(final int laneId)
+	{
+		final String sql = "SELECT CASE WHEN pg_try_advisory_xact_lock(?, ?) THEN 1 ELSE 0 END";
+		return DB.getSQLValueEx(ITrx.TRXNAME_ThreadInherited, sql, LOCK_NAMESPACE_BoardLane, laneId) == 1;
+	}
+
+	@Override
+	public LaneCardsOrdering.Neighbours getNeighbours(final int laneId, final int cardId, final int position)
+	{
+		if (position == 0)
+		{
+			final List<Integer> seqNos = retrieveSeqNos(laneId, cardId, false, 0, 1);
+			return LaneCardsOrdering.Neighbours.of(null, seqNos.isEmpty() ? null : seqNos.get(0));
+		}
+		else if (position > 0)
+		{
+			final List<Integer> seqNos = retrieveSeqNos(laneId, cardId, false, position - 1, 2);
+			if (!seqNos.isEmpty())
+			{
+				return LaneCardsOrdering.Neighbours.of(seqNos.get(0), seqNos.size() > 1 ? seqNos.get(1) : null);
+			}
+		}
+
+		// At the end of the lane
+		final List<Integer> lastSeqNos = retrieveSeqNos(laneId, cardId, true, 0, 1);
+		return LaneCardsOrdering.Neighbours.of(lastSeqNos.isEmpty() ? null : lastSeqNos.get(0), null);
+	}
+
+	@VisibleForTesting
+	List<Integer> retrieveSeqNos(final int laneId, final int excludeCardId, final boolean descending, final int offset, final int limit)
+	{
+		final String direction = descending ? " DESC" : "";
+		final String sql = "SELECT ra." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_SeqNo
+				+ sqlFromLaneCards
+				+ " ORDER BY ra." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_SeqNo + direction + ", ra." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_RecordAssignment_ID + direction
+				+ " OFFSET ? LIMIT ?";
+		final List<Object> sqlParams = ImmutableList.of(boardId, laneId, excludeCardId, offset, limit);
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		try
+		{
+			pstmt = DB.prepareStatement(sql, ITrx.TRXNAME_ThreadInherited);
+			DB.setParameters(pstmt, sqlParams);
+			rs = pstmt.executeQuery();
+
+			final List<Integer> seqNos = new ArrayList<>(limit);
+			while (rs.next())
+			{
+				seqNos.add(rs.getInt(1));
+			}
+			return seqNos;
+		}
+		catch (final SQLException ex)
+		{
+			throw new DBException(ex, sql, sqlParams);
+		}
+		finally
+		{
+			DB.close(rs, pstmt);
+		}
+	}
+
+	@Override
+	public void setSeqNo(final int laneId, final int cardId, final int seqNo)
+	{
+		final String sql = "UPDATE " + I_WEBUI_Board_RecordAssignment.Table_Name
+				+ " SET " + I_WEBUI_Board_RecordAssignment.COLUMNNAME_SeqNo + "=?"
+				+ " WHERE " + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_ID + "=?"
+				+ " AND " + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_Lane_ID + "=?"
+				+ " AND " + I_WEBUI_Board_RecordAssignment.COLUMNNAME_Record_ID + "=?";
+		DB.executeUpdateEx(sql, new Object[] { seqNo, boardId, laneId, cardId }, ITrx.TRXNAME_ThreadInherited);
+	}
+
+	@Override
+	public void renumberLane(final int laneId, final int step)
+	{
+		final String sql = "UPDATE " + I_WEBUI_Board_RecordAssignment.Table_Name + " ra"
+				+ " SET " + I_WEBUI_Board_RecordAssignment.COLUMNNAME_SeqNo + "=x.NewSeqNo"
+				+ " FROM ("
+				+ " SELECT " + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_RecordAssignment_ID
+				+ ", ROW_NUMBER() OVER (ORDER BY " + I_WEBUI_Board_RecordAssignment.COLUMNNAME_SeqNo + ", " + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_RecordAssignment_ID + ") * ? AS NewSeqNo"
+				+ " FROM " + I_WEBUI_Board_RecordAssignment.Table_Name
+				+ " WHERE " + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_ID + "=?"
+				+ " AND " + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_Lane_ID + "=?"
+				+ ") x"
+				+ " WHERE ra." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_RecordAssignment_ID + "=x." + I_WEBUI_Board_RecordAssignment.COLUMNNAME_WEBUI_Board_RecordAssignment_ID;
+		DB.executeUpdateEx(sql, new Object[] { step, boardId, laneId }, ITrx.TRXNAME_ThreadInherited);
+	}
+}
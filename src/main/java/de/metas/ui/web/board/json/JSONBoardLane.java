@@ -37,6 +37,11 @@ public class JSONBoardLane
 {
 	private final int laneId;
 	private final String caption;
+
+	/** Total number of cards in this lane */
+	private final int cardsCount;
+	/** Position (zero based) of the first card from {@link #cards} */
+	private final int firstRow;
 	@Singular
 	private final ImmutableList<JSONBoardCard> cards;
 }
@@ -0,0 +1,94 @@
+package de.metas.ui.web.board.json.events;
+
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.google.common.collect.ImmutableSet;
+
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.Value;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Card delta event.
+ * <ul>
+ * <li>{@link ChangeType#cardAdded}: card was added to lane at given position
+ * <li>{@link ChangeType#cardRemoved}: card was removed from it's lane
+ * <li>{@link ChangeType#cardMoved}: card was moved from old lane (might be the same lane) to given position in lane
+ * <li>{@link ChangeType#cardChanged}: some card fields were changed; the frontend shall reload only this card
+ * </ul>
+ * The positions are zero based and are considering the cards order in lane, after the change.
+ */
+@JsonAutoDetect(fieldVisibility = Visibility.ANY, getterVisibility = Visibility.NONE, isGetterVisibility = Visibility.NONE, setterVisibility = Visibility.NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Value
+@EqualsAndHashCode(callSuper = true)
+public class JSONBoardCardChangedEvent extends JSONBoardChangedEvent
+{
+	public static final JSONBoardCardChangedEvent added(final int boardId, final int laneId, final int cardId, final int position)
+	{
+		return new JSONBoardCardChangedEvent(ChangeType.cardAdded, boardId, cardId, laneId, null, position, null);
+	}
+
+	public static final JSONBoardCardChangedEvent removed(final int boardId, final int laneId, final int cardId)
+	{
+		return new JSONBoardCardChangedEvent(ChangeType.cardRemoved, boardId, cardId, laneId, null, null, null);
+	}
+
+	public static final JSONBoardCardChangedEvent moved(final int boardId, final int oldLaneId, final int newLaneId, final int cardId, final int position)
+	{
+		return new JSONBoardCardChangedEvent(ChangeType.cardMoved, boardId, cardId, newLaneId, oldLaneId, position, null);
+	}
+
+	public static final JSONBoardCardChangedEvent changed(final int boardId, final int laneId, final int cardId, @NonNull final Set<String> changedFieldNames)
+	{
+		return new JSONBoardCardChangedEvent(ChangeType.cardChanged, boardId, cardId, laneId, null, null, ImmutableSet.copyOf(changedFieldNames));
+	}
+
+	private final int cardId;
+	private final int laneId;
+	private final Integer oldLaneId;
+	private final Integer position;
+	private final ImmutableSet<String> changedFieldNames;
+
+	private JSONBoardCardChangedEvent(
+			final ChangeType changeType,
+			final int boardId,
+			final int cardId,
+			final int laneId,
+			final Integer oldLaneId,
+			final Integer position,
+			final ImmutableSet<String> changedFieldNames)
+	{
+		super(changeType, boardId);
+		this.cardId = cardId;
+		this.laneId = laneId;
+		this.oldLaneId = oldLaneId;
+		this.position = position;
+		this.changedFieldNames = changedFieldNames;
+	}
+}
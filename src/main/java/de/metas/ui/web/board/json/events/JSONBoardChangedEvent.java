@@ -32,7 +32,7 @@ public abstract class JSONBoardChangedEvent
 {
 	public static enum ChangeType
 	{
-		laneCardsChanged, cardChanged,
+		cardAdded, cardRemoved, cardMoved, cardChanged,
 	}
 
 	@NonNull
@@ -1,55 +0,0 @@
-package de.metas.ui.web.board.json.events;
-
-import java.util.List;
-
-import com.fasterxml.jackson.annotation.JsonAutoDetect;
-import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
-
-import lombok.Builder;
-import lombok.EqualsAndHashCode;
-import lombok.NonNull;
-import lombok.Value;
-
-/*
- * #%L
- * metasfresh-webui-api
- * %%
- * Copyright (C) 2017 metas GmbH
- * %%
- * This program is free software: you can redistribute it and/or modify
- * it under the terms of the GNU General Public License as
- * published by the Free Software Foundation, either version 2 of the
- * License, or (at your option) any later version.
- *
- * This program is distributed in the hope that it will be useful,
- * but WITHOUT ANY WARRANTY; without even the implied warranty of
- * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
- * GNU General Public License for more details.
- *
- * You should have received a copy of the GNU General Public
- * License along with this program. If not, see
- * <http://www.gnu.org/licenses/gpl-2.0.html>.
- * #L%
- */
-
-@JsonAutoDetect(fieldVisibility = Visibility.ANY, getterVisibility = Visibility.NONE, isGetterVisibility = Visibility.NONE, setterVisibility = Visibility.NONE)
-@Value
-@EqualsAndHashCode(callSuper = true)
-public class JSONBoardLaneChangedEvent extends JSONBoardChangedEvent
-{
-	public static final JSONBoardLaneChangedEvent of(final int boardId, final int laneId, final List<Integer> cardIds)
-	{
-		return new JSONBoardLaneChangedEvent(boardId, laneId, cardIds);
-	}
-
-	private final int laneId;
-	private final List<Integer> cardIds;
-
-	@Builder
-	private JSONBoardLaneChangedEvent(final int boardId, final int laneId, @NonNull final List<Integer> cardIds)
-	{
-		super(ChangeType.laneCardsChanged, boardId);
-		this.laneId = laneId;
-		this.cardIds = cardIds;
-	}
-}
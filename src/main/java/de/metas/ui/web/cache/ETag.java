@@ -36,23 +36,25 @@ public final class ETag
 {
 	public static final ETag of(final int version)
 	{
-		return new ETag(version, ImmutableMap.of());
+		return new ETag(version, ImmutableMap.of(), false);
 	}
 
 	public static final ETag of(final long version, final Map<String, String> attributes)
 	{
-		return new ETag(version, ImmutableMap.copyOf(attributes));
+		return new ETag(version, ImmutableMap.copyOf(attributes), false);
 	}
 
 	private final long version;
 	private final ImmutableMap<String, String> attributes;
+	private final boolean weak;
 
 	private transient volatile String _etagString = null; // lazy
 
-	private ETag(final long version, final ImmutableMap<String, String> attributes)
+	private ETag(final long version, final ImmutableMap<String, String> attributes, final boolean weak)
 	{
 		this.version = version;
 		this.attributes = attributes;
+		this.weak = weak;
 	}
 
 	@Override
@@ -74,6 +76,11 @@ public final class ETag
 	private String buildETagString()
 	{
 		final StringBuilder etagString = new StringBuilder();
+		if (weak)
+		{
+			etagString.append("W/\"");
+		}
+
 		etagString.append("v=").append(version);
 
 		if (!attributes.isEmpty())
@@ -86,9 +93,27 @@ public final class ETag
 			etagString.append("#").append(attributesStr);
 		}
 
+		if (weak)
+		{
+			etagString.append("\"");
+		}
+
 		return etagString.toString();
 	}
 
+	/**
+	 * @return weak ETag, i.e. one which is identifying semantically equivalent (but not necessarily byte-identical) responses
+	 * @see <a href="https://tools.ietf.org/html/rfc7232#section-2.1">RFC 7232, Weak versus Strong</a>
+	 */
+	public ETag toWeak()
+	{
+		if (weak)
+		{
+			return this;
+		}
+		return new ETag(version, attributes, true);
+	}
+
 	public final ETag overridingAttributes(final Map<String, String> overridingAttributes)
 	{
 		if (overridingAttributes.isEmpty())
@@ -98,11 +123,11 @@ public final class ETag
 
 		if (attributes.isEmpty())
 		{
-			return new ETag(version, ImmutableMap.copyOf(overridingAttributes));
+			return new ETag(version, ImmutableMap.copyOf(overridingAttributes), weak);
 		}
 
 		final Map<String, String> newAttributes = new HashMap<>(attributes);
 		newAttributes.putAll(overridingAttributes);
-		return new ETag(version, ImmutableMap.copyOf(newAttributes));
+		return new ETag(version, ImmutableMap.copyOf(newAttributes), weak);
 	}
 }
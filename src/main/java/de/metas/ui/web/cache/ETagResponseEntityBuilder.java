@@ -47,6 +47,15 @@ public class ETagResponseEntityBuilder<T extends ETagAware, R>
 		return new ETagResponseEntityBuilder<>(request, etagAware, () -> etagAware);
 	}
 
+	/**
+	 * @param result supplier of the result; called only if the given ETag is not matching the request's one
+	 */
+	public static final <R> ETagResponseEntityBuilder<ETagAware, R> ofETag(final WebRequest request, @NonNull final ETag etag, final Supplier<R> result)
+	{
+		final ETagAware etagAware = () -> etag;
+		return new ETagResponseEntityBuilder<>(request, etagAware, result);
+	}
+
 	private final WebRequest request;
 	private final T etagAware;
 	private final Supplier<R> result;
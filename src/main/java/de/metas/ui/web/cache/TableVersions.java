@@ -0,0 +1,54 @@
+package de.metas.ui.web.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.compiere.util.CCache;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Keeps a version for each table, which is changed each time the cache of that table is reset (i.e. records of that table were changed).
+ * <p>
+ * The versions are taken from one sequence, so a version is never repeated, not even for another table.
+ */
+public final class TableVersions
+{
+	public static final transient TableVersions instance = new TableVersions();
+
+	private static final Integer CACHEKEY_Version = 0;
+
+	private final AtomicLong nextVersion = new AtomicLong(1);
+	private final ConcurrentHashMap<String, CCache<Integer, Long>> versionsByTableName = new ConcurrentHashMap<>();
+
+	private TableVersions()
+	{
+	}
+
+	public long getVersion(final String tableName)
+	{
+		// NOTE: the table name shall be the cache name prefix, so the cache is reset when the records of that table are changed
+		final CCache<Integer, Long> cache = versionsByTableName.computeIfAbsent(tableName, k -> CCache.newCache(k + "#version", 1, 0));
+		return cache.getOrLoad(CACHEKEY_Version, nextVersion::getAndIncrement);
+	}
+}
@@ -1,16 +1,20 @@
 package de.metas.ui.web.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.session.MapSession;
 import org.springframework.session.hazelcast.config.annotation.web.http.EnableHazelcastHttpSession;
 import org.springframework.session.hazelcast.config.annotation.web.http.HazelcastHttpSessionConfiguration;
 
 import com.hazelcast.config.Config;
+import com.hazelcast.config.SerializerConfig;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 
 import de.metas.ui.web.WebRestApiApplication;
+import de.metas.ui.web.session.MapSessionHazelcastSerializer;
 
 /*
  * #%L
@@ -39,6 +43,12 @@ import de.metas.ui.web.WebRestApiApplication;
 @Profile(WebRestApiApplication.PROFILE_NotTest)
 public class HazelcastHttpSessionConfig extends HazelcastHttpSessionConfiguration
 {
+	private static final String SESSION_SERIALIZER_Compact = "compact";
+
+	/** Session serializer: "compact" (default) or "java" (hazelcast's default java serialization) */
+	@Value("${metasfresh.webui.session.serializer:" + SESSION_SERIALIZER_Compact + "}")
+	private String sessionSerializer;
+
 	public HazelcastHttpSessionConfig()
 	{
 		super();
@@ -48,6 +58,14 @@ public class HazelcastHttpSessionConfig extends HazelcastHttpSessionConfiguratio
 	public HazelcastInstance embeddedHazelcast()
 	{
 		final Config hazelcastConfig = new Config();
+
+		if (SESSION_SERIALIZER_Compact.equalsIgnoreCase(sessionSerializer))
+		{
+			hazelcastConfig.getSerializationConfig().addSerializerConfig(new SerializerConfig()
+					.setTypeClass(MapSession.class)
+					.setImplementation(new MapSessionHazelcastSerializer()));
+		}
+
 		return Hazelcast.newHazelcastInstance(hazelcastConfig);
 	}
 }
@@ -0,0 +1,76 @@
+package de.metas.ui.web.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import de.metas.ui.web.debug.RequestTimingContext;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Adds the <code>Server-Timing</code> HTTP header, built from current {@link RequestTimingContext}.
+ *
+ * NOTE: the header is added right before the response body is written, so the JSON writing itself is not included.
+ */
+@ControllerAdvice
+public class ServerTimingResponseBodyAdvice implements ResponseBodyAdvice<Object>
+{
+	private static final String HEADER_ServerTiming = "Server-Timing";
+
+	@Value("${metasfresh.webui.http.serverTiming:false}")
+	private boolean enabled;
+
+	@Override
+	public boolean supports(final MethodParameter returnType, final Class<? extends HttpMessageConverter<?>> converterType)
+	{
+		return enabled;
+	}
+
+	@Override
+	public Object beforeBodyWrite(
+			final Object body,
+			final MethodParameter returnType,
+			final MediaType selectedContentType,
+			final Class<? extends HttpMessageConverter<?>> selectedConverterType,
+			final ServerHttpRequest request,
+			final ServerHttpResponse response)
+	{
+		final RequestTimingContext timingContext = RequestTimingContext.getCurrentOrNull();
+		if (timingContext != null)
+		{
+			final String serverTiming = timingContext.toServerTimingHeaderValue();
+			if (!serverTiming.isEmpty())
+			{
+				response.getHeaders().add(HEADER_ServerTiming, serverTiming);
+			}
+		}
+
+		return body;
+	}
+}
@@ -1,8 +1,7 @@
 package de.metas.ui.web.config;
 
 import java.io.IOException;
-import java.net.URI;
-import java.net.URISyntaxException;
+import java.util.concurrent.TimeUnit;
 
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
@@ -14,11 +13,13 @@ import javax.servlet.http.HttpServletRequest;
 
 import org.slf4j.Logger;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import com.google.common.base.Stopwatch;
-
 import de.metas.logging.LogManager;
+import de.metas.ui.web.debug.RequestTimingContext;
+import de.metas.ui.web.debug.SlowRequestsRecorder;
 import de.metas.ui.web.session.UserSession;
 
 /*
@@ -68,6 +69,16 @@ public class ServletLoggingFilter implements Filter
 	 */
 	private static final String MDC_Param_LoggedUserAndRemoteAddr = "LoggedUserAndRemoteAddr";
 
+	@Autowired
+	private SlowRequestsRecorder slowRequestsRecorder;
+
+	@Value("${metasfresh.webui.debug.requestTiming.enabled:true}")
+	private boolean requestTimingEnabled;
+
+	/** Requests taking longer than this are logged on INFO level, the others only on DEBUG level */
+	@Value("${metasfresh.webui.http.slowRequestThresholdMillis:1000}")
+	private long slowRequestThresholdMillis;
+
 	@Override
 	public void init(final FilterConfig filterConfig) throws ServletException
 	{
@@ -81,7 +92,10 @@ public class ServletLoggingFilter implements Filter
 	@Override
 	public void doFilter(final ServletRequest request, final ServletResponse response, final FilterChain chain) throws IOException, ServletException
 	{
-		final Stopwatch stopwatch = Stopwatch.createStarted();
+		// NOTE: in case of nested dispatches (e.g. error pages), keep timing the outer request
+		final boolean startTiming = requestTimingEnabled && RequestTimingContext.getCurrentOrNull() == null;
+		final RequestTimingContext timingContext = startTiming ? RequestTimingContext.start() : null;
+		final long startNanos = System.nanoTime();
 		try
 		{
 			updateMDC(request);
@@ -90,12 +104,29 @@ public class ServletLoggingFilter implements Filter
 		}
 		finally
 		{
+			final long durationNanos = System.nanoTime() - startNanos;
+
 			//
-			// log the request
-			if (logger.isInfoEnabled())
+			// record the timings (if it's a slow request)
+			if (timingContext != null)
+			{
+				timingContext.stop();
+				slowRequestsRecorder.record(timingContext, () -> extractRequestInfo(request));
+			}
+
+			//
+			// log the request (build the request info only if it will be logged)
+			final long durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+			if (durationMillis >= slowRequestThresholdMillis)
+			{
+				if (logger.isInfoEnabled())
+				{
+					logger.info("Executed in {}ms: {}", durationMillis, extractRequestInfo(request));
+				}
+			}
+			else if (logger.isDebugEnabled())
 			{
-				final String requestInfo = extractRequestInfo(request);
-				logger.info("Executed in {}: {}", stopwatch.stop(), requestInfo);
+				logger.debug("Executed in {}ms: {}", durationMillis, extractRequestInfo(request));
 			}
 
 			//
@@ -135,41 +166,18 @@ public class ServletLoggingFilter implements Filter
 
 	private static final String extractRequestInfo(final ServletRequest request)
 	{
-		String requestInfo;
 		if (request instanceof HttpServletRequest)
 		{
+			// NOTE: don't build and parse the whole request URL, the request URI is the path we need
 			final HttpServletRequest httpRequest = (HttpServletRequest)request;
-			final String urlStr = httpRequest.getRequestURL().toString();
-			URI uri;
-			try
-			{
-				uri = new URI(urlStr);
-			}
-			catch (final URISyntaxException e)
-			{
-				uri = null;
-			}
-
-			String path = null;
-			if (uri != null)
-			{
-				path = uri.getPath();
-			}
-			if (path == null)
-			{
-				path = urlStr;
-			}
-
+			final String path = httpRequest.getRequestURI();
 			final String queryString = httpRequest.getQueryString();
-
-			requestInfo = path + (queryString != null ? "?" + queryString : "");
+			return queryString != null ? path + "?" + queryString : path;
 		}
 		else
 		{
-			requestInfo = request.toString();
+			return request.toString();
 		}
-
-		return requestInfo;
 	}
 
 	private static final String extractRemoteAddr(final HttpServletRequest httpRequest)
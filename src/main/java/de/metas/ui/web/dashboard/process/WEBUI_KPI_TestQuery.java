@@ -23,6 +23,7 @@ import de.metas.ui.web.dashboard.KPIDataResult;
 import de.metas.ui.web.dashboard.KPIRepository;
 import de.metas.ui.web.dashboard.TimeRange;
 import de.metas.ui.web.exceptions.EntityNotFoundException;
+import de.metas.ui.web.process.descriptor.ProcessPreconditionsDependOnSelectionOnly;
 
 /*
  * #%L
@@ -47,6 +48,7 @@ import de.metas.ui.web.exceptions.EntityNotFoundException;
  */
 
 @Profile(WebRestApiApplication.PROFILE_Webui)
+@ProcessPreconditionsDependOnSelectionOnly
 public class WEBUI_KPI_TestQuery extends JavaProcess implements IProcessPrecondition
 {
 	@Override
@@ -23,6 +23,7 @@ import org.springframework.messaging.Message;
 import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.support.GenericMessage;
 import org.springframework.util.MimeType;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -115,6 +116,9 @@ public class DebugRestController
 	@Lazy
 	private WebsocketSender websocketSender;
 
+	@Autowired
+	private SlowRequestsRecorder slowRequestsRecorder;
+
 	@RequestMapping(value = "/cacheReset", method = RequestMethod.GET)
 	public void cacheReset()
 	{
@@ -403,4 +407,15 @@ public class DebugRestController
 		return websocketSender.getLoggedEvents(destinationFilter);
 	}
 
+	@GetMapping("slowRequests")
+	public List<SlowRequestsRecorder.SlowRequest> getSlowestRequests()
+	{
+		return slowRequestsRecorder.getSlowestRequests();
+	}
+
+	@DeleteMapping("slowRequests")
+	public void clearSlowestRequests()
+	{
+		slowRequestsRecorder.clear();
+	}
 }
@@ -0,0 +1,252 @@
+package de.metas.ui.web.debug;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.adempiere.util.lang.IAutoCloseable;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Request scoped (thread bound) timing context.
+ * <p>
+ * Hot paths are recording named spans using
+ *
+ * <pre>
+ * return RequestTimingContext.span("view.createSelection", () -> createOrderedSelection0(...));
+ * </pre>
+ *
+ * Spans with the same name and the same parent are aggregated into one node (with an invocation count),
+ * so calling a span inside a loop is not growing the tree.
+ * <p>
+ * If there is no context for current thread (e.g. not running in a HTTP request or request timing is disabled), {@link #span(String)} returns a no-op.
+ */
+public final class RequestTimingContext
+{
+	private static final ThreadLocal<RequestTimingContext> current = new ThreadLocal<>();
+
+	private static final IAutoCloseable NOOP = () -> {
+	};
+
+	/**
+	 * Starts a new timing context and binds it to current thread.
+	 */
+	public static RequestTimingContext start()
+	{
+		final RequestTimingContext context = new RequestTimingContext();
+		current.set(context);
+		return context;
+	}
+
+	/** @return current thread's timing context or null */
+	public static RequestTimingContext getCurrentOrNull()
+	{
+		return current.get();
+	}
+
+	/**
+	 * Starts a span in the current thread's timing context.
+	 *
+	 * @return span to be closed when the operation finished; never returns null
+	 */
+	public static IAutoCloseable span(final String name)
+	{
+		final RequestTimingContext context = current.get();
+		if (context == null)
+		{
+			return NOOP;
+		}
+		return context.startSpan(name);
+	}
+
+	/**
+	 * Calls given supplier inside a span of the current thread's timing context.
+	 *
+	 * @return the value returned by the supplier
+	 */
+	public static <T> T span(final String name, final Supplier<T> supplier)
+	{
+		try (final IAutoCloseable span = span(name))
+		{
+			return supplier.get();
+		}
+	}
+
+	private final Span root = new Span("request");
+	private final Deque<Span> stack = new ArrayDeque<>();
+
+	private RequestTimingContext()
+	{
+		root.startNanos = System.nanoTime();
+		stack.push(root);
+	}
+
+	@Override
+	public String toString()
+	{
+		return MoreObjects.toStringHelper(this)
+				.add("root", root)
+				.toString();
+	}
+
+	private IAutoCloseable startSpan(final String name)
+	{
+		final Span parent = stack.peek();
+		final Span span = parent.getOrCreateChild(name);
+		span.startNanos = System.nanoTime();
+		stack.push(span);
+
+		return () -> endSpan(span);
+	}
+
+	private void endSpan(final Span span)
+	{
+		span.stop();
+
+		// Pop until our span (in case some inner spans were not closed)
+		while (!stack.isEmpty() && stack.peek() != root)
+		{
+			if (stack.pop() == span)
+			{
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Stops the whole context and unbinds it from current thread.
+	 */
+	public void stop()
+	{
+		root.stop();
+		if (current.get() == this)
+		{
+			current.remove();
+		}
+	}
+
+	public long getTotalNanos()
+	{
+		return root.totalNanos;
+	}
+
+	public Span getRootSpan()
+	{
+		return root;
+	}
+
+	/**
+	 * @return the value of a <code>Server-Timing</code> HTTP header containing the top level spans, recorded so far
+	 * @see <a href="https://www.w3.org/TR/server-timing/">Server Timing</a>
+	 */
+	public String toServerTimingHeaderValue()
+	{
+		final StringBuilder header = new StringBuilder();
+		for (final Span span : root.children.values())
+		{
+			if (header.length() > 0)
+			{
+				header.append(", ");
+			}
+			header.append(span.name.replace('.', '_'))
+					.append(";dur=").append(span.getTotalMillis())
+					.append(";desc=\"").append(span.name).append(" x").append(span.count).append("\"");
+		}
+		return header.toString();
+	}
+
+	@JsonAutoDetect(fieldVisibility = Visibility.NONE, getterVisibility = Visibility.NONE, isGetterVisibility = Visibility.NONE, setterVisibility = Visibility.NONE)
+	@JsonInclude(JsonInclude.Include.NON_EMPTY)
+	public static final class Span
+	{
+		private final String name;
+		private long startNanos;
+		private long totalNanos;
+		private int count;
+		private final Map<String, Span> children = new LinkedHashMap<>();
+
+		private Span(final String name)
+		{
+			this.name = name;
+		}
+
+		@Override
+		public String toString()
+		{
+			return MoreObjects.toStringHelper(this)
+					.add("name", name)
+					.add("count", count)
+					.add("totalMillis", getTotalMillis())
+					.add("children", children.isEmpty() ? null : children.values())
+					.omitNullValues()
+					.toString();
+		}
+
+		private Span getOrCreateChild(final String name)
+		{
+			return children.computeIfAbsent(name, Span::new);
+		}
+
+		private void stop()
+		{
+			totalNanos += System.nanoTime() - startNanos;
+			count++;
+		}
+
+		@JsonProperty("name")
+		public String getName()
+		{
+			return name;
+		}
+
+		@JsonProperty("count")
+		public int getCount()
+		{
+			return count;
+		}
+
+		@JsonProperty("totalMillis")
+		public long getTotalMillis()
+		{
+			return TimeUnit.NANOSECONDS.toMillis(totalNanos);
+		}
+
+		@JsonProperty("children")
+		public Collection<Span> getChildren()
+		{
+			return ImmutableList.copyOf(children.values());
+		}
+	}
+}
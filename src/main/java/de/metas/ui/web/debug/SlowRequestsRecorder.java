@@ -0,0 +1,129 @@
+package de.metas.ui.web.debug;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Keeps the slowest N requests together with their timing span trees.
+ */
+@Component
+public class SlowRequestsRecorder
+{
+	@Value("${metasfresh.webui.debug.slowRequests.size:20}")
+	private int maxSize;
+
+	/** Min-heap on duration, so the fastest of the slowest requests is evicted first */
+	private final PriorityQueue<SlowRequest> slowestRequests = new PriorityQueue<>(Comparator.comparing(SlowRequest::getTotalNanos));
+
+	/**
+	 * Records the request if it's one of the slowest N requests.
+	 *
+	 * @param requestInfoSupplier called only if the request is recorded
+	 */
+	public void record(final RequestTimingContext timingContext, final Supplier<String> requestInfoSupplier)
+	{
+		if (maxSize <= 0)
+		{
+			return;
+		}
+
+		final long totalNanos = timingContext.getTotalNanos();
+		synchronized (slowestRequests)
+		{
+			if (slowestRequests.size() >= maxSize)
+			{
+				if (slowestRequests.peek().getTotalNanos() >= totalNanos)
+				{
+					return;
+				}
+				slowestRequests.poll();
+			}
+
+			slowestRequests.add(new SlowRequest(requestInfoSupplier.get(), System.currentTimeMillis(), timingContext));
+		}
+	}
+
+	/** @return slowest requests, slowest first */
+	public List<SlowRequest> getSlowestRequests()
+	{
+		final List<SlowRequest> result;
+		synchronized (slowestRequests)
+		{
+			result = ImmutableList.copyOf(slowestRequests);
+		}
+
+		return result.stream()
+				.sorted(Comparator.comparing(SlowRequest::getTotalNanos).reversed())
+				.collect(ImmutableList.toImmutableList());
+	}
+
+	public void clear()
+	{
+		synchronized (slowestRequests)
+		{
+			slowestRequests.clear();
+		}
+	}
+
+	public static final class SlowRequest
+	{
+		@JsonProperty("request")
+		private final String requestInfo;
+
+		@JsonProperty("timestamp")
+		private final long timestamp;
+
+		@JsonProperty("totalMillis")
+		private final long totalMillis;
+
+		@JsonProperty("spans")
+		private final RequestTimingContext.Span rootSpan;
+
+		private final transient long totalNanos;
+
+		private SlowRequest(final String requestInfo, final long timestamp, final RequestTimingContext timingContext)
+		{
+			this.requestInfo = requestInfo;
+			this.timestamp = timestamp;
+			totalNanos = timingContext.getTotalNanos();
+			totalMillis = TimeUnit.NANOSECONDS.toMillis(totalNanos);
+			rootSpan = timingContext.getRootSpan();
+		}
+
+		private long getTotalNanos()
+		{
+			return totalNanos;
+		}
+	}
+}
@@ -22,6 +22,7 @@ import de.metas.ui.web.handlingunits.HUEditorRow;
 import de.metas.ui.web.handlingunits.HUEditorView;
 import de.metas.ui.web.handlingunits.process.WebuiHUTransformCommand.ActionType;
 import de.metas.ui.web.process.descriptor.ProcessParamLookupValuesProvider;
+import de.metas.ui.web.process.descriptor.ProcessPreconditionsDependOnSelectionOnly;
 import de.metas.ui.web.window.datatypes.LookupValuesList;
 import de.metas.ui.web.window.descriptor.DocumentLayoutElementFieldDescriptor.LookupSource;
 import de.metas.ui.web.window.model.DocumentCollection;
@@ -55,6 +56,7 @@ import de.metas.ui.web.window.model.lookup.LookupDataSourceContext;
  * @author metas-dev <dev@metasfresh.com>
  */
 @Profile(value = WebRestApiApplication.PROFILE_Webui)
+@ProcessPreconditionsDependOnSelectionOnly
 public class WEBUI_M_HU_Transform
 		extends HUEditorProcessTemplate
 		implements IProcessPrecondition, IProcessDefaultParametersProvider
@@ -16,6 +16,7 @@ import de.metas.process.JavaProcess;
 import de.metas.process.Param;
 import de.metas.process.ProcessPreconditionsResolution;
 import de.metas.ui.web.exceptions.EntityNotFoundException;
+import de.metas.ui.web.process.descriptor.ProcessPreconditionsDependOnSelectionOnly;
 
 /*
  * #%L
@@ -39,6 +40,7 @@ import de.metas.ui.web.exceptions.EntityNotFoundException;
  * #L%
  */
 
+@ProcessPreconditionsDependOnSelectionOnly
 public class WEBUI_M_ReceiptSchedule_AttachPhoto extends JavaProcess implements IProcessPrecondition
 {
 	@Override
@@ -9,15 +9,26 @@ import java.util.function.UnaryOperator;
 import org.adempiere.ad.trx.api.ITrxManager;
 import org.adempiere.exceptions.AdempiereException;
 import org.adempiere.util.Services;
+import org.compiere.model.I_AD_Message;
 import org.compiere.model.X_AD_Message;
+import org.compiere.util.CCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Splitter;
 
 import de.metas.i18n.IADMessageDAO;
@@ -64,27 +75,131 @@ public class I18NRestController
 
 	@Autowired
 	private UserSession userSession;
+	@Autowired
+	private ObjectMapper jsonMapper;
+
+	/** Pre-rendered messages bundles, indexed by language and filter. Also reset on AD_Message changes and on full cache reset. */
+	private final CCache<String, MessagesBundle> bundles = CCache.newLRUCache(I_AD_Message.Table_Name + "#MessagesBundle#by#lang#filter", 100, 0);
 
+	/**
+	 * @return messages tree as pre-rendered JSON; if the client already has the current version (see ETag) then 304 Not Modified is returned
+	 */
 	@GetMapping("/messages")
-	public Map<String, Object> getMessages(@RequestParam(name = "filter", required = false) final String filterString,
-			@RequestParam(name = "lang", required = false) final String adLanguageParam)
+	public ResponseEntity<byte[]> getMessages(@RequestParam(name = "filter", required = false) final String filterString,
+			@RequestParam(name = "lang", required = false) final String adLanguageParam,
+			final WebRequest request)
 	{
 		final String adLanguage = Check.isEmpty(adLanguageParam, true) ? userSession.getAD_Language() : adLanguageParam;
+		final String filterStringUC = Check.isEmpty(filterString, true) ? "" : filterString.trim().toUpperCase();
+
+		final MessagesBundle bundle = bundles.getOrLoad(adLanguage + "#" + filterStringUC, () -> createBundle(adLanguage, filterStringUC));
+
+		final boolean gzipped = isGzipAccepted(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+
+		final String etag = bundle.getETag(gzipped).toETagString();
+		final boolean notModified = request.checkNotModified(etag);
+		final ResponseEntity.BodyBuilder response;
+		if (notModified)
+		{
+			response = ResponseEntity.status(HttpStatus.NOT_MODIFIED);
+		}
+		else
+		{
+			response = ResponseEntity.ok()
+					.contentType(MediaType.APPLICATION_JSON_UTF8);
+			if (gzipped)
+			{
+				response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+			}
+		}
+
+		response.eTag(etag)
+				.cacheControl(CacheControl.noCache()) // always revalidate using the ETag
+				.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+		return notModified ? response.build() : response.body(bundle.getContent(gzipped));
+	}
+
+	/**
+	 * @param acceptEncoding the Accept-Encoding header value, e.g. {@code gzip, deflate;q=0.5}
+	 * @return true if the gzip content coding is accepted with a quality value greater than zero, either explicitly or by the {@code *} wildcard
+	 */
+	@VisibleForTesting
+	static boolean isGzipAccepted(final String acceptEncoding)
+	{
+		if (Check.isEmpty(acceptEncoding, true))
+		{
+			return false;
+		}
+
+		Boolean gzipAccepted = null;
+		boolean wildcardAccepted = false;
+		for (final String codingAndParams : Splitter.on(',').trimResults().omitEmptyStrings().split(acceptEncoding))
+		{
+			final List<String> parts = Splitter.on(';').trimResults().splitToList(codingAndParams);
+			final String coding = parts.get(0).toLowerCase();
+			final boolean accepted = extractQualityValue(parts) > 0;
+			if ("gzip".equals(coding) || "x-gzip".equals(coding))
+			{
+				gzipAccepted = accepted;
+			}
+			else if ("*".equals(coding))
+			{
+				wildcardAccepted = accepted;
+			}
+		}
+
+		return gzipAccepted != null ? gzipAccepted : wildcardAccepted;
+	}
+
+	/** @return the "q" parameter; 1 if missing; 0 if invalid */
+	private static double extractQualityValue(final List<String> codingParts)
+	{
+		for (final String param : codingParts.subList(1, codingParts.size()))
+		{
+			final int idx = param.indexOf('=');
+			if (idx <= 0 || !"q".equalsIgnoreCase(param.substring(0, idx).trim()))
+			{
+				continue;
+			}
+
+			try
+			{
+				return Double.parseDouble(param.substring(idx + 1).trim());
+			}
+			catch (final NumberFormatException ex)
+			{
+				return 0;
+			}
+		}
 
+		return 1;
+	}
+
+	private MessagesBundle createBundle(final String adLanguage, final String filterStringUC)
+	{
 		final ADMessageFilter filter;
-		if (Check.isEmpty(filterString, true))
+		if (filterStringUC.isEmpty())
 		{
 			filter = null;
 		}
 		else
 		{
-			final String filterStringUC = filterString.trim().toUpperCase();
 			filter = adMessageKey -> adMessageKey.trim().toUpperCase().startsWith(filterStringUC);
 		}
 
-		return MessagesTreeLoader.newInstance()
+		final Map<String, Object> tree = MessagesTreeLoader.newInstance()
 				.filter(filter)
 				.load(adLanguage);
+
+		try
+		{
+			return MessagesBundle.ofJson(jsonMapper.writeValueAsBytes(tree));
+		}
+		catch (final JsonProcessingException ex)
+		{
+			throw AdempiereException.wrapIfNeeded(ex);
+		}
 	}
 
 	@PostMapping("/messages")
@@ -103,6 +218,7 @@ public class I18NRestController
 				});
 
 		Services.get(IMsgBL.class).cacheReset();
+		bundles.reset();
 
 		//
 
@@ -0,0 +1,85 @@
+package de.metas.ui.web.i18n;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hashing;
+
+import de.metas.ui.web.cache.ETag;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Messages tree, already serialized to JSON (plain and gzipped), together with it's strong ETags.
+ */
+final class MessagesBundle
+{
+	public static MessagesBundle ofJson(@NonNull final byte[] json)
+	{
+		return new MessagesBundle(json);
+	}
+
+	private final byte[] json;
+	private final byte[] jsonGzipped;
+	private final ETag etag;
+	private final ETag etagGzipped;
+
+	private MessagesBundle(final byte[] json)
+	{
+		this.json = json;
+		jsonGzipped = gzip(json);
+
+		// NOTE: strong ETags are identifying byte-identical representations, so the gzipped one has it's own ETag
+		final long contentHash = Hashing.murmur3_128().hashBytes(json).asLong();
+		etag = ETag.of(contentHash, ImmutableMap.of());
+		etagGzipped = ETag.of(contentHash, ImmutableMap.of("enc", "gzip"));
+	}
+
+	private static byte[] gzip(final byte[] data)
+	{
+		final ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+		try (final GZIPOutputStream gzipOut = new GZIPOutputStream(out))
+		{
+			gzipOut.write(data);
+		}
+		catch (final IOException ex)
+		{
+			throw new UncheckedIOException(ex);
+		}
+		return out.toByteArray();
+	}
+
+	public byte[] getContent(final boolean gzipped)
+	{
+		return gzipped ? jsonGzipped : json;
+	}
+
+	public ETag getETag(final boolean gzipped)
+	{
+		return gzipped ? etagGzipped : etag;
+	}
+}
@@ -2,17 +2,34 @@ package de.metas.ui.web.mail;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import javax.annotation.PreDestroy;
 
 import org.adempiere.exceptions.AdempiereException;
+import org.adempiere.util.concurrent.CustomizableThreadFactory;
+import org.adempiere.util.time.SystemTime;
 import org.compiere.util.Util;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.FileCopyUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+
 import de.metas.logging.LogManager;
 import de.metas.printing.esb.base.util.Check;
 import de.metas.ui.web.window.datatypes.LookupValue;
@@ -42,38 +59,83 @@ import lombok.NonNull;
  * #L%
  */
 
+/**
+ * Stores the attachments of email drafts (see {@link WebuiMailRepository}) as files in a local directory.
+ * <p>
+ * The bytes in use are limited per user and in total (see the <code>metasfresh.webui.email.attachments.maxBytes*</code> properties),
+ * so abandoned drafts cannot fill up the disk.
+ * Files which are not belonging to a known draft (e.g. left over after a crash or restart) are deleted at startup and periodically.
+ * Because of this, a configured attachments directory shall not be shared between nodes. If no directory is configured, a temporary directory of our own is used.
+ */
 @Component
 public class WebuiMailAttachmentsRepository implements InitializingBean
 {
 	private static final transient Logger logger = LogManager.getLogger(WebuiMailAttachmentsRepository.class);
 
 	private static final String PROPERTY_AttachmentsDir = "metasfresh.webui.email.attachmentsDir";
+	/** Attachment files are named {@code <emailId>_<attachmentId>}, where attachmentId is an UUID; see {@link #getAttachmentFile(String, String)} */
+	private static final Pattern ATTACHMENT_FILENAME_PATTERN = Pattern.compile(".+_[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
 	@Value("${metasfresh.webui.email.attachmentsDir:}")
 	private String attachmentsFilePath;
+	@Value("${metasfresh.webui.email.attachments.maxBytesPerUser:104857600}")
+	private long maxBytesPerUser;
+	@Value("${metasfresh.webui.email.attachments.maxBytesTotal:1073741824}")
+	private long maxBytesTotal;
+	@Value("${metasfresh.webui.email.attachments.sweepIntervalMinutes:15}")
+	private int sweepIntervalMinutes;
+	/** how long an attachment which is not (or no longer) linked to an email draft is kept before it's swept */
+	@Value("${metasfresh.webui.email.attachments.unlinkedExpireMinutes:10}")
+	private int unlinkedExpireMinutes;
+
+	@Autowired
+	private WebuiMailRepository mailRepo;
 
 	private File attachmentsDir; // lazy
 
+	/** attachment file name to attachment file info; guarded by this */
+	private final Map<String, AttachmentFileInfo> attachmentFiles = new HashMap<>();
+	/** AD_User_ID to bytes in use; guarded by this */
+	private final Map<Integer, Long> bytesByUserId = new HashMap<>();
+	/** guarded by this */
+	private long totalBytes = 0;
+
+	private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(CustomizableThreadFactory.builder()
+			.setThreadNamePrefix(WebuiMailAttachmentsRepository.class.getName())
+			.setDaemon(true)
+			.build());
+
 	@Override
 	public void afterPropertiesSet() throws Exception
 	{
 		attachmentsDir = checkCreateAttachmentsDir(attachmentsFilePath);
 		logger.info("Attachments directory: {}", attachmentsDir);
+
+		deleteOrphanAttachmentFiles();
+		if (sweepIntervalMinutes > 0)
+		{
+			sweeper.scheduleWithFixedDelay(this::sweep, sweepIntervalMinutes, sweepIntervalMinutes, TimeUnit.MINUTES);
+		}
 	}
 
-	private static File checkCreateAttachmentsDir(final String attachmentsFilePath)
+	@PreDestroy
+	private void destroy()
+	{
+		sweeper.shutdownNow();
+	}
+
+	private static File checkCreateAttachmentsDir(final String attachmentsFilePath) throws IOException
 	{
-		final File attachmentsDir;
 		if (Check.isEmpty(attachmentsFilePath, true))
 		{
-			logger.warn("Using default attachments directory. It's highly recommended to define a proper one. To configure it, please set '{}' property.", PROPERTY_AttachmentsDir);
-			String tmpdir = System.getProperty("java.io.tmpdir");
-			attachmentsDir = new File(tmpdir, "metasfresh-webui/email_attachments");
-		}
-		else
-		{
-			attachmentsDir = new File(attachmentsFilePath);
+			// NOTE: use a directory of our own, because the orphan files sweeping would delete the files of other instances which are sharing the same temp directory
+			logger.warn("Using a temporary attachments directory. It's highly recommended to define a proper one. To configure it, please set '{}' property.", PROPERTY_AttachmentsDir);
+			final File attachmentsDir = Files.createTempDirectory("metasfresh-webui-email_attachments").toFile();
+			attachmentsDir.deleteOnExit();
+			return attachmentsDir;
 		}
 
+		final File attachmentsDir = new File(attachmentsFilePath);
 		if (!attachmentsDir.exists() && !attachmentsDir.mkdirs())
 		{
 			throw new AdempiereException("Cannot create " + attachmentsDir);
@@ -115,18 +177,25 @@ public class WebuiMailAttachmentsRepository implements InitializingBean
 			throw new AdempiereException("Filename not provided");
 		}
 
-		byte[] fileContent;
+		//
+		// Stream it to internal attachments storage
+		// NOTE: don't use file.getBytes() because it would load the whole upload in memory
+		final String attachmentId = UUID.randomUUID().toString();
+		final File attachmentFile = getAttachmentFile(emailId, attachmentId);
+		reserve(emailId, attachmentId, getOwnerUserId(emailId), file.getSize());
 		try
 		{
-			fileContent = file.getBytes();
+			file.transferTo(attachmentFile);
 		}
-		catch (IOException e)
+		catch (final IOException | RuntimeException e)
 		{
-			throw new AdempiereException("Failed fetching attachment content")
-					.setParameter("filename", originalFilename);
+			deleteAttachmentFile(attachmentFile);
+			throw new AdempiereException("Failed storing " + originalFilename)
+					.setParameter("filename", originalFilename)
+					.setParameter("attachmentFile", attachmentFile);
 		}
 
-		return createAttachment(emailId, originalFilename, fileContent);
+		return StringLookupValue.of(attachmentId, originalFilename);
 	}
 
 	public LookupValue createAttachment(@NonNull final String emailId, @NonNull final String filename, @NonNull byte[] fileContent)
@@ -136,12 +205,14 @@ public class WebuiMailAttachmentsRepository implements InitializingBean
 		//
 		// Store it to internal attachments storage
 		final File attachmentFile = getAttachmentFile(emailId, attachmentId);
+		reserve(emailId, attachmentId, getOwnerUserId(emailId), fileContent.length);
 		try
 		{
 			FileCopyUtils.copy(fileContent, attachmentFile);
 		}
-		catch (final IOException e)
+		catch (final IOException | RuntimeException e)
 		{
+			deleteAttachmentFile(attachmentFile);
 			throw new AdempiereException("Failed storing " + filename)
 					.setParameter("filename", fileContent)
 					.setParameter("attachmentFile", attachmentFile);
@@ -167,6 +238,13 @@ public class WebuiMailAttachmentsRepository implements InitializingBean
 		final String attachmentId = attachment.getIdAsString();
 
 		final File attachmentFile = getAttachmentFile(emailId, attachmentId);
+		deleteAttachmentFile(attachmentFile);
+	}
+
+	private void deleteAttachmentFile(final File attachmentFile)
+	{
+		release(attachmentFile);
+
 		if (!attachmentFile.exists())
 		{
 			logger.debug("Attachment file {} is missing. Nothing to delete", attachmentFile);
@@ -184,4 +262,192 @@ public class WebuiMailAttachmentsRepository implements InitializingBean
 		}
 	}
 
+	private int getOwnerUserId(final String emailId)
+	{
+		return mailRepo.getEmail(emailId).getOwnerUserId();
+	}
+
+	/**
+	 * Accounts the given attachment file, before it's written.
+	 * The reservation is released when the attachment file is deleted, at the latest when the attachment is swept because it's not linked to its email draft.
+	 *
+	 * @throws AdempiereException if the user's or the total quota would be exceeded
+	 */
+	private synchronized void reserve(final String emailId, final String attachmentId, final int ownerUserId, final long size)
+	{
+		final long userBytes = bytesByUserId.getOrDefault(ownerUserId, 0L);
+		if (userBytes + size > maxBytesPerUser)
+		{
+			throw new AdempiereException("Email attachments quota exceeded")
+					.setParameter("maxBytesPerUser", maxBytesPerUser)
+					.setParameter("userBytes", userBytes)
+					.setParameter("size", size);
+		}
+		if (totalBytes + size > maxBytesTotal)
+		{
+			throw new AdempiereException("Email attachments quota exceeded")
+					.setParameter("maxBytesTotal", maxBytesTotal)
+					.setParameter("totalBytes", totalBytes)
+					.setParameter("size", size);
+		}
+
+		final File attachmentFile = getAttachmentFile(emailId, attachmentId);
+		attachmentFiles.put(attachmentFile.getName(), new AttachmentFileInfo(emailId, attachmentId, ownerUserId, size, SystemTime.millis()));
+		bytesByUserId.put(ownerUserId, userBytes + size);
+		totalBytes += size;
+	}
+
+	private synchronized void release(final File attachmentFile)
+	{
+		final AttachmentFileInfo fileInfo = attachmentFiles.remove(attachmentFile.getName());
+		if (fileInfo == null)
+		{
+			return;
+		}
+
+		final long userBytes = bytesByUserId.getOrDefault(fileInfo.getOwnerUserId(), 0L) - fileInfo.getSize();
+		if (userBytes > 0)
+		{
+			bytesByUserId.put(fileInfo.getOwnerUserId(), userBytes);
+		}
+		else
+		{
+			bytesByUserId.remove(fileInfo.getOwnerUserId());
+		}
+		totalBytes -= fileInfo.getSize();
+	}
+
+	private synchronized boolean isKnownAttachmentFile(final File file)
+	{
+		return attachmentFiles.containsKey(file.getName());
+	}
+
+	/** @return bytes used by all email attachments */
+	public synchronized long getTotalBytes()
+	{
+		return totalBytes;
+	}
+
+	@VisibleForTesting
+	void sweep()
+	{
+		try
+		{
+			// Expired drafts are deleting their attachments when removed
+			mailRepo.removeExpiredEmails();
+			deleteUnlinkedAttachmentFiles();
+			deleteOrphanAttachmentFiles();
+		}
+		catch (final Exception ex)
+		{
+			logger.warn("Failed sweeping email attachments. Ignored.", ex);
+		}
+	}
+
+	/**
+	 * Deletes the accounted attachment files which are not linked to their email draft, e.g. because the draft was removed while the attachment was linked to it.
+	 */
+	private void deleteUnlinkedAttachmentFiles()
+	{
+		final long reservedBeforeMillis = SystemTime.millis() - TimeUnit.MINUTES.toMillis(unlinkedExpireMinutes);
+
+		int countDeleted = 0;
+		for (final AttachmentFileInfo fileInfo : getAttachmentFileInfosReservedBefore(reservedBeforeMillis))
+		{
+			final Optional<WebuiEmail> email = mailRepo.getEmailIfPresent(fileInfo.getEmailId());
+			final boolean linked = email.isPresent() && email.get().getAttachments().containsId(fileInfo.getAttachmentId());
+			if (!linked)
+			{
+				deleteAttachmentFile(getAttachmentFile(fileInfo.getEmailId(), fileInfo.getAttachmentId()));
+				countDeleted++;
+			}
+		}
+
+		if (countDeleted > 0)
+		{
+			logger.info("Deleted {} email attachment files which were not linked to an email draft", countDeleted);
+		}
+	}
+
+	private synchronized List<AttachmentFileInfo> getAttachmentFileInfosReservedBefore(final long reservedBeforeMillis)
+	{
+		return attachmentFiles.values()
+				.stream()
+				.filter(fileInfo -> fileInfo.getReservedMillis() < reservedBeforeMillis)
+				.collect(ImmutableList.toImmutableList());
+	}
+
+	private void deleteOrphanAttachmentFiles()
+	{
+		final File[] files = getAttachmentsDir().listFiles();
+		if (files == null)
+		{
+			return;
+		}
+
+		int countDeleted = 0;
+		for (final File file : files)
+		{
+			// NOTE: files are accounted before they are written, so a file which is currently written is never considered an orphan
+			if (isAttachmentFile(file) && !isKnownAttachmentFile(file))
+			{
+				deleteAttachmentFile(file);
+				countDeleted++;
+			}
+		}
+
+		if (countDeleted > 0)
+		{
+			logger.info("Deleted {} orphan email attachment files from {}", countDeleted, attachmentsDir);
+		}
+	}
+
+	/** @return true if given file is an attachment file which was created by us (maybe by a previous run) */
+	private static boolean isAttachmentFile(final File file)
+	{
+		return file.isFile() && ATTACHMENT_FILENAME_PATTERN.matcher(file.getName()).matches();
+	}
+
+	private static final class AttachmentFileInfo
+	{
+		private final String emailId;
+		private final String attachmentId;
+		private final int ownerUserId;
+		private final long size;
+		private final long reservedMillis;
+
+		private AttachmentFileInfo(final String emailId, final String attachmentId, final int ownerUserId, final long size, final long reservedMillis)
+		{
+			this.emailId = emailId;
+			this.attachmentId = attachmentId;
+			this.ownerUserId = ownerUserId;
+			this.size = size;
+			this.reservedMillis = reservedMillis;
+		}
+
+		public String getEmailId()
+		{
+			return emailId;
+		}
+
+		public String getAttachmentId()
+		{
+			return attachmentId;
+		}
+
+		public int getOwnerUserId()
+		{
+			return ownerUserId;
+		}
+
+		public long getSize()
+		{
+			return size;
+		}
+
+		public long getReservedMillis()
+		{
+			return reservedMillis;
+		}
+	}
 }
@@ -1,5 +1,6 @@
 package de.metas.ui.web.mail;
 
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.UnaryOperator;
@@ -8,6 +9,7 @@ import org.compiere.util.DisplayType;
 import org.compiere.util.Evaluatee;
 import org.compiere.util.Evaluatees;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
@@ -28,7 +30,6 @@ import de.metas.ui.web.window.model.lookup.LookupDataSourceFactory;
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
 import lombok.ToString;
-import lombok.Value;
 
 /*
  * #%L
@@ -59,15 +60,19 @@ public class WebuiMailRepository
 	private ApplicationEventPublisher eventPublisher;
 
 	private final AtomicInteger nextEmailId = new AtomicInteger(1);
-	private final Cache<String, WebuiEmailEntry> emailsById = CacheBuilder.newBuilder()
-			.expireAfterAccess(2, TimeUnit.HOURS)
-			.removalListener(notification -> onEmailRemoved(((WebuiEmailEntry)notification.getValue()).getEmail()))
-			.build();
+	private final Cache<String, WebuiEmailEntry> emailsById;
 
 	private final LookupDataSource emailToLookup;
 
-	public WebuiMailRepository()
+	public WebuiMailRepository(@Value("${metasfresh.webui.email.drafts.maxSize:1000}") final int maxDrafts)
 	{
+		// NOTE: the oldest drafts are evicted when there are too many, which is also deleting their attachments
+		emailsById = CacheBuilder.newBuilder()
+				.maximumSize(maxDrafts)
+				.expireAfterAccess(2, TimeUnit.HOURS)
+				.removalListener(notification -> onEmailRemoved(((WebuiEmailEntry)notification.getValue()).getEmail()))
+				.build();
+
 		final LookupDescriptor emailToLookupDescriptor = SqlLookupDescriptor.builder()
 				.setColumnName(org.compiere.model.I_AD_User.COLUMNNAME_AD_User_ID)
 				.setDisplayType(DisplayType.Search)
@@ -112,6 +117,13 @@ public class WebuiMailRepository
 		return getEmailEntry(emailId).getEmail();
 	}
 
+	/** @return email draft or empty if it does not exist or it was removed */
+	public Optional<WebuiEmail> getEmailIfPresent(final String emailId)
+	{
+		final WebuiEmailEntry emailEntry = emailsById.getIfPresent(emailId);
+		return emailEntry != null ? Optional.of(emailEntry.getEmail()) : Optional.empty();
+	}
+
 	public WebuiEmailChangeResult changeEmail(final String emailId, final UnaryOperator<WebuiEmail> emailModifier)
 	{
 		return getEmailEntry(emailId).compute(emailModifier);
@@ -122,6 +134,19 @@ public class WebuiMailRepository
 		emailsById.invalidate(emailId);
 	}
 
+	/**
+	 * Removes the expired emails now (instead of waiting for the next cache access), so their attachments are deleted too.
+	 */
+	public void removeExpiredEmails()
+	{
+		emailsById.cleanUp();
+	}
+
+	public long getEmailsCount()
+	{
+		return emailsById.size();
+	}
+
 	/**
 	 * Called when the email was removed from our internal cache.
 	 *
@@ -175,7 +200,7 @@ public class WebuiMailRepository
 		}
 	}
 
-	@Value
+	@lombok.Value
 	@AllArgsConstructor
 	public static final class WebuiEmailRemovedEvent
 	{
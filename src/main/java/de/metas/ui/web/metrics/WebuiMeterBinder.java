@@ -0,0 +1,99 @@
+package de.metas.ui.web.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import de.metas.ui.web.mail.WebuiMailAttachmentsRepository;
+import de.metas.ui.web.mail.WebuiMailRepository;
+import de.metas.ui.web.notification.UserNotificationsService;
+import de.metas.ui.web.view.IViewsRepository;
+import de.metas.ui.web.websocket.WebSocketProducersRegistry;
+import de.metas.ui.web.window.model.DocumentCollection;
+import de.metas.ui.web.window.model.lookup.LookupDataSourceFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Registers the gauges of webui-api's spring components.
+ *
+ * All gauges are evaluated only when the metrics are scraped, so they are not adding any overhead to the hot paths.
+ */
+@Component
+public class WebuiMeterBinder implements MeterBinder
+{
+	@Autowired
+	@Lazy
+	private IViewsRepository viewsRepository;
+
+	@Autowired
+	private DocumentCollection documentCollection;
+
+	@Autowired
+	private WebSocketProducersRegistry websocketProducersRegistry;
+
+	@Autowired
+	private UserNotificationsService userNotificationsService;
+
+	@Autowired
+	private WebuiMailRepository mailRepo;
+
+	@Autowired
+	private WebuiMailAttachmentsRepository mailAttachmentsRepo;
+
+	@Override
+	public void bindTo(final MeterRegistry registry)
+	{
+		Gauge.builder(WebuiMetrics.PREFIX + "views.count", viewsRepository, views -> views.getViews().size())
+				.description("Number of views (grids) currently held in memory")
+				.register(registry);
+
+		Gauge.builder(WebuiMetrics.PREFIX + "documents.cached", documentCollection, DocumentCollection::getCachedRootDocumentsCount)
+				.description("Number of root documents in cache")
+				.register(registry);
+
+		Gauge.builder(WebuiMetrics.PREFIX + "lookups.dataSources", LookupDataSourceFactory.instance, LookupDataSourceFactory::getCachedLookupDataSourcesCount)
+				.description("Number of cached lookup data sources")
+				.register(registry);
+
+		Gauge.builder(WebuiMetrics.PREFIX + "websocket.producers", websocketProducersRegistry, WebSocketProducersRegistry::getActiveProducersCount)
+				.description("Number of active websocket producers (topics with subscribers)")
+				.register(registry);
+
+		Gauge.builder(WebuiMetrics.PREFIX + "notifications.queues", userNotificationsService, UserNotificationsService::getNotificationsQueuesCount)
+				.description("Number of user notification queues")
+				.register(registry);
+
+		Gauge.builder(WebuiMetrics.PREFIX + "email.drafts", mailRepo, WebuiMailRepository::getEmailsCount)
+				.description("Number of email drafts currently held in memory")
+				.register(registry);
+
+		Gauge.builder(WebuiMetrics.PREFIX + "email.attachments.bytes", mailAttachmentsRepo, WebuiMailAttachmentsRepository::getTotalBytes)
+				.description("Bytes used by email drafts attachments")
+				.baseUnit("bytes")
+				.register(registry);
+	}
+}
@@ -0,0 +1,72 @@
+package de.metas.ui.web.metrics;
+
+import org.compiere.util.CCache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Entry point for recording webui-api metrics from places which are not spring components (e.g. descriptors, lookups, view selection factories).
+ *
+ * The meters are registered in micrometer's global registry, which is backed by the spring managed registry (and scraped via the prometheus endpoint).
+ * Timers and counters shall be created once and kept in static final fields, so the hot paths only pay for the actual recording.
+ *
+ * @see WebuiMeterBinder for gauges on spring components
+ */
+public final class WebuiMetrics
+{
+	public static final String PREFIX = "metasfresh.webui.";
+
+	private static final String CACHE_SIZE = PREFIX + "cache.size";
+	private static final String TAG_Cache = "cache";
+
+	private WebuiMetrics()
+	{
+	}
+
+	public static Timer timer(final String name)
+	{
+		return Metrics.timer(PREFIX + name);
+	}
+
+	public static Counter counter(final String name, final String... tags)
+	{
+		return Metrics.counter(PREFIX + name, tags);
+	}
+
+	/**
+	 * Registers a gauge on given cache's size.
+	 *
+	 * NOTE: the gauge keeps only a weak reference to the cache.
+	 *
+	 * @return the cache
+	 */
+	public static <K, V> CCache<K, V> monitorCacheSize(final String cacheName, final CCache<K, V> cache)
+	{
+		return Metrics.gauge(CACHE_SIZE, Tags.of(TAG_Cache, cacheName), cache, CCache::size);
+	}
+}
@@ -1,5 +1,8 @@
 package de.metas.ui.web.notification;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -12,6 +15,7 @@ import com.fasterxml.jackson.annotation.JsonValue;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteStreams;
 
 import de.metas.i18n.IMsgBL;
 import lombok.Builder;
@@ -38,7 +42,8 @@ import lombok.Builder;
  * #L%
  */
 
-public class UserNotification
+@SuppressWarnings("serial")
+public class UserNotification implements Serializable
 {
 	private final String id;
 	private final long timestamp;
@@ -148,6 +153,61 @@ public class UserNotification
 		return id;
 	}
 
+	/* package */ Map<String, Object> getDetailADMessageParams()
+	{
+		return detailADMessageParams;
+	}
+
+	/**
+	 * Makes sure this notification can be sent to other cluster members.
+	 *
+	 * @return this notification if all detail message parameters are serializable, else a copy where the not serializable parameters are converted to string
+	 */
+	/* package */ UserNotification toSerializable()
+	{
+		if (detailADMessageParams.values().stream().allMatch(UserNotification::isSerializable))
+		{
+			return this;
+		}
+
+		final ImmutableMap.Builder<String, Object> serializableParams = ImmutableMap.builder();
+		detailADMessageParams.forEach((name, value) -> serializableParams.put(name, isSerializable(value) ? value : String.valueOf(value)));
+
+		return builder()
+				.id(id)
+				.timestamp(timestamp)
+				.important(important)
+				.read(isRead())
+				.recipientUserId(recipientUserId)
+				.detailPlain(detailPlain)
+				.detailADMessage(detailADMessage)
+				.detailADMessageParams(serializableParams.build())
+				.targetType(targetType)
+				.targetADWindowId(target_adWindowId)
+				.targetTableName(target_tableName)
+				.targetRecordId(target_recordId)
+				.build();
+	}
+
+	private static boolean isSerializable(final Object value)
+	{
+		if (!(value instanceof Serializable))
+		{
+			return false;
+		}
+
+		// NOTE: a serializable object might still reference not serializable objects, so the only reliable check is to serialize it
+		try (final ObjectOutputStream out = new ObjectOutputStream(ByteStreams.nullOutputStream()))
+		{
+			out.writeObject(value);
+			return true;
+		}
+		catch (final IOException ex)
+		{
+			return false;
+		}
+	}
+
 	public String getMessage(final String adLanguage)
 	{
 		return adLanguage2message.computeIfAbsent(adLanguage, this::buildMessage);
@@ -0,0 +1,207 @@
+package de.metas.ui.web.notification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.ITopic;
+import com.hazelcast.core.Member;
+import com.hazelcast.core.MembershipAdapter;
+import com.hazelcast.core.MembershipEvent;
+import com.hazelcast.core.MultiMap;
+
+import de.metas.logging.LogManager;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Delivers user notifications across a cluster of webui-api nodes which are sharing the same {@link HazelcastInstance}.
+ * <p>
+ * A notification event might be received by one node (the one which raised it) or by all nodes, depending on the event bus setup. So:
+ * <ul>
+ * <li>the first node which receives an event claims it (by event ID, in a distributed map) and persists it into notifications;
+ * the other nodes which are receiving the same event are skipping it
+ * <li>each notification is routed only to the members which have at least one active session of the recipient user
+ * </ul>
+ *
+ * Each member registers it's users (the ones with active sessions) into a distributed multimap (AD_User_ID to member UUID).
+ * When a member leaves the cluster, it's registrations are removed by the other members.
+ */
+public final class UserNotificationsClusterDispatcher
+{
+	public static final UserNotificationsClusterDispatcher of(
+			@NonNull final HazelcastInstance hazelcast,
+			@NonNull final Consumer<UserNotification> localDeliverer)
+	{
+		return new UserNotificationsClusterDispatcher(hazelcast, localDeliverer);
+	}
+
+	private static final Logger logger = LogManager.getLogger(UserNotificationsClusterDispatcher.class);
+
+	private static final String MAPNAME_RecipientMembers = "metasfresh.webui.notifications.recipientMembers";
+	private static final String MAPNAME_ClaimedEvents = "metasfresh.webui.notifications.claimedEvents";
+	private static final int CLAIMED_EVENTS_TTL_MINUTES = 30;
+	private static final String TOPICNAME_Prefix = "metasfresh.webui.notifications.member.";
+
+	private final HazelcastInstance hazelcast;
+	private final Consumer<UserNotification> localDeliverer;
+	private final String localMemberUUID;
+
+	/** AD_User_ID to member UUIDs which have active sessions for that user */
+	private final MultiMap<Integer, String> recipientMembers;
+
+	/** event ID to the member UUID which persisted it */
+	private final IMap<String, String> claimedEvents;
+
+	private UserNotificationsClusterDispatcher(
+			@NonNull final HazelcastInstance hazelcast,
+			@NonNull final Consumer<UserNotification> localDeliverer)
+	{
+		this.hazelcast = hazelcast;
+		this.localDeliverer = localDeliverer;
+		localMemberUUID = hazelcast.getCluster().getLocalMember().getUuid();
+		recipientMembers = hazelcast.getMultiMap(MAPNAME_RecipientMembers);
+		claimedEvents = hazelcast.getMap(MAPNAME_ClaimedEvents);
+
+		final ITopic<UserNotification> localTopic = hazelcast.getTopic(buildTopicName(localMemberUUID));
+		localTopic.addMessageListener(message -> deliverLocally(message.getMessageObject()));
+
+		hazelcast.getCluster().addMembershipListener(new MembershipAdapter()
+		{
+			@Override
+			public void memberRemoved(final MembershipEvent event)
+			{
+				onMemberRemoved(event.getMember());
+			}
+		});
+
+		logger.info("Created {}", this);
+	}
+
+	@Override
+	public String toString()
+	{
+		return MoreObjects.toStringHelper(this)
+				.add("localMemberUUID", localMemberUUID)
+				.toString();
+	}
+
+	private static final String buildTopicName(final String memberUUID)
+	{
+		return TOPICNAME_Prefix + memberUUID;
+	}
+
+	/** Advertises that the local member has active sessions for given user, so notifications for that user shall be routed here. */
+	public void addLocalRecipient(final int adUserId)
+	{
+		recipientMembers.put(adUserId, localMemberUUID);
+		logger.trace("Registered AD_User_ID={} on member {}", adUserId, localMemberUUID);
+	}
+
+	public void removeLocalRecipient(final int adUserId)
+	{
+		recipientMembers.remove(adUserId, localMemberUUID);
+		logger.trace("Unregistered AD_User_ID={} from member {}", adUserId, localMemberUUID);
+	}
+
+	/**
+	 * Persists and dispatches the notifications, but only if the given event was not already claimed by another member.
+	 *
+	 * @param eventId cluster wide unique event ID
+	 * @param notificationsPersister persists the event and returns the created notifications; it's called only if the local member claimed the event.
+	 * @return the persisted notifications or empty list if the event was already claimed by another member
+	 */
+	public List<UserNotification> persistAndDispatchOnce(@NonNull final String eventId, @NonNull final Supplier<List<UserNotification>> notificationsPersister)
+	{
+		final String claimingMemberUUID = claimedEvents.putIfAbsent(eventId, localMemberUUID, CLAIMED_EVENTS_TTL_MINUTES, TimeUnit.MINUTES);
+		if (claimingMemberUUID != null)
+		{
+			logger.trace("Skip persisting and dispatching event {} because it was already claimed by member {}", eventId, claimingMemberUUID);
+			return ImmutableList.of();
+		}
+
+		final List<UserNotification> notifications = notificationsPersister.get();
+		notifications.forEach(this::dispatch);
+		return notifications;
+	}
+
+	private void dispatch(final UserNotification notification)
+	{
+		final int recipientUserId = notification.getRecipientUserId();
+		final Collection<String> memberUUIDs = recipientMembers.get(recipientUserId);
+		if (memberUUIDs == null || memberUUIDs.isEmpty())
+		{
+			logger.trace("No member has active sessions for recipientUserId={}. Skip dispatching {}", recipientUserId, notification);
+			return;
+		}
+
+		for (final String memberUUID : memberUUIDs)
+		{
+			if (localMemberUUID.equals(memberUUID))
+			{
+				deliverLocally(notification);
+			}
+			else
+			{
+				// NOTE: the detail message parameters are coming from the event, so they might not be serializable
+				final ITopic<UserNotification> memberTopic = hazelcast.getTopic(buildTopicName(memberUUID));
+				memberTopic.publish(notification.toSerializable());
+				logger.trace("Published {} to member {}", notification, memberUUID);
+			}
+		}
+	}
+
+	private void deliverLocally(final UserNotification notification)
+	{
+		try
+		{
+			localDeliverer.accept(notification);
+		}
+		catch (final Exception ex)
+		{
+			logger.warn("Failed delivering notification locally: {}", notification, ex);
+		}
+	}
+
+	private void onMemberRemoved(final Member member)
+	{
+		final String memberUUID = member.getUuid();
+		for (final Integer adUserId : recipientMembers.keySet())
+		{
+			recipientMembers.remove(adUserId, memberUUID);
+		}
+
+		hazelcast.getTopic(buildTopicName(memberUUID)).destroy();
+
+		logger.debug("Removed all recipient registrations of member {}", memberUUID);
+	}
+}
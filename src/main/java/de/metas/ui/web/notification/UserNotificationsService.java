@@ -7,9 +7,15 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import org.adempiere.util.Services;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.session.events.SessionDestroyedEvent;
 import org.springframework.stereotype.Service;
 
+import com.google.common.collect.ImmutableList;
+import com.hazelcast.core.HazelcastInstance;
+
 import de.metas.event.Event;
 import de.metas.event.IEventBus;
 import de.metas.event.IEventBusFactory;
@@ -50,9 +56,17 @@ public class UserNotificationsService
 	@Autowired
 	private WebsocketSender websocketSender;
 
+	/** Available only when HTTP sessions are stored in hazelcast, i.e. not in unit tests */
+	@Autowired(required = false)
+	private HazelcastInstance hazelcast;
+
+	@Value("${metasfresh.webui.notifications.clustered:false}")
+	private boolean clustered;
+
 	private final ConcurrentHashMap<Integer, UserNotificationsQueue> adUserId2notifications = new ConcurrentHashMap<>();
 
 	private final AtomicBoolean subscribedToEventBus = new AtomicBoolean(false);
+	private UserNotificationsClusterDispatcher clusterDispatcher; // lazy
 
 	@EventListener
 	private void onUserLanguageChanged(final LanguagedChangedEvent event)
@@ -64,10 +78,19 @@ public class UserNotificationsService
 		}
 	}
 
+	/**
+	 * Subscribes to notification topics at startup, so the events raised on this node are persisted even if there is no user logged in here.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
 	private void subscribeToEventTopicsIfNeeded()
 	{
 		if (!subscribedToEventBus.getAndSet(true))
 		{
+			if (clustered && hazelcast != null)
+			{
+				clusterDispatcher = UserNotificationsClusterDispatcher.of(hazelcast, this::addNotificationToLocalQueue);
+			}
+
 			final IEventBusFactory eventBusFactory = Services.get(IEventBusFactory.class);
 			eventBusFactory.getAvailableUserNotificationsTopics()
 					.stream()
@@ -84,11 +107,46 @@ public class UserNotificationsService
 		notificationsQueue.addActiveSessionId(sessionId);
 
 		subscribeToEventTopicsIfNeeded();
+
+		if (clusterDispatcher != null)
+		{
+			clusterDispatcher.addLocalRecipient(adUserId);
+		}
 	}
 
+	/**
+	 * Removes given session from the notification queues. Queues without active sessions are dropped (they are reloaded from repository on next login).
+	 */
 	public synchronized void disableForSession(final String sessionId)
 	{
-		// TODO: implement
+		logger.trace("Disabling for sessionId={}", sessionId);
+
+		for (final UserNotificationsQueue notificationsQueue : ImmutableList.copyOf(adUserId2notifications.values()))
+		{
+			notificationsQueue.removeActiveSessionId(sessionId);
+			if (notificationsQueue.hasActiveSessions())
+			{
+				continue;
+			}
+
+			final int adUserId = notificationsQueue.getAD_User_ID();
+			adUserId2notifications.remove(adUserId);
+
+			if (clusterDispatcher != null)
+			{
+				clusterDispatcher.removeLocalRecipient(adUserId);
+			}
+		}
+	}
+
+	/**
+	 * Disables the notifications for destroyed sessions, i.e. on logout (session deleted) and also when the session expired.
+	 * In the latter case the user might have not logged out, so this is the only place where the recipient registration is removed.
+	 */
+	@EventListener
+	private void onSessionDestroyed(final SessionDestroyedEvent event)
+	{
+		disableForSession(event.getSessionId());
 	}
 
 	public String getWebsocketEndpoint(final int adUserId)
@@ -120,19 +178,33 @@ public class UserNotificationsService
 	{
 		logger.trace("Got event from {}: {}", eventBus, event);
 
+		if (clusterDispatcher != null)
+		{
+			// NOTE: the event might be received by more than one cluster member, but only the first one persists it and routes the notifications
+			clusterDispatcher.persistAndDispatchOnce(event.getId(), () -> notificationsRepo.save(event));
+			return;
+		}
+
 		final List<UserNotification> notifications = notificationsRepo.save(event);
+		notifications.forEach(this::addNotificationToLocalQueue);
+	}
 
-		notifications.forEach(notification -> {
-			final int recipientUserId = notification.getRecipientUserId();
-			final UserNotificationsQueue notificationsQueue = getNotificationsQueueOrNull(recipientUserId);
-			if (notificationsQueue == null)
-			{
-				logger.trace("No notification queue was found for recipientUserId={}", recipientUserId);
-				return;
-			}
+	private void addNotificationToLocalQueue(final UserNotification notification)
+	{
+		final int recipientUserId = notification.getRecipientUserId();
+		final UserNotificationsQueue notificationsQueue = getNotificationsQueueOrNull(recipientUserId);
+		if (notificationsQueue == null)
+		{
+			logger.trace("No notification queue was found for recipientUserId={}", recipientUserId);
+			return;
+		}
+
+		notificationsQueue.addNotification(notification);
+	}
 
-			notificationsQueue.addNotification(notification);
-		});
+	public int getNotificationsQueuesCount()
+	{
+		return adUserId2notifications.size();
 	}
 
 	public void markNotificationAsRead(final int adUserId, final String notificationId)
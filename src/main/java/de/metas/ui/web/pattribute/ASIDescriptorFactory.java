@@ -25,6 +25,7 @@ import org.springframework.stereotype.Component;
 import com.hazelcast.util.function.BiConsumer;
 
 import de.metas.printing.esb.base.util.Check;
+import de.metas.ui.web.metrics.WebuiMetrics;
 import de.metas.ui.web.window.datatypes.DocumentId;
 import de.metas.ui.web.window.datatypes.DocumentType;
 import de.metas.ui.web.window.datatypes.LookupValue.StringLookupValue;
@@ -67,7 +68,7 @@ import de.metas.ui.web.window.model.IDocumentFieldView;
 @Component
 public class ASIDescriptorFactory
 {
-	private final CCache<ArrayKey, ASIDescriptor> asiDescriptorById = CCache.newLRUCache(I_M_AttributeSet.Table_Name + "#Descriptors#by#M_AttributeSet_ID", 200, 0);
+	private final CCache<ArrayKey, ASIDescriptor> asiDescriptorById = WebuiMetrics.monitorCacheSize("ASIDescriptors", CCache.newLRUCache(I_M_AttributeSet.Table_Name + "#Descriptors#by#M_AttributeSet_ID", 200, 0));
 	private final CCache<Integer, ASILookupDescriptor> asiLookupDescriptorsByAttributeId = CCache.newLRUCache(I_M_AttributeSet.Table_Name + "#LookupDescriptors", 200, 0);
 
 	private static final ASIDataBindingDescriptorBuilder _asiBindingsBuilder = new ASIDataBindingDescriptorBuilder();
@@ -83,6 +83,11 @@ import lombok.NonNull;
 				.addOnlyActiveRecordsFilter()
 				.addInArrayFilter(I_M_Picking_Candidate.COLUMN_M_ShipmentSchedule_ID, pickingSlotRowQuery.getShipmentScheduleIds());
 
+		if (!pickingSlotRowQuery.getOnlyPickingSlotIds().isEmpty())
+		{
+			queryBuilder.addInArrayFilter(I_M_Picking_Candidate.COLUMNNAME_M_PickingSlot_ID, pickingSlotRowQuery.getOnlyPickingSlotIds());
+		}
+
 		switch (pickingSlotRowQuery.getPickingCandidates())
 		{
 			case DONT_CARE:
@@ -24,6 +24,7 @@ package de.metas.ui.web.picking;
 import java.util.List;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 
 import lombok.Builder;
 import lombok.Builder.Default;
@@ -38,7 +39,7 @@ import lombok.Singular;
  *
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class PickingSlotRepoQuery
 {
 	public static PickingSlotRepoQuery of(final int shipmentScheduleId)
@@ -78,4 +79,10 @@ public class PickingSlotRepoQuery
 	 */
 	@Default
 	final PickingCandidate pickingCandidates = PickingCandidate.DONT_CARE;
+
+	/**
+	 * Optional; if not empty, only those {@code M_PickingSlot_ID}s will be retrieved. Used to reload only some picking slots of a view.
+	 */
+	@Singular
+	final ImmutableSet<Integer> onlyPickingSlotIds;
 }
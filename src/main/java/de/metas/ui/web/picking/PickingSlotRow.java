@@ -1,6 +1,7 @@
 package de.metas.ui.web.picking;
 
 import java.math.BigDecimal;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -219,6 +220,31 @@ public final class PickingSlotRow implements IViewRow
 		this.includedHURows = includedHURows == null ? ImmutableMap.of() : Maps.uniqueIndex(includedHURows, PickingSlotRow::getPickingSlotRowId);
 	}
 
+	/**
+	 * Copy constructor, used to change the included rows.
+	 */
+	private PickingSlotRow(final PickingSlotRow from, final List<PickingSlotRow> includedHURows)
+	{
+		id = from.id;
+		type = from.type;
+		processed = from.processed;
+		documentPath = from.documentPath;
+
+		huId = from.huId;
+		huStorageProductId = from.huStorageProductId;
+		huCode = from.huCode;
+		huProduct = from.huProduct;
+		huPackingInfo = from.huPackingInfo;
+		huQtyCU = from.huQtyCU;
+
+		pickingSlotRow = from.pickingSlotRow;
+		pickingSlotId = from.pickingSlotId;
+		pickingSlotCaption = from.pickingSlotCaption;
+		pickingSlotWarehouse = from.pickingSlotWarehouse;
+
+		this.includedHURows = Maps.uniqueIndex(includedHURows, PickingSlotRow::getPickingSlotRowId);
+	}
+
 	private static final ITranslatableString buildPickingSlotCaption(final String pickingSlotName, final LookupValue pickingSlotBPartner, final LookupValue pickingSlotBPLocation)
 	{
 		return ITranslatableString.compose(" ",
@@ -272,6 +298,24 @@ public final class PickingSlotRow implements IViewRow
 		return ImmutableList.copyOf(includedHURows.values());
 	}
 
+	/**
+	 * @return a copy of this row, having the included rows (at all levels) sorted by given comparator
+	 */
+	public PickingSlotRow withIncludedRowsSorted(final Comparator<PickingSlotRow> comparator)
+	{
+		if (includedHURows.isEmpty())
+		{
+			return this;
+		}
+
+		final List<PickingSlotRow> includedRowsSorted = includedHURows.values()
+				.stream()
+				.map(includedRow -> includedRow.withIncludedRowsSorted(comparator))
+				.sorted(comparator)
+				.collect(ImmutableList.toImmutableList());
+		return new PickingSlotRow(this, includedRowsSorted);
+	}
+
 	public Optional<PickingSlotRow> findIncludedRowById(final PickingSlotRowId id)
 	{
 		// This
@@ -327,6 +371,11 @@ public final class PickingSlotRow implements IViewRow
 		return pickingSlotCaption;
 	}
 
+	public ITranslatableString getPickingSlotCaption()
+	{
+		return pickingSlotCaption;
+	}
+
 	public boolean isPickingSlotRow()
 	{
 		return pickingSlotRow;
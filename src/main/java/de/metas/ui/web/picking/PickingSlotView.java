@@ -2,22 +2,24 @@ package de.metas.ui.web.picking;
 
 import static org.adempiere.model.InterfaceWrapperHelper.create;
 
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.Supplier;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
 
 import org.adempiere.ad.trx.api.ITrx;
-import org.adempiere.util.lang.ExtendedMemorizingSupplier;
 import org.adempiere.util.lang.impl.TableRecordReference;
 import org.compiere.util.Env;
 import org.compiere.util.Evaluatee;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 
@@ -30,8 +32,10 @@ import de.metas.ui.web.exceptions.EntityNotFoundException;
 import de.metas.ui.web.picking.PickingSlotRow.PickingSlotRowId;
 import de.metas.ui.web.view.IView;
 import de.metas.ui.web.view.IViewRow;
+import de.metas.ui.web.view.PartiallyReloadableViewData;
 import de.metas.ui.web.view.ViewId;
 import de.metas.ui.web.view.ViewResult;
+import de.metas.ui.web.view.event.ViewChangesCollector;
 import de.metas.ui.web.view.json.JSONViewDataType;
 import de.metas.ui.web.window.datatypes.DocumentId;
 import de.metas.ui.web.window.datatypes.DocumentIdsSelection;
@@ -83,7 +87,8 @@ public class PickingSlotView implements IView
 	private final DocumentId parentRowId;
 	private final ITranslatableString description;
 	private final int shipmentScheduleId;
-	private final ExtendedMemorizingSupplier<Map<PickingSlotRowId, PickingSlotRow>> rowsSupplier;
+	/** Currently loaded rows; the reloadable parts are the picking slots, identified by M_PickingSlot_ID */
+	private final PartiallyReloadableViewData<PickingSlotRowsSnapshot, Integer> rows;
 	private final ImmutableList<RelatedProcessDescriptor> additionalRelatedProcessDescriptors;
 
 	@Builder
@@ -92,7 +97,7 @@ public class PickingSlotView implements IView
 			final DocumentId parentRowId,
 			final ITranslatableString description,
 			final int shipmentScheduleId,
-			final Supplier<List<PickingSlotRow>> rows,
+			@NonNull final PickingSlotRowsLoader rowsLoader,
 			final List<RelatedProcessDescriptor> additionalRelatedProcessDescriptors)
 	{
 		Preconditions.checkArgument(shipmentScheduleId > 0, "shipmentScheduleId > 0");
@@ -102,7 +107,9 @@ public class PickingSlotView implements IView
 		this.parentRowId = parentRowId;
 		this.description = description != null ? description : ITranslatableString.empty();
 		this.shipmentScheduleId = shipmentScheduleId;
-		this.rowsSupplier = ExtendedMemorizingSupplier.of(() -> Maps.uniqueIndex(rows.get(), PickingSlotRow::getPickingSlotRowId));
+		rows = PartiallyReloadableViewData.of(
+				() -> PickingSlotRowsSnapshot.of(rowsLoader.retrieveRows(ImmutableSet.of())),
+				(currentRows, pickingSlotIds) -> currentRows.withPickingSlotsReplaced(pickingSlotIds, rowsLoader.retrieveRows(pickingSlotIds)));
 		this.additionalRelatedProcessDescriptors = additionalRelatedProcessDescriptors != null ? ImmutableList.copyOf(additionalRelatedProcessDescriptors) : ImmutableList.of();
 	}
 
@@ -154,7 +161,7 @@ public class PickingSlotView implements IView
 	@Override
 	public long size()
 	{
-		return rowsSupplier.get().size();
+		return getRows().size();
 	}
 
 	@Override
@@ -177,7 +184,9 @@ public class PickingSlotView implements IView
 	@Override
 	public ViewResult getPage(final int firstRow, final int pageLength, final List<DocumentQueryOrderBy> orderBys)
 	{
-		final List<PickingSlotRow> pageRows = rowsSupplier.get().values().stream()
+		final String adLanguage = Env.getAD_Language(Env.getCtx());
+		final List<PickingSlotRow> pageRows = getRows().getOrderedRows(orderBys, adLanguage)
+				.stream()
 				.skip(firstRow >= 0 ? firstRow : 0)
 				.limit(pageLength > 0 ? pageLength : 30)
 				.collect(ImmutableList.toImmutableList());
@@ -191,7 +200,7 @@ public class PickingSlotView implements IView
 		PickingSlotRowId rowId = PickingSlotRowId.fromDocumentId(id);
 
 		final PickingSlotRowId pickingSlotRowId = rowId.toPickingSlotId();
-		final PickingSlotRow pickingSlotRow = rowsSupplier.get().get(pickingSlotRowId);
+		final PickingSlotRow pickingSlotRow = getRows().getById(pickingSlotRowId);
 		if (pickingSlotRow == null)
 		{
 			throw new EntityNotFoundException("Row not found").setParameter("pickingSlotRowId", pickingSlotRowId);
@@ -265,7 +274,7 @@ public class PickingSlotView implements IView
 	{
 		if (rowIds.isAll())
 		{
-			return rowsSupplier.get().values().stream();
+			return getRows().stream();
 		}
 		else
 		{
@@ -273,11 +282,37 @@ public class PickingSlotView implements IView
 		}
 	}
 
+	/**
+	 * Does nothing; the picking processes are invalidating the picking slots they changed (see {@link #invalidatePickingSlots(Collection)}).
+	 */
 	@Override
 	public void notifyRecordsChanged(final Set<TableRecordReference> recordRefs)
 	{
-		// TODO Auto-generated method stub
+	}
 
+	/**
+	 * Invalidates only the given picking slots (including their HUs) and notifies the frontend about the changed rows.
+	 * Those picking slots will be reloaded on next access, while the other picking slots are kept as they are.
+	 */
+	public void invalidatePickingSlots(@NonNull final Collection<Integer> pickingSlotIds)
+	{
+		final ImmutableSet<Integer> pickingSlotIdsToInvalidate = pickingSlotIds.stream()
+				.filter(pickingSlotId -> pickingSlotId > 0)
+				.collect(ImmutableSet.toImmutableSet());
+		if (pickingSlotIdsToInvalidate.isEmpty())
+		{
+			return;
+		}
+
+		if (!rows.invalidate(pickingSlotIdsToInvalidate))
+		{
+			return;
+		}
+
+		final DocumentIdsSelection changedRowIds = pickingSlotIdsToInvalidate.stream()
+				.map(pickingSlotId -> PickingSlotRowId.ofPickingSlotId(pickingSlotId).toDocumentId())
+				.collect(DocumentIdsSelection.toDocumentIdsSelection());
+		ViewChangesCollector.getCurrentOrAutoflush().collectRowsChanged(this, changedRowIds);
 	}
 
 	@Override
@@ -309,6 +344,137 @@ public class PickingSlotView implements IView
 	@Override
 	public void invalidateAll()
 	{
-		rowsSupplier.forget();
+		rows.invalidateAll();
+	}
+
+	private PickingSlotRowsSnapshot getRows()
+	{
+		return rows.get();
+	}
+
+	/**
+	 * Retrieves picking slot rows (including their HU rows).
+	 */
+	@FunctionalInterface
+	public static interface PickingSlotRowsLoader
+	{
+		/**
+		 * @param onlyPickingSlotIds if not empty, only those picking slots will be retrieved
+		 */
+		List<PickingSlotRow> retrieveRows(Set<Integer> onlyPickingSlotIds);
+	}
+
+	/**
+	 * Immutable picking slot rows, together with their lazily computed sorted indexes.
+	 * When rows are changed a new instance is created, so the sorted indexes are never stale.
+	 */
+	private static final class PickingSlotRowsSnapshot
+	{
+		public static PickingSlotRowsSnapshot of(final List<PickingSlotRow> rows)
+		{
+			return new PickingSlotRowsSnapshot(Maps.uniqueIndex(rows, PickingSlotRow::getPickingSlotRowId));
+		}
+
+		private final ImmutableMap<PickingSlotRowId, PickingSlotRow> rowsById;
+		private final ImmutableList<PickingSlotRow> defaultOrderRows;
+		private final ConcurrentHashMap<OrderedRowsKey, ImmutableList<PickingSlotRow>> orderedRowsByKey = new ConcurrentHashMap<>();
+
+		private PickingSlotRowsSnapshot(final ImmutableMap<PickingSlotRowId, PickingSlotRow> rowsById)
+		{
+			this.rowsById = rowsById;
+			defaultOrderRows = rowsById.values().asList();
+		}
+
+		public int size()
+		{
+			return rowsById.size();
+		}
+
+		public PickingSlotRow getById(final PickingSlotRowId rowId)
+		{
+			return rowsById.get(rowId);
+		}
+
+		public Stream<PickingSlotRow> stream()
+		{
+			return rowsById.values().stream();
+		}
+
+		/**
+		 * @return the top level rows, and their included rows, sorted by given order bys.
+		 *         The picking slot rows are single column rows, so they are sorted by their caption, whatever the order by field is.
+		 */
+		public ImmutableList<PickingSlotRow> getOrderedRows(final List<DocumentQueryOrderBy> orderBys, final String adLanguage)
+		{
+			if (orderBys == null || orderBys.isEmpty())
+			{
+				return defaultOrderRows;
+			}
+
+			return orderedRowsByKey.computeIfAbsent(OrderedRowsKey.of(ImmutableList.copyOf(orderBys), adLanguage), this::createOrderedRows);
+		}
+
+		private ImmutableList<PickingSlotRow> createOrderedRows(final OrderedRowsKey key)
+		{
+			final String adLanguage = key.getAdLanguage();
+			final Comparator<PickingSlotRow> comparator = key.getOrderBys()
+					.stream()
+					.map(orderBy -> orderBy.<PickingSlotRow> asComparator((row, fieldName) -> extractFieldValueToCompare(row, fieldName, adLanguage)))
+					.reduce((cmp1, cmp2) -> cmp1.thenComparing(cmp2))
+					.get();
+
+			return rowsById.values()
+					.stream()
+					.map(row -> row.withIncludedRowsSorted(comparator))
+					.sorted(comparator)
+					.collect(ImmutableList.toImmutableList());
+		}
+
+		private static Object extractFieldValueToCompare(final PickingSlotRow row, final String fieldName, final String adLanguage)
+		{
+			if (row.isPickingSlotRow())
+			{
+				return row.getPickingSlotCaption().translate(adLanguage);
+			}
+			return row.getFieldNameAndJsonValues().get(fieldName);
+		}
+
+		/**
+		 * @return a new snapshot where the rows of given picking slots are replaced by the given (reloaded) rows.
+		 *         Picking slots which were not reloaded are removed. New picking slots are added at the end.
+		 */
+		public PickingSlotRowsSnapshot withPickingSlotsReplaced(final Set<Integer> pickingSlotIds, final List<PickingSlotRow> reloadedRows)
+		{
+			final Map<PickingSlotRowId, PickingSlotRow> reloadedRowsById = Maps.uniqueIndex(reloadedRows, PickingSlotRow::getPickingSlotRowId);
+
+			final ImmutableMap.Builder<PickingSlotRowId, PickingSlotRow> newRowsById = ImmutableMap.builder();
+			for (final PickingSlotRow row : rowsById.values())
+			{
+				final PickingSlotRowId rowId = row.getPickingSlotRowId();
+				if (!pickingSlotIds.contains(row.getPickingSlotId()))
+				{
+					newRowsById.put(rowId, row);
+				}
+				else if (reloadedRowsById.containsKey(rowId))
+				{
+					newRowsById.put(rowId, reloadedRowsById.get(rowId));
+				}
+			}
+			reloadedRowsById.forEach((rowId, row) -> {
+				if (!rowsById.containsKey(rowId))
+				{
+					newRowsById.put(rowId, row);
+				}
+			});
+
+			return new PickingSlotRowsSnapshot(newRowsById.build());
+		}
+
+		@lombok.Value(staticConstructor = "of")
+		private static final class OrderedRowsKey
+		{
+			private final ImmutableList<DocumentQueryOrderBy> orderBys;
+			private final String adLanguage;
+		}
 	}
 }
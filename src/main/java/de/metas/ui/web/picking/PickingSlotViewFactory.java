@@ -3,7 +3,6 @@ package de.metas.ui.web.picking;
 import java.util.Collection;
 import java.util.List;
 import java.util.Properties;
-import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
 
@@ -17,6 +16,7 @@ import de.metas.printing.esb.base.util.Check;
 import de.metas.process.IADProcessDAO;
 import de.metas.process.RelatedProcessDescriptor;
 import de.metas.ui.web.document.filter.DocumentFilterDescriptor;
+import de.metas.ui.web.picking.PickingSlotView.PickingSlotRowsLoader;
 import de.metas.ui.web.picking.process.WEBUI_Picking_M_Picking_Candidate_Process;
 import de.metas.ui.web.picking.process.WEBUI_Picking_M_Picking_Candidate_Unprocess;
 import de.metas.ui.web.picking.process.WEBUI_Picking_OpenHUsToPick;
@@ -129,15 +129,17 @@ public class PickingSlotViewFactory implements IViewFactory
 
 			query = PickingSlotRepoQuery.of(allShipmentScheduleIds);
 		}
-		// notice for noobs such as me: this is executed each time the view is revalidated. and it's not executed when this createView method runs
-		final Supplier<List<PickingSlotRow>> rowsSupplier = () -> pickingSlotRepo.retrieveRowsByShipmentScheduleId(query);
+		// notice for noobs such as me: this is executed each time the view (or some of its picking slots) is revalidated. and it's not executed when this createView method runs
+		final PickingSlotRowsLoader rowsLoader = onlyPickingSlotIds -> pickingSlotRepo.retrieveRowsByShipmentScheduleId(query.toBuilder()
+				.onlyPickingSlotIds(onlyPickingSlotIds)
+				.build());
 
 		return PickingSlotView.builder()
 				.viewId(pickingSlotViewId)
 				.parentViewId(pickingViewId)
 				.parentRowId(pickingRowId)
 				.shipmentScheduleId(shipmentScheduleId)
-				.rows(rowsSupplier)
+				.rowsLoader(rowsLoader)
 				.additionalRelatedProcessDescriptors(createAdditionalRelatedProcessDescriptors())
 				.build();
 	}
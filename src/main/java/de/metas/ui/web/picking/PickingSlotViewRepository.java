@@ -128,13 +128,15 @@ public class PickingSlotViewRepository
 
 	/**
 	 * Returns "top level" picking slot rows, according to the given {@code query}. If there are HUs assigned, they are included and can be accessed via {@link PickingSlotRow#getIncludedRows()}.
+	 * <p>
+	 * The picking slot records are retrieved only once, using the bpartner query, and are not queried again by ID.
+	 * The HU rows are <b>not</b> taken from an already loaded view; they are reloaded from database on each invocation,
+	 * using {@link PickingHUsRepository#retrieveHUsIndexedByPickingSlotId(PickingSlotRepoQuery)}.
+	 * To reload only the picking slots which were changed, use {@link PickingSlotRepoQuery#getOnlyPickingSlotIds()}.
 	 * 
 	 * @param query
 	 * @return
 	 */
-	// TODO: when https://github.com/metasfresh/metasfresh-webui-api/issues/509 is done,
-	// we shall re-implement this method to use the view's streamByIds(DocumentIdsSelection.ALL) to avoid the DB access
-	// ..ad least for checkPreconditionsApplicable()
 	public List<PickingSlotRow> retrieveRowsByShipmentScheduleId(@NonNull final PickingSlotRepoQuery query)
 	{
 		Check.errorIf(query.getShipmentScheduleIds().isEmpty(), "Given query has no shipmentScheduleIds; query={}", query);
@@ -147,13 +149,12 @@ public class PickingSlotViewRepository
 		final int bpartnerId = shipmentScheduleEffectiveBL.getC_BPartner_ID(shipmentSchedule);
 		final int bpartnerLocationId = shipmentScheduleEffectiveBL.getC_BP_Location_ID(shipmentSchedule);
 
-		final IPickingSlotDAO pickingSlotDAO = Services.get(IPickingSlotDAO.class);
-
-		final Set<Integer> pickingSlotIds = pickingSlotDAO
+		final Set<Integer> onlyPickingSlotIds = query.getOnlyPickingSlotIds();
+		final List<I_M_PickingSlot> pickingSlotPOs = Services.get(IPickingSlotDAO.class)
 				.retrivePickingSlotsForBPartner(Env.getCtx(), bpartnerId, bpartnerLocationId)
 				.stream()
-				.map(I_M_PickingSlot::getM_PickingSlot_ID)
-				.collect(ImmutableSet.toImmutableSet());
+				.filter(pickingSlotPO -> onlyPickingSlotIds.isEmpty() || onlyPickingSlotIds.contains(pickingSlotPO.getM_PickingSlot_ID()))
+				.collect(ImmutableList.toImmutableList());
 
 		// retrieve HURows (if any)
 		final ListMultimap<Integer, PickingSlotHUEditorRow> huEditorRowsByPickingSlotId = pickingHUsRepo.retrieveHUsIndexedByPickingSlotId(query);
@@ -170,13 +171,12 @@ public class PickingSlotViewRepository
 				return huEditorRowsByPickingSlotId.containsKey(pickingSlotPO.getM_PickingSlot_ID());
 			};
 
-		final ImmutableList<PickingSlotRow> result = pickingSlotDAO
-				.retrievePickingSlotsByIds(pickingSlotIds).stream() // get stream of I_M_PickingSlot
+		final ImmutableList<PickingSlotRow> result = pickingSlotPOs.stream()
 				.filter(predicate) // filter according to 'query'
 				.map(pickingSlotPO -> createPickingSlotRow(pickingSlotPO, huEditorRowsByPickingSlotId)) // create the actual PickingSlotRows
 				.collect(ImmutableList.toImmutableList());
 
-		if (result.isEmpty())
+		if (result.isEmpty() && onlyPickingSlotIds.isEmpty())
 		{
 			logger.warn("PickingSlotViewRepository returned empty list for query={}", query);
 		}
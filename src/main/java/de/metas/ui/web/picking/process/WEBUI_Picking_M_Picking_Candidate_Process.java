@@ -18,6 +18,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 
 import de.metas.adempiere.form.PackingItemsMap;
 import de.metas.fresh.picking.form.FreshPackingItemHelper;
@@ -164,7 +165,7 @@ public class WEBUI_Picking_M_Picking_Candidate_Process
 
 		pickingCandidateCommand.setCandidatesProcessed(ImmutableList.of(rowToProcess.getHuId()));
 				
-		invalidateView();
+		getView().invalidatePickingSlots(ImmutableSet.of(rowToProcess.getPickingSlotId()));
 		invalidateParentView();
 		
 		return MSG_OK;
@@ -16,6 +16,7 @@ import org.adempiere.util.Services;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 
 import de.metas.handlingunits.IHUContextFactory;
 import de.metas.handlingunits.IHandlingUnitsBL;
@@ -150,7 +151,7 @@ public class WEBUI_Picking_M_Picking_Candidate_Unprocess
 		handlingUnitsDAO.saveHU(hu);
 		pickingCandidateCommand.setCandidatesInProgress(ImmutableList.of(hu.getM_HU_ID()));
 
-		invalidateView();
+		getView().invalidatePickingSlots(ImmutableSet.of(rowToProcess.getPickingSlotId()));
 		invalidateParentView();
 
 		return MSG_OK;
@@ -23,6 +23,7 @@ import de.metas.ui.web.handlingunits.WEBUI_HU_Constants;
 import de.metas.ui.web.picking.PickingSlotRow;
 import de.metas.ui.web.picking.PickingSlotView;
 import de.metas.ui.web.process.adprocess.ViewBasedProcessTemplate;
+import de.metas.ui.web.process.descriptor.ProcessPreconditionsDependOnSelectionOnly;
 import de.metas.ui.web.view.CreateViewRequest;
 import de.metas.ui.web.view.IView;
 import de.metas.ui.web.view.IViewsRepository;
@@ -57,6 +58,7 @@ import de.metas.ui.web.view.json.JSONViewDataType;
  * @author metas-dev <dev@metasfresh.com>
  *
  */
+@ProcessPreconditionsDependOnSelectionOnly
 public class WEBUI_Picking_OpenHUsToPick extends ViewBasedProcessTemplate
 {
 	@Autowired
@@ -5,6 +5,8 @@ import static de.metas.ui.web.picking.PickingConstants.MSG_WEBUI_PICKING_NOT_TOP
 import org.adempiere.exceptions.AdempiereException;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.google.common.collect.ImmutableSet;
+
 import de.metas.process.IProcessPrecondition;
 import de.metas.process.ProcessPreconditionsResolution;
 import de.metas.ui.web.handlingunits.HUEditorRow;
@@ -89,7 +91,7 @@ public class WEBUI_Picking_PickSelectedHU extends ViewBasedProcessTemplate imple
 
 		pickingCandidateCommand.addHUToPickingSlot(huId, pickingSlotId, shipmentScheduleId);
 
-		invalidateView(pickingSlotsView.getViewId()); // picking slots view
+		pickingSlotsView.invalidatePickingSlots(ImmutableSet.of(pickingSlotId)); // picking slots view
 		invalidateView(pickingSlotsView.getParentViewId()); // picking view
 
 		// After this process finished successfully go back to picking slots view
@@ -8,6 +8,8 @@ import java.util.Objects;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.google.common.collect.ImmutableSet;
+
 import de.metas.handlingunits.model.I_M_ShipmentSchedule;
 import de.metas.process.IProcessDefaultParameter;
 import de.metas.process.IProcessDefaultParametersProvider;
@@ -104,7 +106,7 @@ public class WEBUI_Picking_PickToExistingHU
 
 		pickingCandidateCommand.addQtyToHU(qtyCU, huId, pickingSlotId, shipmentScheduleId);
 
-		invalidateView();
+		getView().invalidatePickingSlots(ImmutableSet.of(pickingSlotId));
 		invalidateParentView();
 
 		return MSG_OK;
@@ -14,6 +14,8 @@ import org.compiere.model.I_M_Locator;
 import org.compiere.model.I_M_Warehouse;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.google.common.collect.ImmutableSet;
+
 import de.metas.handlingunits.IHandlingUnitsDAO;
 import de.metas.handlingunits.hutransaction.IHUTrxBL;
 import de.metas.handlingunits.model.I_M_HU;
@@ -116,7 +118,7 @@ public class WEBUI_Picking_PickToNewHU extends ViewBasedProcessTemplate
 			pickingCandidateCommand.addQtyToHU(qtyCU, hu.getM_HU_ID(), pickingSlotId, shipmentScheduleId);
 		}
 
-		invalidateView();
+		getView().invalidatePickingSlots(ImmutableSet.of(pickingSlotId));
 		invalidateParentView();
 
 		return MSG_OK;
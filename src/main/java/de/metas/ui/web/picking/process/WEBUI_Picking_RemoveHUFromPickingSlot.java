@@ -5,6 +5,8 @@ import static de.metas.ui.web.picking.PickingConstants.MSG_WEBUI_PICKING_SELECT_
 
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.google.common.collect.ImmutableSet;
+
 import de.metas.process.IProcessPrecondition;
 import de.metas.process.ProcessPreconditionsResolution;
 import de.metas.ui.web.picking.PickingCandidateCommand;
@@ -78,7 +80,7 @@ public class WEBUI_Picking_RemoveHUFromPickingSlot extends ViewBasedProcessTempl
 		final int pickingSlotId = huRow.getPickingSlotId();
 		pickingCandidateCommand.removeHUFromPickingSlot(huId, pickingSlotId);
 
-		invalidateView();
+		getView().invalidatePickingSlots(ImmutableSet.of(pickingSlotId));
 
 		return MSG_OK;
 	}
@@ -8,6 +8,7 @@ import org.adempiere.ad.dao.IQueryBL;
 import org.adempiere.exceptions.AdempiereException;
 import org.adempiere.exceptions.FillMandatoryException;
 import org.adempiere.util.Services;
+import org.adempiere.util.lang.impl.TableRecordReference;
 import org.compiere.Adempiere;
 import org.compiere.util.Env;
 
@@ -151,7 +152,7 @@ public final class PPOrderHUsToIssueActions
 				.createIssues(hus);
 
 		husView.removeHUsAndInvalidate(hus);
-		ppOrderView.invalidateAll();
+		ppOrderView.notifyRecordsChanged(TableRecordReference.ofSet(hus));
 	}
 
 	/**
@@ -193,7 +194,7 @@ public final class PPOrderHUsToIssueActions
 				.createIssues(extractedTUs);
 
 		husView.invalidateAll();
-		ppOrderView.invalidateAll();
+		ppOrderView.notifyRecordsChanged(TableRecordReference.ofSet(extractedTUs));
 	}
 
 	private static final Set<Integer> extractHUIds(final IView view, final DocumentIdsSelection selectedHURowIds)
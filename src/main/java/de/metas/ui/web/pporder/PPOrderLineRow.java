@@ -141,6 +141,11 @@ public class PPOrderLineRow implements IViewRow
 		return ppOrderQtyId;
 	}
 
+	public int getM_HU_ID()
+	{
+		return huId;
+	}
+
 	@Override
 	public DocumentId getId()
 	{
@@ -3,6 +3,8 @@ package de.metas.ui.web.pporder;
 import java.math.BigDecimal;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.function.IntPredicate;
 
 import javax.annotation.Nullable;
 
@@ -76,6 +78,13 @@ public class PPOrderLinesLoader
 		return new PPOrderLinesLoaderBuilder().viewWindowId(viewWindowId);
 	}
 
+	/** PP_Order_BOMLine_ID used to identify the main product's top level row */
+	public static final int MAIN_PRODUCT_BOMLINE_ID = 0;
+
+	/** Top level rows order: receipt lines first (main product being the first one), then BOM lines order */
+	static final Comparator<PPOrderLineRow> TOP_LEVEL_ROWS_ORDER = Comparator.<PPOrderLineRow> comparingInt(row -> row.isReceipt() ? 0 : 1)
+			.thenComparing(row -> row.getPP_Order_BOMLine_ID());
+
 	//
 	// Services
 	private final transient IPPOrderBOMDAO ppOrderBOMDAO = Services.get(IPPOrderBOMDAO.class);
@@ -115,27 +124,73 @@ public class PPOrderLinesLoader
 		final I_PP_Order ppOrder = InterfaceWrapperHelper.create(Env.getCtx(), ppOrderId, I_PP_Order.class, ITrx.TRXNAME_None);
 		final ITranslatableString ppOrder_description = extractDescription(ppOrder);
 		final String ppOrder_planningStatus = ppOrder.getPlanningStatus();
-		final boolean readonly = X_PP_Order.PLANNINGSTATUS_Complete.equals(ppOrder_planningStatus);
 
-		final int mainProductBOMLineId = 0;
-		final ListMultimap<Integer, I_PP_Order_Qty> ppOrderQtysByBOMLineId = ppOrderQtyDAO.streamOrderQtys(ppOrderId)
-				.collect(GuavaCollectors.toImmutableListMultimap(ppOrderQty -> Util.firstGreaterThanZero(ppOrderQty.getPP_Order_BOMLine_ID(), mainProductBOMLineId)));
+		final IntPredicate allBOMLines = ppOrderBOMLineId -> true;
+		final List<PPOrderLineRow> records = retrieveTopLevelRows(ppOrder, allBOMLines);
+
+		return new PPOrderLinesViewData(ppOrder_description, ppOrder_planningStatus, records);
+	}
+
+	/**
+	 * Loads only the top level rows (including their HU sub-trees) of given BOM lines.
+	 *
+	 * @param ppOrderBOMLineIds BOM lines to be loaded; use {@link #MAIN_PRODUCT_BOMLINE_ID} for the main product row
+	 * @return loaded rows; BOM lines which do not exist (anymore) are not included
+	 */
+	public List<PPOrderLineRow> retrieveTopLevelRows(final int ppOrderId, @NonNull final Set<Integer> ppOrderBOMLineIds)
+	{
+		final I_PP_Order ppOrder = InterfaceWrapperHelper.create(Env.getCtx(), ppOrderId, I_PP_Order.class, ITrx.TRXNAME_None);
+		return retrieveTopLevelRows(ppOrder, ppOrderBOMLineIds::contains);
+	}
+
+	private List<PPOrderLineRow> retrieveTopLevelRows(final I_PP_Order ppOrder, final IntPredicate ppOrderBOMLineIdFilter)
+	{
+		final boolean readonly = X_PP_Order.PLANNINGSTATUS_Complete.equals(ppOrder.getPlanningStatus());
+
+		final ListMultimap<Integer, I_PP_Order_Qty> ppOrderQtysByBOMLineId = ppOrderQtyDAO.streamOrderQtys(ppOrder.getPP_Order_ID())
+				.filter(ppOrderQty -> ppOrderBOMLineIdFilter.test(extractPPOrderBOMLineId(ppOrderQty)))
+				.collect(GuavaCollectors.toImmutableListMultimap(ppOrderQty -> extractPPOrderBOMLineId(ppOrderQty)));
 
 		final ImmutableList.Builder<PPOrderLineRow> records = ImmutableList.builder();
 
 		// Main product
-		records.add(createForMainProduct(ppOrder, readonly, ppOrderQtysByBOMLineId.get(mainProductBOMLineId)));
+		if (ppOrderBOMLineIdFilter.test(MAIN_PRODUCT_BOMLINE_ID))
+		{
+			records.add(createForMainProduct(ppOrder, readonly, ppOrderQtysByBOMLineId.get(MAIN_PRODUCT_BOMLINE_ID)));
+		}
 
 		//
 		// BOM lines
 		ppOrderBOMDAO.retrieveOrderBOMLines(ppOrder, I_PP_Order_BOMLine.class)
 				.stream()
+				.filter(ppOrderBOMLine -> ppOrderBOMLineIdFilter.test(ppOrderBOMLine.getPP_Order_BOMLine_ID()))
 				.map(ppOrderBOMLine -> createForBOMLine(ppOrder, ppOrderBOMLine, readonly, ppOrderQtysByBOMLineId.get(ppOrderBOMLine.getPP_Order_BOMLine_ID())))
-				.sorted(Comparator.<PPOrderLineRow> comparingInt(row -> row.isReceipt() ? 0 : 1) // receipt lines first
-						.thenComparing(row -> row.getPP_Order_BOMLine_ID())) // BOM lines order
+				.sorted(TOP_LEVEL_ROWS_ORDER)
 				.forEach(records::add);
 
-		return new PPOrderLinesViewData(ppOrder_description, ppOrder_planningStatus, records.build());
+		return records.build();
+	}
+
+	/** @return the PP_Order_BOMLine_ID or {@link #MAIN_PRODUCT_BOMLINE_ID} of the top level row to which given issue/receipt candidate belongs */
+	public static int extractPPOrderBOMLineId(final I_PP_Order_Qty ppOrderQty)
+	{
+		return Util.firstGreaterThanZero(ppOrderQty.getPP_Order_BOMLine_ID(), MAIN_PRODUCT_BOMLINE_ID);
+	}
+
+	/** @return the PP_Order_BOMLine_ID or {@link #MAIN_PRODUCT_BOMLINE_ID} of given top level row */
+	public static int extractPPOrderBOMLineId(final PPOrderLineRow topLevelRow)
+	{
+		return Util.firstGreaterThanZero(topLevelRow.getPP_Order_BOMLine_ID(), MAIN_PRODUCT_BOMLINE_ID);
+	}
+
+	public static DocumentId createRowIdForMainProduct(final int ppOrderId)
+	{
+		return DocumentId.of(org.eevolution.model.I_PP_Order.Table_Name + "_" + ppOrderId);
+	}
+
+	public static DocumentId createRowIdForBOMLine(final int ppOrderBOMLineId)
+	{
+		return DocumentId.of(org.eevolution.model.I_PP_Order_BOMLine.Table_Name + "_" + ppOrderBOMLineId);
 	}
 
 	private static final ITranslatableString extractDescription(final I_PP_Order ppOrder)
@@ -184,7 +239,7 @@ public class PPOrderLinesLoader
 
 	private PPOrderLineRow createForMainProduct(final I_PP_Order ppOrder, final boolean readonly, final List<I_PP_Order_Qty> ppOrderQtys)
 	{
-		final DocumentId rowId = DocumentId.of(org.eevolution.model.I_PP_Order.Table_Name + "_" + ppOrder.getPP_Order_ID());
+		final DocumentId rowId = createRowIdForMainProduct(ppOrder.getPP_Order_ID());
 
 		final BigDecimal qtyPlan = ppOrder.getQtyOrdered();
 		final I_M_HU_LUTU_Configuration lutuConfig = huPPOrderBL.createReceiptLUTUConfigurationManager(ppOrder).getCreateLUTUConfiguration();
@@ -208,7 +263,7 @@ public class PPOrderLinesLoader
 
 	private PPOrderLineRow createForBOMLine(final I_PP_Order ppOrder, final I_PP_Order_BOMLine ppOrderBOMLine, final boolean readonly, final List<I_PP_Order_Qty> ppOrderQtys)
 	{
-		final DocumentId rowId = DocumentId.of(org.eevolution.model.I_PP_Order_BOMLine.Table_Name + "_" + ppOrderBOMLine.getPP_Order_BOMLine_ID());
+		final DocumentId rowId = createRowIdForBOMLine(ppOrderBOMLine.getPP_Order_BOMLine_ID());
 
 		final PPOrderLineType lineType;
 		final String packingInfo;
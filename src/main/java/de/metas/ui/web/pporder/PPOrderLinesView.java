@@ -2,6 +2,7 @@ package de.metas.ui.web.pporder;
 
 import static org.adempiere.model.InterfaceWrapperHelper.load;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -10,9 +11,9 @@ import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
 
+import org.adempiere.ad.dao.IQueryBL;
 import org.adempiere.util.GuavaCollectors;
 import org.adempiere.util.Services;
-import org.adempiere.util.lang.ExtendedMemorizingSupplier;
 import org.adempiere.util.lang.impl.TableRecordReference;
 import org.compiere.Adempiere;
 import org.compiere.util.Evaluatee;
@@ -20,11 +21,15 @@ import org.eevolution.model.I_PP_Order;
 import org.eevolution.model.I_PP_Order_BOMLine;
 import org.eevolution.model.X_PP_Order;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
 
 import de.metas.handlingunits.IHUQueryBuilder;
+import de.metas.handlingunits.model.I_M_HU;
+import de.metas.handlingunits.model.I_PP_Order_Qty;
 import de.metas.handlingunits.pporder.api.IHUPPOrderBL;
 import de.metas.i18n.ITranslatableString;
 import de.metas.process.ProcessPreconditionsResolution;
@@ -39,6 +44,7 @@ import de.metas.ui.web.view.CreateViewRequest;
 import de.metas.ui.web.view.IView;
 import de.metas.ui.web.view.IViewRow;
 import de.metas.ui.web.view.IViewsRepository;
+import de.metas.ui.web.view.PartiallyReloadableViewData;
 import de.metas.ui.web.view.ViewId;
 import de.metas.ui.web.view.ViewResult;
 import de.metas.ui.web.view.event.ViewChangesCollector;
@@ -47,7 +53,6 @@ import de.metas.ui.web.window.datatypes.DocumentId;
 import de.metas.ui.web.window.datatypes.DocumentIdsSelection;
 import de.metas.ui.web.window.datatypes.DocumentPath;
 import de.metas.ui.web.window.datatypes.LookupValuesList;
-import de.metas.ui.web.window.datatypes.WindowId;
 import de.metas.ui.web.window.model.DocumentQueryOrderBy;
 import lombok.Builder;
 import lombok.NonNull;
@@ -91,7 +96,8 @@ public class PPOrderLinesView implements IView
 	private final int ppOrderId;
 
 	private final ASIViewRowAttributesProvider asiAttributesProvider;
-	private final ExtendedMemorizingSupplier<PPOrderLinesViewData> dataSupplier;
+	/** Loaded data; the reloadable parts are the top level rows, identified by PP_Order_BOMLine_ID */
+	private final PartiallyReloadableViewData<PPOrderLinesViewData, Integer> data;
 
 	@Builder
 	private PPOrderLinesView(
@@ -113,12 +119,9 @@ public class PPOrderLinesView implements IView
 		this.ppOrderId = ppOrderId;
 
 		this.asiAttributesProvider = asiAttributesProvider;
-
-		final WindowId viewWindowId = viewId.getWindowId();
-		dataSupplier = ExtendedMemorizingSupplier.of(() -> PPOrderLinesLoader.builder(viewWindowId)
-				.asiAttributesProvider(asiAttributesProvider)
-				.build()
-				.retrieveData(ppOrderId));
+		data = PartiallyReloadableViewData.of(
+				() -> createLoader().retrieveData(ppOrderId),
+				(currentData, ppOrderBOMLineIds) -> currentData.withTopLevelRowsReplaced(ppOrderBOMLineIds, createLoader().retrieveTopLevelRows(ppOrderId, ppOrderBOMLineIds)));
 	}
 
 	@Override
@@ -336,10 +339,191 @@ public class PPOrderLinesView implements IView
 		return getData().streamRecursive();
 	}
 
+	/**
+	 * Identifies the top level rows which are affected by given records and invalidates only their sub-trees.
+	 * <p>
+	 * Supported records are: this {@link I_PP_Order} (main product row), {@link I_PP_Order_BOMLine}s, {@link I_PP_Order_Qty}s and {@link I_M_HU}s.
+	 */
 	@Override
 	public void notifyRecordsChanged(final Set<TableRecordReference> recordRefs)
 	{
-		// TODO: notifyRecordsChanged: identify the sub-trees which could be affected and invalidate only those
+		final PPOrderLinesViewData data = this.data.getIfLoaded();
+		if (data == null)
+		{
+			return; // nothing loaded yet
+		}
+
+		invalidateTopLevelRows(extractTopLevelRowBOMLineIds(data, ppOrderId, recordRefs));
+	}
+
+	/**
+	 * @param data currently loaded data
+	 * @param ppOrderId this view's manufacturing order
+	 * @param recordRefs changed records
+	 * @return the top level rows (identified by PP_Order_BOMLine_ID, see {@link PPOrderLinesLoader#extractPPOrderBOMLineId(PPOrderLineRow)}) which are affected by given records
+	 */
+	@VisibleForTesting
+	static Set<Integer> extractTopLevelRowBOMLineIds(final PPOrderLinesViewData data, final int ppOrderId, final Set<TableRecordReference> recordRefs)
+	{
+		final Set<Integer> ppOrderBOMLineIds = new HashSet<>();
+		final Set<Integer> ppOrderQtyIds = new HashSet<>();
+		final Set<Integer> huIds = new HashSet<>();
+		for (final TableRecordReference recordRef : recordRefs)
+		{
+			final String tableName = recordRef.getTableName();
+			final int recordId = recordRef.getRecord_ID();
+			if (I_PP_Order.Table_Name.equals(tableName))
+			{
+				if (recordId == ppOrderId)
+				{
+					ppOrderBOMLineIds.add(PPOrderLinesLoader.MAIN_PRODUCT_BOMLINE_ID);
+				}
+			}
+			else if (I_PP_Order_BOMLine.Table_Name.equals(tableName))
+			{
+				ppOrderBOMLineIds.add(recordId);
+			}
+			else if (I_PP_Order_Qty.Table_Name.equals(tableName))
+			{
+				ppOrderQtyIds.add(recordId);
+			}
+			else if (I_M_HU.Table_Name.equals(tableName))
+			{
+				huIds.add(recordId);
+			}
+		}
+
+		final Set<Integer> topLevelRowBOMLineIds = new HashSet<>();
+		topLevelRowBOMLineIds.addAll(retainOwnPPOrderBOMLineIds(data, ppOrderId, ppOrderBOMLineIds));
+		topLevelRowBOMLineIds.addAll(findTopLevelRowBOMLineIds(data, ppOrderId, ppOrderQtyIds, huIds));
+		return topLevelRowBOMLineIds;
+	}
+
+	/** @return the given BOM lines which are belonging to this manufacturing order */
+	private static Set<Integer> retainOwnPPOrderBOMLineIds(final PPOrderLinesViewData data, final int ppOrderId, final Set<Integer> ppOrderBOMLineIds)
+	{
+		if (ppOrderBOMLineIds.isEmpty())
+		{
+			return ImmutableSet.of();
+		}
+
+		final Set<Integer> result = new HashSet<>();
+		data.stream()
+				.map(PPOrderLinesLoader::extractPPOrderBOMLineId)
+				.filter(ppOrderBOMLineIds::contains)
+				.forEach(result::add);
+
+		final Set<Integer> unknownBOMLineIds = Sets.difference(ppOrderBOMLineIds, result).immutableCopy();
+		if (!unknownBOMLineIds.isEmpty())
+		{
+			// new BOM lines of our manufacturing order
+			result.addAll(Services.get(IQueryBL.class)
+					.createQueryBuilderOutOfTrx(I_PP_Order_BOMLine.class)
+					.addEqualsFilter(I_PP_Order_BOMLine.COLUMNNAME_PP_Order_ID, ppOrderId)
+					.addInArrayFilter(I_PP_Order_BOMLine.COLUMNNAME_PP_Order_BOMLine_ID, unknownBOMLineIds)
+					.create()
+					.listIds());
+		}
+
+		return result;
+	}
+
+	/** @return top level rows (identified by PP_Order_BOMLine_ID) which are including given issue/receipt candidates or HUs */
+	private static Set<Integer> findTopLevelRowBOMLineIds(final PPOrderLinesViewData data, final int ppOrderId, final Set<Integer> ppOrderQtyIds, final Set<Integer> huIds)
+	{
+		if (ppOrderQtyIds.isEmpty() && huIds.isEmpty())
+		{
+			return ImmutableSet.of();
+		}
+
+		//
+		// Check the rows we already have
+		final Set<Integer> result = new HashSet<>();
+		final Set<Integer> foundPPOrderQtyIds = new HashSet<>();
+		final Set<Integer> foundHUIds = new HashSet<>();
+		data.streamTopLevelRowsHavingAnyRow(row -> {
+			final boolean ppOrderQtyMatches = ppOrderQtyIds.contains(row.getPP_Order_Qty_ID());
+			if (ppOrderQtyMatches)
+			{
+				foundPPOrderQtyIds.add(row.getPP_Order_Qty_ID());
+			}
+			final boolean huMatches = huIds.contains(row.getM_HU_ID());
+			if (huMatches)
+			{
+				foundHUIds.add(row.getM_HU_ID());
+			}
+			return ppOrderQtyMatches || huMatches;
+		})
+				.map(PPOrderLinesLoader::extractPPOrderBOMLineId)
+				.forEach(result::add);
+
+		//
+		// New issue/receipt candidates or new HUs of our manufacturing order
+		final Set<Integer> unknownPPOrderQtyIds = Sets.difference(ppOrderQtyIds, foundPPOrderQtyIds).immutableCopy();
+		if (!unknownPPOrderQtyIds.isEmpty())
+		{
+			streamPPOrderQtys(ppOrderId, I_PP_Order_Qty.COLUMNNAME_PP_Order_Qty_ID, unknownPPOrderQtyIds)
+					.map(PPOrderLinesLoader::extractPPOrderBOMLineId)
+					.forEach(result::add);
+		}
+
+		final Set<Integer> unknownHUIds = Sets.difference(huIds, foundHUIds).immutableCopy();
+		if (!unknownHUIds.isEmpty())
+		{
+			streamPPOrderQtys(ppOrderId, I_PP_Order_Qty.COLUMNNAME_M_HU_ID, unknownHUIds)
+					.map(PPOrderLinesLoader::extractPPOrderBOMLineId)
+					.forEach(result::add);
+		}
+
+		return result;
+	}
+
+	/** @return issue/receipt candidates of given manufacturing order, having given IDs in given column */
+	private static Stream<I_PP_Order_Qty> streamPPOrderQtys(final int ppOrderId, final String columnName, final Set<Integer> ids)
+	{
+		return Services.get(IQueryBL.class)
+				.createQueryBuilderOutOfTrx(I_PP_Order_Qty.class)
+				.addOnlyActiveRecordsFilter()
+				.addEqualsFilter(I_PP_Order_Qty.COLUMNNAME_PP_Order_ID, ppOrderId)
+				.addInArrayFilter(columnName, ids)
+				.create()
+				.stream(I_PP_Order_Qty.class);
+	}
+
+	/**
+	 * Invalidates given top level rows, including their sub-trees and their attributes, and notifies the frontend about those rows only.
+	 * The rows will be reloaded on next access.
+	 *
+	 * @param ppOrderBOMLineIds top level rows to invalidate, identified by PP_Order_BOMLine_ID; use {@link PPOrderLinesLoader#MAIN_PRODUCT_BOMLINE_ID} for the main product row
+	 */
+	public void invalidateTopLevelRows(@NonNull final Set<Integer> ppOrderBOMLineIds)
+	{
+		if (ppOrderBOMLineIds.isEmpty())
+		{
+			return;
+		}
+
+		final PPOrderLinesViewData currentData = data.getIfLoaded();
+		if (asiAttributesProvider != null && currentData != null)
+		{
+			final Set<DocumentId> invalidatedRowIds = currentData.streamTopLevelRowsRecursive(ppOrderBOMLineIds)
+					.map(PPOrderLineRow::getId)
+					.collect(ImmutableSet.toImmutableSet());
+			asiAttributesProvider.invalidateRows(invalidatedRowIds);
+		}
+
+		if (!data.invalidate(ppOrderBOMLineIds))
+		{
+			return;
+		}
+
+		final DocumentIdsSelection changedRowIds = ppOrderBOMLineIds.stream()
+				.map(ppOrderBOMLineId -> ppOrderBOMLineId == PPOrderLinesLoader.MAIN_PRODUCT_BOMLINE_ID
+						? PPOrderLinesLoader.createRowIdForMainProduct(ppOrderId)
+						: PPOrderLinesLoader.createRowIdForBOMLine(ppOrderBOMLineId))
+				.collect(DocumentIdsSelection.toDocumentIdsSelection());
+		ViewChangesCollector.getCurrentOrAutoflush()
+				.collectRowsChanged(this, changedRowIds);
 	}
 
 	@Override
@@ -358,12 +542,19 @@ public class PPOrderLinesView implements IView
 			asiAttributesProvider.invalidateAll();
 		}
 
-		dataSupplier.forget();
+		data.invalidateAll();
 	}
 
 	private PPOrderLinesViewData getData()
 	{
-		return dataSupplier.get();
+		return data.get();
+	}
+
+	private PPOrderLinesLoader createLoader()
+	{
+		return PPOrderLinesLoader.builder(viewId.getWindowId())
+				.asiAttributesProvider(asiAttributesProvider)
+				.build();
 	}
 
 	@ViewAction(caption = "PPOrderLinesView.openViewsToIssue", precondition = IsSingleIssueLine.class)
@@ -1,6 +1,9 @@
 package de.metas.ui.web.pporder;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import javax.annotation.concurrent.Immutable;
@@ -126,6 +129,43 @@ import lombok.NonNull;
 		return records.size();
 	}
 
+	/**
+	 * @return top level rows which are matching given predicate, either themselves or by one of their included rows
+	 */
+	public Stream<PPOrderLineRow> streamTopLevelRowsHavingAnyRow(final Predicate<PPOrderLineRow> predicate)
+	{
+		return records.stream()
+				.filter(row -> streamRecursive(row).anyMatch(predicate));
+	}
+
+	/**
+	 * @param ppOrderBOMLineIds top level rows (see {@link PPOrderLinesLoader#extractPPOrderBOMLineId(PPOrderLineRow)})
+	 * @return given top level rows and their included rows, recursively
+	 */
+	public Stream<PPOrderLineRow> streamTopLevelRowsRecursive(final Set<Integer> ppOrderBOMLineIds)
+	{
+		return records.stream()
+				.filter(row -> ppOrderBOMLineIds.contains(PPOrderLinesLoader.extractPPOrderBOMLineId(row)))
+				.flatMap(row -> streamRecursive(row));
+	}
+
+	/**
+	 * @param ppOrderBOMLineIds top level rows which were reloaded (see {@link PPOrderLinesLoader#extractPPOrderBOMLineId(PPOrderLineRow)})
+	 * @param reloadedRows the reloaded top level rows; rows which are no longer there will be removed
+	 * @return new instance where the given top level rows (including their sub-trees) are replaced
+	 */
+	public PPOrderLinesViewData withTopLevelRowsReplaced(final Set<Integer> ppOrderBOMLineIds, final List<PPOrderLineRow> reloadedRows)
+	{
+		final List<PPOrderLineRow> newRecords = new ArrayList<>(records.size());
+		records.stream()
+				.filter(row -> !ppOrderBOMLineIds.contains(PPOrderLinesLoader.extractPPOrderBOMLineId(row)))
+				.forEach(newRecords::add);
+		newRecords.addAll(reloadedRows);
+		newRecords.sort(PPOrderLinesLoader.TOP_LEVEL_ROWS_ORDER);
+
+		return new PPOrderLinesViewData(description, planningStatus, newRecords);
+	}
+
 	private static ImmutableMap<DocumentId, PPOrderLineRow> buildRecordsByIdMap(final List<PPOrderLineRow> records)
 	{
 		if (records.isEmpty())
@@ -9,6 +9,8 @@ import org.adempiere.util.Services;
 import org.compiere.Adempiere;
 import org.eevolution.model.I_PP_Order_BOMLine;
 
+import com.google.common.collect.ImmutableSet;
+
 import de.metas.handlingunits.impl.IDocumentLUTUConfigurationManager;
 import de.metas.handlingunits.model.I_M_HU_LUTU_Configuration;
 import de.metas.handlingunits.model.I_M_HU_PI_Item;
@@ -25,6 +27,7 @@ import de.metas.process.ProcessPreconditionsResolution;
 import de.metas.process.RunOutOfTrx;
 import de.metas.ui.web.pporder.PPOrderLineRow;
 import de.metas.ui.web.pporder.PPOrderLineType;
+import de.metas.ui.web.pporder.PPOrderLinesLoader;
 import de.metas.ui.web.pporder.PPOrderLinesView;
 import de.metas.ui.web.process.descriptor.ProcessParamLookupValuesProvider;
 import de.metas.ui.web.view.IViewsRepository;
@@ -249,9 +252,9 @@ public class WEBUI_PP_Order_Receipt
 	@Override
 	protected void postProcess(boolean success)
 	{
-		// Invalidate the view because for sure we have changes
+		// Invalidate the receipt line because for sure we have new receipt candidates there
 		final PPOrderLinesView ppOrderLinesView = getView();
-		ppOrderLinesView.invalidateAll();
+		ppOrderLinesView.invalidateTopLevelRows(ImmutableSet.of(PPOrderLinesLoader.extractPPOrderBOMLineId(getSingleSelectedRow())));
 
 		viewsRepo.notifyRecordChanged(I_PP_Order.Table_Name, ppOrderLinesView.getPP_Order_ID());
 	}
@@ -1,6 +1,9 @@
 package de.metas.ui.web.pporder.process;
 
 import org.adempiere.util.Services;
+import org.adempiere.util.lang.impl.TableRecordReference;
+
+import com.google.common.collect.ImmutableSet;
 
 import de.metas.handlingunits.model.I_PP_Order_Qty;
 import de.metas.handlingunits.pporder.api.IHUPPOrderQtyBL;
@@ -82,6 +85,7 @@ public class WEBUI_PP_Order_ReverseCandidate
 	@Override
 	protected void postProcess(final boolean success)
 	{
-		getView().invalidateAll();
+		final int ppOrderQtyId = getSingleSelectedRow().getPP_Order_Qty_ID();
+		getView().notifyRecordsChanged(ImmutableSet.of(TableRecordReference.of(I_PP_Order_Qty.Table_Name, ppOrderQtyId)));
 	}
 }
@@ -1,5 +1,6 @@
 package de.metas.ui.web.process;
 
+import java.util.Date;
 import java.util.List;
 
 import org.adempiere.model.InterfaceWrapperHelper;
@@ -8,6 +9,7 @@ import org.adempiere.util.Check;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableList;
 
+import de.metas.ui.web.window.WindowConstants;
 import de.metas.ui.web.window.model.Document;
 
 /*
@@ -95,4 +97,26 @@ public final class DocumentPreconditionsAsContext implements WebuiPreconditionsC
 		return 1;
 	}
 
+	@Override
+	public String getSelectionFingerprint()
+	{
+		if (document.isNew() || document.hasChangesRecursivelly())
+		{
+			return null;
+		}
+
+		// NOTE: don't use the document's ETag because it's changing with each document copy
+		if (!document.hasField(WindowConstants.FIELDNAME_Updated))
+		{
+			return null;
+		}
+		final Date updated = document.getFieldView(WindowConstants.FIELDNAME_Updated).getValueAs(Date.class);
+		if (updated == null)
+		{
+			return null;
+		}
+
+		return tableName + "/" + document.getDocumentIdAsInt() + "/" + updated.getTime();
+	}
+
 }
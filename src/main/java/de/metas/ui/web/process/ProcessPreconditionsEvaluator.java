@@ -0,0 +1,111 @@
+package de.metas.ui.web.process;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.adempiere.util.Check;
+import org.compiere.util.CCache;
+import org.springframework.stereotype.Component;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.process.ProcessPreconditionsResolution;
+import de.metas.ui.web.metrics.WebuiMetrics;
+import de.metas.ui.web.process.descriptor.ProcessPreconditionsDependOnSelectionOnly;
+import de.metas.ui.web.process.descriptor.WebuiRelatedProcessDescriptor;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Checks the preconditions of a list of related processes.
+ * <p>
+ * The preconditions resolutions of processes annotated with {@link ProcessPreconditionsDependOnSelectionOnly} are cached per selection fingerprint
+ * (see {@link WebuiPreconditionsContext#getSelectionFingerprint()}) and reset when the records of selection's table are changed.
+ * <p>
+ * NOTE: the preconditions are checked in the request thread, because the preconditions context is backed by a document or view which is not thread safe.
+ */
+@Component
+public class ProcessPreconditionsEvaluator
+{
+	/** Caches indexed by table name, so they are reset when the records of that table are changed */
+	private final ConcurrentHashMap<String, CCache<String, ProcessPreconditionsResolution>> resolutionsByTableName = new ConcurrentHashMap<>();
+
+	/**
+	 * @return the given processes, with their preconditions resolution already checked
+	 */
+	public List<WebuiRelatedProcessDescriptor> checkPreconditions(final List<WebuiRelatedProcessDescriptor> processes, final WebuiPreconditionsContext preconditionsContext)
+	{
+		if (processes.isEmpty())
+		{
+			return processes;
+		}
+
+		final CCache<String, ProcessPreconditionsResolution> resolutionsCache = getResolutionsCache(preconditionsContext.getTableName());
+		final String selectionFingerprint = resolutionsCache != null ? preconditionsContext.getSelectionFingerprint() : null;
+
+		final ImmutableList.Builder<WebuiRelatedProcessDescriptor> result = ImmutableList.builder();
+		for (final WebuiRelatedProcessDescriptor process : processes)
+		{
+			final String cacheKey = extractCacheKeyOrNull(process, selectionFingerprint);
+			if (cacheKey == null)
+			{
+				process.getPreconditionsResolution();
+				result.add(process);
+				WebuiMetrics.counter("process.preconditions", "result", "checked").increment();
+				continue;
+			}
+
+			final ProcessPreconditionsResolution cachedResolution = resolutionsCache.get(cacheKey);
+			if (cachedResolution != null)
+			{
+				result.add(process.withPreconditionsResolution(cachedResolution));
+				WebuiMetrics.counter("process.preconditions", "result", "cached").increment();
+				continue;
+			}
+
+			resolutionsCache.put(cacheKey, process.getPreconditionsResolution());
+			result.add(process);
+			WebuiMetrics.counter("process.preconditions", "result", "checked").increment();
+		}
+
+		return result.build();
+	}
+
+	private static String extractCacheKeyOrNull(final WebuiRelatedProcessDescriptor process, final String selectionFingerprint)
+	{
+		if (selectionFingerprint == null || !process.isPreconditionsDependOnSelectionOnly())
+		{
+			return null;
+		}
+		return process.getProcessId().toJson() + "#" + selectionFingerprint;
+	}
+
+	private CCache<String, ProcessPreconditionsResolution> getResolutionsCache(final String tableName)
+	{
+		if (Check.isEmpty(tableName, true))
+		{
+			return null;
+		}
+		return resolutionsByTableName.computeIfAbsent(tableName, k -> CCache.newLRUCache(tableName + "#ProcessPreconditionsResolution", 1000, 10));
+	}
+}
@@ -3,6 +3,7 @@ package de.metas.ui.web.process;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import org.compiere.util.Util;
@@ -21,6 +22,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.WebRequest;
 
+import com.google.common.collect.ImmutableList;
+
 import de.metas.logging.LogManager;
 import de.metas.ui.web.cache.ETagResponseEntityBuilder;
 import de.metas.ui.web.config.WebConfig;
@@ -87,6 +90,9 @@ public class ProcessRestController
 	@Autowired
 	private IViewsRepository viewsRepo;
 
+	@Autowired
+	private ProcessPreconditionsEvaluator preconditionsEvaluator;
+
 	private final ConcurrentHashMap<String, IProcessInstancesRepository> pinstancesRepositoriesByHandlerType = new ConcurrentHashMap<>();
 
 	private static final ReasonSupplier REASON_Value_DirectSetFromCommitAPI = () -> "direct set from commit API";
@@ -109,11 +115,27 @@ public class ProcessRestController
 		return JSONOptions.builder(userSession).build();
 	}
 
+	/**
+	 * @return related processes, with their preconditions already checked
+	 */
 	public Stream<WebuiRelatedProcessDescriptor> streamDocumentRelatedProcesses(final WebuiPreconditionsContext preconditionsContext)
 	{
-		return getAllRepositories()
+		return streamDocumentRelatedProcesses(preconditionsContext, relatedProcess -> true);
+	}
+
+	/**
+	 * @param filter filters the related processes before their preconditions are checked
+	 * @return related processes, with their preconditions already checked
+	 */
+	public Stream<WebuiRelatedProcessDescriptor> streamDocumentRelatedProcesses(final WebuiPreconditionsContext preconditionsContext, final Predicate<WebuiRelatedProcessDescriptor> filter)
+	{
+		final List<WebuiRelatedProcessDescriptor> relatedProcesses = getAllRepositories()
 				.stream()
-				.flatMap(repo -> repo.streamDocumentRelatedProcesses(preconditionsContext));
+				.flatMap(repo -> repo.streamDocumentRelatedProcesses(preconditionsContext))
+				.filter(filter)
+				.collect(ImmutableList.toImmutableList());
+
+		return preconditionsEvaluator.checkPreconditions(relatedProcesses, preconditionsContext).stream();
 	}
 
 	private final IProcessInstancesRepository getRepository(@NonNull final ProcessId processId)
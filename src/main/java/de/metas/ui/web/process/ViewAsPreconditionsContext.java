@@ -200,6 +200,14 @@ public class ViewAsPreconditionsContext implements WebuiPreconditionsContext
 		return getSelectedDocumentIds().isMoreThanOneDocumentId();
 	}
 
+	@Override
+	public String getSelectionFingerprint()
+	{
+		return view.getRowsVersion()
+				.map(rowsVersion -> view.getViewId().toJson() + "/" + selectedDocumentIds.toCommaSeparatedString() + "/" + rowsVersion)
+				.orElse(null);
+	}
+
 	private final SelectedModelsList retrieveSelectedModels(final Class<?> modelClass)
 	{
 		final List<?> models = view.retrieveModelsByIds(getSelectedDocumentIds(), modelClass);
@@ -35,4 +35,13 @@ public interface WebuiPreconditionsContext extends IProcessPreconditionsContext
 	{
 		return ImmutableList.of();
 	}
+
+	/**
+	 * @return key which identifies the selection and its version or null if the selection cannot be identified (e.g. it has unsaved changes).
+	 *         It's used to cache the preconditions resolution of the processes which depend only on the selection.
+	 */
+	default String getSelectionFingerprint()
+	{
+		return null;
+	}
 }
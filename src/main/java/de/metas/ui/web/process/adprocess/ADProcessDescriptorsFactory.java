@@ -31,6 +31,7 @@ import de.metas.process.ProcessParams;
 import de.metas.process.ProcessPreconditionsResolution;
 import de.metas.process.RelatedProcessDescriptor;
 import de.metas.ui.web.exceptions.EntityNotFoundException;
+import de.metas.ui.web.metrics.WebuiMetrics;
 import de.metas.ui.web.process.ProcessId;
 import de.metas.ui.web.process.WebuiPreconditionsContext;
 import de.metas.ui.web.process.descriptor.ProcessDescriptor;
@@ -90,7 +91,7 @@ import lombok.NonNull;
 	private final transient IADTableDAO adTableDAO = Services.get(IADTableDAO.class);
 	private final transient IADProcessDAO adProcessDAO = Services.get(IADProcessDAO.class);
 
-	private final CCache<ProcessId, ProcessDescriptor> processDescriptorsByProcessId = CCache.newLRUCache(I_AD_Process.Table_Name + "#Descriptors#by#AD_Process_ID", 200, 0);
+	private final CCache<ProcessId, ProcessDescriptor> processDescriptorsByProcessId = WebuiMetrics.monitorCacheSize("ProcessDescriptors", CCache.newLRUCache(I_AD_Process.Table_Name + "#Descriptors#by#AD_Process_ID", 200, 0));
 
 	public Stream<WebuiRelatedProcessDescriptor> streamDocumentRelatedProcesses(final WebuiPreconditionsContext preconditionsContext, final IUserRolePermissions userRolePermissions)
 	{
@@ -129,6 +130,7 @@ import lombok.NonNull;
 				.defaultQuickAction(relatedProcessDescriptor.isWebuiDefaultQuickAction())
 				//
 				.preconditionsResolutionSupplier(preconditionsResolutionSupplier)
+				.preconditionsDependOnSelectionOnly(processDescriptor.isPreconditionsDependOnSelectionOnly())
 				//
 				.build();
 	}
@@ -61,6 +61,7 @@ public final class ProcessDescriptor implements ETagAware
 	private final ProcessDescriptorType type;
 	private final Class<? extends IProcessDefaultParametersProvider> defaultParametersProviderClass;
 	private final String processClassname;
+	private final boolean preconditionsDependOnSelectionOnly;
 
 	private final DocumentEntityDescriptor parametersDescriptor;
 	private final ProcessLayout layout;
@@ -77,6 +78,8 @@ public final class ProcessDescriptor implements ETagAware
 		type = builder.getType();
 
 		processClassname = builder.getProcessClassname();
+		final Class<?> processClass = builder.getProcessClassOrNull();
+		preconditionsDependOnSelectionOnly = processClass != null && processClass.isAnnotationPresent(ProcessPreconditionsDependOnSelectionOnly.class);
 		defaultParametersProviderClass = builder.getProcessDefaultParametersProvider();
 
 		parametersDescriptor = builder.getParametersDescriptor();
@@ -146,6 +149,12 @@ public final class ProcessDescriptor implements ETagAware
 		return true;
 	}
 
+	/** @return true if the preconditions resolution can be cached per selection; see {@link ProcessPreconditionsDependOnSelectionOnly} */
+	public boolean isPreconditionsDependOnSelectionOnly()
+	{
+		return preconditionsDependOnSelectionOnly;
+	}
+
 	public ProcessPreconditionsResolution checkPreconditionsApplicable(final IProcessPreconditionsContext context)
 	{
 		return ProcessPreconditionChecker.newInstance()
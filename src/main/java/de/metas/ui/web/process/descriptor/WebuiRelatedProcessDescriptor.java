@@ -51,6 +51,7 @@ public final class WebuiRelatedProcessDescriptor
 	private final boolean defaultQuickAction;
 	@NonNull
 	private final Supplier<ProcessPreconditionsResolution> preconditionsResolutionSupplier;
+	private final boolean preconditionsDependOnSelectionOnly;
 
 	private final String debugProcessClassname;
 
@@ -62,6 +63,7 @@ public final class WebuiRelatedProcessDescriptor
 			final boolean quickAction,
 			final boolean defaultQuickAction,
 			@NonNull final Supplier<ProcessPreconditionsResolution> preconditionsResolutionSupplier,
+			final boolean preconditionsDependOnSelectionOnly,
 			final String debugProcessClassname
 	)
 	{
@@ -75,7 +77,8 @@ public final class WebuiRelatedProcessDescriptor
 		// Memorize the resolution supplier to make sure it's not invoked more than once because it might be an expensive operation.
 		// Also we assume this is a short living instance which was created right before checking
 		this.preconditionsResolutionSupplier = ExtendedMemorizingSupplier.of(preconditionsResolutionSupplier);
-		
+		this.preconditionsDependOnSelectionOnly = preconditionsDependOnSelectionOnly;
+
 		this.debugProcessClassname = debugProcessClassname;
 	}
 
@@ -110,10 +113,37 @@ public final class WebuiRelatedProcessDescriptor
 		return defaultQuickAction;
 	}
 
-	private ProcessPreconditionsResolution getPreconditionsResolution()
+	/**
+	 * @return a copy of this descriptor, having the given preconditions resolution
+	 */
+	public WebuiRelatedProcessDescriptor withPreconditionsResolution(@NonNull final ProcessPreconditionsResolution preconditionsResolution)
+	{
+		return new WebuiRelatedProcessDescriptor(
+				processId,
+				processCaption,
+				processDescription,
+				quickAction,
+				defaultQuickAction,
+				() -> preconditionsResolution,
+				preconditionsDependOnSelectionOnly,
+				debugProcessClassname);
+	}
+
+	/**
+	 * Checks the preconditions, if not already checked.
+	 * <p>
+	 * NOTE: it's thread safe, the preconditions are checked only once.
+	 */
+	public ProcessPreconditionsResolution getPreconditionsResolution()
 	{
 		return preconditionsResolutionSupplier.get();
 	}
+
+	/** @return true if the preconditions resolution can be cached per selection; see {@link ProcessPreconditionsDependOnSelectionOnly} */
+	public boolean isPreconditionsDependOnSelectionOnly()
+	{
+		return preconditionsDependOnSelectionOnly;
+	}
 	
 	public boolean isDisabled()
 	{
@@ -14,6 +14,7 @@ import de.metas.ui.web.process.ViewAsPreconditionsContext;
 import de.metas.ui.web.process.descriptor.ProcessDescriptor;
 import de.metas.ui.web.process.descriptor.ProcessDescriptor.ProcessDescriptorType;
 import de.metas.ui.web.process.descriptor.ProcessLayout;
+import de.metas.ui.web.process.descriptor.ProcessPreconditionsDependOnSelectionOnly;
 import de.metas.ui.web.process.descriptor.WebuiRelatedProcessDescriptor;
 import de.metas.ui.web.process.view.ViewAction.Precondition;
 import de.metas.ui.web.view.IView;
@@ -133,6 +134,7 @@ public final class ViewActionDescriptor
 				.quickAction(true)
 				//
 				.preconditionsResolutionSupplier(() -> checkPreconditions(view, selectedDocumentIds))
+				.preconditionsDependOnSelectionOnly(isPreconditionsDependOnSelectionOnly())
 				//
 				.build();
 	}
@@ -149,6 +151,12 @@ public final class ViewActionDescriptor
 		}
 	}
 
+	private boolean isPreconditionsDependOnSelectionOnly()
+	{
+		final Class<?> preconditionClassEffective = preconditionSharedInstance != null ? preconditionSharedInstance.getClass() : preconditionClass;
+		return preconditionClassEffective != null && preconditionClassEffective.isAnnotationPresent(ProcessPreconditionsDependOnSelectionOnly.class);
+	}
+
 	private final Precondition getPreconditionsInstance() throws InstantiationException, IllegalAccessException
 	{
 		if (preconditionSharedInstance != null)
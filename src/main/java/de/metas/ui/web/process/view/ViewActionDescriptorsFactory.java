@@ -18,6 +18,7 @@ import org.slf4j.Logger;
 
 import de.metas.i18n.IMsgBL;
 import de.metas.logging.LogManager;
+import de.metas.ui.web.metrics.WebuiMetrics;
 import de.metas.ui.web.process.ProcessInstanceResult;
 import de.metas.ui.web.process.view.ViewAction.AlwaysAllowPrecondition;
 import de.metas.ui.web.process.view.ViewActionDescriptor.ViewActionDescriptorBuilder;
@@ -61,7 +62,7 @@ public class ViewActionDescriptorsFactory
 
 	private static final transient Logger logger = LogManager.getLogger(ViewActionDescriptorsFactory.class);
 
-	private final CCache<String, ViewActionDescriptorsList> viewActionsDescriptorByViewClassname = CCache.newCache("viewActionsDescriptorByViewClassname", 50, 0);
+	private final CCache<String, ViewActionDescriptorsList> viewActionsDescriptorByViewClassname = WebuiMetrics.monitorCacheSize("ViewActionDescriptors", CCache.newCache("viewActionsDescriptorByViewClassname", 50, 0));
 
 	private ViewActionDescriptorsFactory()
 	{
@@ -121,6 +121,22 @@ import de.metas.ui.web.base.session.UserPreference;
 		UserSession.logger.trace("User session created: {}", this);
 	}
 
+	/** Constructor used when deserializing. It's not touching the current request or context. */
+	private InternalUserSessionData(final UserPreference userPreference)
+	{
+		this.userPreference = userPreference;
+	}
+
+	/**
+	 * Creates an instance which is not bound to the current request.
+	 * 
+	 * NOTE: to be used only by {@link InternalUserSessionDataSerializer} which is populating the actual data.
+	 */
+	static InternalUserSessionData newInstanceForDeserialization(final UserPreference userPreference)
+	{
+		return new InternalUserSessionData(userPreference);
+	}
+
 	@Override
 	public void afterPropertiesSet() throws Exception
 	{
@@ -0,0 +1,212 @@
+package de.metas.ui.web.session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import de.metas.ui.web.base.session.UserPreference;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Versioned binary format of {@link InternalUserSessionData}.
+ *
+ * Format (version 1):
+ * <ul>
+ * <li>version (byte)
+ * <li>flags (short): all the boolean fields
+ * <li>sessionId, userFullname, userEmail, avatarId, locale language tag (nullable strings)
+ * <li>defaultHttpCacheMaxAge, httpCacheMaxAge (int)
+ * <li>userPreference (length prefixed java serialized bytes, because it's not owned by this module)
+ * </ul>
+ *
+ * When changing the format, increase {@link #VERSION} and keep reading the older versions.
+ */
+final class InternalUserSessionDataSerializer
+{
+	private static final byte VERSION = 2;
+
+	private static final int FLAG_LoggedIn = 1 << 0;
+	private static final int FLAG_DefaultShowColumnNamesForCaption = 1 << 1;
+	private static final int FLAG_ShowColumnNamesForCaption = 1 << 2;
+	private static final int FLAG_DefaultAllowDeprecatedRestAPI = 1 << 3;
+	private static final int FLAG_AllowDeprecatedRestAPI = 1 << 4;
+	private static final int FLAG_DefaultUseHttpAcceptLanguage = 1 << 5;
+	private static final int FLAG_UseHttpAcceptLanguage = 1 << 6;
+
+	private InternalUserSessionDataSerializer()
+	{
+	}
+
+	public static void write(final DataOutput out, final InternalUserSessionData data) throws IOException
+	{
+		out.writeByte(VERSION);
+
+		int flags = 0;
+		flags |= data.isLoggedIn() ? FLAG_LoggedIn : 0;
+		flags |= data.isDefaultShowColumnNamesForCaption() ? FLAG_DefaultShowColumnNamesForCaption : 0;
+		flags |= data.isShowColumnNamesForCaption() ? FLAG_ShowColumnNamesForCaption : 0;
+		flags |= data.isDefaultAllowDeprecatedRestAPI() ? FLAG_DefaultAllowDeprecatedRestAPI : 0;
+		flags |= data.isAllowDeprecatedRestAPI() ? FLAG_AllowDeprecatedRestAPI : 0;
+		flags |= data.isDefaultUseHttpAcceptLanguage() ? FLAG_DefaultUseHttpAcceptLanguage : 0;
+		flags |= data.isUseHttpAcceptLanguage() ? FLAG_UseHttpAcceptLanguage : 0;
+		out.writeShort(flags);
+
+		writeNullableString(out, data.getSessionId());
+		writeNullableString(out, data.getUserFullname());
+		writeNullableString(out, data.getUserEmail());
+		writeNullableString(out, data.getAvatarId());
+		writeNullableString(out, data.getLocale() != null ? data.getLocale().toLanguageTag() : null);
+
+		out.writeInt(data.getDefaultHttpCacheMaxAge());
+		out.writeInt(data.getHttpCacheMaxAge());
+
+		writeJavaSerialized(out, data.getUserPreference());
+	}
+
+	public static InternalUserSessionData read(final DataInput in) throws IOException
+	{
+		final byte version = in.readByte();
+		if (version != VERSION)
+		{
+			throw new StreamCorruptedException("Unsupported " + InternalUserSessionData.class.getSimpleName() + " format version: " + version);
+		}
+
+		final int flags = in.readShort();
+
+		final String sessionId = readNullableString(in);
+		final String userFullname = readNullableString(in);
+		final String userEmail = readNullableString(in);
+		final String avatarId = readNullableString(in);
+		final String localeTag = readNullableString(in);
+
+		final int defaultHttpCacheMaxAge = in.readInt();
+		final int httpCacheMaxAge = in.readInt();
+
+		final UserPreference userPreference = readJavaSerialized(in, UserPreference.class);
+
+		final InternalUserSessionData data = InternalUserSessionData.newInstanceForDeserialization(userPreference);
+		data.setSessionId(sessionId);
+		data.setLoggedIn((flags & FLAG_LoggedIn) != 0);
+		data.setDefaultShowColumnNamesForCaption((flags & FLAG_DefaultShowColumnNamesForCaption) != 0);
+		data.setShowColumnNamesForCaption((flags & FLAG_ShowColumnNamesForCaption) != 0);
+		data.setDefaultAllowDeprecatedRestAPI((flags & FLAG_DefaultAllowDeprecatedRestAPI) != 0);
+		data.setAllowDeprecatedRestAPI((flags & FLAG_AllowDeprecatedRestAPI) != 0);
+		data.setDefaultUseHttpAcceptLanguage((flags & FLAG_DefaultUseHttpAcceptLanguage) != 0);
+		data.setUseHttpAcceptLanguage((flags & FLAG_UseHttpAcceptLanguage) != 0);
+		data.setUserFullname(userFullname);
+		data.setUserEmail(userEmail);
+		data.setAvatarId(avatarId);
+		data.setLocale(localeTag != null ? Locale.forLanguageTag(localeTag) : null);
+		data.setDefaultHttpCacheMaxAge(defaultHttpCacheMaxAge);
+		data.setHttpCacheMaxAge(httpCacheMaxAge);
+
+		UserSession.logger.trace("User session deserialized: {}", data);
+		return data;
+	}
+
+	static void writeNullableString(final DataOutput out, final String value) throws IOException
+	{
+		out.writeBoolean(value != null);
+		if (value != null)
+		{
+			writeString(out, value);
+		}
+	}
+
+	static String readNullableString(final DataInput in) throws IOException
+	{
+		return in.readBoolean() ? readString(in) : null;
+	}
+
+	/**
+	 * Writes given string as length prefixed UTF-8 bytes.
+	 * <p>
+	 * NOTE: we are not using {@link DataOutput#writeUTF(String)} because it fails for strings which are longer than 64KB when encoded.
+	 */
+	static void writeString(final DataOutput out, @NonNull final String value) throws IOException
+	{
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	static String readString(final DataInput in) throws IOException
+	{
+		final int length = in.readInt();
+		if (length < 0)
+		{
+			throw new StreamCorruptedException("Invalid string length: " + length);
+		}
+
+		final byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	static void writeJavaSerialized(final DataOutput out, final Object value) throws IOException
+	{
+		if (value == null)
+		{
+			out.writeInt(-1);
+			return;
+		}
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (final ObjectOutputStream oos = new ObjectOutputStream(bytes))
+		{
+			oos.writeObject(value);
+		}
+
+		out.writeInt(bytes.size());
+		out.write(bytes.toByteArray());
+	}
+
+	static <T> T readJavaSerialized(final DataInput in, final Class<T> type) throws IOException
+	{
+		final int length = in.readInt();
+		if (length < 0)
+		{
+			return null;
+		}
+
+		final byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		try (final ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes)))
+		{
+			return type.cast(ois.readObject());
+		}
+		catch (final ClassNotFoundException ex)
+		{
+			throw new IOException("Failed deserializing " + type, ex);
+		}
+	}
+}
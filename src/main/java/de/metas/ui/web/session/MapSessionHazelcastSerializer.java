@@ -0,0 +1,231 @@
+package de.metas.ui.web.session;
+
+import static de.metas.ui.web.session.InternalUserSessionDataSerializer.readString;
+import static de.metas.ui.web.session.InternalUserSessionDataSerializer.writeString;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.springframework.session.MapSession;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Compact hazelcast serializer for the spring HTTP sessions.
+ *
+ * The session attributes we know about (i.e. {@link InternalUserSessionData}, the user context {@link Properties}, strings and primitive wrappers)
+ * are written in a versioned binary format. Any other attribute falls back to java serialization.
+ *
+ * To register it, see {@link de.metas.ui.web.config.HazelcastHttpSessionConfig}.
+ */
+public final class MapSessionHazelcastSerializer implements StreamSerializer<MapSession>
+{
+	/** Hazelcast serializer type ID; shall be positive and unique in the hazelcast config */
+	public static final int TYPE_ID = 5301;
+
+	private static final byte VERSION = 2;
+
+	private static final byte TYPE_Null = 0;
+	private static final byte TYPE_String = 1;
+	private static final byte TYPE_Integer = 2;
+	private static final byte TYPE_Long = 3;
+	private static final byte TYPE_Boolean = 4;
+	private static final byte TYPE_InternalUserSessionData = 10;
+	private static final byte TYPE_StringProperties = 11;
+	private static final byte TYPE_JavaSerialized = 99;
+
+	@Override
+	public int getTypeId()
+	{
+		return TYPE_ID;
+	}
+
+	@Override
+	public void destroy()
+	{
+		// nothing
+	}
+
+	@Override
+	public void write(final ObjectDataOutput out, final MapSession session) throws IOException
+	{
+		writeSession(out, session);
+	}
+
+	@Override
+	public MapSession read(final ObjectDataInput in) throws IOException
+	{
+		return readSession(in);
+	}
+
+	public static void writeSession(final DataOutput out, final MapSession session) throws IOException
+	{
+		out.writeByte(VERSION);
+		writeString(out, session.getId());
+		out.writeLong(session.getCreationTime());
+		out.writeLong(session.getLastAccessedTime());
+		out.writeInt(session.getMaxInactiveIntervalInSeconds());
+
+		final Set<String> attributeNames = session.getAttributeNames();
+		out.writeInt(attributeNames.size());
+		for (final String attributeName : attributeNames)
+		{
+			writeString(out, attributeName);
+			writeAttributeValue(out, session.getAttribute(attributeName));
+		}
+	}
+
+	public static MapSession readSession(final DataInput in) throws IOException
+	{
+		final byte version = in.readByte();
+		if (version != VERSION)
+		{
+			throw new StreamCorruptedException("Unsupported session format version: " + version);
+		}
+
+		final MapSession session = new MapSession(readString(in));
+		session.setCreationTime(in.readLong());
+		session.setLastAccessedTime(in.readLong());
+		session.setMaxInactiveIntervalInSeconds(in.readInt());
+
+		final int attributesCount = in.readInt();
+		for (int i = 0; i < attributesCount; i++)
+		{
+			final String attributeName = readString(in);
+			session.setAttribute(attributeName, readAttributeValue(in));
+		}
+
+		return session;
+	}
+
+	private static void writeAttributeValue(final DataOutput out, final Object value) throws IOException
+	{
+		if (value == null)
+		{
+			out.writeByte(TYPE_Null);
+		}
+		else if (value instanceof String)
+		{
+			out.writeByte(TYPE_String);
+			writeString(out, (String)value);
+		}
+		else if (value instanceof Integer)
+		{
+			out.writeByte(TYPE_Integer);
+			out.writeInt((Integer)value);
+		}
+		else if (value instanceof Long)
+		{
+			out.writeByte(TYPE_Long);
+			out.writeLong((Long)value);
+		}
+		else if (value instanceof Boolean)
+		{
+			out.writeByte(TYPE_Boolean);
+			out.writeBoolean((Boolean)value);
+		}
+		else if (value instanceof InternalUserSessionData)
+		{
+			out.writeByte(TYPE_InternalUserSessionData);
+			InternalUserSessionDataSerializer.write(out, (InternalUserSessionData)value);
+		}
+		else if (value.getClass() == Properties.class && isStringsOnly((Properties)value))
+		{
+			out.writeByte(TYPE_StringProperties);
+			writeStringProperties(out, (Properties)value);
+		}
+		else
+		{
+			out.writeByte(TYPE_JavaSerialized);
+			InternalUserSessionDataSerializer.writeJavaSerialized(out, value);
+		}
+	}
+
+	private static Object readAttributeValue(final DataInput in) throws IOException
+	{
+		final byte type = in.readByte();
+		switch (type)
+		{
+			case TYPE_Null:
+				return null;
+			case TYPE_String:
+				return readString(in);
+			case TYPE_Integer:
+				return in.readInt();
+			case TYPE_Long:
+				return in.readLong();
+			case TYPE_Boolean:
+				return in.readBoolean();
+			case TYPE_InternalUserSessionData:
+				return InternalUserSessionDataSerializer.read(in);
+			case TYPE_StringProperties:
+				return readStringProperties(in);
+			case TYPE_JavaSerialized:
+				return InternalUserSessionDataSerializer.readJavaSerialized(in, Object.class);
+			default:
+				throw new StreamCorruptedException("Unknown session attribute type: " + type);
+		}
+	}
+
+	private static boolean isStringsOnly(final Properties properties)
+	{
+		return properties.entrySet()
+				.stream()
+				.allMatch(entry -> entry.getKey() instanceof String && entry.getValue() instanceof String);
+	}
+
+	private static void writeStringProperties(final DataOutput out, final Properties properties) throws IOException
+	{
+		// NOTE: make a snapshot first because the context could be changed concurrently
+		final Object[] entries = properties.entrySet().toArray();
+		out.writeInt(entries.length);
+		for (final Object entryObj : entries)
+		{
+			final Map.Entry<?, ?> entry = (Map.Entry<?, ?>)entryObj;
+			writeString(out, (String)entry.getKey());
+			writeString(out, (String)entry.getValue());
+		}
+	}
+
+	private static Properties readStringProperties(final DataInput in) throws IOException
+	{
+		final Properties properties = new Properties();
+		final int size = in.readInt();
+		for (int i = 0; i < size; i++)
+		{
+			final String key = readString(in);
+			final String value = readString(in);
+			properties.setProperty(key, value);
+		}
+		return properties;
+	}
+}
@@ -1,5 +1,6 @@
 package de.metas.ui.web.view;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -40,6 +41,8 @@ public class ASIViewRowAttributesProvider implements IViewRowAttributesProvider
 	
 	private final ASIRepository asiRepository;
 	private final Map<DocumentId, ASIViewRowAttributes> attributesById = new ConcurrentHashMap<>();
+	/** ASI IDs indexed by the row IDs which requested them, used to invalidate the attributes of given rows */
+	private final Map<DocumentId, DocumentId> asiIdsByRowId = new ConcurrentHashMap<>();
 
 	private ASIViewRowAttributesProvider(@NonNull final ASIRepository asiRepository)
 	{
@@ -47,8 +50,12 @@ public class ASIViewRowAttributesProvider implements IViewRowAttributesProvider
 	}
 	
 	@Override
-	public IViewRowAttributes getAttributes(final DocumentId rowId_NOTUSED, final DocumentId asiId)
+	public IViewRowAttributes getAttributes(final DocumentId rowId, final DocumentId asiId)
 	{
+		if (rowId != null)
+		{
+			asiIdsByRowId.put(rowId, asiId);
+		}
 		return attributesById.computeIfAbsent(asiId, this::createAttributes);
 	}
 	
@@ -59,10 +66,26 @@ public class ASIViewRowAttributesProvider implements IViewRowAttributesProvider
 		return new ASIViewRowAttributes(asiDoc, asiLayout);
 	}
 
+	/**
+	 * Invalidates the attributes of given rows, so they will be reloaded on next access.
+	 */
+	public void invalidateRows(@NonNull final Collection<DocumentId> rowIds)
+	{
+		for (final DocumentId rowId : rowIds)
+		{
+			final DocumentId asiId = asiIdsByRowId.remove(rowId);
+			if (asiId != null)
+			{
+				attributesById.remove(asiId);
+			}
+		}
+	}
+
 	@Override
 	public void invalidateAll()
 	{
 		attributesById.clear();
+		asiIdsByRowId.clear();
 	}
 
 }
@@ -2,10 +2,15 @@ package de.metas.ui.web.view;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
@@ -18,12 +23,15 @@ import org.slf4j.Logger;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 
 import de.metas.i18n.ITranslatableString;
 import de.metas.i18n.ImmutableTranslatableString;
 import de.metas.logging.LogManager;
+import de.metas.ui.web.cache.ETag;
+import de.metas.ui.web.cache.TableVersions;
 import de.metas.ui.web.document.filter.DocumentFilter;
 import de.metas.ui.web.document.filter.DocumentFilterDescriptorsProvider;
 import de.metas.ui.web.document.filter.json.JSONDocumentFilter;
@@ -75,6 +83,9 @@ public class DefaultView implements IView
 
 	private static final Logger logger = LogManager.getLogger(DefaultView.class);
 
+	private static final AtomicLong nextRowsVersion = new AtomicLong(1);
+	private static final Integer CACHEKEY_RowsVersion = 0;
+
 	private final IViewDataRepository viewDataRepository;
 
 	private final AtomicBoolean closed = new AtomicBoolean(false);
@@ -102,6 +113,8 @@ public class DefaultView implements IView
 	//
 	// Caching
 	private final transient CCache<DocumentId, IViewRow> cache_rowsById;
+	/** Rows version, used to build the page ETags. Having the table name as prefix, it's reset each time the records of that table are changed */
+	private final transient CCache<Integer, Long> cache_rowsVersion;
 
 	private DefaultView(final Builder builder)
 	{
@@ -137,6 +150,11 @@ public class DefaultView implements IView
 				, 100 // maxSize
 				, 2 // expireAfterMinutes
 		);
+		cache_rowsVersion = CCache.newCache( //
+				viewDataRepository.getTableName() + "#rowsVersion#viewId=" + defaultSelection.getSelectionId() // cache name
+				, 1 // maxSize
+				, 0 // expireAfterMinutes
+		);
 
 		logger.debug("View created: {}", this);
 	}
@@ -271,12 +289,26 @@ public class DefaultView implements IView
 	{
 		// TODO recreate defaultSelection, clear selectionsByOrderBys etc
 		cache_rowsById.clear();
+		cache_rowsVersion.clear();
 	}
 	
 	@Override
 	public void invalidateRowById(final DocumentId rowId)
 	{
 		cache_rowsById.remove(rowId);
+		cache_rowsVersion.clear();
+	}
+
+	@Override
+	public Optional<String> getRowsVersion()
+	{
+		assertNotClosed();
+		return Optional.of(String.valueOf(getRowsVersion0()));
+	}
+
+	private long getRowsVersion0()
+	{
+		return cache_rowsVersion.getOrLoad(CACHEKEY_RowsVersion, nextRowsVersion::getAndIncrement);
 	}
 
 	private final void assertNotClosed()
@@ -303,6 +335,38 @@ public class DefaultView implements IView
 		return ViewResult.ofViewAndPage(this, firstRow, pageLength, orderedSelection.getOrderBys(), page);
 	}
 
+	@Override
+	public Optional<ETag> getPageETag(final int firstRow, final int pageLength, final List<DocumentQueryOrderBy> orderBys)
+	{
+		assertNotClosed();
+
+		// The rows version is changed only when our own table changes or when the view is invalidated,
+		// so we can't tell if rows which are showing data from unknown tables are still up to date.
+		if (viewDataRepository.isUsingDataFromUnknownTables())
+		{
+			return Optional.empty();
+		}
+
+		final String orderBysStr = orderBys == null ? "" : orderBys.stream()
+				.map(orderBy -> (orderBy.isAscending() ? "+" : "-") + orderBy.getFieldName())
+				.collect(Collectors.joining(","));
+
+		final ImmutableMap.Builder<String, String> attributes = ImmutableMap.<String, String> builder()
+				.put("selectionId", defaultSelection.getSelectionId())
+				.put("firstRow", String.valueOf(firstRow))
+				.put("pageLength", String.valueOf(pageLength))
+				.put("orderBy", orderBysStr);
+
+		// Include the versions of the tables from which the rows are showing data (e.g. lookup display values)
+		for (final String referencedTableName : viewDataRepository.getReferencedTableNames())
+		{
+			attributes.put("v." + referencedTableName, String.valueOf(TableVersions.instance.getVersion(referencedTableName)));
+		}
+
+		final ETag etag = ETag.of(getRowsVersion0(), attributes.build());
+		return Optional.of(etag.toWeak());
+	}
+
 	@Override
 	public ViewResult getPageWithRowIdsOnly(final int firstRow, final int pageLength, final List<DocumentQueryOrderBy> orderBys)
 	{
@@ -316,6 +380,17 @@ public class DefaultView implements IView
 		return ViewResult.ofViewAndRowIds(this, firstRow, pageLength, orderedSelection.getOrderBys(), rowIds);
 	}
 
+	@Override
+	public void streamAllRowValues(final List<DocumentQueryOrderBy> orderBys, final Consumer<Map<String, Object>> rowValuesConsumer)
+	{
+		assertNotClosed();
+
+		final ViewEvaluationCtx evalCtx = ViewEvaluationCtx.of(Env.getCtx());
+		final ViewRowIdsOrderedSelection orderedSelection = getOrderedSelection(orderBys);
+
+		viewDataRepository.streamAllRowValues(evalCtx, orderedSelection, rowValuesConsumer);
+	}
+
 	@Override
 	public IViewRow getById(final DocumentId rowId)
 	{
@@ -432,6 +507,7 @@ public class DefaultView implements IView
 
 		// Invalidate local rowsById cache
 		rowIds.forEach(cache_rowsById::remove);
+		cache_rowsVersion.clear();
 
 		// Collect event
 		// TODO: check which rowIds are contained in this view and fire events only for those
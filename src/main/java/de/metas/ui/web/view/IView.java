@@ -1,7 +1,10 @@
 package de.metas.ui.web.view;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
@@ -13,6 +16,7 @@ import com.google.common.collect.ImmutableList;
 
 import de.metas.i18n.ITranslatableString;
 import de.metas.process.RelatedProcessDescriptor;
+import de.metas.ui.web.cache.ETag;
 import de.metas.ui.web.document.filter.DocumentFilter;
 import de.metas.ui.web.exceptions.EntityNotFoundException;
 import de.metas.ui.web.process.view.ViewActionDescriptorsList;
@@ -108,11 +112,55 @@ public interface IView
 
 	ViewResult getPage(int firstRow, int pageLength, List<DocumentQueryOrderBy> orderBys);
 
+	/**
+	 * Gets the version of the view's rows. The version is changed when the view's rows are changed or invalidated.
+	 * <p>
+	 * NOTE: the version is not changed when the rows are showing data from other tables (e.g. lookup display values) and that data is changed.
+	 *
+	 * @return rows version or empty if the view is not tracking it's changes
+	 */
+	default Optional<String> getRowsVersion()
+	{
+		return Optional.empty();
+	}
+
+	/**
+	 * Gets the ETag of the page which would be returned by {@link #getPage(int, int, List)}, without loading the rows.
+	 *
+	 * @return ETag or empty if the view is not tracking it's changes, so the page cannot be HTTP cached
+	 */
+	default Optional<ETag> getPageETag(final int firstRow, final int pageLength, final List<DocumentQueryOrderBy> orderBys)
+	{
+		return Optional.empty();
+	}
+
 	default ViewResult getPageWithRowIdsOnly(final int firstRow, final int pageLength, final List<DocumentQueryOrderBy> orderBys)
 	{
 		return getPage(firstRow, pageLength, orderBys);
 	}
 
+	/**
+	 * Streams all rows of this view, in given order, to given consumer.
+	 *
+	 * The default implementation is fetching the rows page by page.
+	 *
+	 * @param rowValuesConsumer receives each row's field name to JSON value map; the consumer shall not keep a reference to it
+	 */
+	default void streamAllRowValues(final List<DocumentQueryOrderBy> orderBys, final Consumer<Map<String, Object>> rowValuesConsumer)
+	{
+		final int pageLength = 500;
+		for (int firstRow = 0;; firstRow += pageLength)
+		{
+			final List<IViewRow> page = getPage(firstRow, pageLength, orderBys).getPage();
+			page.forEach(row -> rowValuesConsumer.accept(row.getFieldNameAndJsonValues()));
+
+			if (page.size() < pageLength)
+			{
+				break;
+			}
+		}
+	}
+
 	IViewRow getById(DocumentId rowId) throws EntityNotFoundException;
 
 	default List<? extends IViewRow> getByIds(final DocumentIdsSelection rowIds)
@@ -1,6 +1,9 @@
 package de.metas.ui.web.view;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.adempiere.exceptions.DBException;
 
@@ -44,6 +47,17 @@ public interface IViewDataRepository
 {
 	String getTableName();
 
+	/**
+	 * @return tables, other than {@link #getTableName()}, from which some of the row values are fetched (e.g. lookup display values)
+	 */
+	Set<String> getReferencedTableNames();
+
+	/**
+	 * @return true if some of the row values are fetched from tables which are not known (e.g. virtual columns),
+	 *         i.e. they can change without a change of {@link #getTableName()} or {@link #getReferencedTableNames()}
+	 */
+	boolean isUsingDataFromUnknownTables();
+
 	String getSqlWhereClause(ViewId viewId, List<DocumentFilter> filters, DocumentIdsSelection rowIds);
 
 	DocumentFilterDescriptorsProvider getViewFilterDescriptors();
@@ -52,6 +66,13 @@ public interface IViewDataRepository
 
 	List<IViewRow> retrievePage(ViewEvaluationCtx viewEvalCtx, ViewRowIdsOrderedSelection orderedSelection, int firstRow, int pageLength) throws DBException;
 
+	/**
+	 * Streams all rows of given selection, in selection order, without building {@link IViewRow}s.
+	 *
+	 * @param rowValuesConsumer receives each row's field name to JSON value map; the map is reused between rows so the consumer shall not keep it
+	 */
+	void streamAllRowValues(ViewEvaluationCtx viewEvalCtx, ViewRowIdsOrderedSelection orderedSelection, Consumer<Map<String, Object>> rowValuesConsumer);
+
 	List<DocumentId> retrieveRowIdsByPage(ViewEvaluationCtx viewEvalCtx, ViewRowIdsOrderedSelection orderedSelection, int firstRow, int pageLength);
 
 	<T> List<T> retrieveModelsByIds(ViewId viewId, DocumentIdsSelection rowIds, Class<T> modelClass);
@@ -0,0 +1,126 @@
+package de.metas.ui.web.view;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+import com.google.common.collect.ImmutableSet;
+
+import lombok.NonNull;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Holds the immutable data of a view and reloads it lazily, on next access.
+ * <p>
+ * Parts of the data (identified by keys of type {@code K}) can be invalidated, in which case only those parts will be reloaded.
+ * The data is published via a volatile field, so readers are never blocked unless something has to be (re)loaded.
+ *
+ * @param <T> data type; shall be immutable
+ * @param <K> type of the keys which are identifying the reloadable parts of the data
+ */
+public final class PartiallyReloadableViewData<T, K>
+{
+	public static <T, K> PartiallyReloadableViewData<T, K> of(
+			@NonNull final Supplier<T> fullLoader,
+			@NonNull final BiFunction<T, Set<K>, T> partialReloader)
+	{
+		return new PartiallyReloadableViewData<>(fullLoader, partialReloader);
+	}
+
+	private final Supplier<T> fullLoader;
+	private final BiFunction<T, Set<K>, T> partialReloader;
+
+	/** Loaded data; {@code null} means "not loaded yet" */
+	private volatile T data;
+	/** Parts which shall be reloaded on next access */
+	private final Set<K> staleKeys = ConcurrentHashMap.newKeySet();
+
+	private PartiallyReloadableViewData(final Supplier<T> fullLoader, final BiFunction<T, Set<K>, T> partialReloader)
+	{
+		this.fullLoader = fullLoader;
+		this.partialReloader = partialReloader;
+	}
+
+	/**
+	 * @return current data, (re)loading it or its stale parts if needed
+	 */
+	public T get()
+	{
+		final T data = this.data;
+		if (data != null && staleKeys.isEmpty())
+		{
+			return data;
+		}
+
+		synchronized (this)
+		{
+			if (this.data == null)
+			{
+				this.data = fullLoader.get();
+				staleKeys.clear();
+			}
+			else if (!staleKeys.isEmpty())
+			{
+				final ImmutableSet<K> keysToReload = ImmutableSet.copyOf(staleKeys);
+				this.data = partialReloader.apply(this.data, keysToReload);
+				staleKeys.removeAll(keysToReload);
+			}
+			return this.data;
+		}
+	}
+
+	/**
+	 * @return currently loaded data (which might contain stale parts) or {@code null} if nothing was loaded yet
+	 */
+	@Nullable
+	public T getIfLoaded()
+	{
+		return data;
+	}
+
+	/**
+	 * Marks given parts as stale, so they will be reloaded on next access.
+	 *
+	 * @return {@code false} if nothing was loaded yet, so there was nothing to invalidate (everything will be loaded on next access)
+	 */
+	public synchronized boolean invalidate(@NonNull final Collection<K> keys)
+	{
+		if (data == null)
+		{
+			return false;
+		}
+		staleKeys.addAll(keys);
+		return true;
+	}
+
+	public synchronized void invalidateAll()
+	{
+		data = null;
+		staleKeys.clear();
+	}
+}
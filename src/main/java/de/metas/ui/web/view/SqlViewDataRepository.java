@@ -3,18 +3,21 @@ package de.metas.ui.web.view;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.adempiere.ad.dao.IQueryBL;
 import org.adempiere.ad.dao.impl.TypedSqlQueryFilter;
 import org.adempiere.ad.expression.api.IExpressionEvaluator.OnVariableNotFound;
 import org.adempiere.ad.expression.api.IStringExpression;
 import org.adempiere.ad.trx.api.ITrx;
+import org.adempiere.ad.trx.api.ITrxManager;
 import org.adempiere.exceptions.AdempiereException;
 import org.adempiere.exceptions.DBException;
 import org.adempiere.model.PlainContextAware;
@@ -28,6 +31,7 @@ import org.slf4j.Logger;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 
 import de.metas.logging.LogManager;
 import de.metas.ui.web.document.filter.DocumentFilter;
@@ -73,6 +77,8 @@ class SqlViewDataRepository implements IViewDataRepository
 {
 	private static final Logger logger = LogManager.getLogger(SqlViewDataRepository.class);
 
+	private static final int STREAM_FetchSize = 500;
+
 	private final String tableName;
 	private final IStringExpression sqlSelectById;
 	private final IStringExpression sqlSelectByPage;
@@ -84,6 +90,8 @@ class SqlViewDataRepository implements IViewDataRepository
 
 	private final String keyFieldName;
 	private final ImmutableMap<String, SqlViewRowFieldLoader> rowFieldLoaders;
+	private final ImmutableSet<String> referencedTableNames;
+	private final boolean usingDataFromUnknownTables;
 
 	private final SqlDocumentFilterConverter filterConverters;
 
@@ -99,6 +107,8 @@ class SqlViewDataRepository implements IViewDataRepository
 		defaultOrderBys = sqlBindings.getDefaultOrderBys();
 
 		String keyFieldName = null;
+		final ImmutableSet.Builder<String> referencedTableNames = ImmutableSet.builder();
+		boolean usingDataFromUnknownTables = false;
 		final ImmutableMap.Builder<String, SqlViewRowFieldLoader> rowFieldLoaders = ImmutableMap.builder();
 		for (final SqlViewRowFieldBinding field : sqlBindings.getFields())
 		{
@@ -109,9 +119,28 @@ class SqlViewDataRepository implements IViewDataRepository
 			{
 				keyFieldName = fieldName;
 			}
+
+			if (field.isVirtualColumn())
+			{
+				usingDataFromUnknownTables = true;
+			}
+			else if (field.isUsingDisplayColumn())
+			{
+				final String displayColumnTableName = field.getDisplayColumnTableName().orElse(null);
+				if (displayColumnTableName != null)
+				{
+					referencedTableNames.add(displayColumnTableName);
+				}
+				else
+				{
+					usingDataFromUnknownTables = true;
+				}
+			}
 		}
 
 		this.keyFieldName = keyFieldName;
+		this.referencedTableNames = referencedTableNames.build();
+		this.usingDataFromUnknownTables = usingDataFromUnknownTables;
 		this.rowFieldLoaders = rowFieldLoaders.build();
 
 		this.filterConverters = SqlDocumentFilterConverters.createEntityBindingEffectiveConverter(sqlBindings);
@@ -131,6 +160,18 @@ class SqlViewDataRepository implements IViewDataRepository
 		return tableName;
 	}
 
+	@Override
+	public Set<String> getReferencedTableNames()
+	{
+		return referencedTableNames;
+	}
+
+	@Override
+	public boolean isUsingDataFromUnknownTables()
+	{
+		return usingDataFromUnknownTables;
+	}
+
 	@Override
 	public String getSqlWhereClause(final ViewId viewId, List<DocumentFilter> filters, final DocumentIdsSelection rowIds)
 	{
@@ -357,6 +398,73 @@ class SqlViewDataRepository implements IViewDataRepository
 		}
 	}
 
+	@Override
+	public void streamAllRowValues(final ViewEvaluationCtx viewEvalCtx, final ViewRowIdsOrderedSelection orderedSelection, @NonNull final Consumer<Map<String, Object>> rowValuesConsumer)
+	{
+		logger.debug("Streaming all rows of {} - {}", orderedSelection, this);
+
+		final ViewId viewId = orderedSelection.getViewId();
+		final String viewSelectionId = viewId.getViewId();
+		final String adLanguage = viewEvalCtx.getAD_Language();
+
+		final String sql = sqlSelectByPage.evaluate(viewEvalCtx.toEvaluatee(), OnVariableNotFound.Fail);
+		final Object[] sqlParams = new Object[] { viewSelectionId, 1, Integer.MAX_VALUE };
+
+		// NOTE: postgres is fetching the rows using a cursor (i.e. respecting the fetch size) only when running in a transaction
+		Services.get(ITrxManager.class).runInNewTrx(localTrxName -> {
+			PreparedStatement pstmt = null;
+			ResultSet rs = null;
+			try
+			{
+				pstmt = DB.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, localTrxName);
+				pstmt.setFetchSize(STREAM_FetchSize);
+				DB.setParameters(pstmt, sqlParams);
+
+				rs = pstmt.executeQuery();
+
+				final Map<String, Object> rowValues = new HashMap<>(rowFieldLoaders.size());
+				while (rs.next())
+				{
+					rowValues.clear();
+					if (!loadRowValues(rs, adLanguage, rowValues))
+					{
+						continue;
+					}
+
+					rowValuesConsumer.accept(rowValues);
+				}
+			}
+			catch (final SQLException | DBException e)
+			{
+				throw DBException.wrapIfNeeded(e)
+						.setSqlIfAbsent(sql, sqlParams);
+			}
+			finally
+			{
+				DB.close(rs, pstmt);
+			}
+		});
+	}
+
+	/** @return false if the row has no ID and shall be skipped */
+	private boolean loadRowValues(final ResultSet rs, final String adLanguage, final Map<String, Object> rowValues) throws SQLException
+	{
+		for (final Map.Entry<String, SqlViewRowFieldLoader> fieldNameAndLoader : rowFieldLoaders.entrySet())
+		{
+			final String fieldName = fieldNameAndLoader.getKey();
+			final Object value = fieldNameAndLoader.getValue().retrieveValueAsJson(rs, adLanguage);
+			if (value == null && Objects.equals(fieldName, keyFieldName))
+			{
+				logger.warn("No ID found for current row. Skipping the row.");
+				return false;
+			}
+
+			rowValues.put(fieldName, value);
+		}
+
+		return true;
+	}
+
 	@Override
 	public List<DocumentId> retrieveRowIdsByPage(final ViewEvaluationCtx viewEvalCtx, final ViewRowIdsOrderedSelection orderedSelection, final int firstRow, final int pageLength)
 	{
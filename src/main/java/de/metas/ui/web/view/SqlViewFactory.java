@@ -14,6 +14,7 @@ import de.metas.inoutcandidate.model.I_M_Packageable_V;
 import de.metas.ui.web.document.filter.DocumentFilter;
 import de.metas.ui.web.document.filter.DocumentFilterDescriptor;
 import de.metas.ui.web.document.filter.DocumentFilterDescriptorsProvider;
+import de.metas.ui.web.metrics.WebuiMetrics;
 import de.metas.ui.web.picking.PickingConstants;
 import de.metas.ui.web.view.CreateViewRequest.DocumentFiltersList;
 import de.metas.ui.web.view.descriptor.SqlViewBinding;
@@ -80,7 +81,7 @@ public class SqlViewFactory implements IViewFactory
 	}
 
 	//
-	private final transient CCache<SqlViewBindingKey, SqlViewBinding> viewBindings = CCache.newCache("SqlViewBindings", 20, 0);
+	private final transient CCache<SqlViewBindingKey, SqlViewBinding> viewBindings = WebuiMetrics.monitorCacheSize("SqlViewBindings", CCache.newCache("SqlViewBindings", 20, 0));
 
 	@Override
 	public ViewLayout getViewLayout(final WindowId windowId, final JSONViewDataType viewDataType)
@@ -212,12 +213,14 @@ public class SqlViewFactory implements IViewFactory
 				.fieldName(fieldName)
 				.columnName(documentField.getColumnName())
 				.columnSql(documentField.getColumnSql())
+				.virtualColumn(documentField.isVirtualColumn())
 				.keyColumn(documentField.isKeyColumn())
 				.widgetType(documentField.getWidgetType())
 				//
 				.sqlValueClass(documentField.getSqlValueClass())
 				.sqlSelectValue(documentField.getSqlSelectValue())
 				.usingDisplayColumn(isDisplayColumnAvailable)
+				.displayColumnTableName(documentField.getDisplayColumnTableName().orElse(null))
 				.sqlSelectDisplayValue(isDisplayColumnAvailable ? documentField.getSqlSelectDisplayValue() : NullStringExpression.instance)
 				//
 				.sqlOrderBy(documentField.getSqlOrderBy())
@@ -16,7 +16,9 @@ import org.slf4j.Logger;
 import com.google.common.base.Stopwatch;
 
 import de.metas.logging.LogManager;
+import de.metas.ui.web.debug.RequestTimingContext;
 import de.metas.ui.web.document.filter.DocumentFilter;
+import de.metas.ui.web.metrics.WebuiMetrics;
 import de.metas.ui.web.view.descriptor.SqlViewBinding;
 import de.metas.ui.web.view.descriptor.SqlViewSelectionQueryBuilder;
 import de.metas.ui.web.view.descriptor.SqlViewSelectionQueryBuilder.SqlAndParams;
@@ -25,6 +27,7 @@ import de.metas.ui.web.window.datatypes.DocumentId;
 import de.metas.ui.web.window.datatypes.DocumentIdsSelection;
 import de.metas.ui.web.window.datatypes.WindowId;
 import de.metas.ui.web.window.model.DocumentQueryOrderBy;
+import io.micrometer.core.instrument.Timer;
 import lombok.NonNull;
 
 /*
@@ -58,6 +61,9 @@ public class SqlViewRowIdsOrderedSelectionFactory implements ViewRowIdsOrderedSe
 
 	private static final Logger logger = LogManager.getLogger(SqlViewRowIdsOrderedSelectionFactory.class);
 
+	private static final Timer metrics_createSelection = WebuiMetrics.timer("view.selection.create");
+	private static final Timer metrics_createSelectionFromSelection = WebuiMetrics.timer("view.selection.createFromSelection");
+
 	private final SqlViewBinding viewBinding;
 
 	private SqlViewRowIdsOrderedSelectionFactory(@NonNull final SqlViewBinding viewBinding)
@@ -78,6 +84,11 @@ public class SqlViewRowIdsOrderedSelectionFactory implements ViewRowIdsOrderedSe
 
 	@Override
 	public ViewRowIdsOrderedSelection createOrderedSelection(final ViewEvaluationCtx viewEvalCtx, final WindowId windowId, final List<DocumentFilter> filters, final List<DocumentQueryOrderBy> orderBys)
+	{
+		return metrics_createSelection.record(() -> RequestTimingContext.span("view.createSelection", () -> createOrderedSelection0(viewEvalCtx, windowId, filters, orderBys)));
+	}
+
+	private ViewRowIdsOrderedSelection createOrderedSelection0(final ViewEvaluationCtx viewEvalCtx, final WindowId windowId, final List<DocumentFilter> filters, final List<DocumentQueryOrderBy> orderBys)
 	{
 		final ViewId viewId = ViewId.random(windowId);
 
@@ -122,6 +133,11 @@ public class SqlViewRowIdsOrderedSelectionFactory implements ViewRowIdsOrderedSe
 
 	@Override
 	public ViewRowIdsOrderedSelection createOrderedSelectionFromSelection(final ViewEvaluationCtx viewEvalCtx, final ViewRowIdsOrderedSelection fromSelection, final List<DocumentQueryOrderBy> orderBys)
+	{
+		return metrics_createSelectionFromSelection.record(() -> RequestTimingContext.span("view.createSelectionFromSelection", () -> createOrderedSelectionFromSelection0(viewEvalCtx, fromSelection, orderBys)));
+	}
+
+	private ViewRowIdsOrderedSelection createOrderedSelectionFromSelection0(final ViewEvaluationCtx viewEvalCtx, final ViewRowIdsOrderedSelection fromSelection, final List<DocumentQueryOrderBy> orderBys)
 	{
 		final WindowId windowId = fromSelection.getWindowId();
 		final String fromSelectionId = fromSelection.getSelectionId();
@@ -1,10 +1,17 @@
 package de.metas.ui.web.view;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
+import javax.servlet.http.HttpServletResponse;
+
+import org.adempiere.util.lang.IAutoCloseable;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,8 +25,10 @@ import org.springframework.web.context.request.WebRequest;
 
 import com.google.common.collect.ImmutableList;
 
+import de.metas.ui.web.cache.ETag;
 import de.metas.ui.web.cache.ETagResponseEntityBuilder;
 import de.metas.ui.web.config.WebConfig;
+import de.metas.ui.web.debug.RequestTimingContext;
 import de.metas.ui.web.process.ProcessRestController;
 import de.metas.ui.web.process.ViewAsPreconditionsContext;
 import de.metas.ui.web.process.WebuiPreconditionsContext;
@@ -27,6 +36,8 @@ import de.metas.ui.web.process.descriptor.WebuiRelatedProcessDescriptor;
 import de.metas.ui.web.process.json.JSONDocumentActionsList;
 import de.metas.ui.web.session.UserSession;
 import de.metas.ui.web.view.descriptor.ViewLayout;
+import de.metas.ui.web.view.export.ViewExportFormat;
+import de.metas.ui.web.view.export.ViewExporter;
 import de.metas.ui.web.view.json.JSONCreateViewRequest;
 import de.metas.ui.web.view.json.JSONFilterViewRequest;
 import de.metas.ui.web.view.json.JSONViewDataType;
@@ -185,20 +196,68 @@ public class ViewRestController
 	}
 
 	@GetMapping("/{viewId}")
-	public JSONViewResult getViewData(
+	public ResponseEntity<JSONViewResult> getViewData(
 			@PathVariable(PARAM_WindowId) final String windowId //
 			, @PathVariable("viewId") final String viewIdStr//
 			, @RequestParam(name = PARAM_FirstRow, required = true) @ApiParam(PARAM_FirstRow_Description) final int firstRow //
 			, @RequestParam(name = PARAM_PageLength, required = true) final int pageLength //
 			, @RequestParam(name = PARAM_OrderBy, required = false) @ApiParam(PARAM_OrderBy_Description) final String orderBysListStr //
+			, final WebRequest request //
 	)
 	{
 		userSession.assertLoggedIn();
 
 		final ViewId viewId = ViewId.of(windowId, viewIdStr);
-		final ViewResult result = viewsRepo.getView(viewId)
-				.getPage(firstRow, pageLength, DocumentQueryOrderBy.parseOrderBysList(orderBysListStr));
-		return JSONViewResult.of(result, userSession.getAD_Language());
+		final IView view = viewsRepo.getView(viewId);
+		final List<DocumentQueryOrderBy> orderBys = DocumentQueryOrderBy.parseOrderBysList(orderBysListStr);
+
+		//
+		// Check the ETag first, so in case the rows were not changed we don't have to load them at all
+		final Optional<ETag> etag = view.getPageETag(firstRow, pageLength, orderBys);
+		if (!etag.isPresent())
+		{
+			final ViewResult result = view.getPage(firstRow, pageLength, orderBys);
+			return ResponseEntity.ok(JSONViewResult.of(result, userSession.getAD_Language()));
+		}
+
+		return ETagResponseEntityBuilder.ofETag(request, etag.get(), () -> view.getPage(firstRow, pageLength, orderBys))
+				.includeLanguageInETag()
+				.cacheMaxAge(0) // always revalidate, because the rows can change at any time
+				.jsonOptions(() -> newJSONOptions())
+				.toJson((result, jsonOpts) -> JSONViewResult.of(result, jsonOpts.getAD_Language()));
+	}
+
+	/**
+	 * Exports all rows of the view, in given order.
+	 * The rows are streamed directly to the response, so the export is not limited to one page.
+	 */
+	@GetMapping("/{viewId}/export")
+	public void exportView(
+			@PathVariable(PARAM_WindowId) final String windowId //
+			, @PathVariable("viewId") final String viewIdStr //
+			, @RequestParam(name = "format", required = false, defaultValue = "xlsx") @ApiParam("csv or xlsx") final String formatStr //
+			, @RequestParam(name = PARAM_OrderBy, required = false) @ApiParam(PARAM_OrderBy_Description) final String orderBysListStr //
+			, final HttpServletResponse response //
+	) throws IOException
+	{
+		userSession.assertLoggedIn();
+
+		final ViewId viewId = ViewId.of(windowId, viewIdStr);
+		final IView view = viewsRepo.getView(viewId);
+		final List<DocumentQueryOrderBy> orderBys = DocumentQueryOrderBy.parseOrderBysList(orderBysListStr);
+		final ViewExportFormat format = ViewExportFormat.fromJson(formatStr);
+		final ViewLayout viewLayout = viewsRepo.getViewLayout(viewId.getWindowId(), view.getViewType());
+
+		final String filename = viewId.getViewId() + "." + format.getFileExtension();
+		response.setContentType(format.getContentType());
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+
+		try (final IAutoCloseable span = RequestTimingContext.span("view.export"))
+		{
+			ViewExporter.of(viewLayout, userSession.getAD_Language())
+					.export(view, orderBys, format, response.getOutputStream());
+		}
+		response.flushBuffer();
 	}
 
 	@GetMapping("/layout")
@@ -270,12 +329,21 @@ public class ViewRestController
 	}
 
 	private Stream<WebuiRelatedProcessDescriptor> streamAllViewActions(final String windowId, final String viewIdStr, final String selectedRowIdsAsStringList)
+	{
+		return streamAllViewActions(windowId, viewIdStr, selectedRowIdsAsStringList, relatedProcess -> true);
+	}
+
+	private Stream<WebuiRelatedProcessDescriptor> streamAllViewActions(
+			final String windowId,
+			final String viewIdStr,
+			final String selectedRowIdsAsStringList,
+			final Predicate<WebuiRelatedProcessDescriptor> filter)
 	{
 		final ViewId viewId = ViewId.of(windowId, viewIdStr);
 		final DocumentIdsSelection selectedRowIds = DocumentIdsSelection.ofCommaSeparatedString(selectedRowIdsAsStringList);
 		final IView view = viewsRepo.getView(viewId);
 		final WebuiPreconditionsContext preconditionsContext = ViewAsPreconditionsContext.newInstance(view, selectedRowIds);
-		return processRestController.streamDocumentRelatedProcesses(preconditionsContext);
+		return processRestController.streamDocumentRelatedProcesses(preconditionsContext, filter);
 	}
 
 	@GetMapping("/{viewId}/actions")
@@ -301,8 +369,7 @@ public class ViewRestController
 	{
 		userSession.assertLoggedIn();
 
-		return streamAllViewActions(windowId, viewIdStr, selectedIdsListStr)
-				.filter(WebuiRelatedProcessDescriptor::isQuickAction)
+		return streamAllViewActions(windowId, viewIdStr, selectedIdsListStr, WebuiRelatedProcessDescriptor::isQuickAction)
 				.filter(WebuiRelatedProcessDescriptor::isEnabledOrNotSilent) // only those which are enabled or not silent
 				.collect(JSONDocumentActionsList.collect(newJSONOptions()));
 	}
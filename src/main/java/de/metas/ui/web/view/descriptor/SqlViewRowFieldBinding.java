@@ -2,6 +2,7 @@ package de.metas.ui.web.view.descriptor;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Optional;
 
 import org.adempiere.ad.expression.api.IStringExpression;
 import org.adempiere.ad.expression.api.impl.ConstantStringExpression;
@@ -47,6 +48,7 @@ public class SqlViewRowFieldBinding implements SqlEntityFieldBinding
 	private final String fieldName;
 	private final String columnName;
 	private final String columnSql;
+	private final boolean virtualColumn;
 	private final boolean keyColumn;
 	private final DocumentFieldWidgetType widgetType;
 
@@ -54,6 +56,7 @@ public class SqlViewRowFieldBinding implements SqlEntityFieldBinding
 	private final String sqlSelectValue;
 	private final IStringExpression sqlSelectDisplayValue;
 	private final boolean usingDisplayColumn;
+	private final Optional<String> displayColumnTableName;
 
 	private final IStringExpression sqlOrderBy;
 
@@ -64,6 +67,7 @@ public class SqlViewRowFieldBinding implements SqlEntityFieldBinding
 			@NonNull final String fieldName,
 			final String columnName,
 			final String columnSql,
+			final boolean virtualColumn,
 			final boolean keyColumn,
 			@NonNull final DocumentFieldWidgetType widgetType,
 			//
@@ -71,6 +75,7 @@ public class SqlViewRowFieldBinding implements SqlEntityFieldBinding
 			final String sqlSelectValue,
 			final IStringExpression sqlSelectDisplayValue,
 			final boolean usingDisplayColumn, //
+			final String displayColumnTableName,
 			//
 			final IStringExpression sqlOrderBy,
 			@NonNull final SqlViewRowFieldLoader fieldLoader
@@ -79,6 +84,7 @@ public class SqlViewRowFieldBinding implements SqlEntityFieldBinding
 		this.fieldName = fieldName;
 		this.columnName = columnName != null ? columnName : this.fieldName;
 		this.columnSql = columnSql != null ? columnSql : this.columnName;
+		this.virtualColumn = virtualColumn;
 		this.keyColumn = keyColumn;
 		this.widgetType = widgetType;
 
@@ -86,6 +92,7 @@ public class SqlViewRowFieldBinding implements SqlEntityFieldBinding
 		this.sqlSelectValue = sqlSelectValue != null ? sqlSelectValue : this.columnSql;
 		this.sqlSelectDisplayValue = sqlSelectDisplayValue != null ? sqlSelectDisplayValue : IStringExpression.NULL;
 		this.usingDisplayColumn = usingDisplayColumn;
+		this.displayColumnTableName = usingDisplayColumn ? Optional.ofNullable(displayColumnTableName) : Optional.empty();
 
 		this.sqlOrderBy = sqlOrderBy != null ? sqlOrderBy : ConstantStringExpression.of(this.columnSql);
 		this.fieldLoader = fieldLoader;
@@ -102,6 +109,11 @@ public class SqlViewRowFieldBinding implements SqlEntityFieldBinding
 		return columnName;
 	}
 
+	public boolean isVirtualColumn()
+	{
+		return virtualColumn;
+	}
+
 	public boolean isKeyColumn()
 	{
 		return keyColumn;
@@ -140,6 +152,12 @@ public class SqlViewRowFieldBinding implements SqlEntityFieldBinding
 		return sqlSelectDisplayValue;
 	}
 
+	/** @return the table from which the display value is fetched; empty if not known or if this field is not using a display column */
+	public Optional<String> getDisplayColumnTableName()
+	{
+		return displayColumnTableName;
+	}
+
 	public SqlViewRowFieldLoader getFieldLoader()
 	{
 		return fieldLoader;
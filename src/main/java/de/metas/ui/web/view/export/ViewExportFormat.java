@@ -0,0 +1,67 @@
+package de.metas.ui.web.view.export;
+
+import org.adempiere.exceptions.AdempiereException;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * View export file formats.
+ */
+public enum ViewExportFormat
+{
+	CSV("csv", "text/csv; charset=UTF-8"),
+
+	XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+	private final String fileExtension;
+	private final String contentType;
+
+	private ViewExportFormat(final String fileExtension, final String contentType)
+	{
+		this.fileExtension = fileExtension;
+		this.contentType = contentType;
+	}
+
+	public static ViewExportFormat fromJson(final String json)
+	{
+		for (final ViewExportFormat format : values())
+		{
+			if (format.fileExtension.equalsIgnoreCase(json))
+			{
+				return format;
+			}
+		}
+
+		throw new AdempiereException("Unknown export format: " + json);
+	}
+
+	public String getFileExtension()
+	{
+		return fileExtension;
+	}
+
+	public String getContentType()
+	{
+		return contentType;
+	}
+}
@@ -0,0 +1,368 @@
+package de.metas.ui.web.view.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+
+import de.metas.ui.web.view.IView;
+import de.metas.ui.web.view.descriptor.ViewLayout;
+import de.metas.ui.web.window.datatypes.json.JSONLookupValue;
+import de.metas.ui.web.window.descriptor.DocumentFieldWidgetType;
+import de.metas.ui.web.window.descriptor.DocumentLayoutElementDescriptor;
+import de.metas.ui.web.window.model.DocumentQueryOrderBy;
+import lombok.NonNull;
+import lombok.Value;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Exports all rows of a view, using the view layout's columns.
+ *
+ * The rows are written as they are streamed from the view, so the memory usage is not depending on the number of rows.
+ * For {@link ViewExportFormat#XLSX} a streaming workbook is used, which flushes the rows to a temporary file.
+ */
+public final class ViewExporter
+{
+	public static ViewExporter of(@NonNull final ViewLayout layout, @NonNull final String adLanguage)
+	{
+		return new ViewExporter(layout, adLanguage);
+	}
+
+	/** How many XLSX rows are kept in memory before flushing them to the temporary file */
+	private static final int XLSX_RowsWindowSize = 100;
+
+	private final ImmutableList<Column> columns;
+
+	private ViewExporter(final ViewLayout layout, final String adLanguage)
+	{
+		columns = layout.getElements()
+				.stream()
+				.filter(DocumentLayoutElementDescriptor::hasFields)
+				.map(element -> new Column(
+						element.getFields().iterator().next().getField(),
+						element.getCaption(adLanguage),
+						element.getWidgetType()))
+				.collect(ImmutableList.toImmutableList());
+	}
+
+	public void export(@NonNull final IView view, final List<DocumentQueryOrderBy> orderBys, @NonNull final ViewExportFormat format, @NonNull final OutputStream out) throws IOException
+	{
+		try (final RowWriter writer = createRowWriter(format, out))
+		{
+			writer.writeHeader(columns);
+			view.streamAllRowValues(orderBys, writer::writeRow);
+			writer.finish();
+		}
+		catch (final RuntimeException ex)
+		{
+			// NOTE: the IO exception might be wrapped, e.g. when the rows are streamed in a transaction
+			final UncheckedIOException ioException = Throwables.getCausalChain(ex)
+					.stream()
+					.filter(UncheckedIOException.class::isInstance)
+					.map(UncheckedIOException.class::cast)
+					.findFirst()
+					.orElse(null);
+			if (ioException != null)
+			{
+				throw ioException.getCause();
+			}
+			throw ex;
+		}
+	}
+
+	private RowWriter createRowWriter(final ViewExportFormat format, final OutputStream out)
+	{
+		if (format == ViewExportFormat.CSV)
+		{
+			return new CSVRowWriter(columns, out);
+		}
+		else if (format == ViewExportFormat.XLSX)
+		{
+			return new XLSXRowWriter(columns, out);
+		}
+		else
+		{
+			throw new AdempiereException("Export format not supported: " + format);
+		}
+	}
+
+	/** @return the value to be exported; lookup values are exported as their captions */
+	private static Object toExportValue(final Object jsonValue)
+	{
+		if (jsonValue instanceof JSONLookupValue)
+		{
+			return ((JSONLookupValue)jsonValue).getName();
+		}
+		else if (jsonValue instanceof Collection)
+		{
+			return ((Collection<?>)jsonValue).stream()
+					.map(ViewExporter::toExportValue)
+					.map(value -> value == null ? "" : value.toString())
+					.collect(Collectors.joining(", "));
+		}
+		else
+		{
+			return jsonValue;
+		}
+	}
+
+	@Value
+	private static final class Column
+	{
+		private final String fieldName;
+		private final String caption;
+		private final DocumentFieldWidgetType widgetType;
+
+		public boolean isNumeric()
+		{
+			return widgetType != null && widgetType.isNumeric();
+		}
+	}
+
+	private static interface RowWriter extends AutoCloseable
+	{
+		void writeHeader(List<Column> columns);
+
+		void writeRow(Map<String, Object> rowValues);
+
+		/** Writes the remaining content to the output stream. Called only if all rows were written successfully. */
+		void finish() throws IOException;
+
+		/** Releases the resources. Called always, also if the export failed. */
+		@Override
+		void close() throws IOException;
+	}
+
+	/** RFC 4180 CSV writer */
+	@VisibleForTesting
+	static final class CSVRowWriter implements RowWriter
+	{
+		private static final char SEPARATOR = ',';
+		private static final String LINE_ENDING = "\r\n";
+
+		private final List<Column> columns;
+		private final Writer writer;
+
+		private CSVRowWriter(final List<Column> columns, final OutputStream out)
+		{
+			this.columns = columns;
+			writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		}
+
+		@Override
+		public void writeHeader(final List<Column> columns)
+		{
+			// UTF-8 BOM, so Excel is detecting the encoding
+			write("\uFEFF");
+			writeLine(columns.stream().map(Column::getCaption).collect(ImmutableList.toImmutableList()));
+		}
+
+		@Override
+		public void writeRow(final Map<String, Object> rowValues)
+		{
+			writeLine(columns.stream()
+					.map(column -> toExportValue(rowValues.get(column.getFieldName())))
+					.collect(Collectors.toList())); // don't use ImmutableList because we might get null values
+		}
+
+		private void writeLine(final List<?> values)
+		{
+			final StringBuilder line = new StringBuilder();
+			for (final Object value : values)
+			{
+				if (line.length() > 0)
+				{
+					line.append(SEPARATOR);
+				}
+				appendQuotedIfNeeded(line, value == null ? "" : value.toString());
+			}
+			line.append(LINE_ENDING);
+
+			write(line.toString());
+		}
+
+		@VisibleForTesting
+		static void appendQuotedIfNeeded(final StringBuilder line, final String value)
+		{
+			final boolean quote = value.indexOf(SEPARATOR) >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+			if (quote)
+			{
+				line.append('"').append(value.replace("\"", "\"\"")).append('"');
+			}
+			else
+			{
+				line.append(value);
+			}
+		}
+
+		private void write(final String str)
+		{
+			try
+			{
+				writer.write(str);
+			}
+			catch (final IOException ex)
+			{
+				throw new UncheckedIOException(ex);
+			}
+		}
+
+		@Override
+		public void finish() throws IOException
+		{
+			// NOTE: flush only, the output stream is owned by the caller
+			writer.flush();
+		}
+
+		@Override
+		public void close()
+		{
+			// nothing to release
+		}
+	}
+
+	private static final class XLSXRowWriter implements RowWriter
+	{
+		private static final int MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+		private final List<Column> columns;
+		private final OutputStream out;
+		private final SXSSFWorkbook workbook;
+		private final Sheet sheet;
+		private int nextRowIndex = 0;
+
+		private XLSXRowWriter(final List<Column> columns, final OutputStream out)
+		{
+			this.columns = columns;
+			this.out = out;
+
+			workbook = new SXSSFWorkbook(XLSX_RowsWindowSize);
+			workbook.setCompressTempFiles(true);
+			sheet = workbook.createSheet();
+		}
+
+		@Override
+		public void writeHeader(final List<Column> columns)
+		{
+			final Row row = newRow();
+			for (int i = 0, size = columns.size(); i < size; i++)
+			{
+				row.createCell(i).setCellValue(columns.get(i).getCaption());
+			}
+		}
+
+		@Override
+		public void writeRow(final Map<String, Object> rowValues)
+		{
+			final Row row = newRow();
+			for (int i = 0, size = columns.size(); i < size; i++)
+			{
+				final Column column = columns.get(i);
+				final Object value = toExportValue(rowValues.get(column.getFieldName()));
+				if (value == null)
+				{
+					continue;
+				}
+
+				final Cell cell = row.createCell(i);
+				final BigDecimal number = column.isNumeric() ? toBigDecimalOrNull(value) : null;
+				if (number != null)
+				{
+					cell.setCellValue(number.doubleValue());
+				}
+				else if (value instanceof Boolean)
+				{
+					cell.setCellValue((Boolean)value);
+				}
+				else
+				{
+					cell.setCellValue(value.toString());
+				}
+			}
+		}
+
+		private Row newRow()
+		{
+			if (nextRowIndex >= MAX_ROWS)
+			{
+				throw new AdempiereException("Cannot export more than " + MAX_ROWS + " rows to " + ViewExportFormat.XLSX);
+			}
+			return sheet.createRow(nextRowIndex++);
+		}
+
+		private static BigDecimal toBigDecimalOrNull(final Object value)
+		{
+			if (value instanceof BigDecimal)
+			{
+				return (BigDecimal)value;
+			}
+			else if (value instanceof Number)
+			{
+				return new BigDecimal(value.toString());
+			}
+
+			try
+			{
+				// NOTE: BigDecimals are converted to JSON as strings
+				return new BigDecimal(value.toString());
+			}
+			catch (final NumberFormatException ex)
+			{
+				return null;
+			}
+		}
+
+		@Override
+		public void finish() throws IOException
+		{
+			workbook.write(out);
+		}
+
+		@Override
+		public void close()
+		{
+			// delete the temporary files
+			workbook.dispose();
+		}
+	}
+}
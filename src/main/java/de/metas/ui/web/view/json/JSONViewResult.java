@@ -12,7 +12,6 @@ import com.google.common.collect.ImmutableList;
 
 import de.metas.ui.web.document.filter.json.JSONDocumentFilter;
 import de.metas.ui.web.document.filter.json.JSONStickyDocumentFilter;
-import de.metas.ui.web.view.IViewRow;
 import de.metas.ui.web.view.ViewId;
 import de.metas.ui.web.view.ViewResult;
 import de.metas.ui.web.window.datatypes.WindowId;
@@ -44,16 +43,8 @@ public final class JSONViewResult
 {
 	public static final JSONViewResult of(final ViewResult viewResult, final String adLanguage)
 	{
-		List<? extends JSONViewRowBase> jsonRows;
-		if (viewResult.isPageLoaded())
-		{
-			final List<IViewRow> rows = viewResult.getPage();
-			jsonRows = JSONViewRow.ofViewRows(rows, adLanguage);
-		}
-		else
-		{
-			jsonRows = null;
-		}
+		// NOTE: the rows are written directly to JSON while serializing, see JSONViewRowsListSerializer
+		final JSONViewRowsList jsonRows = viewResult.isPageLoaded() ? JSONViewRowsList.of(viewResult.getPage(), adLanguage) : null;
 		return new JSONViewResult(viewResult, jsonRows, adLanguage);
 	}
 
@@ -109,9 +100,10 @@ public final class JSONViewResult
 	// * null (excluded from JSON) => frontend will consider the page is not loaded, so it won't update the result on it's side
 	// see https://github.com/metasfresh/metasfresh-webui-frontend/issues/330
 	//
+	/** List of {@link JSONViewRowBase}s or {@link JSONViewRowsList} */
 	@JsonProperty("result")
 	@JsonInclude(JsonInclude.Include.NON_NULL)
-	private final List<? extends JSONViewRowBase> result;
+	private final Object result;
 
 	@JsonProperty("firstRow")
 	@JsonInclude(JsonInclude.Include.NON_NULL)
@@ -130,7 +122,7 @@ public final class JSONViewResult
 	@JsonInclude(JsonInclude.Include.NON_NULL)
 	private final Integer queryLimit;
 
-	private JSONViewResult(final ViewResult viewResult, final List<? extends JSONViewRowBase> rows, final String adLanguage)
+	private JSONViewResult(final ViewResult viewResult, final Object rows, final String adLanguage)
 	{
 		//
 		// View informations
@@ -0,0 +1,72 @@
+package de.metas.ui.web.view.json;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+
+import de.metas.ui.web.view.IViewRow;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * List of view rows which are written directly to JSON by {@link JSONViewRowsListSerializer}, without building the intermediate {@link JSONViewRow}s.
+ * The JSON output is the same as for a list of {@link JSONViewRow}s.
+ */
+@JsonSerialize(using = JSONViewRowsListSerializer.class)
+public final class JSONViewRowsList
+{
+	public static JSONViewRowsList of(@NonNull final List<? extends IViewRow> rows, @NonNull final String adLanguage)
+	{
+		return new JSONViewRowsList(rows, adLanguage);
+	}
+
+	private final ImmutableList<IViewRow> rows;
+	private final String adLanguage;
+
+	private JSONViewRowsList(final List<? extends IViewRow> rows, final String adLanguage)
+	{
+		this.rows = ImmutableList.copyOf(rows);
+		this.adLanguage = adLanguage;
+	}
+
+	@Override
+	public String toString()
+	{
+		return MoreObjects.toStringHelper(this)
+				.add("rowsCount", rows.size())
+				.toString();
+	}
+
+	public List<IViewRow> getRows()
+	{
+		return rows;
+	}
+
+	public String getAdLanguage()
+	{
+		return adLanguage;
+	}
+}
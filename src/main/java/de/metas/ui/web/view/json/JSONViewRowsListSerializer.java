@@ -0,0 +1,151 @@
+package de.metas.ui.web.view.json;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import de.metas.ui.web.view.IViewRow;
+import de.metas.ui.web.view.ViewId;
+import de.metas.ui.web.window.datatypes.json.JSONDocumentField;
+import de.metas.ui.web.window.datatypes.json.JSONLayoutWidgetType;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Writes the view rows incrementally, using the {@link JsonGenerator}.
+ *
+ * NOTE: keep the output in sync with {@link JSONViewRow} and {@link JSONDocumentField}.
+ */
+public class JSONViewRowsListSerializer extends JsonSerializer<JSONViewRowsList>
+{
+	@Override
+	public void serialize(final JSONViewRowsList rowsList, final JsonGenerator gen, final SerializerProvider serializers) throws IOException, JsonProcessingException
+	{
+		writeRows(rowsList.getRows(), rowsList.getAdLanguage(), gen, serializers);
+	}
+
+	private static void writeRows(final List<? extends IViewRow> rows, final String adLanguage, final JsonGenerator gen, final SerializerProvider serializers) throws IOException
+	{
+		gen.writeStartArray(rows.size());
+		for (final IViewRow row : rows)
+		{
+			writeRow(row, adLanguage, gen, serializers);
+		}
+		gen.writeEndArray();
+	}
+
+	private static void writeRow(final IViewRow row, final String adLanguage, final JsonGenerator gen, final SerializerProvider serializers) throws IOException
+	{
+		gen.writeStartObject();
+
+		gen.writeStringField("id", row.getId().toJson());
+
+		//
+		// Fields: the pseudo "ID" field first, followed by the other fields
+		gen.writeObjectFieldStart("fieldsByName");
+		final Map<String, Object> fieldNameAndJsonValues = row.getFieldNameAndJsonValues();
+		if (fieldNameAndJsonValues.containsKey(JSONDocumentField.FIELD_VALUE_ID))
+		{
+			// the row's own "ID" field is overriding the pseudo field
+			writeField(JSONDocumentField.FIELD_VALUE_ID, null, fieldNameAndJsonValues.get(JSONDocumentField.FIELD_VALUE_ID), gen, serializers);
+		}
+		else
+		{
+			writeField(JSONDocumentField.FIELD_VALUE_ID, JSONLayoutWidgetType.Integer, row.getId().toJson(), gen, serializers);
+		}
+		for (final Map.Entry<String, Object> fieldNameAndJsonValue : fieldNameAndJsonValues.entrySet())
+		{
+			final String fieldName = fieldNameAndJsonValue.getKey();
+			if (JSONDocumentField.FIELD_VALUE_ID.equals(fieldName))
+			{
+				continue;
+			}
+			writeField(fieldName, null, fieldNameAndJsonValue.getValue(), gen, serializers);
+		}
+		gen.writeEndObject();
+
+		final String type = row.getType() != null ? row.getType().getIconName() : null;
+		if (type != null)
+		{
+			gen.writeStringField("type", type);
+		}
+		if (row.isProcessed())
+		{
+			gen.writeBooleanField("processed", true);
+		}
+
+		gen.writeBooleanField(JSONViewLayout.PROPERTY_supportAttributes, row.hasAttributes());
+
+		//
+		// Included views
+		if (row.hasIncludedView())
+		{
+			gen.writeBooleanField("supportIncludedViews", true);
+
+			final ViewId includedViewId = row.getIncludedViewId();
+			if (includedViewId != null)
+			{
+				gen.writeObjectFieldStart("includedView");
+				gen.writeStringField("windowId", includedViewId.getWindowId().toJson());
+				gen.writeStringField("viewId", includedViewId.getViewId());
+				gen.writeEndObject();
+			}
+		}
+
+		//
+		// Included rows
+		final List<? extends IViewRow> includedRows = row.getIncludedRows();
+		if (!includedRows.isEmpty())
+		{
+			gen.writeFieldName("includedDocuments");
+			writeRows(includedRows, adLanguage, gen, serializers);
+		}
+
+		//
+		// Single column row
+		if (row.isSingleColumn())
+		{
+			gen.writeBooleanField("colspan", true);
+			gen.writeStringField("caption", row.getSingleColumnCaption().translate(adLanguage));
+		}
+
+		gen.writeEndObject();
+	}
+
+	private static void writeField(final String fieldName, final JSONLayoutWidgetType widgetType, final Object jsonValue, final JsonGenerator gen, final SerializerProvider serializers) throws IOException
+	{
+		gen.writeObjectFieldStart(fieldName);
+		gen.writeStringField("field", fieldName);
+		serializers.defaultSerializeField("value", jsonValue, gen); // NOTE: null values are written as null
+		if (widgetType != null)
+		{
+			serializers.defaultSerializeField("widgetType", widgetType, gen);
+		}
+		gen.writeEndObject();
+	}
+}
@@ -161,6 +161,11 @@ public final class WebSocketProducersRegistry
 		_producersByTopicName.forEachValue(parallelismThreshold, action);
 	}
 
+	public int getActiveProducersCount()
+	{
+		return _producersByTopicName.size();
+	}
+
 	public void onTopicSubscribed(final String sessionId, final String topicName)
 	{
 		final WebSocketProducerInstance producer = getCreateWebSocketProducerInstanceOrNull(topicName);
@@ -1,10 +1,13 @@
 package de.metas.ui.web.window.controller;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.adempiere.ad.security.UserRolePermissionsKey;
 import org.adempiere.ad.table.api.IADTableDAO;
 import org.adempiere.exceptions.AdempiereException;
 import org.adempiere.util.Services;
+import org.compiere.util.Env;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -22,8 +25,10 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.WebRequest;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 
 import de.metas.i18n.IMsgBL;
+import de.metas.ui.web.cache.ETag;
 import de.metas.ui.web.cache.ETagResponseEntityBuilder;
 import de.metas.ui.web.config.WebConfig;
 import de.metas.ui.web.exceptions.EntityNotFoundException;
@@ -46,6 +51,7 @@ import de.metas.ui.web.window.datatypes.json.JSONDocumentPath;
 import de.metas.ui.web.window.datatypes.json.JSONDocumentReference;
 import de.metas.ui.web.window.datatypes.json.JSONDocumentReferencesGroup;
 import de.metas.ui.web.window.datatypes.json.JSONDocumentReferencesGroupList;
+import de.metas.ui.web.window.datatypes.json.JSONDocumentsList;
 import de.metas.ui.web.window.datatypes.json.JSONLookupValuesList;
 import de.metas.ui.web.window.datatypes.json.JSONOptions;
 import de.metas.ui.web.window.datatypes.json.JSONZoomInto;
@@ -176,50 +182,58 @@ public class WindowRestController
 	}
 
 	@GetMapping("/{windowId}/{documentId}")
-	public List<JSONDocument> getData(
+	public ResponseEntity<JSONDocumentsList> getData(
 			@PathVariable("windowId") final String windowIdStr,
 			@PathVariable("documentId") final String documentIdStr,
 			@RequestParam(name = PARAM_FieldsList, required = false) @ApiParam("comma separated field names") final String fieldsListStr,
-			@RequestParam(name = PARAM_Advanced, required = false, defaultValue = PARAM_Advanced_DefaultValue) final boolean advanced)
+			@RequestParam(name = PARAM_Advanced, required = false, defaultValue = PARAM_Advanced_DefaultValue) final boolean advanced,
+			final WebRequest request)
 	{
 		final WindowId windowId = WindowId.fromJson(windowIdStr);
 		final DocumentPath documentPath = DocumentPath.rootDocumentPath(windowId, documentIdStr);
 		final List<DocumentQueryOrderBy> orderBys = ImmutableList.of();
-		return getData(documentPath, fieldsListStr, advanced, orderBys);
+		return getData(documentPath, fieldsListStr, advanced, orderBys, request);
 	}
 
 	@GetMapping("/{windowId}/{documentId}/{tabId}")
-	public List<JSONDocument> getData(
+	public ResponseEntity<JSONDocumentsList> getData(
 			@PathVariable("windowId") final String windowIdStr,
 			@PathVariable("documentId") final String documentIdStr,
 			@PathVariable("tabId") final String tabIdStr,
 			@RequestParam(name = PARAM_FieldsList, required = false) @ApiParam("comma separated field names") final String fieldsListStr,
 			@RequestParam(name = PARAM_Advanced, required = false, defaultValue = PARAM_Advanced_DefaultValue) final boolean advanced,
-			@RequestParam(name = "orderBy", required = false) final String orderBysListStr)
+			@RequestParam(name = "orderBy", required = false) final String orderBysListStr,
+			final WebRequest request)
 	{
 		final WindowId windowId = WindowId.fromJson(windowIdStr);
 		final DocumentPath documentPath = DocumentPath.includedDocumentPath(windowId, documentIdStr, tabIdStr);
 		final List<DocumentQueryOrderBy> orderBys = DocumentQueryOrderBy.parseOrderBysList(orderBysListStr);
-		return getData(documentPath, fieldsListStr, advanced, orderBys);
+		return getData(documentPath, fieldsListStr, advanced, orderBys, request);
 	}
 
 	@GetMapping("/{windowId}/{documentId}/{tabId}/{rowId}")
-	public List<JSONDocument> getData(
+	public ResponseEntity<JSONDocumentsList> getData(
 			@PathVariable("windowId") final String windowIdStr //
 			, @PathVariable("documentId") final String documentIdStr //
 			, @PathVariable("tabId") final String tabIdStr //
 			, @PathVariable("rowId") final String rowIdStr //
 			, @RequestParam(name = PARAM_FieldsList, required = false) @ApiParam("comma separated field names") final String fieldsListStr //
 			, @RequestParam(name = PARAM_Advanced, required = false, defaultValue = PARAM_Advanced_DefaultValue) final boolean advanced //
+			, final WebRequest request //
 	)
 	{
 		final WindowId windowId = WindowId.fromJson(windowIdStr);
 		final DocumentPath documentPath = DocumentPath.includedDocumentPath(windowId, documentIdStr, tabIdStr, rowIdStr);
 		final List<DocumentQueryOrderBy> orderBys = ImmutableList.of();
-		return getData(documentPath, fieldsListStr, advanced, orderBys);
+		return getData(documentPath, fieldsListStr, advanced, orderBys, request);
 	}
 
-	private List<JSONDocument> getData(final DocumentPath documentPath, final String fieldsListStr, final boolean advanced, final List<DocumentQueryOrderBy> orderBys)
+	private ResponseEntity<JSONDocumentsList> getData(
+			final DocumentPath documentPath,
+			final String fieldsListStr,
+			final boolean advanced,
+			final List<DocumentQueryOrderBy> orderBys,
+			final WebRequest request)
 	{
 		userSession.assertLoggedIn();
 
@@ -228,8 +242,30 @@ public class WindowRestController
 				.setDataFieldsList(fieldsListStr)
 				.build();
 
+		//
+		// Check the ETag first, so in case the data was not changed we don't have to copy the documents at all
+		final Optional<ETag> etag = documentCollection.getDocumentETag(documentPath);
+		if (!etag.isPresent())
+		{
+			return ResponseEntity.ok(loadData(documentPath, jsonOpts, orderBys));
+		}
+
+		final ETag etagEffective = etag.get()
+				.overridingAttributes(ImmutableMap.of("role", UserRolePermissionsKey.toPermissionsKeyString(Env.getCtx())));
+		return ETagResponseEntityBuilder.ofETag(request, etagEffective, () -> loadData(documentPath, jsonOpts, orderBys))
+				.includeLanguageInETag()
+				.cacheMaxAge(0) // always revalidate, because the data can change at any time
+				.jsonOptions(() -> jsonOpts)
+				.toResponseEntity((responseBuilder, result) -> responseBuilder.body(result));
+	}
+
+	/**
+	 * @return documents list which is loading and converting the documents while it's serialized, holding the document read lock the whole time
+	 */
+	private JSONDocumentsList loadData(final DocumentPath documentPath, final JSONOptions jsonOpts, final List<DocumentQueryOrderBy> orderBys)
+	{
 		final IDocumentChangesCollector changesCollector = NullDocumentChangesCollector.instance;
-		return documentCollection.forRootDocumentReadonly(documentPath, changesCollector, rootDocument -> {
+		return JSONDocumentsList.of(documentsConsumer -> documentCollection.forRootDocumentReadonly(documentPath, changesCollector, rootDocument -> {
 			List<Document> documents;
 			if (documentPath.isRootDocument())
 			{
@@ -248,8 +284,10 @@ public class WindowRestController
 				throw new InvalidDocumentPathException(documentPath);
 			}
 
-			return JSONDocument.ofDocumentsList(documents, jsonOpts);
-		});
+			// NOTE: the documents are written while we are holding the document read lock
+			documentsConsumer.accept(documents);
+			return null;
+		}), jsonOpts);
 	}
 
 	/**
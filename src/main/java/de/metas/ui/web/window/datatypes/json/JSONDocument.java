@@ -18,6 +18,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
+import de.metas.ui.web.debug.RequestTimingContext;
 import de.metas.ui.web.websocket.WebSocketConfig;
 import de.metas.ui.web.window.WindowConstants;
 import de.metas.ui.web.window.datatypes.DocumentId;
@@ -69,6 +70,11 @@ import lombok.ToString;
 public final class JSONDocument extends JSONDocumentBase
 {
 	public static final JSONDocument ofDocument(final Document document, final JSONOptions jsonOpts)
+	{
+		return RequestTimingContext.span("json.serialize", () -> ofDocument0(document, jsonOpts));
+	}
+
+	private static final JSONDocument ofDocument0(final Document document, final JSONOptions jsonOpts)
 	{
 		final JSONDocument jsonDocument = new JSONDocument(document.getDocumentPath());
 
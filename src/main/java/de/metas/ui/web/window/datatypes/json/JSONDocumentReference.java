@@ -7,6 +7,7 @@ import org.slf4j.Logger;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.ImmutableList;
 
@@ -75,8 +76,10 @@ public final class JSONDocumentReference
 	private final String caption;
 	@JsonProperty("documentType")
 	private final WindowId windowId;
+	/** documents count or null if unknown */
 	@JsonProperty("documentsCount")
-	private final int documentsCount;
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private final Integer documentsCount;
 	@JsonProperty("filter")
 	private final JSONDocumentFilter filter;
 
@@ -87,7 +90,7 @@ public final class JSONDocumentReference
 		id = documentReference.getId();
 		caption = documentReference.getCaption(adLanguage);
 		windowId = documentReference.getWindowId();
-		documentsCount = documentReference.getDocumentsCount();
+		documentsCount = documentReference.isDocumentsCountKnown() ? documentReference.getDocumentsCount() : null;
 
 		final DocumentFilter filter = documentReference.getFilter();
 		this.filter = JSONDocumentFilter.of(filter, adLanguage);
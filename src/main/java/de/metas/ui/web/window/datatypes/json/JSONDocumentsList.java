@@ -0,0 +1,86 @@
+package de.metas.ui.web.window.datatypes.json;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.base.MoreObjects;
+
+import de.metas.ui.web.window.model.Document;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * List of documents which are converted to {@link JSONDocument} one by one, while serializing (see {@link JSONDocumentsListSerializer}),
+ * so only one {@link JSONDocument} is kept in memory at a time.
+ * The JSON output is the same as for a list of {@link JSONDocument}s.
+ * <p>
+ * The documents are not kept by this object. They are provided by the {@link DocumentsProvider} while serializing,
+ * so the provider can keep the documents locked while they are written.
+ */
+@JsonSerialize(using = JSONDocumentsListSerializer.class)
+public final class JSONDocumentsList
+{
+	public static JSONDocumentsList of(@NonNull final DocumentsProvider documentsProvider, @NonNull final JSONOptions jsonOpts)
+	{
+		return new JSONDocumentsList(documentsProvider, jsonOpts);
+	}
+
+	@FunctionalInterface
+	public static interface DocumentsProvider
+	{
+		/**
+		 * Provides the documents to given consumer.
+		 * The documents shall be accessed only while the consumer is called (e.g. while they are locked).
+		 */
+		void forDocuments(Consumer<List<Document>> documentsConsumer);
+	}
+
+	private final DocumentsProvider documentsProvider;
+	private final JSONOptions jsonOpts;
+
+	private JSONDocumentsList(final DocumentsProvider documentsProvider, final JSONOptions jsonOpts)
+	{
+		this.documentsProvider = documentsProvider;
+		this.jsonOpts = jsonOpts;
+	}
+
+	@Override
+	public String toString()
+	{
+		return MoreObjects.toStringHelper(this)
+				.add("documentsProvider", documentsProvider)
+				.toString();
+	}
+
+	public void forDocuments(final Consumer<List<Document>> documentsConsumer)
+	{
+		documentsProvider.forDocuments(documentsConsumer);
+	}
+
+	public JSONOptions getJsonOpts()
+	{
+		return jsonOpts;
+	}
+}
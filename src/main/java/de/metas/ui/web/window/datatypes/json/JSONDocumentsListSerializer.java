@@ -0,0 +1,67 @@
+package de.metas.ui.web.window.datatypes.json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import de.metas.ui.web.window.model.Document;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class JSONDocumentsListSerializer extends JsonSerializer<JSONDocumentsList>
+{
+	@Override
+	public void serialize(final JSONDocumentsList documentsList, final JsonGenerator gen, final SerializerProvider serializers) throws IOException, JsonProcessingException
+	{
+		final JSONOptions jsonOpts = documentsList.getJsonOpts();
+
+		try
+		{
+			// NOTE: write while the documents are provided, because they must not be accessed after that
+			documentsList.forDocuments(documents -> {
+				try
+				{
+					gen.writeStartArray(documents.size());
+					for (final Document document : documents)
+					{
+						// NOTE: convert and write one document at a time, so the JSONDocument can be garbage collected right after it was written
+						serializers.defaultSerializeValue(JSONDocument.ofDocument(document, jsonOpts), gen);
+					}
+					gen.writeEndArray();
+				}
+				catch (final IOException ex)
+				{
+					throw new UncheckedIOException(ex);
+				}
+			});
+		}
+		catch (final UncheckedIOException ex)
+		{
+			throw ex.getCause();
+		}
+	}
+}
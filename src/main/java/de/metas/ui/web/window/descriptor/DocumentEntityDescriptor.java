@@ -108,6 +108,7 @@ public class DocumentEntityDescriptor
 	private final DocumentEntityDataBindingDescriptor dataBinding;
 
 	private final DocumentFieldDependencyMap dependencies;
+	private final DocumentFieldDependencyGraph dependencyGraph;
 
 	private final Map<Characteristic, Set<String>> _fieldNamesByCharacteristic = new ConcurrentHashMap<>();
 
@@ -147,6 +148,7 @@ public class DocumentEntityDescriptor
 		includedDocumentsCollectionFactory = builder.getIncludedDocumentsCollectionFactory();
 		dataBinding = builder.getOrBuildDataBinding();
 		dependencies = builder.buildDependencies();
+		dependencyGraph = DocumentFieldDependencyGraph.of(dependencies);
 
 		//
 		_id = builder.buildId();
@@ -348,6 +350,11 @@ public class DocumentEntityDescriptor
 		return dependencies;
 	}
 
+	public DocumentFieldDependencyGraph getDependencyGraph()
+	{
+		return dependencyGraph;
+	}
+
 	// legacy
 	/**
 	 * @return AD_Tab_ID
@@ -0,0 +1,224 @@
+package de.metas.ui.web.window.descriptor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Multimap;
+
+import de.metas.ui.web.window.descriptor.DocumentFieldDependencyMap.DependencyType;
+import lombok.NonNull;
+import lombok.Value;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Dependency graph of an entity's fields, compiled once from it's {@link DocumentFieldDependencyMap}.
+ * <p>
+ * Each field has a topological order (i.e. a field comes after all the fields it depends on; fields which are part of a cycle are ordered last).
+ * Use {@link #newPropagation()} to walk all the fields affected by a change, each one exactly once and in topological order.
+ */
+public final class DocumentFieldDependencyGraph
+{
+	public static final DocumentFieldDependencyGraph of(@NonNull final DocumentFieldDependencyMap dependencies)
+	{
+		return new DocumentFieldDependencyGraph(dependencies);
+	}
+
+	private static final Comparator<PendingUpdate> ORDER = Comparator.<PendingUpdate> comparingInt(update -> update.getDependency().getTopologicalOrder())
+			.thenComparing(update -> update.getDependency().getDependencyType());
+
+	/** Map: "depends on field name" to dependencies, ordered topologically */
+	private final ImmutableListMultimap<String, Dependency> dependenciesByChangedFieldName;
+
+	private DocumentFieldDependencyGraph(final DocumentFieldDependencyMap dependencies)
+	{
+		final Map<DependencyType, Multimap<String, String>> type2name2dependencies = dependencies.getType2Name2DependenciesMap();
+		final ImmutableMap<String, Integer> topologicalOrders = computeTopologicalOrders(type2name2dependencies.values());
+
+		final Map<String, List<Dependency>> dependenciesByChangedFieldNameUnsorted = new HashMap<>();
+		for (final Map.Entry<DependencyType, Multimap<String, String>> e : type2name2dependencies.entrySet())
+		{
+			final DependencyType dependencyType = e.getKey();
+			for (final Map.Entry<String, String> dependsOnAndDependent : e.getValue().entries())
+			{
+				final String dependentFieldName = dependsOnAndDependent.getValue();
+				final Dependency dependency = new Dependency(dependentFieldName, dependencyType, topologicalOrders.get(dependentFieldName));
+				dependenciesByChangedFieldNameUnsorted.computeIfAbsent(dependsOnAndDependent.getKey(), k -> new ArrayList<>()).add(dependency);
+			}
+		}
+
+		final ImmutableListMultimap.Builder<String, Dependency> dependenciesByChangedFieldName = ImmutableListMultimap.builder();
+		dependenciesByChangedFieldNameUnsorted.forEach((changedFieldName, fieldDependencies) -> fieldDependencies.stream()
+				.sorted(Comparator.comparingInt(Dependency::getTopologicalOrder).thenComparing(Dependency::getDependencyType))
+				.forEach(dependency -> dependenciesByChangedFieldName.put(changedFieldName, dependency)));
+		this.dependenciesByChangedFieldName = dependenciesByChangedFieldName.build();
+	}
+
+	@Override
+	public String toString()
+	{
+		return MoreObjects.toStringHelper(this)
+				.addValue(dependenciesByChangedFieldName)
+				.toString();
+	}
+
+	/**
+	 * Kahn's algorithm on the "depends on field" to "dependent field" edges, regardless of the dependency type.
+	 */
+	private static ImmutableMap<String, Integer> computeTopologicalOrders(final Iterable<Multimap<String, String>> name2dependenciesList)
+	{
+		final Map<String, Set<String>> dependentsByFieldName = new HashMap<>();
+		final Map<String, Integer> inDegrees = new HashMap<>();
+		final Set<String> fieldNames = new LinkedHashSet<>();
+		for (final Multimap<String, String> name2dependencies : name2dependenciesList)
+		{
+			for (final Map.Entry<String, String> e : name2dependencies.entries())
+			{
+				final String dependsOnFieldName = e.getKey();
+				final String dependentFieldName = e.getValue();
+				fieldNames.add(dependsOnFieldName);
+				fieldNames.add(dependentFieldName);
+
+				// NOTE: ignore self references (e.g. lookups which depend on their own value) and duplicate edges from different dependency types
+				if (!dependsOnFieldName.equals(dependentFieldName)
+						&& dependentsByFieldName.computeIfAbsent(dependsOnFieldName, k -> new HashSet<>()).add(dependentFieldName))
+				{
+					inDegrees.merge(dependentFieldName, 1, Integer::sum);
+				}
+			}
+		}
+
+		final Deque<String> ready = new ArrayDeque<>();
+		fieldNames.stream().filter(fieldName -> !inDegrees.containsKey(fieldName)).forEach(ready::add);
+
+		final Map<String, Integer> topologicalOrders = new HashMap<>(fieldNames.size());
+		while (!ready.isEmpty())
+		{
+			final String fieldName = ready.poll();
+			topologicalOrders.put(fieldName, topologicalOrders.size());
+
+			for (final String dependentFieldName : dependentsByFieldName.getOrDefault(fieldName, ImmutableSet.of()))
+			{
+				if (inDegrees.merge(dependentFieldName, -1, Integer::sum) == 0)
+				{
+					ready.add(dependentFieldName);
+				}
+			}
+		}
+
+		// Fields which are part of a cycle
+		fieldNames.stream()
+				.filter(fieldName -> !topologicalOrders.containsKey(fieldName))
+				.forEach(fieldName -> topologicalOrders.put(fieldName, topologicalOrders.size()));
+
+		return ImmutableMap.copyOf(topologicalOrders);
+	}
+
+	/** @return direct dependencies of given field, ordered topologically */
+	public List<Dependency> getDependencies(final String changedFieldName)
+	{
+		return dependenciesByChangedFieldName.get(changedFieldName);
+	}
+
+	public Propagation newPropagation()
+	{
+		return new Propagation();
+	}
+
+	@Value
+	public static final class Dependency
+	{
+		private final String dependentFieldName;
+		private final DependencyType dependencyType;
+		private final int topologicalOrder;
+	}
+
+	@Value
+	public static final class PendingUpdate
+	{
+		private final Dependency dependency;
+		/** the field whose change triggered this update */
+		private final String triggeringFieldName;
+
+		public String getDependentFieldName()
+		{
+			return dependency.getDependentFieldName();
+		}
+
+		public DependencyType getDependencyType()
+		{
+			return dependency.getDependencyType();
+		}
+	}
+
+	/**
+	 * Work list of the pending updates of one change set. Not thread safe.
+	 * <p>
+	 * Each dependency is returned at most once, even if it's reachable from more changed fields.
+	 */
+	public final class Propagation
+	{
+		private final PriorityQueue<PendingUpdate> queue = new PriorityQueue<>(ORDER);
+		private final Set<Dependency> enqueued = new HashSet<>();
+
+		private Propagation()
+		{
+		}
+
+		/** Enqueues the direct dependencies of given changed field */
+		public Propagation addDependenciesOf(final String changedFieldName)
+		{
+			for (final Dependency dependency : getDependencies(changedFieldName))
+			{
+				if (enqueued.add(dependency))
+				{
+					queue.add(new PendingUpdate(dependency, changedFieldName));
+				}
+			}
+			return this;
+		}
+
+		public boolean hasNext()
+		{
+			return !queue.isEmpty();
+		}
+
+		public PendingUpdate next()
+		{
+			return queue.poll();
+		}
+	}
+}
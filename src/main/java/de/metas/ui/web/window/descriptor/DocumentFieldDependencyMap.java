@@ -127,6 +127,11 @@ public final class DocumentFieldDependencyMap
 		return sb.toString();
 	}
 
+	/* package */ Map<DependencyType, Multimap<String, String>> getType2Name2DependenciesMap()
+	{
+		return type2name2dependencies;
+	}
+
 	public void consumeForChangedFieldName(final String changedFieldName, final IDependencyConsumer consumer)
 	{
 		for (final DependencyType dependencyType : DependencyType.values())
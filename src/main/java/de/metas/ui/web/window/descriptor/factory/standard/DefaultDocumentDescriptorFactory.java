@@ -1,9 +1,23 @@
 package de.metas.ui.web.window.descriptor.factory.standard;
 
+import java.util.List;
+
+import org.adempiere.ad.trx.api.ITrx;
 import org.compiere.model.I_AD_Window;
 import org.compiere.util.CCache;
+import org.compiere.util.DB;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ConcurrentHashMultiset;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Multisets;
+
+import de.metas.logging.LogManager;
+import de.metas.ui.web.metrics.WebuiMetrics;
 import de.metas.ui.web.window.datatypes.WindowId;
 import de.metas.ui.web.window.descriptor.DocumentDescriptor;
 import de.metas.ui.web.window.descriptor.factory.DocumentDescriptorFactory;
@@ -34,23 +48,76 @@ import de.metas.ui.web.window.exceptions.DocumentLayoutBuildException;
 @Service
 public class DefaultDocumentDescriptorFactory implements DocumentDescriptorFactory
 {
-	private final CCache<WindowId, DocumentDescriptor> documentDescriptorsByWindowId = new CCache<>(I_AD_Window.Table_Name + "#DocumentDescriptor", 50);
+	private static final Logger logger = LogManager.getLogger(DefaultDocumentDescriptorFactory.class);
+
+	/** Min cache size. The actual size is the number of active windows, if bigger */
+	@Value("${metasfresh.webui.descriptors.cache.minSize:50}")
+	private int cacheMinSize;
+
+	/** NOTE: created on first use, because the database is not available when this bean is created */
+	private final Supplier<CCache<WindowId, DocumentDescriptor>> documentDescriptorsByWindowId = Suppliers.memoize(this::createCache);
+
+	/** How many times each window's descriptor was requested, since startup */
+	private final ConcurrentHashMultiset<WindowId> usageCounts = ConcurrentHashMultiset.create();
 
 	/* package */ DefaultDocumentDescriptorFactory()
 	{
 		super();
 	}
 
+	private CCache<WindowId, DocumentDescriptor> createCache()
+	{
+		final int cacheSize = Math.max(cacheMinSize, countActiveWindows());
+		logger.info("Document descriptors cache size: {}", cacheSize);
+		return WebuiMetrics.monitorCacheSize("DocumentDescriptors", new CCache<>(I_AD_Window.Table_Name + "#DocumentDescriptor", cacheSize));
+	}
+
+	private static int countActiveWindows()
+	{
+		try
+		{
+			final String sql = "SELECT COUNT(1) FROM " + I_AD_Window.Table_Name + " WHERE IsActive='Y'";
+			return DB.getSQLValueEx(ITrx.TRXNAME_None, sql);
+		}
+		catch (final Exception ex)
+		{
+			logger.warn("Failed counting the active windows. Using the configured min cache size", ex);
+			return 0;
+		}
+	}
+
 	@Override
 	public DocumentDescriptor getDocumentDescriptor(final WindowId windowId)
+	{
+		usageCounts.add(windowId);
+		return getOrLoad(windowId);
+	}
+
+	/** Loads the descriptor if it's not already cached, without counting it as an usage */
+	/* package */ void warmUp(final WindowId windowId)
+	{
+		getOrLoad(windowId);
+	}
+
+	private DocumentDescriptor getOrLoad(final WindowId windowId)
 	{
 		try
 		{
-			return documentDescriptorsByWindowId.getOrLoad(windowId, () -> new DefaultDocumentDescriptorLoader(windowId.toInt()).load());
+			return documentDescriptorsByWindowId.get().getOrLoad(windowId, () -> new DefaultDocumentDescriptorLoader(windowId.toInt()).load());
 		}
 		catch (final Exception e)
 		{
 			throw DocumentLayoutBuildException.wrapIfNeeded(e);
 		}
 	}
+
+	/** @return most requested windows, most requested first */
+	/* package */ List<WindowId> getMostUsedWindowIds(final int limit)
+	{
+		return Multisets.copyHighestCountFirst(usageCounts)
+				.elementSet()
+				.stream()
+				.limit(limit)
+				.collect(ImmutableList.toImmutableList());
+	}
 }
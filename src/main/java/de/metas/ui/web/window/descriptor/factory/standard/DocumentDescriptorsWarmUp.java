@@ -0,0 +1,197 @@
+package de.metas.ui.web.window.descriptor.factory.standard;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.PreDestroy;
+
+import org.adempiere.util.Check;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.google.common.base.Splitter;
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+
+import de.metas.logging.LogManager;
+import de.metas.ui.web.window.datatypes.WindowId;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Loads the document descriptors of the most used windows in background, right after the application started,
+ * so the first users are not waiting for them to be built.
+ * <p>
+ * The windows to be warmed up are:
+ * <ul>
+ * <li>the ones configured in <code>metasfresh.webui.descriptors.warmUp.windowIds</code>
+ * <li>the most used windows before the last shutdown, if <code>metasfresh.webui.descriptors.warmUp.usageFile</code> is set
+ * </ul>
+ */
+@Component
+public class DocumentDescriptorsWarmUp
+{
+	private static final Logger logger = LogManager.getLogger(DocumentDescriptorsWarmUp.class);
+
+	@Autowired
+	private DefaultDocumentDescriptorFactory documentDescriptorFactory;
+
+	@Value("${metasfresh.webui.descriptors.warmUp.enabled:true}")
+	private boolean enabled;
+	/** Comma separated AD_Window_IDs */
+	@Value("${metasfresh.webui.descriptors.warmUp.windowIds:}")
+	private String windowIdsStr;
+	@Value("${metasfresh.webui.descriptors.warmUp.maxWindows:30}")
+	private int maxWindows;
+	/** File where the most used windows are written on shutdown and read on startup. If empty, the usage is not persisted. */
+	@Value("${metasfresh.webui.descriptors.warmUp.usageFile:}")
+	private String usageFilename;
+
+	@EventListener(ApplicationReadyEvent.class)
+	private void warmUpInBackground()
+	{
+		if (!enabled)
+		{
+			logger.info("Skip warming up document descriptors because it's disabled");
+			return;
+		}
+
+		final List<WindowId> windowIds = getWindowIdsToWarmUp();
+		if (windowIds.isEmpty())
+		{
+			logger.info("Skip warming up document descriptors because there are no windows to warm up");
+			return;
+		}
+
+		final Thread thread = new Thread(() -> warmUp(windowIds), "webui-descriptors-warmUp");
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MIN_PRIORITY);
+		thread.start();
+	}
+
+	private List<WindowId> getWindowIdsToWarmUp()
+	{
+		final Set<WindowId> windowIds = new LinkedHashSet<>();
+		Splitter.on(",")
+				.trimResults()
+				.omitEmptyStrings()
+				.splitToList(windowIdsStr)
+				.forEach(windowIdStr -> windowIds.add(WindowId.fromJson(windowIdStr)));
+
+		windowIds.addAll(readUsageFile());
+
+		return windowIds.stream()
+				.limit(maxWindows)
+				.collect(ImmutableList.toImmutableList());
+	}
+
+	private void warmUp(final List<WindowId> windowIds)
+	{
+		final Stopwatch stopwatch = Stopwatch.createStarted();
+		int countLoaded = 0;
+		for (final WindowId windowId : windowIds)
+		{
+			try
+			{
+				documentDescriptorFactory.warmUp(windowId);
+				countLoaded++;
+			}
+			catch (final Exception ex)
+			{
+				// e.g. the window was deleted or deactivated meanwhile
+				logger.warn("Failed warming up the document descriptor of {}. Skipped", windowId, ex);
+			}
+		}
+
+		logger.info("Warmed up {}/{} document descriptors in {}", countLoaded, windowIds.size(), stopwatch);
+	}
+
+	@PreDestroy
+	private void writeUsageFile()
+	{
+		final Path usageFile = getUsageFile();
+		if (usageFile == null)
+		{
+			return;
+		}
+
+		final List<String> lines = documentDescriptorFactory.getMostUsedWindowIds(maxWindows)
+				.stream()
+				.map(WindowId::toJson)
+				.collect(ImmutableList.toImmutableList());
+		if (lines.isEmpty())
+		{
+			// nothing was used; keep the previous file
+			return;
+		}
+
+		try
+		{
+			Files.write(usageFile, lines, StandardCharsets.UTF_8);
+			logger.info("Written {} most used windows to {}", lines.size(), usageFile);
+		}
+		catch (final IOException ex)
+		{
+			logger.warn("Failed writing the most used windows to {}", usageFile, ex);
+		}
+	}
+
+	private List<WindowId> readUsageFile()
+	{
+		final Path usageFile = getUsageFile();
+		if (usageFile == null || !Files.isRegularFile(usageFile))
+		{
+			return ImmutableList.of();
+		}
+
+		try
+		{
+			return Files.readAllLines(usageFile, StandardCharsets.UTF_8)
+					.stream()
+					.map(String::trim)
+					.filter(line -> !line.isEmpty())
+					.map(WindowId::fromJson)
+					.collect(ImmutableList.toImmutableList());
+		}
+		catch (final Exception ex)
+		{
+			logger.warn("Failed reading the most used windows from {}. Ignored", usageFile, ex);
+			return ImmutableList.of();
+		}
+	}
+
+	private Path getUsageFile()
+	{
+		return Check.isEmpty(usageFilename, true) ? null : Paths.get(usageFilename.trim());
+	}
+}
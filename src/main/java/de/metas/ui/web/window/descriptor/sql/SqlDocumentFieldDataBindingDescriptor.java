@@ -86,6 +86,7 @@ public class SqlDocumentFieldDataBindingDescriptor implements DocumentFieldDataB
 	private final boolean usingDisplayColumn;
 	private final String displayColumnName;
 	private final IStringExpression displayColumnSqlExpression;
+	private final Optional<String> displayColumnTableName;
 	private final Boolean numericKey;
 	//
 	private final String sqlSelectValue;
@@ -118,6 +119,7 @@ public class SqlDocumentFieldDataBindingDescriptor implements DocumentFieldDataB
 		usingDisplayColumn = builder.isUsingDisplayColumn();
 		displayColumnName = builder.getDisplayColumnName();
 		displayColumnSqlExpression = builder.getDisplayColumnSqlExpression();
+		displayColumnTableName = builder.getDisplayColumnTableName();
 		numericKey = builder.getNumericKey();
 		//
 		sqlSelectValue = builder.buildSqlSelectValue();
@@ -238,6 +240,12 @@ public class SqlDocumentFieldDataBindingDescriptor implements DocumentFieldDataB
 		return displayColumnSqlExpression;
 	}
 
+	/** @return the lookup table from which the display value is fetched, if known */
+	public Optional<String> getDisplayColumnTableName()
+	{
+		return displayColumnTableName;
+	}
+
 	public boolean isNumericKey()
 	{
 		return numericKey != null && numericKey;
@@ -301,6 +309,7 @@ public class SqlDocumentFieldDataBindingDescriptor implements DocumentFieldDataB
 		private boolean _usingDisplayColumn;
 		private String _displayColumnName;
 		private IStringExpression _displayColumnSqlExpression;
+		private Optional<String> _displayColumnTableName;
 		private Boolean _numericKey;
 		private DocumentFieldValueLoader _documentFieldValueLoader;
 
@@ -326,6 +335,7 @@ public class SqlDocumentFieldDataBindingDescriptor implements DocumentFieldDataB
 				_displayColumnName = sqlColumnName + "$Display";
 				final String sqlColumnNameFQ = sqlTableAlias + "." + sqlColumnName;
 				_displayColumnSqlExpression = sqlLookupDescriptor.getSqlForFetchingDisplayNameByIdExpression(sqlColumnNameFQ);
+				_displayColumnTableName = sqlLookupDescriptor.getTableName();
 				_numericKey = sqlLookupDescriptor.isNumericKey();
 			}
 			else
@@ -333,6 +343,7 @@ public class SqlDocumentFieldDataBindingDescriptor implements DocumentFieldDataB
 				_usingDisplayColumn = false;
 				_displayColumnName = null;
 				_displayColumnSqlExpression = NullStringExpression.instance;
+				_displayColumnTableName = Optional.empty();
 				_numericKey = null;
 			}
 
@@ -556,6 +567,11 @@ public class SqlDocumentFieldDataBindingDescriptor implements DocumentFieldDataB
 			return _displayColumnSqlExpression;
 		}
 
+		private Optional<String> getDisplayColumnTableName()
+		{
+			return _displayColumnTableName;
+		}
+
 		public Boolean getNumericKey()
 		{
 			return _numericKey;
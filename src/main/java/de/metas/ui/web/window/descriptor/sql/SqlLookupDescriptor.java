@@ -88,6 +88,7 @@ public final class SqlLookupDescriptor implements LookupDescriptor
 	private final Optional<WindowId> zoomIntoWindowId;
 	private final ICachedStringExpression sqlForFetchingExpression;
 	private final ICachedStringExpression sqlForFetchingDisplayNameByIdExpression;
+	private final ICachedStringExpression sqlForValidatingIdExpression;
 	private final int entityTypeIndex;
 	private final INamePairPredicate postQueryPredicate;
 
@@ -107,6 +108,7 @@ public final class SqlLookupDescriptor implements LookupDescriptor
 		zoomIntoWindowId = builder.getZoomIntoWindowId();
 		sqlForFetchingExpression = builder.sqlForFetchingExpression;
 		sqlForFetchingDisplayNameByIdExpression = builder.sqlForFetchingDisplayNameByIdExpression;
+		sqlForValidatingIdExpression = builder.sqlForValidatingIdExpression;
 		entityTypeIndex = builder.entityTypeIndex;
 
 		postQueryPredicate = builder.getPostQueryPredicate();
@@ -215,6 +217,12 @@ public final class SqlLookupDescriptor implements LookupDescriptor
 		return sqlForFetchingDisplayNameByIdExpression;
 	}
 
+	/** @return SQL which is fetching the lookup value identified by {@link #SQL_PARAM_KeyId}, but only if it matches the lookup's where clause and validation rule */
+	public IStringExpression getSqlForValidatingIdExpression()
+	{
+		return sqlForValidatingIdExpression;
+	}
+
 	public IStringExpression getSqlForFetchingDisplayNameByIdExpression(final String sqlKeyColumn)
 	{
 		return sqlForFetchingDisplayNameByIdExpression.resolvePartial(Evaluatees.mapBuilder()
@@ -277,6 +285,7 @@ public final class SqlLookupDescriptor implements LookupDescriptor
 		private String sqlTableName;
 		private ICachedStringExpression sqlForFetchingExpression;
 		private ICachedStringExpression sqlForFetchingDisplayNameByIdExpression;
+		private ICachedStringExpression sqlForValidatingIdExpression;
 		private int entityTypeIndex = -1;
 		
 		private int zoomIntoWindowId = -1;
@@ -392,6 +401,8 @@ public final class SqlLookupDescriptor implements LookupDescriptor
 						.caching();
 				sqlForFetchingDisplayNameByIdExpression = buildSqlForFetchingDisplayNameById(lookupInfo)
 						.caching();
+				sqlForValidatingIdExpression = buildSqlForValidatingId(lookupInfo, sqlWhereFinal)
+						.caching();
 
 				if (lookupInfo.isQueryHasEntityType())
 				{
@@ -453,6 +464,13 @@ public final class SqlLookupDescriptor implements LookupDescriptor
 					.append("\n FROM ").append(tableName) // FROM
 					.append("\n WHERE ").append(keyColumnNameFQ).append("=").append(SQL_PARAM_KeyId)
 					.build();
+			final IStringExpression sqlForValidatingId = IStringExpression.composer()
+					.append(sqlSelectFrom) // SELECT ... FROM ...
+					.append("\n WHERE \n").append(sqlWhereFinal) // WHERE
+					.append("\n AND ").append(keyColumnNameFQ).append("=").append(SQL_PARAM_KeyId)
+					.append("\n LIMIT 1")
+					.wrap(AccessSqlStringExpression.wrapper(tableName, IUserRolePermissions.SQL_FULLYQUALIFIED, IUserRolePermissions.SQL_RO)) // security
+					.build();
 
 			//
 			// Set the SQLs
@@ -460,6 +478,7 @@ public final class SqlLookupDescriptor implements LookupDescriptor
 				sqlTableName = tableName;
 				sqlForFetchingExpression = sqlForFetching.caching();
 				sqlForFetchingDisplayNameByIdExpression = sqlForFetchingDisplayNameById.caching();
+				sqlForValidatingIdExpression = sqlForValidatingId.caching();
 			}
 		}
 
@@ -529,6 +548,22 @@ public final class SqlLookupDescriptor implements LookupDescriptor
 					.build();
 		}
 
+		/**
+		 * Builds the SQL which is fetching only the row identified by {@link SqlLookupDescriptor#SQL_PARAM_KeyId},
+		 * using the same where clause as {@link #buildSqlForFetching(MLookupInfo, IStringExpression, String)}.
+		 */
+		private final IStringExpression buildSqlForValidatingId(final MLookupInfo lookupInfo, final IStringExpression sqlWhere)
+		{
+			final String tableName = lookupInfo.getTableName();
+			return IStringExpression.composer()
+					.append(lookupInfo.getSelectSqlPart()) // SELECT .. FROM ...
+					.append("\n WHERE \n").append(sqlWhere) // WHERE
+					.append("\n AND ").append(lookupInfo.getKeyColumnFQ()).append("=").append(SQL_PARAM_KeyId) // the ID to validate
+					.append("\n LIMIT 1")
+					.wrapIfTrue(!lookupInfo.isSecurityDisabled(), AccessSqlStringExpression.wrapper(tableName, IUserRolePermissions.SQL_FULLYQUALIFIED, IUserRolePermissions.SQL_RO)) // security
+					.build();
+		}
+
 		private final IStringExpression buildSqlForFetchingDisplayNameById(final MLookupInfo lookupInfo)
 		{
 			final IStringExpression displayColumnSQL = TranslatableParameterizedStringExpression.of(lookupInfo.getDisplayColumnSql());
@@ -9,6 +9,7 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
@@ -41,6 +42,8 @@ import com.google.common.collect.ImmutableSet;
 import de.metas.document.engine.IDocActionBL;
 import de.metas.document.exceptions.DocumentProcessingException;
 import de.metas.logging.LogManager;
+import de.metas.ui.web.cache.ETag;
+import de.metas.ui.web.debug.RequestTimingContext;
 import de.metas.ui.web.window.WindowConstants;
 import de.metas.ui.web.window.datatypes.DataTypes;
 import de.metas.ui.web.window.datatypes.DocumentId;
@@ -52,6 +55,8 @@ import de.metas.ui.web.window.datatypes.LookupValuesList;
 import de.metas.ui.web.window.datatypes.json.JSONDocumentChangedEvent;
 import de.metas.ui.web.window.descriptor.DetailId;
 import de.metas.ui.web.window.descriptor.DocumentEntityDescriptor;
+import de.metas.ui.web.window.descriptor.DocumentFieldDependencyGraph;
+import de.metas.ui.web.window.descriptor.DocumentFieldDependencyGraph.PendingUpdate;
 import de.metas.ui.web.window.descriptor.DocumentFieldDependencyMap;
 import de.metas.ui.web.window.descriptor.DocumentFieldDependencyMap.DependencyType;
 import de.metas.ui.web.window.descriptor.DocumentFieldDescriptor;
@@ -102,6 +107,12 @@ public final class Document
 	private static final ReasonSupplier REASON_Value_Refreshing = () -> "direct set on Document (refresh)";
 	private static final ReasonSupplier REASON_Value_ParentLinkUpdateOnSave = () -> "parent link update on save";
 
+	private static final IAutoCloseable NOP_Scope = () -> {
+	};
+
+	/** Seeded with the startup time (shifted to leave room for ~1M copies per millisecond), so the versions are not repeating after a restart */
+	private static final AtomicLong nextSnapshotVersion = new AtomicLong(System.currentTimeMillis() << 20);
+
 	//
 	// Descriptors & paths
 	private final DocumentEntityDescriptor entityDescriptor;
@@ -120,6 +131,8 @@ public final class Document
 	private DocumentSaveStatus _saveStatusOnCheckout;
 	private final DocumentStaleState _staleStatus;
 	private final ReentrantReadWriteLock _lock;
+	/** Unique for each instance/copy; because the cached documents are never changed but replaced by new copies, it identifies the cached data */
+	private final long _snapshotVersion = nextSnapshotVersion.getAndIncrement();
 	// Status: readonly
 	private DocumentReadonly parentReadonly = DocumentReadonly.NOT_READONLY;
 	private DocumentReadonly readonly = DocumentReadonly.NOT_READONLY;
@@ -129,6 +142,8 @@ public final class Document
 	private ITabCallout documentCallout = ITabCallout.NULL; // will be set from builder, after document it's initialized
 	private final ICalloutExecutor fieldCalloutExecutor;
 	private DocumentAsCalloutRecord _calloutRecord; // lazy
+	/** Dependencies to be updated when current change set is completed; null if we are not in a change set (i.e. the dependencies are updated right away) */
+	private DocumentFieldDependencyGraph.Propagation _pendingDependenciesPropagation = null;
 
 	//
 	// Fields
@@ -144,6 +159,7 @@ public final class Document
 	//
 	// Evaluatee
 	private IDocumentEvaluatee _evaluatee; // lazy
+	private DocumentEvaluationCache _evaluationCache; // only while a document operation is running
 	private transient IDocumentEvaluatee _shadowParentEvaluatee;
 
 	// Changes tracking
@@ -755,7 +771,7 @@ public final class Document
 	public Document copy(final CopyMode copyMode, final IDocumentChangesCollector changesCollector)
 	{
 		final Document parentDocumentCopy = Document.NULL;
-		return new Document(this, parentDocumentCopy, copyMode, changesCollector);
+		return RequestTimingContext.span("document.copy", () -> new Document(this, parentDocumentCopy, copyMode, changesCollector));
 	}
 
 	/* package */public Document copy(final Document parentDocumentCopy, final CopyMode copyMode)
@@ -1113,6 +1129,50 @@ public final class Document
 		return _evaluatee;
 	}
 
+	/**
+	 * Starts caching the resolved variables and logic expression results until the returned scope is closed.
+	 * If there is already an active scope, the cache is kept until that outer scope is closed.
+	 */
+	private IAutoCloseable newEvaluationCacheScope()
+	{
+		if (_evaluationCache != null)
+		{
+			return NOP_Scope;
+		}
+
+		final DocumentEvaluationCache evaluationCache = new DocumentEvaluationCache();
+		_evaluationCache = evaluationCache;
+		return () -> {
+			logger.trace("Evaluation cache of {}: {}", this, evaluationCache);
+			_evaluationCache = null;
+		};
+	}
+
+	/* package */ DocumentEvaluationCache getEvaluationCacheOrNull()
+	{
+		return _evaluationCache;
+	}
+
+	/* package */ void onFieldValueChanged(final String fieldName)
+	{
+		final DocumentEvaluationCache evaluationCache = _evaluationCache;
+		if (evaluationCache != null)
+		{
+			evaluationCache.onVariableChanged(fieldName);
+		}
+	}
+
+	private LogicExpressionResult evaluateLogicExpression(final ILogicExpression logicExpression)
+	{
+		final DocumentEvaluationCache evaluationCache = _evaluationCache;
+		if (evaluationCache == null)
+		{
+			return logicExpression.evaluateToResult(asEvaluatee(), OnVariableNotFound.Fail);
+		}
+
+		return evaluationCache.evaluate(logicExpression, expression -> expression.evaluateToResult(asEvaluatee(), OnVariableNotFound.Fail));
+	}
+
 	/**
 	 * Similar with {@link #setValue(String, Object, ReasonSupplier)} but this method is also checking if we are allowed to change that field
 	 *
@@ -1122,33 +1182,49 @@ public final class Document
 	 */
 	public void processValueChange(final String fieldName, final Object value, final ReasonSupplier reason) throws DocumentFieldReadonlyException
 	{
-		final IDocumentField documentField = getField(fieldName);
-
-		if (documentField.isReadonly())
+		try (final IAutoCloseable evaluationCacheScope = newEvaluationCacheScope())
 		{
-			throw new DocumentFieldReadonlyException(fieldName, value);
-		}
+			// make sure the readonly flags and the values seen by callouts are reflecting the previous changes of current change set
+			updatePendingDependencies();
 
-		setValue(documentField, value, reason);
+			final IDocumentField documentField = getField(fieldName);
 
-		// FIXME: hardcoded DocAction processing
-		if (WindowConstants.FIELDNAME_DocAction.equals(fieldName))
-		{
-			processDocAction();
+			if (documentField.isReadonly())
+			{
+				throw new DocumentFieldReadonlyException(fieldName, value);
+			}
+
+			setValue(documentField, value, reason);
+
+			// FIXME: hardcoded DocAction processing
+			if (WindowConstants.FIELDNAME_DocAction.equals(fieldName))
+			{
+				updatePendingDependencies(); // make sure the document is up to date before processing it
+				processDocAction();
+			}
 		}
 	}
 
+	/**
+	 * Applies all value changes in given order.
+	 * The dependencies of each change are updated right before the next change is applied (so a change which makes a field readonly is considered),
+	 * respectively when the change set is completed. Within one change, each affected field is evaluated only once.
+	 */
 	public void processValueChanges(@NonNull final List<JSONDocumentChangedEvent> events, final ReasonSupplier reason) throws DocumentFieldReadonlyException
 	{
-		for (final JSONDocumentChangedEvent event : events)
+		try (final IAutoCloseable evaluationCacheScope = newEvaluationCacheScope();
+				final IAutoCloseable changeSetScope = newDependenciesChangeSetScope())
 		{
-			if (JSONDocumentChangedEvent.JSONOperation.replace == event.getOperation())
-			{
-				processValueChange(event.getPath(), event.getValue(), reason);
-			}
-			else
+			for (final JSONDocumentChangedEvent event : events)
 			{
-				throw new IllegalArgumentException("Unknown operation: " + event);
+				if (JSONDocumentChangedEvent.JSONOperation.replace == event.getOperation())
+				{
+					processValueChange(event.getPath(), event.getValue(), reason);
+				}
+				else
+				{
+					throw new IllegalArgumentException("Unknown operation: " + event);
+				}
 			}
 		}
 	}
@@ -1265,21 +1341,24 @@ public final class Document
 
 		final String triggeringFieldName = null; // N/A
 
-		// Document level properties (e.g. docuemnt readonly)
-		for (final String documentFieldName : DocumentFieldDependencyMap.DOCUMENT_ALL_FIELDS)
+		try (final IAutoCloseable evaluationCacheScope = newEvaluationCacheScope())
 		{
-			for (final DependencyType triggeringDependencyType : DocumentFieldDependencyMap.DEPENDENCYTYPES_DocumentLevel)
+			// Document level properties (e.g. docuemnt readonly)
+			for (final String documentFieldName : DocumentFieldDependencyMap.DOCUMENT_ALL_FIELDS)
 			{
-				updateOnDependencyChanged(documentFieldName, (IDocumentField)null, triggeringFieldName, triggeringDependencyType);
+				for (final DependencyType triggeringDependencyType : DocumentFieldDependencyMap.DEPENDENCYTYPES_DocumentLevel)
+				{
+					updateOnDependencyChanged(documentFieldName, (IDocumentField)null, triggeringFieldName, triggeringDependencyType);
+				}
 			}
-		}
 
-		// Fields
-		for (final IDocumentField documentField : getFields())
-		{
-			for (final DependencyType triggeringDependencyType : DocumentFieldDependencyMap.DEPENDENCYTYPES_FieldLevel)
+			// Fields
+			for (final IDocumentField documentField : getFields())
 			{
-				updateOnDependencyChanged(documentField.getFieldName(), documentField, triggeringFieldName, triggeringDependencyType);
+				for (final DependencyType triggeringDependencyType : DocumentFieldDependencyMap.DEPENDENCYTYPES_FieldLevel)
+				{
+					updateOnDependencyChanged(documentField.getFieldName(), documentField, triggeringFieldName, triggeringDependencyType);
+				}
 			}
 		}
 	}
@@ -1309,7 +1388,7 @@ public final class Document
 		LogicExpressionResult allFieldsReadonly;
 		try
 		{
-			allFieldsReadonly = allFieldsReadonlyLogic.evaluateToResult(asEvaluatee(), OnVariableNotFound.Fail);
+			allFieldsReadonly = evaluateLogicExpression(allFieldsReadonlyLogic);
 		}
 		catch (final Exception e)
 		{
@@ -1350,7 +1429,7 @@ public final class Document
 		final ILogicExpression fieldReadonlyLogic = documentField.getDescriptor().getReadonlyLogic();
 		try
 		{
-			final LogicExpressionResult readonly = fieldReadonlyLogic.evaluateToResult(asEvaluatee(), OnVariableNotFound.Fail);
+			final LogicExpressionResult readonly = evaluateLogicExpression(fieldReadonlyLogic);
 			return readonly;
 		}
 		catch (final Exception e)
@@ -1367,7 +1446,7 @@ public final class Document
 		final ILogicExpression displayLogic = documentField.getDescriptor().getDisplayLogic();
 		try
 		{
-			displayed = displayLogic.evaluateToResult(asEvaluatee(), OnVariableNotFound.Fail);
+			displayed = evaluateLogicExpression(displayLogic);
 		}
 		catch (final Exception e)
 		{
@@ -1378,20 +1457,85 @@ public final class Document
 		documentField.setDisplayed(displayed);
 	}
 
+	/**
+	 * Updates all fields which are directly or indirectly depending on given field.
+	 * <p>
+	 * The affected fields are updated in topological order and each (field, dependency type) is evaluated only once.
+	 * If an update is changing the field's value (e.g. virtual fields, lookup values which are no longer valid), the fields depending on it are updated too.
+	 */
 	private final void updateFieldsWhichDependsOn(final String triggeringFieldName)
 	{
-		final DocumentFieldDependencyMap dependencies = getEntityDescriptor().getDependencies();
-		dependencies.consumeForChangedFieldName(triggeringFieldName, (dependentFieldName, dependencyType) -> {
-			final IDocumentField dependentField = getFieldOrNull(dependentFieldName);
-			if (dependentField == null)
+		final DocumentFieldDependencyGraph.Propagation pendingPropagation = _pendingDependenciesPropagation;
+		if (pendingPropagation != null)
+		{
+			// we are in a change set; the dependencies will be updated when the change set is completed
+			pendingPropagation.addDependenciesOf(triggeringFieldName);
+			return;
+		}
+
+		updateFieldsWhichDependsOn(newDependenciesPropagation().addDependenciesOf(triggeringFieldName));
+	}
+
+	private DocumentFieldDependencyGraph.Propagation newDependenciesPropagation()
+	{
+		return getEntityDescriptor().getDependencyGraph().newPropagation();
+	}
+
+	/**
+	 * Starts a change set: until the returned scope is closed, the dependencies of the changed fields are only collected.
+	 * They are updated all together when the scope is closed.
+	 */
+	private IAutoCloseable newDependenciesChangeSetScope()
+	{
+		if (_pendingDependenciesPropagation != null)
+		{
+			return NOP_Scope;
+		}
+
+		_pendingDependenciesPropagation = newDependenciesPropagation();
+		return () -> {
+			final DocumentFieldDependencyGraph.Propagation propagation = _pendingDependenciesPropagation;
+			_pendingDependenciesPropagation = null;
+			updateFieldsWhichDependsOn(propagation);
+		};
+	}
+
+	/** Updates the dependencies which were collected so far in current change set, if any */
+	private void updatePendingDependencies()
+	{
+		final DocumentFieldDependencyGraph.Propagation propagation = _pendingDependenciesPropagation;
+		if (propagation == null || !propagation.hasNext())
+		{
+			return;
+		}
+
+		_pendingDependenciesPropagation = newDependenciesPropagation();
+		updateFieldsWhichDependsOn(propagation);
+	}
+
+	private final void updateFieldsWhichDependsOn(final DocumentFieldDependencyGraph.Propagation propagation)
+	{
+		try (final IAutoCloseable evaluationCacheScope = newEvaluationCacheScope())
+		{
+			while (propagation.hasNext())
 			{
-				// shall not happen
-				logger.warn("Skip setting dependent propery {} because field is missing", dependentFieldName);
-				return;
-			}
+				final PendingUpdate update = propagation.next();
+				final String dependentFieldName = update.getDependentFieldName();
+				final IDocumentField dependentField = getFieldOrNull(dependentFieldName);
+				if (dependentField == null)
+				{
+					// shall not happen
+					logger.warn("Skip setting dependent propery {} because field is missing", dependentFieldName);
+					continue;
+				}
 
-			updateOnDependencyChanged(dependentFieldName, dependentField, triggeringFieldName, dependencyType);
-		});
+				final boolean valueChanged = updateOnDependencyChanged(dependentFieldName, dependentField, update.getTriggeringFieldName(), update.getDependencyType());
+				if (valueChanged)
+				{
+					propagation.addDependenciesOf(dependentFieldName);
+				}
+			}
+		}
 	}
 
 	/**
@@ -1403,14 +1547,16 @@ public final class Document
 	 * @param triggeringDependencyType
 	 * @param documentChangesCollector events collector (where to collect the change events)
 	 * @param collectEventsEventIfNoChange true if we shall collect the change event even if there was no change
+	 * @return true if the field's value was changed
 	 */
-	private void updateOnDependencyChanged(
+	private boolean updateOnDependencyChanged(
 			final String propertyName,
 			final IDocumentField documentField,
 			final String triggeringFieldName,
 			final DependencyType triggeringDependencyType)
 	{
 		final ReasonSupplier reason = () -> "TriggeringField=" + triggeringFieldName + ", DependencyType=" + triggeringDependencyType;
+		boolean valueChanged = false;
 
 		if (DependencyType.DocumentReadonlyLogic == triggeringDependencyType)
 		{
@@ -1429,7 +1575,7 @@ public final class Document
 			final ILogicExpression mandatoryLogic = documentField.getDescriptor().getMandatoryLogic();
 			try
 			{
-				final LogicExpressionResult mandatory = mandatoryLogic.evaluateToResult(asEvaluatee(), OnVariableNotFound.Fail);
+				final LogicExpressionResult mandatory = evaluateLogicExpression(mandatoryLogic);
 				documentField.setMandatory(mandatory, changesCollector);
 			}
 			catch (final Exception e)
@@ -1450,24 +1596,28 @@ public final class Document
 		{
 			final boolean lookupValuesStaledOld = documentField.isLookupValuesStale();
 			final boolean lookupValuesStaled = documentField.setLookupValuesStaled(triggeringFieldName);
-			if (lookupValuesStaled && !lookupValuesStaledOld)
+			if (lookupValuesStaled)
 			{
 				// https://github.com/metasfresh/metasfresh-webui-api/issues/551 check if we can leave the old value as it is
+				// NOTE: check on each change, also if the lookup values were already staled by a previous change
 				final Object valueOld = documentField.getValue();
 				if (valueOld != null)
 				{
-					final boolean currentValueStillValid = documentField.getLookupValues() // because we did setLookupValuesStaled(), this causes a reload
-							.stream()
-							.anyMatch(value -> Objects.equals(value, valueOld)); // check if the current value is still value after we reloaded the list
+					// NOTE: check only the current value, the staled lookup values will be reloaded when they are requested
+					final boolean currentValueStillValid = documentField.isLookupValueStillValid(valueOld);
 					if (!currentValueStillValid)
 					{
 						documentField.setValue(null, changesCollector);
 						changesCollector.collectValueIfChanged(documentField, valueOld, reason);
+						valueChanged = true;
 					}
 				}
 
 				// https://github.com/metasfresh/metasfresh-webui-frontend/issues/1165 - the value was not stale, but now it is => notify the frontend so it shall invalidate its cache
-				changesCollector.collectLookupValuesStaled(documentField, reason);
+				if (!lookupValuesStaledOld)
+				{
+					changesCollector.collectLookupValuesStaled(documentField, reason);
+				}
 			}
 		}
 		else if (DependencyType.FieldValue == triggeringDependencyType)
@@ -1484,6 +1634,7 @@ public final class Document
 					documentField.setValue(valueNew, changesCollector);
 
 					changesCollector.collectValueIfChanged(documentField, valueOld, reason);
+					valueChanged = !DataTypes.equals(valueOld, documentField.getValue());
 				}
 				catch (final Exception ex)
 				{
@@ -1496,6 +1647,8 @@ public final class Document
 			new AdempiereException("Unknown dependency type: " + triggeringDependencyType)
 					.throwIfDeveloperModeOrLogWarningElse(logger);
 		}
+
+		return valueChanged;
 	}
 
 	public LookupValuesList getFieldLookupValues(final String fieldName)
@@ -1526,6 +1679,22 @@ public final class Document
 		getIncludedDocumentsCollection(detailId).assertNewDocumentAllowed();
 	}
 
+	/**
+	 * Gets the ETag of this document's data and, optionally, of the included documents of given detail.
+	 *
+	 * @param detailId included documents detail or null if only the document itself is considered
+	 * @return weak ETag or empty if the included documents would be (re)loaded from repository when they are requested
+	 */
+	public Optional<ETag> getETag(@Nullable final DetailId detailId)
+	{
+		if (detailId != null && !getIncludedDocumentsCollection(detailId).isFullyLoadedAndUpToDate())
+		{
+			return Optional.empty();
+		}
+
+		return Optional.of(ETag.of(_snapshotVersion, ImmutableMap.of()).toWeak());
+	}
+
 	/* package */IIncludedDocumentsCollection getIncludedDocumentsCollection(final DetailId detailId)
 	{
 		Check.assumeNotNull(detailId, "Parameter detailId is not null");
@@ -1613,6 +1782,12 @@ public final class Document
 		}
 		final Object valueOld = _dynAttributes.put(name, value);
 
+		// dynamic attributes are also used as variables
+		if (_evaluationCache != null)
+		{
+			_evaluationCache.onVariableChanged(name);
+		}
+
 		logger.trace("Changed document dyn attribute {}'s value: {} -> {}", name, valueOld, value);
 		return valueOld;
 	}
@@ -1920,6 +2095,22 @@ public final class Document
 		return _staleStatus.isStaled();
 	}
 
+	/**
+	 * Same as {@link #refreshFromRepositoryIfStaled()} would check, but without changing this document.
+	 *
+	 * @return true if this document is staled or it was changed in repository since it was loaded
+	 */
+	/* package */boolean isStaledOrChangedInRepository()
+	{
+		if (_staleStatus.isStaled())
+		{
+			return true;
+		}
+
+		return getEntityDescriptor().getDataBinding().isVersioningSupported()
+				&& _staleStatus.isRepositoryVersionChanged();
+	}
+
 	public IAutoCloseable lockForReading()
 	{
 		// assume _lock is not null
@@ -2007,19 +2198,24 @@ public final class Document
 				return true;
 			}
 
-			if (isNew())
+			if (!isRepositoryVersionChanged())
 			{
 				return false;
 			}
 
-			final String versionNow = getDocumentRepository().retrieveVersion(getEntityDescriptor(), getDocumentIdAsInt());
-			if (Objects.equals(version, versionNow))
+			staled = true;
+			return true;
+		}
+
+		private boolean isRepositoryVersionChanged()
+		{
+			if (isNew())
 			{
 				return false;
 			}
 
-			staled = true;
-			return true;
+			final String versionNow = getDocumentRepository().retrieveVersion(getEntityDescriptor(), getDocumentIdAsInt());
+			return !Objects.equals(version, versionNow);
 		}
 
 		private void markNotStaled(final String version)
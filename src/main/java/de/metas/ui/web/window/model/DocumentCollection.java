@@ -3,6 +3,7 @@ package de.metas.ui.web.window.model;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
@@ -43,6 +44,7 @@ import de.metas.adempiere.report.jasper.OutputType;
 import de.metas.logging.LogManager;
 import de.metas.process.ProcessExecutionResult;
 import de.metas.process.ProcessInfo;
+import de.metas.ui.web.cache.ETag;
 import de.metas.ui.web.exceptions.EntityNotFoundException;
 import de.metas.ui.web.session.UserSession;
 import de.metas.ui.web.websocket.WebsocketSender;
@@ -195,6 +197,25 @@ public class DocumentCollection
 		}
 	}
 
+	/**
+	 * Gets the ETag of the data which would be provided by {@link #forRootDocumentReadonly(DocumentPath, IDocumentChangesCollector, Function)} for given path.
+	 * The cached root document is not copied.
+	 *
+	 * @return ETag or empty if it cannot be determined without (re)loading the documents from repository
+	 */
+	public Optional<ETag> getDocumentETag(final DocumentPath documentPath)
+	{
+		final DocumentKey rootDocumentKey = DocumentKey.ofRootDocumentPath(documentPath.getRootDocumentPath());
+
+		try (final IAutoCloseable readLock = getOrLoadDocument(rootDocumentKey).lockForReading())
+		{
+			final Document rootDocument = getOrLoadDocument(rootDocumentKey);
+			DocumentPermissionsHelper.assertCanView(rootDocument, UserSession.getCurrentPermissions());
+
+			return rootDocument.getETag(documentPath.isRootDocument() ? null : documentPath.getDetailId());
+		}
+	}
+
 	public <R> R forDocumentWritable(final DocumentPath documentPath, final IDocumentChangesCollector changesCollector, final Function<Document, R> documentProcessor)
 	{
 		final DocumentPath rootDocumentPath = documentPath.getRootDocumentPath();
@@ -332,6 +353,12 @@ public class DocumentCollection
 		return document;
 	}
 
+	/** @return number of root documents currently in cache */
+	public long getCachedRootDocumentsCount()
+	{
+		return rootDocuments.size();
+	}
+
 	public void cacheReset()
 	{
 		// TODO: invalidate only those which are: 1. NOW new; 2. NOT currently editing
@@ -62,6 +62,9 @@ import lombok.NonNull;
 	private final String _fieldNameInScope;
 	private final ImmutableSet<String> _fieldNamesToExclude;
 
+	/** true if the last {@link #resolveValue(String, Class)} fetched the value from parent document */
+	private boolean valueResolvedFromParent = false;
+
 
 	/* package */ DocumentEvaluatee(@NotNull final Document document)
 	{
@@ -234,10 +237,56 @@ import lombok.NonNull;
 			{
 				final DetailId detailId = _document.getEntityDescriptor().getDetailId();
 				final int nextLineNo = parentDocument.getIncludedDocumentsCollection(detailId).getNextLineNo();
+				markNotCacheableVariableResolved();
 				return Optional.of(nextLineNo);
 			}
 		}
 
+		//
+		// Check the evaluation cache of current document operation.
+		// NOTE: the variables resolved for a particular field in scope or with excluded fields are not cached because they could differ.
+		final DocumentEvaluationCache cache = isPlainEvaluatee() ? _document.getEvaluationCacheOrNull() : null;
+		if (cache == null)
+		{
+			return resolveValue(variableName, targetType);
+		}
+
+		final Optional<Object> cachedValue = cache.getVariable(variableName, targetType);
+		if (cachedValue != null)
+		{
+			return cachedValue;
+		}
+
+		final Optional<Object> value = resolveValue(variableName, targetType);
+		if (!valueResolvedFromParent)
+		{
+			cache.putVariable(variableName, targetType, value);
+		}
+		return value;
+	}
+
+	private boolean isPlainEvaluatee()
+	{
+		return _fieldNameInScope == null && _fieldNamesToExclude.isEmpty();
+	}
+
+	private void markNotCacheableVariableResolved()
+	{
+		final DocumentEvaluationCache cache = _document.getEvaluationCacheOrNull();
+		if (cache != null)
+		{
+			cache.markNotCacheableVariableResolved();
+		}
+	}
+
+	/**
+	 * Actually resolves the variable (document field, dynamic attribute, parent document, global context).
+	 * Sets {@link #valueResolvedFromParent}.
+	 */
+	private Optional<Object> resolveValue(final String variableName, final Class<?> targetType)
+	{
+		valueResolvedFromParent = false;
+
 		if (IValidationContext.PARAMETER_ContextTableName.equals(variableName))
 		{
 			return Optional.of(_document.getEntityDescriptor().getTableName());
@@ -298,6 +347,9 @@ import lombok.NonNull;
 			final Optional<Object> value = parentEvaluatee.get_ValueIfExists(variableName, targetType);
 			if (value.isPresent())
 			{
+				// NOTE: parent's fields could change without notifying us, so don't cache this value (and the expressions using it)
+				valueResolvedFromParent = true;
+				markNotCacheableVariableResolved();
 				return value;
 			}
 		}
@@ -0,0 +1,147 @@
+package de.metas.ui.web.window.model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.adempiere.ad.expression.api.ILogicExpression;
+import org.adempiere.ad.expression.api.LogicExpressionResult;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Caches the resolved variables and the logic expression results of a {@link Document}, for the duration of one document operation.
+ * <p>
+ * When a field value changes, the cached variable with the same name and all the expression results which have it as a parameter are dropped.
+ * Not thread safe, but documents are accessed only while holding their lock anyways.
+ *
+ * @see Document#newEvaluationCacheScope()
+ */
+final class DocumentEvaluationCache
+{
+	/** Map: variable name to target type to resolved value */
+	private final Map<String, Map<Class<?>, Optional<Object>>> variables = new HashMap<>();
+
+	/** Map: logic expression string to it's result */
+	private final Map<String, LogicExpressionResult> logicResults = new HashMap<>();
+	/** Map: parameter name to logic expression strings */
+	private final SetMultimap<String, String> logicExpressionsByParameterName = HashMultimap.create();
+
+	/** true if a not cacheable variable was resolved (e.g. from parent document) */
+	private boolean notCacheableVariableResolved = false;
+
+	private int hits = 0;
+	private int misses = 0;
+
+	@Override
+	public String toString()
+	{
+		return MoreObjects.toStringHelper(this)
+				.add("variables", variables.size())
+				.add("logicResults", logicResults.size())
+				.add("hits", hits)
+				.add("misses", misses)
+				.toString();
+	}
+
+	/** @return cached value or null if not cached */
+	public Optional<Object> getVariable(final String variableName, final Class<?> targetType)
+	{
+		final Map<Class<?>, Optional<Object>> valuesByType = variables.get(variableName);
+		final Optional<Object> value = valuesByType != null ? valuesByType.get(targetType) : null;
+		if (value != null)
+		{
+			hits++;
+		}
+		return value;
+	}
+
+	public void putVariable(final String variableName, final Class<?> targetType, final Optional<Object> value)
+	{
+		variables.computeIfAbsent(variableName, k -> new HashMap<>()).put(targetType, value);
+	}
+
+	/**
+	 * Marks that a variable was resolved which cannot be cached (e.g. it's value was fetched from the parent document),
+	 * so the logic expression which is currently evaluated shall not be cached either.
+	 */
+	public void markNotCacheableVariableResolved()
+	{
+		notCacheableVariableResolved = true;
+	}
+
+	/**
+	 * Gets the cached result or evaluates the expression. If the evaluator fails, nothing is cached.
+	 */
+	public LogicExpressionResult evaluate(final ILogicExpression logicExpression, final Function<ILogicExpression, LogicExpressionResult> evaluator)
+	{
+		if (logicExpression.isConstant())
+		{
+			return evaluator.apply(logicExpression);
+		}
+
+		final String expressionString = logicExpression.getExpressionString();
+		final LogicExpressionResult cachedResult = logicResults.get(expressionString);
+		if (cachedResult != null)
+		{
+			hits++;
+			return cachedResult;
+		}
+
+		misses++;
+		final boolean notCacheableVariableResolvedBefore = notCacheableVariableResolved;
+		notCacheableVariableResolved = false;
+		try
+		{
+			final LogicExpressionResult result = evaluator.apply(logicExpression);
+			if (result != null && !notCacheableVariableResolved)
+			{
+				logicResults.put(expressionString, result);
+				for (final String parameterName : logicExpression.getParameters())
+				{
+					logicExpressionsByParameterName.put(parameterName, expressionString);
+				}
+			}
+			return result;
+		}
+		finally
+		{
+			notCacheableVariableResolved = notCacheableVariableResolvedBefore || notCacheableVariableResolved;
+		}
+	}
+
+	/** Drops everything which depends on given variable */
+	public void onVariableChanged(final String variableName)
+	{
+		variables.remove(variableName);
+		for (final String expressionString : logicExpressionsByParameterName.removeAll(variableName))
+		{
+			logicResults.remove(expressionString);
+		}
+	}
+}
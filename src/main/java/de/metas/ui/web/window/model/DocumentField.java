@@ -196,6 +196,7 @@ import lombok.NonNull;
 		// Update the current value too
 		// final Object valueOld = _value;
 		_value = initialValueConv;
+		_document.onFieldValueChanged(getFieldName());
 
 		// Update valid status
 		// NOTE: usually this method is called on initialization
@@ -208,6 +209,7 @@ import lombok.NonNull;
 		final Object valueNew = convertToValueClassAndCorrect(value);
 		final Object valueOld = _value;
 		_value = valueNew;
+		_document.onFieldValueChanged(getFieldName());
 
 		if (logger.isTraceEnabled() && !DataTypes.equals(valueNew, valueOld))
 		{
@@ -427,6 +429,20 @@ import lombok.NonNull;
 		return values == null ? LookupValuesList.EMPTY : values;
 	}
 
+	@Override
+	public boolean isLookupValueStillValid(final Object value)
+	{
+		final LookupDataSource lookupDataSource = getLookupDataSourceOrNull();
+		if (lookupDataSource == null)
+		{
+			return true;
+		}
+
+		final Object id = value instanceof LookupValue ? ((LookupValue)value).getId() : value;
+		final Evaluatee ctx = getDocument().asEvaluatee();
+		return lookupDataSource.isValidId(ctx, id);
+	}
+
 	@Override
 	public LookupValuesList getLookupValuesForQuery(final String query)
 	{
@@ -35,6 +35,9 @@ import lombok.Builder;
 @Immutable
 public final class DocumentReference
 {
+	/** Documents count, when it could not be computed in time */
+	public static final int DOCUMENTS_COUNT_UNKNOWN = -1;
+
 	private final String id;
 	private final ITranslatableString caption;
 	private final WindowId windowId;
@@ -83,6 +86,20 @@ public final class DocumentReference
 		return documentsCount;
 	}
 
+	public boolean isDocumentsCountKnown()
+	{
+		return documentsCount != DOCUMENTS_COUNT_UNKNOWN;
+	}
+
+	public DocumentReference withDocumentsCountUnknown()
+	{
+		if (!isDocumentsCountKnown())
+		{
+			return this;
+		}
+		return new DocumentReference(id, caption, windowId, DOCUMENTS_COUNT_UNKNOWN, filter);
+	}
+
 	@NotNull
 	public DocumentFilter getFilter()
 	{
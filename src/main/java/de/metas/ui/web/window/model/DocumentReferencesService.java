@@ -1,24 +1,37 @@
 package de.metas.ui.web.window.model;
 
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+import org.adempiere.ad.security.UserRolePermissionsKey;
 import org.adempiere.ad.table.api.IADTableDAO;
 import org.adempiere.ad.trx.api.ITrx;
+import org.adempiere.ad.trx.api.ITrxManager;
 import org.adempiere.model.ZoomInfoFactory;
 import org.adempiere.model.ZoomInfoFactory.IZoomSource;
 import org.adempiere.model.ZoomInfoFactory.ZoomInfo;
 import org.adempiere.util.Services;
+import org.adempiere.util.lang.Mutable;
+import org.compiere.util.CCache;
+import org.compiere.util.DB;
 import org.compiere.util.Evaluatee;
+import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 
 import de.metas.i18n.ITranslatableString;
 import de.metas.i18n.ImmutableTranslatableString;
+import de.metas.logging.LogManager;
 import de.metas.ui.web.document.filter.MQueryDocumentFilterHelper;
+import de.metas.ui.web.metrics.WebuiMetrics;
 import de.metas.ui.web.window.WindowConstants;
 import de.metas.ui.web.window.datatypes.DocumentPath;
 import de.metas.ui.web.window.datatypes.WindowId;
@@ -46,12 +59,43 @@ import de.metas.ui.web.window.descriptor.DocumentEntityDescriptor;
  * #L%
  */
 
+/**
+ * Provides the references (zoom targets) of a given document, together with the number of referenced records.
+ * <p>
+ * The references are cached briefly:
+ * <ul>
+ * <li>the references list per source record, in a cache which is reset when the source table is changed
+ * <li>each reference, in a cache which is reset when the target table is changed
+ * </ul>
+ * When the references list is cached, the references which were invalidated are recounted in the request thread, within a time budget.
+ * Each recount is bounded by a statement timeout which is the remaining time budget.
+ * The references which could not be counted in time are returned with {@link DocumentReference#DOCUMENTS_COUNT_UNKNOWN}.
+ * <p>
+ * References without documents are not cached, so they are recounted each time until they have some documents.
+ * <p>
+ * NOTE: when the references list is not cached, all references are retrieved and counted by {@link ZoomInfoFactory#retrieveZoomInfos(IZoomSource)},
+ * because that's the only way to find out which targets are referencing the source record.
+ */
 @Service
 public class DocumentReferencesService
 {
+	private static final Logger logger = LogManager.getLogger(DocumentReferencesService.class);
+
+	/** PostgreSQL's SQLState for "canceling statement due to statement timeout" */
+	private static final String SQLSTATE_QueryCanceled = "57014";
+
 	@Autowired
 	private DocumentCollection documentCollection;
 
+	@Value("${metasfresh.webui.documentReferences.count.timeoutMillis:1500}")
+	private int countTimeoutMillis;
+	@Value("${metasfresh.webui.documentReferences.cache.expireMinutes:1}")
+	private int cacheExpireMinutes;
+
+	/** Caches indexed by the table name they depend on, so they are reset when that table is changed */
+	private final ConcurrentHashMap<String, CCache<SourceRecordKey, ImmutableList<CachedDocumentReference>>> referencesBySourceTableName = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, CCache<TargetKey, CachedDocumentReference>> referenceByTargetTableName = new ConcurrentHashMap<>();
+
 	public List<DocumentReference> getDocumentReferences(final DocumentPath documentPath)
 	{
 		return documentCollection.forDocumentReadonly(documentPath, NullDocumentChangesCollector.instance, document -> {
@@ -62,12 +106,20 @@ public class DocumentReferencesService
 
 			final DocumentAsZoomSource zoomSource = new DocumentAsZoomSource(document);
 			final ITranslatableString filterCaption = extractFilterCaption(document);
+			final SourceRecordKey sourceRecordKey = SourceRecordKey.of(zoomSource);
 
-			return ZoomInfoFactory.get()
-					.retrieveZoomInfos(zoomSource)
-					.stream()
-					.map(zoomInfo -> createDocumentReference(zoomInfo, filterCaption))
-					.collect(ImmutableList.toImmutableList());
+			final CCache<SourceRecordKey, ImmutableList<CachedDocumentReference>> references = getReferencesCache(zoomSource.getTableName());
+			final ImmutableList<CachedDocumentReference> cachedReferences = references.get(sourceRecordKey);
+			if (cachedReferences == null)
+			{
+				final ImmutableList<CachedDocumentReference> retrievedReferences = retrieveAllReferences(zoomSource, filterCaption);
+				references.put(sourceRecordKey, retrievedReferences);
+				return toDocumentReferencesList(retrievedReferences);
+			}
+			else
+			{
+				return recountInvalidatedReferences(cachedReferences, zoomSource, filterCaption);
+			}
 		});
 	}
 
@@ -80,12 +132,149 @@ public class DocumentReferencesService
 			}
 
 			final DocumentAsZoomSource zoomSource = new DocumentAsZoomSource(sourceDocument);
-
-			final ZoomInfo zoomInfo = ZoomInfoFactory.get().retrieveZoomInfo(zoomSource, targetWindowId.toInt());
 			final ITranslatableString filterCaption = extractFilterCaption(sourceDocument);
-			return createDocumentReference(zoomInfo, filterCaption);
+			return retrieveReference(zoomSource, targetWindowId, filterCaption).getReference();
 		});
 	}
+
+	private ImmutableList<CachedDocumentReference> retrieveAllReferences(final DocumentAsZoomSource zoomSource, final ITranslatableString filterCaption)
+	{
+		final ImmutableList<CachedDocumentReference> references = ZoomInfoFactory.get()
+				.retrieveZoomInfos(zoomSource)
+				.stream()
+				.map(zoomInfo -> CachedDocumentReference.of(createDocumentReference(zoomInfo, filterCaption), zoomInfo.getQuery().getTableName()))
+				.collect(ImmutableList.toImmutableList());
+
+		final SourceRecordKey sourceRecordKey = SourceRecordKey.of(zoomSource);
+		references.forEach(reference -> putReferenceInCache(sourceRecordKey, reference));
+
+		return references;
+	}
+
+	private CachedDocumentReference retrieveReference(final DocumentAsZoomSource zoomSource, final WindowId targetWindowId, final ITranslatableString filterCaption)
+	{
+		final ZoomInfo zoomInfo = ZoomInfoFactory.get().retrieveZoomInfo(zoomSource, targetWindowId.toInt());
+		final CachedDocumentReference reference = CachedDocumentReference.of(createDocumentReference(zoomInfo, filterCaption), zoomInfo.getQuery().getTableName());
+
+		putReferenceInCache(SourceRecordKey.of(zoomSource), reference);
+
+		return reference;
+	}
+
+	/**
+	 * Retrieves the reference in a new transaction which has the statement timeout set to given milliseconds.
+	 */
+	private CachedDocumentReference retrieveReference(final DocumentAsZoomSource zoomSource, final WindowId targetWindowId, final ITranslatableString filterCaption, final long timeoutMillis)
+	{
+		final Mutable<CachedDocumentReference> reference = new Mutable<>();
+		Services.get(ITrxManager.class).runInNewTrx(localTrxName -> {
+			// NOTE: the zoom source is using the thread inherited transaction, so the count query is running in this transaction
+			DB.executeUpdateEx("SET LOCAL statement_timeout = " + timeoutMillis, localTrxName);
+			reference.setValue(retrieveReference(zoomSource, targetWindowId, filterCaption));
+		});
+		return reference.getValue();
+	}
+
+	private void putReferenceInCache(final SourceRecordKey sourceRecordKey, final CachedDocumentReference reference)
+	{
+		// NOTE: don't cache the references without documents, because their cache is not reset when the first target record is created
+		// (e.g. if it's referencing the source record by a column which is set later)
+		if (reference.getReference().getDocumentsCount() <= 0)
+		{
+			return;
+		}
+
+		getReferenceCache(reference.getTargetTableName()).put(TargetKey.of(sourceRecordKey, reference.getTargetWindowId()), reference);
+	}
+
+	private static boolean isStatementTimeout(final Exception ex)
+	{
+		return Throwables.getCausalChain(ex)
+				.stream()
+				.filter(SQLException.class::isInstance)
+				.map(SQLException.class::cast)
+				.anyMatch(sqlException -> SQLSTATE_QueryCanceled.equals(sqlException.getSQLState()));
+	}
+
+	/**
+	 * Takes the references from cache. The ones which are no longer cached (i.e. their target table was changed) are recounted.
+	 * <p>
+	 * NOTE: we are recounting in the current thread because the zoom source is backed by the document which is locked by us.
+	 * Each count query gets the remaining time budget as statement timeout.
+	 * When the time budget is exhausted, the remaining references are returned with unknown documents count.
+	 */
+	private List<DocumentReference> recountInvalidatedReferences(
+			final List<CachedDocumentReference> references,
+			final DocumentAsZoomSource zoomSource,
+			final ITranslatableString filterCaption)
+	{
+		final SourceRecordKey sourceRecordKey = SourceRecordKey.of(zoomSource);
+		final long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(countTimeoutMillis);
+
+		final ImmutableList.Builder<DocumentReference> result = ImmutableList.builder();
+		for (final CachedDocumentReference reference : references)
+		{
+			final WindowId targetWindowId = reference.getTargetWindowId();
+			final CachedDocumentReference cachedReference = getReferenceCache(reference.getTargetTableName()).get(TargetKey.of(sourceRecordKey, targetWindowId));
+			if (cachedReference != null)
+			{
+				result.add(cachedReference.getReference());
+				continue;
+			}
+
+			final long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+			if (remainingMillis <= 0)
+			{
+				result.add(reference.getReference().withDocumentsCountUnknown());
+				WebuiMetrics.counter("documentReferences.count", "result", "timeout").increment();
+				continue;
+			}
+
+			try
+			{
+				final DocumentReference recountedReference = retrieveReference(zoomSource, targetWindowId, filterCaption, remainingMillis).getReference();
+				if (recountedReference.getDocumentsCount() > 0)
+				{
+					result.add(recountedReference);
+				}
+				WebuiMetrics.counter("documentReferences.count", "result", "ok").increment();
+			}
+			catch (final Exception ex)
+			{
+				if (isStatementTimeout(ex))
+				{
+					logger.info("Recounting {} timed out after {}ms. Returning it with unknown documents count", reference, remainingMillis);
+					result.add(reference.getReference().withDocumentsCountUnknown());
+					WebuiMetrics.counter("documentReferences.count", "result", "timeout").increment();
+				}
+				else
+				{
+					// e.g. the target is no longer referencing the source record
+					logger.warn("Failed recounting {}. Skipped", reference, ex);
+					WebuiMetrics.counter("documentReferences.count", "result", "failed").increment();
+				}
+			}
+		}
+
+		return result.build();
+	}
+
+	private static List<DocumentReference> toDocumentReferencesList(final List<CachedDocumentReference> references)
+	{
+		return references.stream()
+				.map(CachedDocumentReference::getReference)
+				.collect(ImmutableList.toImmutableList());
+	}
+
+	private CCache<SourceRecordKey, ImmutableList<CachedDocumentReference>> getReferencesCache(final String sourceTableName)
+	{
+		return referencesBySourceTableName.computeIfAbsent(sourceTableName, tableName -> CCache.newLRUCache(tableName + "#DocumentReferences#bySourceRecord", 500, cacheExpireMinutes));
+	}
+
+	private CCache<TargetKey, CachedDocumentReference> getReferenceCache(final String targetTableName)
+	{
+		return referenceByTargetTableName.computeIfAbsent(targetTableName, tableName -> CCache.newLRUCache(tableName + "#DocumentReference#byTarget", 2000, cacheExpireMinutes));
+	}
 	
 	private final ITranslatableString extractFilterCaption(final Document sourceDocument)
 	{
@@ -132,6 +321,44 @@ public class DocumentReferencesService
 				.build();
 	}
 
+	@lombok.Value
+	private static final class SourceRecordKey
+	{
+		public static SourceRecordKey of(final IZoomSource zoomSource)
+		{
+			return new SourceRecordKey(
+					zoomSource.getTableName(),
+					zoomSource.getRecord_ID(),
+					zoomSource.getAD_Window_ID(),
+					UserRolePermissionsKey.toPermissionsKeyString(zoomSource.getCtx()));
+		}
+
+		private final String tableName;
+		private final int recordId;
+		private final int adWindowId;
+		/** the documents count is depending on the role's access */
+		private final String permissionsKey;
+	}
+
+	@lombok.Value(staticConstructor = "of")
+	private static final class TargetKey
+	{
+		private final SourceRecordKey sourceRecordKey;
+		private final WindowId targetWindowId;
+	}
+
+	@lombok.Value(staticConstructor = "of")
+	private static final class CachedDocumentReference
+	{
+		private final DocumentReference reference;
+		private final String targetTableName;
+
+		public WindowId getTargetWindowId()
+		{
+			return reference.getWindowId();
+		}
+	}
+
 	private static final class DocumentAsZoomSource implements IZoomSource
 	{
 		private final Properties ctx;
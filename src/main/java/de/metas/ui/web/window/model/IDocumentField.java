@@ -78,6 +78,14 @@ import de.metas.ui.web.window.model.Document.CopyMode;
 
 	LookupValuesList getLookupValues();
 
+	/**
+	 * Checks if given value is still one of the lookup values, without (re)loading the lookup values list.
+	 * The lookup values staled flag is not changed.
+	 *
+	 * @return true if the value is still valid or if this field has no lookup
+	 */
+	boolean isLookupValueStillValid(Object value);
+
 	LookupValuesList getLookupValuesForQuery(String query);
 
 	ICalloutField asCalloutField();
@@ -70,6 +70,14 @@ public interface IIncludedDocumentsCollection
 	/** @return true if contains at least one stale document */
 	boolean isStale();
 
+	/**
+	 * @return true if all included documents are loaded and up to date, i.e. {@link #getDocuments(List)} won't (re)load them from repository
+	 */
+	default boolean isFullyLoadedAndUpToDate()
+	{
+		return false;
+	}
+
 	int getNextLineNo();
 
 	default void onChildSaved(final Document document)
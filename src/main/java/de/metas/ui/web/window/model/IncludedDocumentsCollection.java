@@ -184,6 +184,19 @@ public class IncludedDocumentsCollection implements IIncludedDocumentsCollection
 		_staleDocumentIds.remove(documentId);
 	}
 
+	@Override
+	public synchronized boolean isFullyLoadedAndUpToDate()
+	{
+		if (isStale() || !isFullyLoaded())
+		{
+			return false;
+		}
+
+		return getInnerDocumentsNoLoad()
+				.stream()
+				.noneMatch(Document::isStaledOrChangedInRepository);
+	}
+
 	@Override
 	public final void markStaleAll()
 	{
@@ -10,10 +10,12 @@ import org.compiere.util.CCache.CCacheStats;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableList;
 
+import de.metas.ui.web.metrics.WebuiMetrics;
 import de.metas.ui.web.window.datatypes.LookupValue;
 import de.metas.ui.web.window.datatypes.LookupValuesList;
 import de.metas.ui.web.window.datatypes.WindowId;
 import de.metas.ui.web.window.model.lookup.LookupDataSourceContext.Builder;
+import io.micrometer.core.instrument.Counter;
 
 /*
  * #%L
@@ -56,11 +58,19 @@ public final class CachedLookupDataSourceFetcherAdapter implements LookupDataSou
 
 	private static final String NAME = "PerPartition";
 
+	private static final Counter metrics_retrieveEntities_requests = WebuiMetrics.counter("lookups.cache.requests", "method", "retrieveEntities");
+	private static final Counter metrics_retrieveEntities_misses = WebuiMetrics.counter("lookups.cache.misses", "method", "retrieveEntities");
+	private static final Counter metrics_retrieveLookupValueById_requests = WebuiMetrics.counter("lookups.cache.requests", "method", "retrieveLookupValueById");
+	private static final Counter metrics_retrieveLookupValueById_misses = WebuiMetrics.counter("lookups.cache.misses", "method", "retrieveLookupValueById");
+	private static final Counter metrics_isValidId_requests = WebuiMetrics.counter("lookups.cache.requests", "method", "isValidId");
+	private static final Counter metrics_isValidId_misses = WebuiMetrics.counter("lookups.cache.misses", "method", "isValidId");
+
 	private final LookupDataSourceFetcher delegate;
 	private final String cachePrefix;
 
 	private final transient CCache<LookupDataSourceContext, LookupValuesList> cache_retrieveEntities;
 	private final transient CCache<LookupDataSourceContext, LookupValue> cache_retrieveLookupValueById;
+	private final transient CCache<LookupDataSourceContext, Boolean> cache_isValidId;
 
 	private CachedLookupDataSourceFetcherAdapter(final LookupDataSourceFetcher delegate)
 	{
@@ -75,6 +85,7 @@ public final class CachedLookupDataSourceFetcherAdapter implements LookupDataSou
 		// NOTE: it's very important to have the lookupTableName as cache name prefix because we want the cache invalidation to happen for this table
 		cache_retrieveEntities = CCache.newLRUCache(cachePrefix + "#" + NAME + "#retrieveEntities", maxSize, expireAfterMinutes);
 		cache_retrieveLookupValueById = CCache.newLRUCache(cachePrefix + "#" + NAME + "#retrieveLookupValueById", maxSize, expireAfterMinutes);
+		cache_isValidId = CCache.newLRUCache(cachePrefix + "#" + NAME + "#isValidId", maxSize, expireAfterMinutes);
 	}
 
 	@Override
@@ -109,6 +120,7 @@ public final class CachedLookupDataSourceFetcherAdapter implements LookupDataSou
 		return ImmutableList.<CCacheStats> builder()
 				.add(cache_retrieveEntities.stats())
 				.add(cache_retrieveLookupValueById.stats())
+				.add(cache_isValidId.stats())
 				.addAll(delegate.getCacheStats())
 				.build();
 	}
@@ -128,7 +140,11 @@ public final class CachedLookupDataSourceFetcherAdapter implements LookupDataSou
 	@Override
 	public LookupValue retrieveLookupValueById(final LookupDataSourceContext evalCtx)
 	{
-		return cache_retrieveLookupValueById.getOrLoad(evalCtx, () -> delegate.retrieveLookupValueById(evalCtx));
+		metrics_retrieveLookupValueById_requests.increment();
+		return cache_retrieveLookupValueById.getOrLoad(evalCtx, () -> {
+			metrics_retrieveLookupValueById_misses.increment();
+			return delegate.retrieveLookupValueById(evalCtx);
+		});
 	}
 
 	@Override
@@ -140,9 +156,29 @@ public final class CachedLookupDataSourceFetcherAdapter implements LookupDataSou
 	@Override
 	public LookupValuesList retrieveEntities(final LookupDataSourceContext evalCtx)
 	{
-		return cache_retrieveEntities.getOrLoad(evalCtx, () -> delegate.retrieveEntities(evalCtx));
+		metrics_retrieveEntities_requests.increment();
+		return cache_retrieveEntities.getOrLoad(evalCtx, () -> {
+			metrics_retrieveEntities_misses.increment();
+			return delegate.retrieveEntities(evalCtx);
+		});
 	}
 	
+	@Override
+	public Builder newContextForValidatingId(final Object id)
+	{
+		return delegate.newContextForValidatingId(id);
+	}
+
+	@Override
+	public boolean isValidId(final LookupDataSourceContext evalCtx)
+	{
+		metrics_isValidId_requests.increment();
+		return cache_isValidId.getOrLoad(evalCtx, () -> {
+			metrics_isValidId_misses.increment();
+			return delegate.isValidId(evalCtx);
+		});
+	}
+
 	@Override
 	public Optional<WindowId> getZoomIntoWindowId()
 	{
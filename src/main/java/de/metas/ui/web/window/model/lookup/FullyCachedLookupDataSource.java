@@ -13,9 +13,12 @@ import org.compiere.util.Evaluatees;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableList;
 
+import de.metas.ui.web.debug.RequestTimingContext;
+import de.metas.ui.web.metrics.WebuiMetrics;
 import de.metas.ui.web.window.datatypes.LookupValue;
 import de.metas.ui.web.window.datatypes.LookupValuesList;
 import de.metas.ui.web.window.datatypes.WindowId;
+import io.micrometer.core.instrument.Counter;
 
 /*
  * #%L
@@ -48,6 +51,9 @@ class FullyCachedLookupDataSource implements LookupDataSource
 
 	private static final String NAME = "OnePartition";
 
+	private static final Counter metrics_partition_requests = WebuiMetrics.counter("lookups.cache.requests", "method", "partition");
+	private static final Counter metrics_partition_misses = WebuiMetrics.counter("lookups.cache.misses", "method", "partition");
+
 	private final LookupDataSourceFetcher fetcher;
 
 	private final transient CCache<LookupDataSourceContext, LookupValuesList> cacheByPartition;
@@ -80,11 +86,20 @@ class FullyCachedLookupDataSource implements LookupDataSource
 				.putFilter(LookupDataSourceContext.FILTER_Any, FIRST_ROW, Integer.MAX_VALUE)
 				.build();
 
-		return cacheByPartition.getOrLoad(evalCtx, () -> fetcher.retrieveEntities(evalCtx));
+		metrics_partition_requests.increment();
+		return cacheByPartition.getOrLoad(evalCtx, () -> {
+			metrics_partition_misses.increment();
+			return fetcher.retrieveEntities(evalCtx);
+		});
 	}
 
 	@Override
 	public LookupValuesList findEntities(final Evaluatee ctx, final String filter, final int firstRow, final int pageLength)
+	{
+		return RequestTimingContext.span("lookup.findEntities", () -> findEntities0(ctx, filter, firstRow, pageLength));
+	}
+
+	private LookupValuesList findEntities0(final Evaluatee ctx, final String filter, final int firstRow, final int pageLength)
 	{
 		final LookupValuesList partition = getLookupValuesList(ctx);
 		if (partition.isEmpty())
@@ -109,6 +124,11 @@ class FullyCachedLookupDataSource implements LookupDataSource
 
 	@Override
 	public LookupValue findById(final Object idObj)
+	{
+		return RequestTimingContext.span("lookup.findById", () -> findById0(idObj));
+	}
+
+	private LookupValue findById0(final Object idObj)
 	{
 		final Object idNormalized = LookupValue.normalizeId(idObj, fetcher.isNumericKey());
 		if (idNormalized == null)
@@ -120,6 +140,19 @@ class FullyCachedLookupDataSource implements LookupDataSource
 		return partition.getById(idNormalized);
 	}
 
+	@Override
+	public boolean isValidId(final Evaluatee ctx, final Object idObj)
+	{
+		final Object idNormalized = LookupValue.normalizeId(idObj, fetcher.isNumericKey());
+		if (idNormalized == null)
+		{
+			return false;
+		}
+
+		// NOTE: the partition is cached, so checking it is cheap
+		return getLookupValuesList(ctx).containsId(idNormalized);
+	}
+
 	@Override
 	public DocumentZoomIntoInfo getDocumentZoomInto(int id)
 	{
@@ -69,6 +69,7 @@ public class GenericSqlLookupDataSourceFetcher implements LookupDataSourceFetche
 
 	private final IStringExpression sqlForFetchingExpression;
 	private final IStringExpression sqlForFetchingDisplayNameByIdExpression;
+	private final IStringExpression sqlForValidatingIdExpression;
 	private final INamePairPredicate postQueryPredicate;
 
 	private final boolean isTranslatable;
@@ -89,6 +90,7 @@ public class GenericSqlLookupDataSourceFetcher implements LookupDataSourceFetche
 		entityTypeIndex = sqlLookupDescriptor.getEntityTypeIndex();
 		sqlForFetchingExpression = sqlLookupDescriptor.getSqlForFetchingExpression();
 		sqlForFetchingDisplayNameByIdExpression = sqlLookupDescriptor.getSqlForFetchingDisplayNameByIdExpression();
+		sqlForValidatingIdExpression = sqlLookupDescriptor.getSqlForValidatingIdExpression();
 		postQueryPredicate = sqlLookupDescriptor.getPostQueryPredicate();
 		
 		isTranslatable = sqlForFetchingDisplayNameByIdExpression.requiresParameter(LookupDataSourceContext.PARAM_AD_Language.getName());
@@ -155,6 +157,25 @@ public class GenericSqlLookupDataSourceFetcher implements LookupDataSourceFetche
 				.setRequiredParameters(sqlForFetchingExpression.getParameters());
 	}
 
+	@Override
+	public LookupDataSourceContext.Builder newContextForValidatingId(final Object id)
+	{
+		return LookupDataSourceContext.builder(lookupTableName)
+				.putPostQueryPredicate(postQueryPredicate)
+				.putFilterByIdParameterName(toSqlKeyId(id))
+				.putFilterById(id)
+				.setRequiredParameters(sqlForValidatingIdExpression.getParameters());
+	}
+
+	private static String toSqlKeyId(final Object id)
+	{
+		if (id instanceof Number)
+		{
+			return String.valueOf(((Number)id).intValue());
+		}
+		return DB.TO_STRING(id.toString());
+	}
+
 	@Override
 	public final boolean isNumericKey()
 	{
@@ -194,6 +215,24 @@ public class GenericSqlLookupDataSourceFetcher implements LookupDataSourceFetche
 		}
 	}
 
+	/**
+	 * Fetches only the row of the ID to filter (if it matches the lookup's where clause and validation rule), instead of loading the whole list.
+	 */
+	@Override
+	public boolean isValidId(final LookupDataSourceContext evalCtx)
+	{
+		final String sqlForValidatingId = sqlForValidatingIdExpression.evaluate(evalCtx, OnVariableNotFound.Fail);
+		try (final SQLNamePairIterator data = new SQLNamePairIterator(sqlForValidatingId, numericKey, entityTypeIndex))
+		{
+			final boolean valid = data.fetchAll()
+					.stream()
+					.anyMatch(evalCtx::acceptItem);
+
+			logger.trace("Returning valid={} (executed sql: {})", valid, sqlForValidatingId);
+			return valid;
+		}
+	}
+
 	@Override
 	public final LookupValue retrieveLookupValueById(final LookupDataSourceContext evalCtx)
 	{
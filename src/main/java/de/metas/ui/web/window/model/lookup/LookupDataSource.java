@@ -57,6 +57,13 @@ public interface LookupDataSource extends LookupValueByIdSupplier
 	@Override
 	LookupValue findById(Object id);
 
+	/**
+	 * Checks if given ID is part of the lookup values which would be returned by {@link #findEntities(Evaluatee)}, without loading all of them.
+	 *
+	 * @return true if the ID is still a valid lookup value in given context
+	 */
+	boolean isValidId(Evaluatee ctx, Object id);
+
 	List<CCacheStats> getCacheStats();
 	
 	@Override
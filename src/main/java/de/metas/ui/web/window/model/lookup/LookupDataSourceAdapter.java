@@ -9,6 +9,7 @@ import org.compiere.util.Evaluatee;
 
 import com.google.common.base.MoreObjects;
 
+import de.metas.ui.web.debug.RequestTimingContext;
 import de.metas.ui.web.window.datatypes.LookupValue;
 import de.metas.ui.web.window.datatypes.LookupValuesList;
 import de.metas.ui.web.window.datatypes.WindowId;
@@ -81,6 +82,11 @@ final class LookupDataSourceAdapter implements LookupDataSource
 
 	@Override
 	public final LookupValuesList findEntities(final Evaluatee ctx, final String filter, final int firstRow, final int pageLength)
+	{
+		return RequestTimingContext.span("lookup.findEntities", () -> findEntities0(ctx, filter, firstRow, pageLength));
+	}
+
+	private final LookupValuesList findEntities0(final Evaluatee ctx, final String filter, final int firstRow, final int pageLength)
 	{
 		final String filterEffective;
 		if (Check.isEmpty(filter, true))
@@ -104,6 +110,11 @@ final class LookupDataSourceAdapter implements LookupDataSource
 
 	@Override
 	public LookupValue findById(final Object idObj)
+	{
+		return RequestTimingContext.span("lookup.findById", () -> findById0(idObj));
+	}
+
+	private LookupValue findById0(final Object idObj)
 	{
 		if (idObj == null)
 		{
@@ -135,6 +146,29 @@ final class LookupDataSourceAdapter implements LookupDataSource
 		return lookupValue;
 	}
 
+	@Override
+	public boolean isValidId(final Evaluatee ctx, final Object idObj)
+	{
+		return RequestTimingContext.span("lookup.isValidId", () -> isValidId0(ctx, idObj));
+	}
+
+	private boolean isValidId0(final Evaluatee ctx, final Object idObj)
+	{
+		final Object idNormalized = LookupValue.normalizeId(idObj, fetcher.isNumericKey());
+		if (idNormalized == null)
+		{
+			return false;
+		}
+
+		final LookupDataSourceContext evalCtx = fetcher.newContextForValidatingId(idNormalized)
+				.setParentEvaluatee(ctx)
+				.putFilter(LookupDataSourceContext.FILTER_Any, FIRST_ROW, Integer.MAX_VALUE)
+				.requiresFilterAndLimit() // make sure the filter, limit and offset will be kept on build
+				.build();
+
+		return fetcher.isValidId(evalCtx);
+	}
+
 	@Override
 	public List<CCacheStats> getCacheStats()
 	{
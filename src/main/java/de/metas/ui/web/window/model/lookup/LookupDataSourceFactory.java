@@ -10,6 +10,7 @@ import org.compiere.util.CCache.CCacheStats;
 import org.slf4j.Logger;
 
 import de.metas.logging.LogManager;
+import de.metas.ui.web.metrics.WebuiMetrics;
 import de.metas.ui.web.window.descriptor.LookupDescriptor;
 
 /*
@@ -40,7 +41,7 @@ public final class LookupDataSourceFactory
 
 	private static final Logger logger = LogManager.getLogger(LookupDataSourceFactory.class);
 
-	private final CCache<LookupDescriptor, LookupDataSource> lookupDataSourcesCache = new CCache<>("LookupDataSourcesCache", 300);
+	private final CCache<LookupDescriptor, LookupDataSource> lookupDataSourcesCache = WebuiMetrics.monitorCacheSize("LookupDataSourcesCache", new CCache<>("LookupDataSourcesCache", 300));
 
 	private LookupDataSourceFactory()
 	{
@@ -77,6 +78,11 @@ public final class LookupDataSourceFactory
 		return lookupDataSource;
 	}
 
+	public int getCachedLookupDataSourcesCount()
+	{
+		return lookupDataSourcesCache.size();
+	}
+
 	public List<CCacheStats> getCacheStats()
 	{
 		return lookupDataSourcesCache
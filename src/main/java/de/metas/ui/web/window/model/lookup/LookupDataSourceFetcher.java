@@ -46,6 +46,27 @@ public interface LookupDataSourceFetcher
 
 	LookupValuesList retrieveEntities(LookupDataSourceContext evalCtx);
 
+	/**
+	 * @return context builder for {@link #isValidId(LookupDataSourceContext)}; by default it's the list fetching context, having the ID to filter set
+	 */
+	default LookupDataSourceContext.Builder newContextForValidatingId(final Object id)
+	{
+		return newContextForFetchingList()
+				.putFilterById(id);
+	}
+
+	/**
+	 * Checks if the ID to filter is part of the lookup values list, considering the given context.
+	 * <p>
+	 * The default implementation is fetching the whole list, so implementors are advised to override it with a targeted check.
+	 *
+	 * @return true if the ID to filter is still a valid lookup value
+	 */
+	default boolean isValidId(final LookupDataSourceContext evalCtx)
+	{
+		return retrieveEntities(evalCtx).containsId(evalCtx.getIdToFilter());
+	}
+
 	//
 	// Caching
 	//@formatter:off
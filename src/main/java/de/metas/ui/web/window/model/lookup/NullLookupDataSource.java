@@ -81,6 +81,12 @@ public final class NullLookupDataSource implements LookupDataSource
 		}
 	}
 
+	@Override
+	public boolean isValidId(final Evaluatee ctx, final Object id)
+	{
+		return false;
+	}
+
 	@Override
 	public List<CCacheStats> getCacheStats()
 	{
@@ -0,0 +1,134 @@
+package de.metas.ui.web.window.model.sql;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.adempiere.ad.trx.api.ITrx;
+import org.adempiere.exceptions.DBException;
+import org.adempiere.service.ISysConfigBL;
+import org.adempiere.util.Services;
+import org.compiere.util.DB;
+import org.slf4j.Logger;
+
+import de.metas.logging.LogManager;
+import de.metas.ui.web.metrics.WebuiMetrics;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Allocates new record IDs, per table.
+ * <p>
+ * The IDs are reserved in blocks, using one database round trip per block, and then handed out from memory.
+ * Each block is fetched from the table's native database sequence (i.e. <code>TableName_SEQ</code>), which is atomic and not transactional,
+ * so the IDs are unique across all cluster nodes and no ID is handed out twice if the user transaction is rolled back.
+ * <p>
+ * If native sequences are not used (see {@link DB#isUseNativeSequences()}), for tables without a native sequence, for the system client
+ * and for a block size of 1 it falls back to {@link DB#getNextID(int, String, String)}.
+ * <p>
+ * NOTE: the IDs which were reserved but not used until shutdown are lost, i.e. there will be gaps in the ID sequence.
+ */
+final class DocumentIdsAllocator
+{
+	private static final Logger logger = LogManager.getLogger(DocumentIdsAllocator.class);
+
+	private static final String SYSCONFIG_BlockSize = "webui.documentIds.blockSize";
+	private static final int DEFAULT_BlockSize = 20;
+
+	private final ConcurrentHashMap<String, Deque<Integer>> reservedIdsByTableName = new ConcurrentHashMap<>();
+	/** Tables for which we failed fetching a block from a native sequence */
+	private final Set<String> tableNamesWithoutNativeSequence = ConcurrentHashMap.newKeySet();
+
+	public int getNextId(final int adClientId, final String tableName)
+	{
+		final int blockSize = getBlockSize(adClientId);
+		if (blockSize <= 1 || adClientId <= 0 || !DB.isUseNativeSequences() || tableNamesWithoutNativeSequence.contains(tableName))
+		{
+			return getNextIdFromDB(adClientId, tableName);
+		}
+
+		final Deque<Integer> reservedIds = reservedIdsByTableName.computeIfAbsent(tableName, k -> new ArrayDeque<>());
+		synchronized (reservedIds)
+		{
+			if (reservedIds.isEmpty() && !reserveBlock(tableName, blockSize, reservedIds))
+			{
+				return getNextIdFromDB(adClientId, tableName);
+			}
+
+			WebuiMetrics.counter("documentIds.allocated", "source", "block").increment();
+			return reservedIds.poll();
+		}
+	}
+
+	private static int getBlockSize(final int adClientId)
+	{
+		return Services.get(ISysConfigBL.class).getIntValue(SYSCONFIG_BlockSize, DEFAULT_BlockSize, adClientId);
+	}
+
+	private static int getNextIdFromDB(final int adClientId, final String tableName)
+	{
+		final int nextId = DB.getNextID(adClientId, tableName, ITrx.TRXNAME_ThreadInherited);
+		WebuiMetrics.counter("documentIds.roundTrips").increment();
+		WebuiMetrics.counter("documentIds.allocated", "source", "single").increment();
+		return nextId;
+	}
+
+	private boolean reserveBlock(final String tableName, final int blockSize, final Deque<Integer> reservedIds)
+	{
+		final String sequenceName = tableName + "_SEQ";
+		final String sql = "SELECT nextval(?::regclass) FROM generate_series(1, ?)";
+
+		// NOTE: run out of transaction because if it fails (e.g. sequence not found) we don't want to invalidate the user transaction
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		try
+		{
+			pstmt = DB.prepareStatement(sql, ITrx.TRXNAME_None);
+			DB.setParameters(pstmt, new Object[] { sequenceName.toLowerCase(), blockSize });
+			rs = pstmt.executeQuery();
+			while (rs.next())
+			{
+				reservedIds.add(rs.getInt(1));
+			}
+		}
+		catch (final SQLException ex)
+		{
+			logger.info("Cannot reserve IDs from native sequence {}. Falling back to one ID per database call for {}", sequenceName, tableName, new DBException(ex, sql));
+			tableNamesWithoutNativeSequence.add(tableName);
+			reservedIds.clear();
+			return false;
+		}
+		finally
+		{
+			DB.close(rs, pstmt);
+		}
+
+		WebuiMetrics.counter("documentIds.roundTrips").increment();
+		logger.trace("Reserved {} IDs for {}: {}", blockSize, tableName, reservedIds);
+		return !reservedIds.isEmpty();
+	}
+}
@@ -1,6 +1,7 @@
 package de.metas.ui.web.window.model.sql;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -271,6 +272,43 @@ public class SqlDocumentQueryBuilder
 		return sql;
 	}
 
+	/**
+	 * @return SQL to load only given fields of the record identified by {@link #getRecordId()}.
+	 *         The entity's where clause, the parent link and the filters are not applied.
+	 */
+	public String getSqlSelectFieldsById(final Collection<SqlDocumentFieldDataBindingDescriptor> fields, final List<Object> outSqlParams)
+	{
+		final DocumentId recordId = getRecordId();
+		Check.assumeNotNull(recordId, "Parameter recordId is not null");
+
+		final String sqlTableName = entityBinding.getTableName();
+		final String sqlTableAlias = entityBinding.getTableAlias();
+		final String sqlKeyColumnName = entityBinding.getKeyColumnName();
+		if (sqlKeyColumnName == null)
+		{
+			throw new AdempiereException("Failed building the SQL because there is no Key Column defined in " + entityBinding);
+		}
+
+		final Evaluatee evalCtx = getEvaluationContext();
+		final StringBuilder sqlSelectValues = new StringBuilder(sqlKeyColumnName);
+		final StringBuilder sqlSelectDisplayValues = new StringBuilder();
+		for (final SqlDocumentFieldDataBindingDescriptor field : fields)
+		{
+			if (!sqlKeyColumnName.equals(field.getColumnName()))
+			{
+				sqlSelectValues.append("\n, ").append(field.getSqlSelectValue());
+			}
+			if (field.isUsingDisplayColumn())
+			{
+				sqlSelectDisplayValues.append("\n, ").append(field.getSqlSelectDisplayValue().evaluate(evalCtx, OnVariableNotFound.Fail));
+			}
+		}
+
+		outSqlParams.add(recordId.toInt());
+		return "SELECT " + sqlTableAlias + ".*" + sqlSelectDisplayValues
+				+ "\n FROM (SELECT " + sqlSelectValues + " FROM " + sqlTableName + " WHERE " + sqlKeyColumnName + "=?) " + sqlTableAlias;
+	}
+
 	private IPair<IStringExpression, List<Object>> getSqlAndParams()
 	{
 		IPair<IStringExpression, List<Object>> sqlAndParams = _sqlAndParams;
@@ -5,8 +5,10 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
@@ -17,8 +19,10 @@ import org.adempiere.exceptions.AdempiereException;
 import org.adempiere.exceptions.DBException;
 import org.adempiere.exceptions.DBMoreThenOneRecordsFoundException;
 import org.adempiere.model.InterfaceWrapperHelper;
+import org.adempiere.service.ISysConfigBL;
 import org.adempiere.util.Check;
 import org.adempiere.util.Services;
+import org.adempiere.util.lang.IAutoCloseable;
 import org.compiere.model.PO;
 import org.compiere.model.POInfo;
 import org.compiere.util.DB;
@@ -26,9 +30,12 @@ import org.compiere.util.DisplayType;
 import org.compiere.util.TimeUtil;
 import org.slf4j.Logger;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableSet;
 
 import de.metas.logging.LogManager;
+import de.metas.ui.web.debug.RequestTimingContext;
 import de.metas.ui.web.exceptions.EntityNotFoundException;
 import de.metas.ui.web.session.UserSession;
 import de.metas.ui.web.window.WindowConstants;
@@ -94,9 +101,14 @@ public final class SqlDocumentsRepository implements DocumentsRepository
 
 	private static final String VERSION_DEFAULT = "0";
 
+	/** If true, the whole document is reloaded after save, using the same SQL as when loading it */
+	private static final String SYSCONFIG_FullReloadAfterSave = "webui.documents.save.fullReload";
+
 	private int loadLimitWarn = 100;
 	private int loadLimitMax = 300;
 
+	private final DocumentIdsAllocator documentIdsAllocator = new DocumentIdsAllocator();
+
 	private SqlDocumentsRepository()
 	{
 		super();
@@ -128,13 +140,13 @@ public final class SqlDocumentsRepository implements DocumentsRepository
 		logger.warn("Changed LoadLimitWarn: {} -> {}", loadLimitMaxOld, this.loadLimitMax);
 	}
 
-	private static DocumentId retrieveNextDocumentId(final DocumentEntityDescriptor entityDescriptor)
+	private DocumentId retrieveNextDocumentId(final DocumentEntityDescriptor entityDescriptor)
 	{
 		final SqlDocumentEntityDataBindingDescriptor dataBinding = SqlDocumentEntityDataBindingDescriptor.cast(entityDescriptor.getDataBinding());
 
 		final int adClientId = UserSession.getCurrent().getAD_Client_ID();
 		final String tableName = dataBinding.getTableName();
-		final int nextId = DB.getNextID(adClientId, tableName, ITrx.TRXNAME_ThreadInherited);
+		final int nextId = documentIdsAllocator.getNextId(adClientId, tableName);
 		if (nextId <= 0)
 		{
 			throw new DBException("Cannot retrieve next ID from database for " + entityDescriptor);
@@ -152,6 +164,11 @@ public final class SqlDocumentsRepository implements DocumentsRepository
 	}
 
 	public OrderedDocumentsList retriveDocuments(final DocumentQuery query, final int limit, final IDocumentChangesCollector changesCollector)
+	{
+		return RequestTimingContext.span("document.load", () -> retriveDocuments0(query, limit, changesCollector));
+	}
+
+	private OrderedDocumentsList retriveDocuments0(final DocumentQuery query, final int limit, final IDocumentChangesCollector changesCollector)
 	{
 		logger.debug("Retrieving records: query={}, limit={}", query, limit);
 
@@ -396,7 +413,7 @@ public final class SqlDocumentsRepository implements DocumentsRepository
 			else
 			{
 				final java.util.Date versionDate = (java.util.Date)getValue(versionField);
-				version = versionDate == null ? VERSION_DEFAULT : String.valueOf(versionDate.getTime());
+				version = toVersion(versionDate);
 				return version;
 			}
 		}
@@ -523,7 +540,14 @@ public final class SqlDocumentsRepository implements DocumentsRepository
 			//
 			// Reload the document
 			final DocumentId idNew = DocumentId.of(InterfaceWrapperHelper.getId(po));
-			refresh(document, idNew);
+			if (Services.get(ISysConfigBL.class).getBooleanValue(SYSCONFIG_FullReloadAfterSave, false))
+			{
+				refresh(document, idNew);
+			}
+			else
+			{
+				refreshFromSavedPO(document, idNew, po);
+			}
 		}
 		else
 		{
@@ -537,6 +561,212 @@ public final class SqlDocumentsRepository implements DocumentsRepository
 		}
 	}
 
+	/**
+	 * Updates the document from the saved PO, which was already reloaded after save.
+	 * <p>
+	 * Only the virtual columns, the fields which are not PO columns and the lookup fields which were changed on save (e.g. by database or by model interceptors) are re-queried,
+	 * because we don't have their values or display values.
+	 */
+	@VisibleForTesting
+	void refreshFromSavedPO(final Document document, final DocumentId documentId, final PO po)
+	{
+		logger.debug("Refreshing from saved PO: {}, using ID={}", document, documentId);
+
+		final POInfo poInfo = po.getPOInfo();
+		final Map<String, Object> valuesByFieldName = new HashMap<>();
+		final List<SqlDocumentFieldDataBindingDescriptor> fieldsToRequery = new ArrayList<>();
+		for (final IDocumentFieldView documentField : document.getFieldViews())
+		{
+			final DocumentFieldDescriptor fieldDescriptor = documentField.getDescriptor();
+			final SqlDocumentFieldDataBindingDescriptor fieldBinding = SqlDocumentFieldDataBindingDescriptor.castOrNull(fieldDescriptor.getDataBinding());
+			if (fieldBinding == null)
+			{
+				continue;
+			}
+
+			final String columnName = fieldBinding.getColumnName();
+			final int poColumnIndex = poInfo.getColumnIndex(columnName);
+			final boolean poColumnExists = poColumnIndex >= 0;
+			final boolean virtualColumn = fieldBinding.isVirtualColumn() || poColumnExists && poInfo.isVirtualColumn(poColumnIndex);
+			final Object poValue = poColumnExists && !virtualColumn ? po.get_Value(poColumnIndex) : null;
+			final boolean changedOnSave = poColumnExists && !virtualColumn
+					&& !poFieldValueEqual(convertValueToPO(documentField.getValue(), columnName, documentField.getWidgetType(), poInfo.getColumnClass(poColumnIndex)), poValue);
+			final boolean needsDisplayValue = fieldBinding.isUsingDisplayColumn() || LookupValue.class.isAssignableFrom(fieldDescriptor.getValueClass());
+
+			final SavedFieldRefreshType refreshType = getSavedFieldRefreshType(virtualColumn, poColumnExists, changedOnSave, needsDisplayValue);
+			if (refreshType == SavedFieldRefreshType.KeepDocumentValue)
+			{
+				valuesByFieldName.put(fieldDescriptor.getFieldName(), documentField.getValue());
+			}
+			else if (refreshType == SavedFieldRefreshType.TakePOValue)
+			{
+				valuesByFieldName.put(fieldDescriptor.getFieldName(), poValue);
+			}
+			else
+			{
+				fieldsToRequery.add(fieldBinding);
+			}
+		}
+
+		//
+		// NOTE: use the same version as when the document is loaded (see ResultSetDocumentValuesSupplier.getVersion() and retrieveVersion()),
+		// i.e. the entities without a version field are always having the default version, even if their table has the version column.
+		final boolean hasVersionField = document.getEntityDescriptor().getFieldOrNull(SqlDocumentEntityDataBindingDescriptor.FIELDNAME_Version) != null;
+		final int poVersionIndex = poInfo.getColumnIndex(SqlDocumentEntityDataBindingDescriptor.FIELDNAME_Version);
+		final java.util.Date poVersionDate = poVersionIndex >= 0 ? (java.util.Date)po.get_Value(poVersionIndex) : null;
+		final String version = getSavedVersion(hasVersionField, poVersionDate);
+
+		if (fieldsToRequery.isEmpty())
+		{
+			document.refreshFromSupplier(new SavedPODocumentValuesSupplier(documentId, version, valuesByFieldName, ImmutableSet.of(), null));
+			return;
+		}
+
+		final DocumentEntityDescriptor entityDescriptor = document.getEntityDescriptor();
+		final DocumentQuery query = DocumentQuery.ofRecordId(entityDescriptor, documentId)
+				.setChangesCollector(document.getChangesCollector())
+				.build();
+		final SqlDocumentQueryBuilder sqlBuilder = SqlDocumentQueryBuilder.of(query);
+		final List<Object> sqlParams = new ArrayList<>();
+		final String sql = sqlBuilder.getSqlSelectFieldsById(fieldsToRequery, sqlParams);
+		final String adLanguage = sqlBuilder.getAD_Language();
+		logger.debug("Retrieving changed fields: SQL={} -- {}", sql, sqlParams);
+
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		try (final IAutoCloseable span = RequestTimingContext.span("document.refreshChangedFields"))
+		{
+			pstmt = DB.prepareStatement(sql, ITrx.TRXNAME_ThreadInherited);
+			DB.setParameters(pstmt, sqlParams);
+			rs = pstmt.executeQuery();
+			if (!rs.next())
+			{
+				// Document is no longer in our repository
+				final DocumentPath documentPathEffective = document.getDocumentPath().withDocumentId(documentId);
+				throw new DocumentNotFoundException(documentPathEffective);
+			}
+
+			final Set<String> requeriedFieldNames = fieldsToRequery.stream()
+					.map(SqlDocumentFieldDataBindingDescriptor::getFieldName)
+					.collect(ImmutableSet.toImmutableSet());
+			final ResultSetDocumentValuesSupplier requeriedValuesSupplier = new ResultSetDocumentValuesSupplier(entityDescriptor, adLanguage, rs);
+			document.refreshFromSupplier(new SavedPODocumentValuesSupplier(documentId, version, valuesByFieldName, requeriedFieldNames, requeriedValuesSupplier));
+		}
+		catch (final SQLException e)
+		{
+			throw new DBException(e, sql, sqlParams);
+		}
+		finally
+		{
+			DB.close(rs, pstmt);
+		}
+	}
+
+	@VisibleForTesting
+	static enum SavedFieldRefreshType
+	{
+		/** the field value was not changed on save, so we keep it (and also it's display value) */
+		KeepDocumentValue,
+		/** the field value was changed on save and we can take it from PO */
+		TakePOValue,
+		/** the field value shall be re-queried from database */
+		Requery,
+	}
+
+	/**
+	 * @param virtualColumn true if the field is a virtual column (i.e. it's computed by database)
+	 * @param poColumnExists true if the field is a PO column
+	 * @param changedOnSave true if the PO value is different from the document value after save (e.g. changed by a model interceptor or by database)
+	 * @param needsDisplayValue true if the field value is a lookup value, which we cannot build from PO value
+	 */
+	@VisibleForTesting
+	static SavedFieldRefreshType getSavedFieldRefreshType(final boolean virtualColumn, final boolean poColumnExists, final boolean changedOnSave, final boolean needsDisplayValue)
+	{
+		if (virtualColumn || !poColumnExists)
+		{
+			return SavedFieldRefreshType.Requery;
+		}
+		else if (!changedOnSave)
+		{
+			return SavedFieldRefreshType.KeepDocumentValue;
+		}
+		else if (needsDisplayValue)
+		{
+			return SavedFieldRefreshType.Requery;
+		}
+		else
+		{
+			return SavedFieldRefreshType.TakePOValue;
+		}
+	}
+
+	@VisibleForTesting
+	static String getSavedVersion(final boolean hasVersionField, final java.util.Date poVersionDate)
+	{
+		return hasVersionField ? toVersion(poVersionDate) : VERSION_DEFAULT;
+	}
+
+	private static String toVersion(final java.util.Date versionDate)
+	{
+		return versionDate == null ? VERSION_DEFAULT : String.valueOf(versionDate.getTime());
+	}
+
+	/**
+	 * Provides the values of a saved document: the known values and the re-queried ones.
+	 */
+	private static final class SavedPODocumentValuesSupplier implements DocumentValuesSupplier
+	{
+		private final DocumentId documentId;
+		private final String version;
+		private final Map<String, Object> valuesByFieldName;
+		private final Set<String> requeriedFieldNames;
+		private final DocumentValuesSupplier requeriedValuesSupplier;
+
+		private SavedPODocumentValuesSupplier(
+				final DocumentId documentId,
+				final String version,
+				final Map<String, Object> valuesByFieldName,
+				final Set<String> requeriedFieldNames,
+				final DocumentValuesSupplier requeriedValuesSupplier)
+		{
+			this.documentId = documentId;
+			this.version = version;
+			this.valuesByFieldName = valuesByFieldName;
+			this.requeriedFieldNames = requeriedFieldNames;
+			this.requeriedValuesSupplier = requeriedValuesSupplier;
+		}
+
+		@Override
+		public DocumentId getDocumentId()
+		{
+			return documentId;
+		}
+
+		@Override
+		public String getVersion()
+		{
+			return version;
+		}
+
+		@Override
+		public Object getValue(final DocumentFieldDescriptor fieldDescriptor)
+		{
+			final String fieldName = fieldDescriptor.getFieldName();
+			if (valuesByFieldName.containsKey(fieldName))
+			{
+				return valuesByFieldName.get(fieldName);
+			}
+			else if (requeriedFieldNames.contains(fieldName))
+			{
+				return requeriedValuesSupplier.getValue(fieldDescriptor);
+			}
+			else
+			{
+				return NO_VALUE;
+			}
+		}
+	}
+
 	private PO retrieveOrCreatePO(final Document document)
 	{
 		final SqlDocumentEntityDataBindingDescriptor dataBinding = SqlDocumentEntityDataBindingDescriptor.cast(document.getEntityDescriptor().getDataBinding());
@@ -849,7 +1079,7 @@ public final class SqlDocumentsRepository implements DocumentsRepository
 				.orElseThrow(() -> new AdempiereException("Versioning is not supported for " + entityDescriptor));
 
 		final Timestamp version = DB.getSQLValueTSEx(ITrx.TRXNAME_ThreadInherited, sql, documentIdAsInt);
-		return version == null ? VERSION_DEFAULT : String.valueOf(version.getTime());
+		return toVersion(version);
 	}
 
 	@Override
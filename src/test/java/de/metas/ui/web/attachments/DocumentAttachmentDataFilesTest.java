@@ -0,0 +1,221 @@
+package de.metas.ui.web.attachments;
+
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.adempiere.util.lang.ITableRecordReference;
+import org.adempiere.util.lang.impl.TableRecordReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileCopyUtils;
+
+import de.metas.ui.web.window.datatypes.DocumentId;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class DocumentAttachmentDataFilesTest
+{
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File spoolDir;
+	private DocumentAttachmentDataFiles dataFiles;
+
+	@Before
+	public void init() throws Exception
+	{
+		spoolDir = temporaryFolder.newFolder("spool");
+		dataFiles = createDataFiles(spoolDir);
+	}
+
+	@After
+	public void destroy()
+	{
+		dataFiles.destroy();
+	}
+
+	private static DocumentAttachmentDataFiles createDataFiles(final File spoolDir) throws Exception
+	{
+		final DocumentAttachmentDataFiles dataFiles = new DocumentAttachmentDataFiles();
+		ReflectionTestUtils.setField(dataFiles, "spoolDirPath", spoolDir.getAbsolutePath());
+		ReflectionTestUtils.setField(dataFiles, "maxFiles", 10);
+		ReflectionTestUtils.setField(dataFiles, "expireMinutes", 10);
+		dataFiles.afterPropertiesSet();
+		return dataFiles;
+	}
+
+	private String readData(final ITableRecordReference recordRef, final IDocumentAttachmentEntry entry) throws IOException
+	{
+		final Resource resource = dataFiles.getDataResource(recordRef, entry);
+		return new String(FileCopyUtils.copyToByteArray(resource.getInputStream()), StandardCharsets.UTF_8);
+	}
+
+	private File[] listSpoolDir()
+	{
+		return spoolDir.listFiles();
+	}
+
+	@Test
+	public void sameEntryId_onDifferentRecords() throws IOException
+	{
+		final TestEntry entry1 = new TestEntry(1, 1, "data of record 1");
+		final TestEntry entry2 = new TestEntry(1, 1, "data of record 2");
+
+		assertThat(readData(TableRecordReference.of("C_Order", 1), entry1), is("data of record 1"));
+		assertThat(readData(TableRecordReference.of("C_Order", 2), entry2), is("data of record 2"));
+		assertThat(readData(TableRecordReference.of("C_Order", 1), entry1), is("data of record 1"));
+
+		assertThat(listSpoolDir(), arrayWithSize(2));
+		assertThat(entry1.getDataCount, is(1));
+		assertThat(entry2.getDataCount, is(1));
+	}
+
+	@Test
+	public void sameVersion_isNotSpooledAgain() throws IOException
+	{
+		final TestEntry entry = new TestEntry(1, 1, "data");
+		final ITableRecordReference recordRef = TableRecordReference.of("C_Order", 1);
+
+		assertThat(readData(recordRef, entry), is("data"));
+		assertThat(readData(recordRef, entry), is("data"));
+
+		assertThat(entry.getDataCount, is(1));
+		assertThat(listSpoolDir(), arrayWithSize(1));
+	}
+
+	@Test
+	public void changedVersion_isSpooledAgain() throws IOException
+	{
+		final ITableRecordReference recordRef = TableRecordReference.of("C_Order", 1);
+		assertThat(readData(recordRef, new TestEntry(1, 1, "old data")), is("old data"));
+
+		final TestEntry changedEntry = new TestEntry(1, 2, "new data");
+		assertThat(readData(recordRef, changedEntry), is("new data"));
+		assertThat(readData(recordRef, changedEntry), is("new data"));
+
+		assertThat(changedEntry.getDataCount, is(1));
+		assertThat("old version's file shall be deleted", listSpoolDir(), arrayWithSize(1));
+	}
+
+	@Test
+	public void fileDeletedBeforeOpened_isSpooledAgain() throws IOException
+	{
+		final TestEntry entry = new TestEntry(1, 1, "data");
+		final Resource resource = dataFiles.getDataResource(TableRecordReference.of("C_Order", 1), entry);
+		for (final File file : listSpoolDir())
+		{
+			assertThat(file.delete(), is(true));
+		}
+
+		assertThat(resource.contentLength(), is(4L));
+		assertThat(new String(FileCopyUtils.copyToByteArray(resource.getInputStream()), StandardCharsets.UTF_8), is("data"));
+		assertThat(entry.getDataCount, is(2));
+	}
+
+	@Test
+	public void forget() throws IOException
+	{
+		final ITableRecordReference recordRef = TableRecordReference.of("C_Order", 1);
+		readData(recordRef, new TestEntry(1, 1, "data 1"));
+		readData(recordRef, new TestEntry(2, 1, "data 2"));
+
+		dataFiles.forget(recordRef, DocumentId.of(1));
+
+		assertThat(listSpoolDir(), arrayWithSize(1));
+	}
+
+	@Test
+	public void startup_deletesOnlyTheStaleSpooledFiles() throws Exception
+	{
+		final File otherSpoolDir = temporaryFolder.newFolder("otherSpool");
+		final File staleSpooledFile = new File(otherSpoolDir, "attachment_1_1234.data");
+		final File otherDataFile = new File(otherSpoolDir, "other.data");
+		final File otherFile = new File(otherSpoolDir, "attachment_1_1234.txt");
+		for (final File file : new File[] { staleSpooledFile, otherDataFile, otherFile })
+		{
+			assertThat(file.createNewFile(), is(true));
+		}
+
+		createDataFiles(otherSpoolDir).destroy();
+
+		assertThat(staleSpooledFile.exists(), is(false));
+		assertThat(otherDataFile.exists(), is(true));
+		assertThat(otherFile.exists(), is(true));
+	}
+
+	private static final class TestEntry implements IDocumentAttachmentEntry
+	{
+		private final DocumentId id;
+		private final long version;
+		private final byte[] data;
+		private int getDataCount = 0;
+
+		private TestEntry(final int id, final long version, final String data)
+		{
+			this.id = DocumentId.of(id);
+			this.version = version;
+			this.data = data.getBytes(StandardCharsets.UTF_8);
+		}
+
+		@Override
+		public DocumentId getId()
+		{
+			return id;
+		}
+
+		@Override
+		public String getFilename()
+		{
+			return "file.txt";
+		}
+
+		@Override
+		public byte[] getData()
+		{
+			getDataCount++;
+			return data;
+		}
+
+		@Override
+		public String getContentType()
+		{
+			return "text/plain";
+		}
+
+		@Override
+		public long getVersion()
+		{
+			return version;
+		}
+	}
+}
@@ -0,0 +1,556 @@
+package de.metas.ui.web.board;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import de.metas.ui.web.board.LaneCardsOrdering.LaneCardsSeqNoStore;
+import de.metas.ui.web.board.LaneCardsOrdering.LaneLockConflictException;
+import de.metas.ui.web.board.LaneCardsOrdering.LaneLockMode;
+import de.metas.ui.web.board.LaneCardsOrdering.Neighbours;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class LaneCardsOrderingTest
+{
+	private static final int LANE_ID = 1;
+
+	@Test
+	public void computeSeqNoBetween()
+	{
+		assertThat(LaneCardsOrdering.computeSeqNoBetween(null, null), is(OptionalInt.of(LaneCardsOrdering.SEQNO_STEP)));
+		assertThat(LaneCardsOrdering.computeSeqNoBetween(1024, null), is(OptionalInt.of(2048)));
+		assertThat(LaneCardsOrdering.computeSeqNoBetween(null, 1024), is(OptionalInt.of(512)));
+		assertThat(LaneCardsOrdering.computeSeqNoBetween(1024, 2048), is(OptionalInt.of(1536)));
+		assertThat(LaneCardsOrdering.computeSeqNoBetween(1024, 1026), is(OptionalInt.of(1025)));
+	}
+
+	@Test
+	public void computeSeqNoBetween_noGap()
+	{
+		assertThat(LaneCardsOrdering.computeSeqNoBetween(1024, 1025), is(OptionalInt.empty()));
+		assertThat(LaneCardsOrdering.computeSeqNoBetween(7, 7), is(OptionalInt.empty()));
+		assertThat(LaneCardsOrdering.computeSeqNoBetween(null, 1), is(OptionalInt.empty()));
+		assertThat(LaneCardsOrdering.computeSeqNoBetween(null, 0), is(OptionalInt.empty()));
+		assertThat(LaneCardsOrdering.computeSeqNoBetween(Integer.MAX_VALUE - 10, null), is(OptionalInt.empty()));
+	}
+
+	@Test
+	public void moveCard_updatesOnlyTheMovedCard()
+	{
+		final InMemoryLaneStore store = InMemoryLaneStore.withCards(1, 2, 3, 4, 5);
+
+		final boolean renumbered = store.moveCardInTrx(5, 1);
+
+		assertThat(renumbered, is(false));
+		assertThat(store.getCardIdsOrdered(), contains(1, 5, 2, 3, 4));
+		assertThat(store.rowsWritten.get(), is(1));
+	}
+
+	@Test
+	public void moveCard_toTheEndAndToTheBeginning()
+	{
+		final InMemoryLaneStore store = InMemoryLaneStore.withCards(1, 2, 3);
+
+		store.moveCardInTrx(1, -1);
+		assertThat(store.getCardIdsOrdered(), contains(2, 3, 1));
+
+		store.moveCardInTrx(1, Integer.MAX_VALUE);
+		assertThat(store.getCardIdsOrdered(), contains(2, 3, 1));
+
+		store.moveCardInTrx(1, 0);
+		assertThat(store.getCardIdsOrdered(), contains(1, 2, 3));
+
+		assertThat(store.rowsWritten.get(), is(3));
+	}
+
+	@Test
+	public void moveCard_renumbersTheLaneWhenGapsRunOut()
+	{
+		final InMemoryLaneStore store = InMemoryLaneStore.withCards(1, 2, 3);
+
+		// Bisect the gap between card 1 and 2 until there is no gap left
+		int renumberedCount = 0;
+		for (int i = 0; i < 20; i++)
+		{
+			final int cardId = i % 2 == 0 ? 3 : 2;
+			if (store.moveCardInTrx(cardId, 1))
+			{
+				renumberedCount++;
+			}
+		}
+
+		assertThat(renumberedCount > 0, is(true));
+		assertThat(store.renumberCount.get(), is(renumberedCount));
+		assertThat(store.getCardIdsOrdered(), contains(1, 2, 3));
+	}
+
+	@Test
+	public void moveCard_legacyDenseSeqNos()
+	{
+		final InMemoryLaneStore store = new InMemoryLaneStore();
+		store.seqNos.put(1, 0);
+		store.seqNos.put(2, 1);
+		store.seqNos.put(3, 2);
+
+		final boolean renumbered = store.moveCardInTrx(3, 1);
+
+		assertThat(renumbered, is(true));
+		assertThat(store.getCardIdsOrdered(), contains(1, 3, 2));
+	}
+
+	/**
+	 * Moves which are not renumbering the lane are holding the lane lock at the same time.
+	 */
+	@Test
+	public void concurrentMovesInSameLane_withoutRenumbering_areWritingAtTheSameTime() throws Exception
+	{
+		final InMemoryLaneStore store = InMemoryLaneStore.withCards(1, 2, 3, 4, 5, 6);
+
+		// each mover waits until the other one is writing too, which is possible only if they are not serialized
+		final CyclicBarrier bothWriting = new CyclicBarrier(2);
+		store.beforeSetSeqNo = () -> {
+			try
+			{
+				bothWriting.await(10, TimeUnit.SECONDS);
+			}
+			catch (final Exception ex)
+			{
+				throw new IllegalStateException("Writers are not overlapping", ex);
+			}
+		};
+
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try
+		{
+			final Future<Boolean> move1 = executor.submit(() -> store.moveCardInTrx(5, 1));
+			final Future<Boolean> move2 = executor.submit(() -> store.moveCardInTrx(6, 0));
+
+			assertThat(move1.get(30, TimeUnit.SECONDS), is(false));
+			assertThat(move2.get(30, TimeUnit.SECONDS), is(false));
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+
+		assertThat(store.getCardIdsOrdered(), contains(6, 1, 5, 2, 3, 4));
+		assertThat(store.conflictsCount.get(), is(0));
+	}
+
+	/**
+	 * A move which has to renumber the lane while another move is holding the lane lock is not waiting for it (that could deadlock),
+	 * but fails, so it can be retried with the lane locked exclusively.
+	 */
+	@Test
+	public void moveCard_renumberingWhileOtherMoveHoldsTheLane() throws Exception
+	{
+		final InMemoryLaneStore store = new InMemoryLaneStore();
+		store.seqNos.put(1, 1);
+		store.seqNos.put(2, 2);
+		store.seqNos.put(3, 3);
+
+		final CountDownLatch otherMoveLocked = new CountDownLatch(1);
+		final CountDownLatch otherMoveCommit = new CountDownLatch(1);
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try
+		{
+			final Future<?> otherMove = executor.submit(() -> {
+				store.lockLane(LANE_ID, LaneLockMode.SHARED);
+				otherMoveLocked.countDown();
+				otherMoveCommit.await(10, TimeUnit.SECONDS);
+				store.commit();
+				return null;
+			});
+			otherMoveLocked.await(10, TimeUnit.SECONDS);
+
+			try
+			{
+				LaneCardsOrdering.moveCard(store, LANE_ID, 3, 1, LaneLockMode.SHARED);
+				fail("LaneLockConflictException expected");
+			}
+			catch (final LaneLockConflictException expected)
+			{
+			}
+			finally
+			{
+				store.commit();
+			}
+			assertThat(store.rowsWritten.get(), is(0));
+
+			otherMoveCommit.countDown();
+			otherMove.get(30, TimeUnit.SECONDS);
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+
+		assertThat(store.moveCardInTrx(3, 1), is(true));
+		assertThat(store.getCardIdsOrdered(), contains(1, 3, 2));
+	}
+
+	/**
+	 * Simultaneous moves in the same lane, most of them having to renumber the lane, are not deadlocking each other
+	 * and the cards are ending up in the expected order.
+	 */
+	@Test
+	public void concurrentMovesInSameLane_withRenumbering() throws Exception
+	{
+		final int threads = 8;
+		final int cardsPerRegion = 50;
+		final int movesPerThread = 50;
+
+		// NOTE: use no gaps, so the lane is renumbered very often
+		final InMemoryLaneStore store = new InMemoryLaneStore();
+		final List<List<Integer>> regions = new ArrayList<>();
+		for (int region = 0; region < threads; region++)
+		{
+			final List<Integer> regionCardIds = new ArrayList<>();
+			for (int i = 1; i <= cardsPerRegion; i++)
+			{
+				final int cardId = region * cardsPerRegion + i;
+				regionCardIds.add(cardId);
+				store.seqNos.put(cardId, cardId);
+			}
+			regions.add(regionCardIds);
+		}
+
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try
+		{
+			final List<Future<?>> futures = new ArrayList<>();
+			for (int region = 0; region < threads; region++)
+			{
+				final int regionFirstPosition = region * cardsPerRegion;
+				final List<Integer> regionCardIds = regions.get(region);
+				final Random random = new Random(region);
+				futures.add(executor.submit(() -> {
+					for (int move = 0; move < movesPerThread; move++)
+					{
+						final int cardId = regionCardIds.get(random.nextInt(cardsPerRegion));
+
+						// NOTE: don't move the card to the region's margins, because the gap between two regions is shared with the neighbour region's mover
+						final int localPosition = 1 + random.nextInt(cardsPerRegion - 2);
+						store.moveCardInTrx(cardId, regionFirstPosition + localPosition);
+
+						regionCardIds.remove((Object)cardId);
+						regionCardIds.add(localPosition, cardId);
+					}
+					return null;
+				}));
+			}
+
+			for (final Future<?> future : futures)
+			{
+				future.get(30, TimeUnit.SECONDS);
+			}
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+
+		assertThat(store.renumberCount.get(), greaterThan(0));
+		assertThat(store.getCardIdsOrdered(), is(regions.stream().flatMap(List::stream).collect(Collectors.toList())));
+	}
+
+	/**
+	 * In memory lane, which is locking like the database would do.
+	 * All locks are held until the end of the transaction (see {@link #moveCardInTrx(int, int)}):
+	 * <ul>
+	 * <li>the lane lock (i.e. the advisory lock), shared or exclusive
+	 * <li>the row locks of the cards whose SeqNo was updated; a renumbering is locking all cards of the lane, in SeqNo order
+	 * </ul>
+	 * A lock which cannot be acquired in time is considered a deadlock.
+	 */
+	private static final class InMemoryLaneStore implements LaneCardsSeqNoStore
+	{
+		public static InMemoryLaneStore withCards(final Integer... cardIds)
+		{
+			final InMemoryLaneStore store = new InMemoryLaneStore();
+			for (final Integer cardId : cardIds)
+			{
+				store.seqNos.put(cardId, (store.seqNos.size() + 1) * LaneCardsOrdering.SEQNO_STEP);
+			}
+			return store;
+		}
+
+		private final Map<Integer, Integer> seqNos = new ConcurrentHashMap<>();
+		private final LaneLock laneLock = new LaneLock();
+		private final Map<Integer, ReentrantLock> rowLocks = new ConcurrentHashMap<>();
+
+		/** row locks held by current thread's transaction */
+		private final ThreadLocal<List<ReentrantLock>> trxRowLocks = ThreadLocal.withInitial(ArrayList::new);
+
+		private final AtomicInteger rowsWritten = new AtomicInteger();
+		private final AtomicInteger renumberCount = new AtomicInteger();
+		private final AtomicInteger conflictsCount = new AtomicInteger();
+		private volatile Runnable beforeSetSeqNo = () -> {};
+
+		/**
+		 * Moves the card in a transaction, retrying it with the lane locked exclusively in case of conflict, the same way the repository does.
+		 */
+		public boolean moveCardInTrx(final int cardId, final int position)
+		{
+			try
+			{
+				return moveCardInTrx(cardId, position, LaneLockMode.SHARED);
+			}
+			catch (final LaneLockConflictException ex)
+			{
+				conflictsCount.incrementAndGet();
+				return moveCardInTrx(cardId, position, LaneLockMode.EXCLUSIVE);
+			}
+		}
+
+		private boolean moveCardInTrx(final int cardId, final int position, final LaneLockMode lockMode)
+		{
+			try
+			{
+				return LaneCardsOrdering.moveCard(this, LANE_ID, cardId, position, lockMode);
+			}
+			finally
+			{
+				commit();
+			}
+		}
+
+		/** Releases all locks of current thread's transaction */
+		public void commit()
+		{
+			final List<ReentrantLock> locks = trxRowLocks.get();
+			locks.forEach(ReentrantLock::unlock);
+			locks.clear();
+
+			laneLock.unlock();
+		}
+
+		private void lockRow(final int cardId)
+		{
+			final ReentrantLock lock = rowLocks.computeIfAbsent(cardId, k -> new ReentrantLock());
+			try
+			{
+				if (!lock.tryLock(10, TimeUnit.SECONDS))
+				{
+					throw new IllegalStateException("Deadlock");
+				}
+			}
+			catch (final InterruptedException ex)
+			{
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(ex);
+			}
+			trxRowLocks.get().add(lock);
+		}
+
+		private List<Map.Entry<Integer, Integer>> getEntriesOrdered()
+		{
+			return seqNos.entrySet()
+					.stream()
+					.sorted(Comparator.<Map.Entry<Integer, Integer>> comparingInt(Map.Entry::getValue).thenComparing(Map.Entry::getKey))
+					.collect(Collectors.toList());
+		}
+
+		public List<Integer> getCardIdsOrdered()
+		{
+			return getEntriesOrdered().stream().map(Map.Entry::getKey).collect(Collectors.toList());
+		}
+
+		@Override
+		public void lockLane(final int laneId, final LaneLockMode lockMode)
+		{
+			laneLock.lock(lockMode == LaneLockMode.EXCLUSIVE);
+		}
+
+		@Override
+		public boolean tryLockLaneExclusive(final int laneId)
+		{
+			return laneLock.tryLockExclusive();
+		}
+
+		@Override
+		public Neighbours getNeighbours(final int laneId, final int cardId, final int position)
+		{
+			laneLock.assertLocked(false);
+
+			final List<Integer> otherSeqNos = getEntriesOrdered()
+					.stream()
+					.filter(entry -> entry.getKey() != cardId)
+					.map(Map.Entry::getValue)
+					.collect(Collectors.toList());
+
+			if (position < 0 || position >= otherSeqNos.size())
+			{
+				return Neighbours.of(otherSeqNos.isEmpty() ? null : otherSeqNos.get(otherSeqNos.size() - 1), null);
+			}
+			return Neighbours.of(position > 0 ? otherSeqNos.get(position - 1) : null, otherSeqNos.get(position));
+		}
+
+		@Override
+		public void setSeqNo(final int laneId, final int cardId, final int seqNo)
+		{
+			laneLock.assertLocked(false);
+			beforeSetSeqNo.run();
+			lockRow(cardId);
+
+			seqNos.put(cardId, seqNo);
+			rowsWritten.incrementAndGet();
+		}
+
+		@Override
+		public void renumberLane(final int laneId, final int step)
+		{
+			laneLock.assertLocked(true);
+
+			final List<Integer> cardIds = getCardIdsOrdered();
+			cardIds.forEach(this::lockRow);
+
+			for (int i = 0; i < cardIds.size(); i++)
+			{
+				seqNos.put(cardIds.get(i), (i + 1) * step);
+			}
+			rowsWritten.addAndGet(cardIds.size());
+			renumberCount.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Shared/exclusive lock which is behaving like a transaction level advisory lock:
+	 * the locks of the same transaction (thread) are not conflicting and the shared lock requests are queued behind the waiting exclusive ones.
+	 */
+	private static final class LaneLock
+	{
+		private final Set<Thread> sharedHolders = new HashSet<>();
+		private Thread exclusiveHolder = null;
+		private int exclusiveWaiters = 0;
+
+		public synchronized void lock(final boolean exclusive)
+		{
+			final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+			if (exclusive)
+			{
+				exclusiveWaiters++;
+			}
+			try
+			{
+				while (!(exclusive ? tryLockExclusive() : tryLockShared()))
+				{
+					final long waitMillis = deadline - System.currentTimeMillis();
+					if (waitMillis <= 0)
+					{
+						throw new IllegalStateException("Deadlock");
+					}
+					wait(waitMillis);
+				}
+			}
+			catch (final InterruptedException ex)
+			{
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(ex);
+			}
+			finally
+			{
+				if (exclusive)
+				{
+					exclusiveWaiters--;
+				}
+			}
+		}
+
+		private boolean tryLockShared()
+		{
+			final Thread thread = Thread.currentThread();
+			if (exclusiveHolder == thread || sharedHolders.contains(thread))
+			{
+				sharedHolders.add(thread);
+				return true;
+			}
+			if (exclusiveHolder != null || exclusiveWaiters > 0)
+			{
+				return false;
+			}
+			sharedHolders.add(thread);
+			return true;
+		}
+
+		public synchronized boolean tryLockExclusive()
+		{
+			final Thread thread = Thread.currentThread();
+			if (exclusiveHolder != null && exclusiveHolder != thread)
+			{
+				return false;
+			}
+			if (sharedHolders.stream().anyMatch(holder -> holder != thread))
+			{
+				return false;
+			}
+			exclusiveHolder = thread;
+			return true;
+		}
+
+		public synchronized void unlock()
+		{
+			final Thread thread = Thread.currentThread();
+			sharedHolders.remove(thread);
+			if (exclusiveHolder == thread)
+			{
+				exclusiveHolder = null;
+			}
+			notifyAll();
+		}
+
+		public synchronized void assertLocked(final boolean exclusive)
+		{
+			final Thread thread = Thread.currentThread();
+			final boolean locked = exclusive ? exclusiveHolder == thread : exclusiveHolder == thread || sharedHolders.contains(thread);
+			if (!locked)
+			{
+				throw new IllegalStateException("Lane shall be locked " + (exclusive ? "exclusively " : "") + "first");
+			}
+		}
+	}
+}
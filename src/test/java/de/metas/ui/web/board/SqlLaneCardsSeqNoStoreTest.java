@@ -0,0 +1,154 @@
+package de.metas.ui.web.board;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.adempiere.ad.trx.api.ITrx;
+import org.compiere.util.DB;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.ui.web.board.LaneCardsOrdering.LaneLockMode;
+import de.metas.ui.web.board.LaneCardsOrdering.Neighbours;
+import mockit.Expectations;
+import mockit.Mocked;
+import mockit.Verifications;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class SqlLaneCardsSeqNoStoreTest
+{
+	private static final int BOARD_ID = 1;
+	private static final int LANE_ID = 2;
+	private static final int CARD_ID = 3;
+
+	@Mocked
+	private DB db;
+
+	private final SqlLaneCardsSeqNoStore store = new SqlLaneCardsSeqNoStore(BOARD_ID, "C_Order", "C_Order_ID");
+
+	private void expectSeqNos(final boolean descending, final int offset, final int limit, final Integer... seqNos)
+	{
+		new Expectations(store)
+		{
+			{
+				store.retrieveSeqNos(LANE_ID, CARD_ID, descending, offset, limit);
+				result = ImmutableList.copyOf(seqNos);
+			}
+		};
+	}
+
+	@Test
+	public void getNeighbours_firstPosition()
+	{
+		expectSeqNos(false, 0, 1, 1024);
+
+		assertThat(store.getNeighbours(LANE_ID, CARD_ID, 0), is(Neighbours.of(null, 1024)));
+	}
+
+	@Test
+	public void getNeighbours_middlePosition()
+	{
+		expectSeqNos(false, 2, 2, 3072, 4096);
+
+		assertThat(store.getNeighbours(LANE_ID, CARD_ID, 3), is(Neighbours.of(3072, 4096)));
+	}
+
+	@Test
+	public void getNeighbours_lastPosition()
+	{
+		expectSeqNos(false, 2, 2, 3072);
+
+		assertThat(store.getNeighbours(LANE_ID, CARD_ID, 3), is(Neighbours.of(3072, null)));
+	}
+
+	@Test
+	public void getNeighbours_positionAfterTheEndOfLane()
+	{
+		expectSeqNos(false, 9, 2);
+		expectSeqNos(true, 0, 1, 5120);
+
+		assertThat(store.getNeighbours(LANE_ID, CARD_ID, 10), is(Neighbours.of(5120, null)));
+	}
+
+	@Test
+	public void getNeighbours_negativePosition()
+	{
+		expectSeqNos(true, 0, 1, 5120);
+
+		assertThat(store.getNeighbours(LANE_ID, CARD_ID, -1), is(Neighbours.of(5120, null)));
+	}
+
+	@Test
+	public void getNeighbours_emptyLane()
+	{
+		expectSeqNos(false, 0, 1);
+		assertThat(store.getNeighbours(LANE_ID, CARD_ID, 0), is(Neighbours.of(null, null)));
+	}
+
+	@Test
+	public void lockLane_shared()
+	{
+		store.lockLane(LANE_ID, LaneLockMode.SHARED);
+
+		assertLaneLockedUsing("pg_advisory_xact_lock_shared(");
+	}
+
+	@Test
+	public void lockLane_exclusive()
+	{
+		store.lockLane(LANE_ID, LaneLockMode.EXCLUSIVE);
+
+		assertLaneLockedUsing("pg_advisory_xact_lock(");
+	}
+
+	private void assertLaneLockedUsing(final String lockFunction)
+	{
+		new Verifications()
+		{
+			{
+				final String sql;
+				DB.getSQLValueEx(ITrx.TRXNAME_ThreadInherited, sql = withCapture(), SqlLaneCardsSeqNoStore.LOCK_NAMESPACE_BoardLane, LANE_ID);
+				times = 1;
+				assertThat(sql, containsString(lockFunction));
+			}
+		};
+	}
+
+	@Test
+	public void tryLockLaneExclusive()
+	{
+		new Expectations()
+		{
+			{
+				DB.getSQLValueEx(ITrx.TRXNAME_ThreadInherited, anyString, SqlLaneCardsSeqNoStore.LOCK_NAMESPACE_BoardLane, LANE_ID);
+				returns(1, 0);
+			}
+		};
+
+		assertThat(store.tryLockLaneExclusive(LANE_ID), is(true));
+		assertThat(store.tryLockLaneExclusive(LANE_ID), is(false));
+	}
+}
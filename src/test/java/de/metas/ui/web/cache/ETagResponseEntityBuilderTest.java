@@ -0,0 +1,123 @@
+package de.metas.ui.web.cache;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.google.common.collect.ImmutableMap;
+
+import de.metas.ui.web.window.datatypes.json.JSONOptions;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class ETagResponseEntityBuilderTest
+{
+	private static final String AD_Language = "en_US";
+
+	private final ETag etag = ETag.of(123, ImmutableMap.of("a", "1")).toWeak();
+	private AtomicInteger resultSupplierCalls;
+
+	@Before
+	public void init()
+	{
+		resultSupplierCalls = new AtomicInteger(0);
+	}
+
+	private ResponseEntity<String> get(final String ifNoneMatch)
+	{
+		final MockHttpServletRequest httpRequest = new MockHttpServletRequest("GET", "/rest/api/test");
+		if (ifNoneMatch != null)
+		{
+			httpRequest.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+		}
+		final ServletWebRequest request = new ServletWebRequest(httpRequest, new MockHttpServletResponse());
+
+		return ETagResponseEntityBuilder.ofETag(request, etag, () -> {
+			resultSupplierCalls.incrementAndGet();
+			return "result";
+		})
+				.includeLanguageInETag()
+				.cacheMaxAge(0)
+				.jsonOptions(() -> JSONOptions.builder(null).setAD_LanguageIfNotEmpty(AD_Language).build())
+				.toJson((result, jsonOpts) -> result);
+	}
+
+	private String getExpectedETagString()
+	{
+		return etag.overridingAttributes(ImmutableMap.of("lang", AD_Language)).toETagString();
+	}
+
+	@Test
+	public void noIfNoneMatch()
+	{
+		final ResponseEntity<String> response = get(null);
+
+		assertThat(response.getStatusCode(), is(HttpStatus.OK));
+		assertThat(response.getBody(), is("result"));
+		assertThat(response.getHeaders().getETag(), is(getExpectedETagString()));
+		assertThat(resultSupplierCalls.get(), is(1));
+	}
+
+	@Test
+	public void matchingETag_NotModified()
+	{
+		final ResponseEntity<String> response = get(getExpectedETagString());
+
+		assertThat(response.getStatusCode(), is(HttpStatus.NOT_MODIFIED));
+		assertThat(response.getBody(), nullValue());
+		assertThat(response.getHeaders().getETag(), is(getExpectedETagString()));
+		assertThat(resultSupplierCalls.get(), is(0)); // the result was not even computed
+	}
+
+	@Test
+	public void otherVersion_Modified()
+	{
+		final String otherETag = ETag.of(124, ImmutableMap.of("a", "1", "lang", AD_Language)).toWeak().toETagString();
+		final ResponseEntity<String> response = get(otherETag);
+
+		assertThat(response.getStatusCode(), is(HttpStatus.OK));
+		assertThat(response.getBody(), is("result"));
+		assertThat(resultSupplierCalls.get(), is(1));
+	}
+
+	@Test
+	public void otherLanguage_Modified()
+	{
+		final String otherETag = etag.overridingAttributes(ImmutableMap.of("lang", "de_DE")).toETagString();
+		final ResponseEntity<String> response = get(otherETag);
+
+		assertThat(response.getStatusCode(), is(HttpStatus.OK));
+		assertThat(resultSupplierCalls.get(), is(1));
+	}
+}
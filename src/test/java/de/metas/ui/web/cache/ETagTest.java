@@ -0,0 +1,62 @@
+package de.metas.ui.web.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class ETagTest
+{
+	@Test
+	public void toETagString_Strong()
+	{
+		final ETag etag = ETag.of(123, ImmutableMap.of("b", "2", "a", "1"));
+		Assert.assertEquals("v=123#a=1#b=2", etag.toETagString());
+	}
+
+	@Test
+	public void toETagString_Weak()
+	{
+		final ETag etag = ETag.of(123, ImmutableMap.of("b", "2", "a", "1")).toWeak();
+		Assert.assertEquals("W/\"v=123#a=1#b=2\"", etag.toETagString());
+	}
+
+	@Test
+	public void overridingAttributes_KeepsWeak()
+	{
+		final ETag etag = ETag.of(123, ImmutableMap.of("a", "1"))
+				.toWeak()
+				.overridingAttributes(ImmutableMap.of("lang", "de_DE"));
+		Assert.assertEquals("W/\"v=123#a=1#lang=de_DE\"", etag.toETagString());
+	}
+
+	@Test
+	public void weakAndStrongAreNotEqual()
+	{
+		final ETag strong = ETag.of(123, ImmutableMap.of());
+		Assert.assertNotEquals(strong, strong.toWeak());
+		Assert.assertEquals(strong.toWeak(), strong.toWeak());
+	}
+}
@@ -0,0 +1,55 @@
+package de.metas.ui.web.cache;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+import org.adempiere.test.AdempiereTestHelper;
+import org.compiere.util.CacheMgt;
+import org.junit.Before;
+import org.junit.Test;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class TableVersionsTest
+{
+	@Before
+	public void init()
+	{
+		AdempiereTestHelper.get().init();
+	}
+
+	@Test
+	public void versionIsChangedOnlyWhenTableIsReset()
+	{
+		final long versionA = TableVersions.instance.getVersion("TableA");
+		final long versionB = TableVersions.instance.getVersion("TableB");
+		assertThat(versionA, not(versionB));
+		assertThat(TableVersions.instance.getVersion("TableA"), is(versionA));
+
+		CacheMgt.get().reset("TableA");
+
+		assertThat(TableVersions.instance.getVersion("TableA"), not(versionA));
+		assertThat(TableVersions.instance.getVersion("TableB"), is(versionB));
+	}
+}
@@ -0,0 +1,85 @@
+package de.metas.ui.web.i18n;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class I18NRestController_isGzipAccepted_Test
+{
+	private static void assertGzipAccepted(final String acceptEncoding, final boolean expected)
+	{
+		assertThat("Accept-Encoding: " + acceptEncoding, I18NRestController.isGzipAccepted(acceptEncoding), is(expected));
+	}
+
+	@Test
+	public void noHeader()
+	{
+		assertGzipAccepted(null, false);
+		assertGzipAccepted("", false);
+	}
+
+	@Test
+	public void gzip()
+	{
+		assertGzipAccepted("gzip", true);
+		assertGzipAccepted("GZIP", true);
+		assertGzipAccepted("x-gzip", true);
+		assertGzipAccepted("gzip, deflate, br", true);
+		assertGzipAccepted("deflate;q=1.0, gzip;q=0.5", true);
+		assertGzipAccepted("gzip ; q=0.001", true);
+	}
+
+	@Test
+	public void gzipWithZeroQuality()
+	{
+		assertGzipAccepted("gzip;q=0", false);
+		assertGzipAccepted("gzip;q=0.0", false);
+		assertGzipAccepted("deflate, gzip;q=0", false);
+		assertGzipAccepted("*, gzip;q=0", false);
+	}
+
+	@Test
+	public void wildcard()
+	{
+		assertGzipAccepted("*", true);
+		assertGzipAccepted("*;q=0", false);
+		assertGzipAccepted("gzip, *;q=0", true);
+	}
+
+	@Test
+	public void otherCodings()
+	{
+		assertGzipAccepted("identity", false);
+		assertGzipAccepted("deflate, br", false);
+		assertGzipAccepted("gzipped", false);
+	}
+
+	@Test
+	public void invalidQuality()
+	{
+		assertGzipAccepted("gzip;q=abc", false);
+	}
+}
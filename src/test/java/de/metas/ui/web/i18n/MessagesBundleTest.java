@@ -0,0 +1,88 @@
+package de.metas.ui.web.i18n;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Test;
+import org.springframework.util.FileCopyUtils;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class MessagesBundleTest
+{
+	private static final byte[] JSON = "{\"_language\":\"de_DE\",\"key\":\"value\"}".getBytes(StandardCharsets.UTF_8);
+
+	private static byte[] gunzip(final byte[] data) throws IOException
+	{
+		return FileCopyUtils.copyToByteArray(new GZIPInputStream(new ByteArrayInputStream(data)));
+	}
+
+	@Test
+	public void plainContent()
+	{
+		assertThat(MessagesBundle.ofJson(JSON).getContent(false), is(JSON));
+	}
+
+	@Test
+	public void gzippedContent_roundTrip() throws IOException
+	{
+		final byte[] gzipped = MessagesBundle.ofJson(JSON).getContent(true);
+
+		assertThat(gzipped, is(not(JSON)));
+		assertThat(gunzip(gzipped), is(JSON));
+	}
+
+	@Test
+	public void plainAndGzipped_haveDifferentETags()
+	{
+		final MessagesBundle bundle = MessagesBundle.ofJson(JSON);
+
+		assertThat(bundle.getETag(true).toETagString(), is(not(bundle.getETag(false).toETagString())));
+	}
+
+	@Test
+	public void sameContent_sameETags()
+	{
+		final MessagesBundle bundle1 = MessagesBundle.ofJson(JSON);
+		final MessagesBundle bundle2 = MessagesBundle.ofJson(JSON.clone());
+
+		assertThat(bundle1.getETag(false).toETagString(), is(bundle2.getETag(false).toETagString()));
+		assertThat(bundle1.getETag(true).toETagString(), is(bundle2.getETag(true).toETagString()));
+	}
+
+	@Test
+	public void changedContent_changedETags()
+	{
+		final MessagesBundle bundle1 = MessagesBundle.ofJson(JSON);
+		final MessagesBundle bundle2 = MessagesBundle.ofJson("{\"_language\":\"de_DE\",\"key\":\"changed value\"}".getBytes(StandardCharsets.UTF_8));
+
+		assertThat(bundle1.getETag(false).toETagString(), is(not(bundle2.getETag(false).toETagString())));
+		assertThat(bundle1.getETag(true).toETagString(), is(not(bundle2.getETag(true).toETagString())));
+	}
+}
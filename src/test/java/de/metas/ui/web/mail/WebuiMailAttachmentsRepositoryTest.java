@@ -0,0 +1,295 @@
+package de.metas.ui.web.mail;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.adempiere.util.time.FixedTimeSource;
+import org.adempiere.util.time.SystemTime;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import de.metas.ui.web.window.datatypes.LookupValue;
+import de.metas.ui.web.window.datatypes.LookupValuesList;
+import mockit.Expectations;
+import mockit.Mocked;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class WebuiMailAttachmentsRepositoryTest
+{
+	private static final String EMAIL_ID_User1 = "1";
+	private static final String EMAIL_ID_User2 = "2";
+	private static final int USER_ID_1 = 101;
+	private static final int USER_ID_2 = 102;
+
+	private static final int UNLINKED_EXPIRE_MINUTES = 10;
+	private static final long START_MILLIS = 1500000000000L;
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Mocked
+	private WebuiMailRepository mailRepo;
+
+	private File attachmentsDir;
+	private WebuiMailAttachmentsRepository attachmentsRepo;
+
+	@Before
+	public void init() throws Exception
+	{
+		setTime(START_MILLIS);
+		attachmentsDir = temporaryFolder.newFolder("attachments");
+
+		// @formatter:off
+		new Expectations()
+		{{
+			mailRepo.getEmail(EMAIL_ID_User1); minTimes = 0; result = createEmail(EMAIL_ID_User1, USER_ID_1, LookupValuesList.EMPTY);
+			mailRepo.getEmail(EMAIL_ID_User2); minTimes = 0; result = createEmail(EMAIL_ID_User2, USER_ID_2, LookupValuesList.EMPTY);
+		}};
+		// @formatter:on
+	}
+
+	@After
+	public void resetTime()
+	{
+		SystemTime.resetTimeSource();
+	}
+
+	private static void setTime(final long millis)
+	{
+		SystemTime.setTimeSource(new FixedTimeSource(new Date(millis)));
+	}
+
+	private static WebuiEmail createEmail(final String emailId, final int ownerUserId, final LookupValuesList attachments)
+	{
+		return WebuiEmail.builder()
+				.emailId(emailId)
+				.ownerUserId(ownerUserId)
+				.attachments(attachments)
+				.build();
+	}
+
+	private void startRepository(final long maxBytesPerUser, final long maxBytesTotal) throws Exception
+	{
+		attachmentsRepo = new WebuiMailAttachmentsRepository();
+		ReflectionTestUtils.setField(attachmentsRepo, "mailRepo", mailRepo);
+		ReflectionTestUtils.setField(attachmentsRepo, "attachmentsFilePath", attachmentsDir.getAbsolutePath());
+		ReflectionTestUtils.setField(attachmentsRepo, "maxBytesPerUser", maxBytesPerUser);
+		ReflectionTestUtils.setField(attachmentsRepo, "maxBytesTotal", maxBytesTotal);
+		ReflectionTestUtils.setField(attachmentsRepo, "sweepIntervalMinutes", 0); // we sweep manually
+		ReflectionTestUtils.setField(attachmentsRepo, "unlinkedExpireMinutes", UNLINKED_EXPIRE_MINUTES);
+		attachmentsRepo.afterPropertiesSet();
+	}
+
+	private LookupValue createAttachment(final String emailId, final int size)
+	{
+		return attachmentsRepo.createAttachment(emailId, "file.txt", new byte[size]);
+	}
+
+	private File getAttachmentFile(final String emailId, final LookupValue attachment)
+	{
+		return new File(attachmentsDir, emailId + "_" + attachment.getIdAsString());
+	}
+
+	private void emailHasAttachments(final String emailId, final int ownerUserId, final LookupValue... attachments)
+	{
+		LookupValuesList attachmentsList = LookupValuesList.EMPTY;
+		for (final LookupValue attachment : attachments)
+		{
+			attachmentsList = attachmentsList.addIfAbsent(attachment);
+		}
+		final WebuiEmail email = createEmail(emailId, ownerUserId, attachmentsList);
+
+		// @formatter:off
+		new Expectations() {{ mailRepo.getEmailIfPresent(emailId); minTimes = 0; result = Optional.of(email); }};
+		// @formatter:on
+	}
+
+	private void emailWasRemoved(final String emailId)
+	{
+		// @formatter:off
+		new Expectations() {{ mailRepo.getEmailIfPresent(emailId); minTimes = 0; result = Optional.empty(); }};
+		// @formatter:on
+	}
+
+	private void sweepAfterUnlinkedAttachmentsExpired()
+	{
+		setTime(START_MILLIS + TimeUnit.MINUTES.toMillis(UNLINKED_EXPIRE_MINUTES) + 1);
+		attachmentsRepo.sweep();
+	}
+
+	@Test
+	public void quota_accountsCreatedAndDeletedAttachments() throws Exception
+	{
+		startRepository(1000, 10000);
+
+		final LookupValue attachment1 = createAttachment(EMAIL_ID_User1, 100);
+		final LookupValue attachment2 = createAttachment(EMAIL_ID_User1, 200);
+		assertThat(attachmentsRepo.getTotalBytes(), is(300L));
+
+		attachmentsRepo.deleteAttachment(EMAIL_ID_User1, attachment1);
+		assertThat(attachmentsRepo.getTotalBytes(), is(200L));
+		assertThat(getAttachmentFile(EMAIL_ID_User1, attachment1).exists(), is(false));
+
+		attachmentsRepo.deleteAttachments(EMAIL_ID_User1, LookupValuesList.EMPTY.addIfAbsent(attachment2));
+		assertThat(attachmentsRepo.getTotalBytes(), is(0L));
+		assertThat(getAttachmentFile(EMAIL_ID_User1, attachment2).exists(), is(false));
+	}
+
+	@Test
+	public void quota_perUser() throws Exception
+	{
+		startRepository(250, 10000);
+
+		createAttachment(EMAIL_ID_User1, 200);
+		try
+		{
+			createAttachment(EMAIL_ID_User1, 51);
+			throw new AssertionError("User quota shall be exceeded");
+		}
+		catch (final AdempiereException ex)
+		{
+			// expected
+		}
+
+		// the other user's quota is accounted separately
+		createAttachment(EMAIL_ID_User2, 250);
+
+		assertThat(attachmentsRepo.getTotalBytes(), is(450L));
+		assertThat(attachmentsDir.listFiles().length, is(2));
+	}
+
+	@Test
+	public void quota_total() throws Exception
+	{
+		startRepository(1000, 300);
+
+		createAttachment(EMAIL_ID_User1, 200);
+		try
+		{
+			createAttachment(EMAIL_ID_User2, 101);
+			throw new AssertionError("Total quota shall be exceeded");
+		}
+		catch (final AdempiereException ex)
+		{
+			// expected
+		}
+
+		createAttachment(EMAIL_ID_User2, 100);
+		assertThat(attachmentsRepo.getTotalBytes(), is(300L));
+	}
+
+	@Test
+	public void sweep_keepsLinkedAttachments() throws Exception
+	{
+		startRepository(1000, 10000);
+		final LookupValue attachment = createAttachment(EMAIL_ID_User1, 100);
+		emailHasAttachments(EMAIL_ID_User1, USER_ID_1, attachment);
+
+		sweepAfterUnlinkedAttachmentsExpired();
+
+		assertThat(getAttachmentFile(EMAIL_ID_User1, attachment).exists(), is(true));
+		assertThat(attachmentsRepo.getTotalBytes(), is(100L));
+	}
+
+	@Test
+	public void sweep_deletesAttachmentsNeverLinkedToTheirEmail() throws Exception
+	{
+		startRepository(100, 10000);
+		final LookupValue linkedAttachment = createAttachment(EMAIL_ID_User1, 40);
+		final LookupValue unlinkedAttachment = createAttachment(EMAIL_ID_User1, 60);
+		emailHasAttachments(EMAIL_ID_User1, USER_ID_1, linkedAttachment);
+
+		sweepAfterUnlinkedAttachmentsExpired();
+
+		assertThat(getAttachmentFile(EMAIL_ID_User1, unlinkedAttachment).exists(), is(false));
+		assertThat(getAttachmentFile(EMAIL_ID_User1, linkedAttachment).exists(), is(true));
+		assertThat(attachmentsRepo.getTotalBytes(), is(40L));
+
+		// the user's quota was released too
+		createAttachment(EMAIL_ID_User1, 60);
+	}
+
+	@Test
+	public void sweep_deletesAttachmentsOfRemovedEmails() throws Exception
+	{
+		startRepository(1000, 10000);
+		final LookupValue attachment = createAttachment(EMAIL_ID_User1, 100);
+		emailWasRemoved(EMAIL_ID_User1);
+
+		sweepAfterUnlinkedAttachmentsExpired();
+
+		assertThat(getAttachmentFile(EMAIL_ID_User1, attachment).exists(), is(false));
+		assertThat(attachmentsRepo.getTotalBytes(), is(0L));
+	}
+
+	@Test
+	public void sweep_keepsRecentlyCreatedUnlinkedAttachments() throws Exception
+	{
+		startRepository(1000, 10000);
+		final LookupValue attachment = createAttachment(EMAIL_ID_User1, 100);
+		emailWasRemoved(EMAIL_ID_User1);
+
+		attachmentsRepo.sweep();
+
+		assertThat(getAttachmentFile(EMAIL_ID_User1, attachment).exists(), is(true));
+		assertThat(attachmentsRepo.getTotalBytes(), is(100L));
+	}
+
+	@Test
+	public void sweep_deletesOnlyOrphanAttachmentFiles() throws Exception
+	{
+		final File orphanFileAtStartup = new File(attachmentsDir, "7_0f8fad5b-d9cb-469f-a165-70867728950e");
+		final File otherFile = new File(attachmentsDir, "other.txt");
+		final File otherFileWithUnderscore = new File(attachmentsDir, "7_not-an-uuid");
+		for (final File file : new File[] { orphanFileAtStartup, otherFile, otherFileWithUnderscore })
+		{
+			assertThat(file.createNewFile(), is(true));
+		}
+
+		startRepository(1000, 10000);
+		assertThat(orphanFileAtStartup.exists(), is(false));
+
+		final File orphanFile = new File(attachmentsDir, "8_7c9e6679-7425-40de-944b-e07fc1f90ae7");
+		assertThat(orphanFile.createNewFile(), is(true));
+		final LookupValue attachment = createAttachment(EMAIL_ID_User1, 100);
+		emailHasAttachments(EMAIL_ID_User1, USER_ID_1, attachment);
+
+		attachmentsRepo.sweep();
+
+		assertThat(orphanFile.exists(), is(false));
+		assertThat(getAttachmentFile(EMAIL_ID_User1, attachment).exists(), is(true));
+		assertThat(otherFile.exists(), is(true));
+		assertThat(otherFileWithUnderscore.exists(), is(true));
+	}
+}
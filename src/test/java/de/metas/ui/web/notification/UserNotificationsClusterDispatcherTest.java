@@ -0,0 +1,229 @@
+package de.metas.ui.web.notification;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class UserNotificationsClusterDispatcherTest
+{
+	private static final int USER_ID_1 = 100;
+	private static final int USER_ID_2 = 200;
+
+	private HazelcastInstance hazelcast1;
+	private HazelcastInstance hazelcast2;
+
+	@Before
+	public void init()
+	{
+		final String clusterName = "notifications-test-" + UUID.randomUUID();
+		hazelcast1 = Hazelcast.newHazelcastInstance(createLocalClusterConfig(clusterName));
+		hazelcast2 = Hazelcast.newHazelcastInstance(createLocalClusterConfig(clusterName));
+	}
+
+	@After
+	public void shutdown()
+	{
+		hazelcast2.shutdown();
+		hazelcast1.shutdown();
+	}
+
+	private static Config createLocalClusterConfig(final String clusterName)
+	{
+		final Config config = new Config();
+		config.getGroupConfig().setName(clusterName);
+
+		final JoinConfig join = config.getNetworkConfig().getJoin();
+		join.getMulticastConfig().setEnabled(false);
+		join.getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+
+		return config;
+	}
+
+	@Test
+	public void test_PersistedOnlyOnce_and_RoutedToRecipientMember() throws Exception
+	{
+		final List<UserNotification> deliveredOnNode1 = new CopyOnWriteArrayList<>();
+		final List<UserNotification> deliveredOnNode2 = new CopyOnWriteArrayList<>();
+		final UserNotificationsClusterDispatcher dispatcher1 = UserNotificationsClusterDispatcher.of(hazelcast1, deliveredOnNode1::add);
+		final UserNotificationsClusterDispatcher dispatcher2 = UserNotificationsClusterDispatcher.of(hazelcast2, deliveredOnNode2::add);
+		dispatcher1.addLocalRecipient(USER_ID_1);
+		dispatcher2.addLocalRecipient(USER_ID_2);
+
+		final UserNotification notification = createNotification("1", USER_ID_2);
+		final AtomicInteger persistCount = new AtomicInteger(0);
+		final Supplier<List<UserNotification>> persister = () -> {
+			persistCount.incrementAndGet();
+			return ImmutableList.of(notification);
+		};
+
+		// Simulate the event being received by both nodes
+		dispatcher2.persistAndDispatchOnce("event1", persister);
+		dispatcher1.persistAndDispatchOnce("event1", persister);
+
+		waitUntilNotEmpty(deliveredOnNode2);
+
+		assertThat(persistCount.get(), is(1));
+		assertThat(deliveredOnNode1, is(empty()));
+		assertThat(deliveredOnNode2.size(), is(1));
+		assertThat(deliveredOnNode2.get(0).getId(), is("1"));
+	}
+
+	@Test
+	public void test_NotSerializableParamsAreSentAsString() throws Exception
+	{
+		final List<UserNotification> deliveredOnNode2 = new CopyOnWriteArrayList<>();
+		final UserNotificationsClusterDispatcher dispatcher1 = UserNotificationsClusterDispatcher.of(hazelcast1, notification -> {});
+		final UserNotificationsClusterDispatcher dispatcher2 = UserNotificationsClusterDispatcher.of(hazelcast2, deliveredOnNode2::add);
+		dispatcher2.addLocalRecipient(USER_ID_2);
+
+		final UserNotification notification = UserNotification.builder()
+				.id("1")
+				.timestamp(System.currentTimeMillis())
+				.recipientUserId(USER_ID_2)
+				.detailADMessage("msg")
+				.detailADMessageParams(ImmutableMap.of("serializable", 123, "notSerializable", new NotSerializableParam("value")))
+				.targetType(UserNotification.TargetType.None)
+				.targetADWindowId(-1)
+				.targetRecordId(-1)
+				.build();
+		dispatcher1.persistAndDispatchOnce("event1", () -> ImmutableList.of(notification));
+
+		waitUntilNotEmpty(deliveredOnNode2);
+
+		assertThat(deliveredOnNode2.size(), is(1));
+		assertThat(deliveredOnNode2.get(0).getDetailADMessageParams(), is(ImmutableMap.of("serializable", 123, "notSerializable", "value")));
+	}
+
+	private static final class NotSerializableParam
+	{
+		private final String value;
+
+		private NotSerializableParam(final String value)
+		{
+			this.value = value;
+		}
+
+		@Override
+		public String toString()
+		{
+			return value;
+		}
+	}
+
+	@Test
+	public void test_LocalRecipient()
+	{
+		final List<UserNotification> deliveredOnNode1 = new CopyOnWriteArrayList<>();
+		final UserNotificationsClusterDispatcher dispatcher1 = UserNotificationsClusterDispatcher.of(hazelcast1, deliveredOnNode1::add);
+		dispatcher1.addLocalRecipient(USER_ID_1);
+
+		final UserNotification notification = createNotification("1", USER_ID_1);
+		dispatcher1.persistAndDispatchOnce("event1", () -> ImmutableList.of(notification));
+
+		assertThat(deliveredOnNode1, contains(notification));
+	}
+
+	/** Events which were received only by a non-oldest member (e.g. raised there) shall still be persisted */
+	@Test
+	public void test_EventReceivedOnlyByNonOldestMember()
+	{
+		final List<UserNotification> deliveredOnNode2 = new CopyOnWriteArrayList<>();
+		UserNotificationsClusterDispatcher.of(hazelcast1, notification -> {});
+		final UserNotificationsClusterDispatcher dispatcher2 = UserNotificationsClusterDispatcher.of(hazelcast2, deliveredOnNode2::add);
+		dispatcher2.addLocalRecipient(USER_ID_2);
+
+		final UserNotification notification = createNotification("1", USER_ID_2);
+		final List<UserNotification> persisted = dispatcher2.persistAndDispatchOnce("event1", () -> ImmutableList.of(notification));
+
+		assertThat(persisted, contains(notification));
+		assertThat(deliveredOnNode2, contains(notification));
+	}
+
+	@Test
+	public void test_RemoveLocalRecipient()
+	{
+		final List<UserNotification> deliveredOnNode1 = new CopyOnWriteArrayList<>();
+		final UserNotificationsClusterDispatcher dispatcher1 = UserNotificationsClusterDispatcher.of(hazelcast1, deliveredOnNode1::add);
+		dispatcher1.addLocalRecipient(USER_ID_1);
+		dispatcher1.removeLocalRecipient(USER_ID_1);
+
+		dispatcher1.persistAndDispatchOnce("event1", () -> ImmutableList.of(createNotification("1", USER_ID_1)));
+
+		assertThat(deliveredOnNode1, is(empty()));
+	}
+
+	@Test
+	public void test_NoActiveSessions()
+	{
+		final List<UserNotification> deliveredOnNode1 = new CopyOnWriteArrayList<>();
+		final UserNotificationsClusterDispatcher dispatcher1 = UserNotificationsClusterDispatcher.of(hazelcast1, deliveredOnNode1::add);
+
+		final List<UserNotification> persisted = dispatcher1.persistAndDispatchOnce("event1", () -> ImmutableList.of(createNotification("1", USER_ID_1)));
+
+		assertThat(persisted.size(), is(1));
+		assertThat(deliveredOnNode1, is(empty()));
+	}
+
+	private static UserNotification createNotification(final String id, final int recipientUserId)
+	{
+		return UserNotification.builder()
+				.id(id)
+				.timestamp(System.currentTimeMillis())
+				.recipientUserId(recipientUserId)
+				.detailPlain("test")
+				.targetType(UserNotification.TargetType.None)
+				.targetADWindowId(-1)
+				.targetRecordId(-1)
+				.build();
+	}
+
+	private static void waitUntilNotEmpty(final List<?> list) throws InterruptedException
+	{
+		final long timeoutMillis = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+		while (list.isEmpty() && System.currentTimeMillis() < timeoutMillis)
+		{
+			Thread.sleep(50);
+		}
+	}
+}
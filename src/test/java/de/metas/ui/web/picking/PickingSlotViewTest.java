@@ -0,0 +1,137 @@
+package de.metas.ui.web.picking;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.adempiere.test.AdempiereTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.ui.web.handlingunits.HUEditorRowType;
+import de.metas.ui.web.view.IViewRow;
+import de.metas.ui.web.view.ViewId;
+import de.metas.ui.web.window.model.DocumentQueryOrderBy;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class PickingSlotViewTest
+{
+	private int nextHUId = 1;
+
+	@Before
+	public void init()
+	{
+		AdempiereTestHelper.get().init();
+	}
+
+	@Test
+	public void getPage_sortsPickingSlotsByCaptionAndHUsByOrderByField()
+	{
+		final PickingSlotView view = createView(ImmutableList.of(
+				pickingSlotRow(1, "C"),
+				pickingSlotRow(2, "A", huRow(2, "z"), huRow(2, "x"), huRow(2, "y")),
+				pickingSlotRow(3, "B")));
+
+		final List<IViewRow> page = view.getPage(0, 10, ImmutableList.of(DocumentQueryOrderBy.byFieldName("huCode", true))).getPage();
+
+		assertThat(extractPickingSlotIds(page), contains(2, 3, 1));
+		assertThat(extractHUCodes(page.get(0)), contains("x", "y", "z"));
+	}
+
+	@Test
+	public void getPage_descending()
+	{
+		final PickingSlotView view = createView(ImmutableList.of(
+				pickingSlotRow(1, "C"),
+				pickingSlotRow(2, "A", huRow(2, "z"), huRow(2, "x"), huRow(2, "y")),
+				pickingSlotRow(3, "B")));
+
+		final List<IViewRow> page = view.getPage(0, 10, ImmutableList.of(DocumentQueryOrderBy.byFieldName("huCode", false))).getPage();
+
+		assertThat(extractPickingSlotIds(page), contains(1, 3, 2));
+		assertThat(extractHUCodes(page.get(2)), contains("z", "y", "x"));
+	}
+
+	@Test
+	public void getPage_noOrderBys_keepsTheLoadingOrder()
+	{
+		final PickingSlotView view = createView(ImmutableList.of(
+				pickingSlotRow(1, "C"),
+				pickingSlotRow(2, "A", huRow(2, "z"), huRow(2, "x")),
+				pickingSlotRow(3, "B")));
+
+		final List<IViewRow> page = view.getPage(0, 10, ImmutableList.of()).getPage();
+
+		assertThat(extractPickingSlotIds(page), contains(1, 2, 3));
+		assertThat(extractHUCodes(page.get(1)), contains("z", "x"));
+	}
+
+	private static PickingSlotView createView(final List<PickingSlotRow> rows)
+	{
+		return PickingSlotView.builder()
+				.viewId(ViewId.random(PickingConstants.WINDOWID_PickingSlotView))
+				.shipmentScheduleId(1)
+				.rowsLoader(onlyPickingSlotIds -> rows)
+				.build();
+	}
+
+	private static PickingSlotRow pickingSlotRow(final int pickingSlotId, final String name, final PickingSlotRow... huRows)
+	{
+		return PickingSlotRow.fromPickingSlotBuilder()
+				.pickingSlotId(pickingSlotId)
+				.pickingSlotName(name)
+				.includedHURows(ImmutableList.copyOf(huRows))
+				.build();
+	}
+
+	private PickingSlotRow huRow(final int pickingSlotId, final String code)
+	{
+		return PickingSlotRow.fromHUBuilder()
+				.pickingSlotId(pickingSlotId)
+				.huId(nextHUId++)
+				.type(HUEditorRowType.LU)
+				.code(code)
+				.build();
+	}
+
+	private static List<Integer> extractPickingSlotIds(final List<IViewRow> rows)
+	{
+		return rows.stream()
+				.map(PickingSlotRow::cast)
+				.map(PickingSlotRow::getPickingSlotId)
+				.collect(Collectors.toList());
+	}
+
+	private static List<Object> extractHUCodes(final IViewRow pickingSlotRow)
+	{
+		return pickingSlotRow.getIncludedRows()
+				.stream()
+				.map(row -> row.getFieldNameAndJsonValues().get("huCode"))
+				.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,181 @@
+package de.metas.ui.web.pporder;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import de.metas.i18n.ImmutableTranslatableString;
+import de.metas.ui.web.exceptions.EntityNotFoundException;
+import de.metas.ui.web.window.datatypes.DocumentId;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class PPOrderLinesViewDataTest
+{
+	private static final int PP_ORDER_ID = 100;
+
+	private static PPOrderLinesViewData createData(final PPOrderLineRow... rows)
+	{
+		return new PPOrderLinesViewData(ImmutableTranslatableString.constant("test"), "P", ImmutableList.copyOf(rows));
+	}
+
+	private static PPOrderLineRow mainProductRow(final int... huIds)
+	{
+		final PPOrderLineRow.Builder builder = PPOrderLineRow.builder(PPOrderLinesLoader.createRowIdForMainProduct(PP_ORDER_ID))
+				.ppOrder(PP_ORDER_ID)
+				.setType(PPOrderLineType.MainProduct);
+		for (final int huId : huIds)
+		{
+			builder.addIncludedDocument(huRow(huId));
+		}
+		return builder.build();
+	}
+
+	private static PPOrderLineRow bomLineRow(final int ppOrderBOMLineId, final PPOrderLineType type, final int... huIds)
+	{
+		final PPOrderLineRow.Builder builder = PPOrderLineRow.builder(PPOrderLinesLoader.createRowIdForBOMLine(ppOrderBOMLineId))
+				.ppOrderBOMLineId(PP_ORDER_ID, ppOrderBOMLineId)
+				.setType(type);
+		for (final int huId : huIds)
+		{
+			builder.addIncludedDocument(huRow(huId));
+		}
+		return builder.build();
+	}
+
+	private static PPOrderLineRow huRow(final int huId)
+	{
+		return PPOrderLineRow.builder(DocumentId.of(huId))
+				.huId(huId)
+				.setType(PPOrderLineType.HU_LU)
+				.build();
+	}
+
+	private static List<DocumentId> topLevelRowIds(final PPOrderLinesViewData data)
+	{
+		return data.stream().map(PPOrderLineRow::getId).collect(Collectors.toList());
+	}
+
+	private static DocumentId bomLineRowId(final int ppOrderBOMLineId)
+	{
+		return PPOrderLinesLoader.createRowIdForBOMLine(ppOrderBOMLineId);
+	}
+
+	@Test
+	public void withTopLevelRowsReplaced_keepsTheRowsOrder()
+	{
+		final PPOrderLinesViewData data = createData(
+				mainProductRow(),
+				bomLineRow(30, PPOrderLineType.BOMLine_ByCoProduct),
+				bomLineRow(10, PPOrderLineType.BOMLine_Component),
+				bomLineRow(20, PPOrderLineType.BOMLine_Component));
+
+		final PPOrderLinesViewData newData = data.withTopLevelRowsReplaced(
+				ImmutableSet.of(PPOrderLinesLoader.MAIN_PRODUCT_BOMLINE_ID, 10, 30),
+				ImmutableList.of(
+						bomLineRow(10, PPOrderLineType.BOMLine_Component, 501),
+						bomLineRow(30, PPOrderLineType.BOMLine_ByCoProduct),
+						mainProductRow(502)));
+
+		assertThat(topLevelRowIds(newData), contains(
+				PPOrderLinesLoader.createRowIdForMainProduct(PP_ORDER_ID),
+				bomLineRowId(30),
+				bomLineRowId(10),
+				bomLineRowId(20)));
+	}
+
+	@Test
+	public void withTopLevelRowsReplaced_replacesTheSubTrees()
+	{
+		final PPOrderLinesViewData data = createData(
+				mainProductRow(),
+				bomLineRow(10, PPOrderLineType.BOMLine_Component, 501, 502),
+				bomLineRow(20, PPOrderLineType.BOMLine_Component, 503));
+
+		final PPOrderLinesViewData newData = data.withTopLevelRowsReplaced(
+				ImmutableSet.of(10),
+				ImmutableList.of(bomLineRow(10, PPOrderLineType.BOMLine_Component, 502, 504)));
+
+		assertThat(newData.getById(bomLineRowId(10)).getIncludedRows().stream().map(PPOrderLineRow::getM_HU_ID).collect(Collectors.toList()), contains(502, 504));
+		assertThat(newData.getById(DocumentId.of(504)).getM_HU_ID(), is(504));
+		assertThat(newData.getById(DocumentId.of(503)).getM_HU_ID(), is(503)); // not replaced
+		assertThat(newData.size(), is(3L));
+	}
+
+	@Test(expected = EntityNotFoundException.class)
+	public void withTopLevelRowsReplaced_removesTheIncludedRowsWhichAreNoLongerThere()
+	{
+		final PPOrderLinesViewData data = createData(
+				mainProductRow(),
+				bomLineRow(10, PPOrderLineType.BOMLine_Component, 501, 502));
+
+		final PPOrderLinesViewData newData = data.withTopLevelRowsReplaced(
+				ImmutableSet.of(10),
+				ImmutableList.of(bomLineRow(10, PPOrderLineType.BOMLine_Component, 502)));
+
+		newData.getById(DocumentId.of(501));
+	}
+
+	@Test
+	public void withTopLevelRowsReplaced_removesTheLinesWhichAreNoLongerThere()
+	{
+		final PPOrderLinesViewData data = createData(
+				mainProductRow(),
+				bomLineRow(10, PPOrderLineType.BOMLine_Component, 501),
+				bomLineRow(20, PPOrderLineType.BOMLine_Component));
+
+		final PPOrderLinesViewData newData = data.withTopLevelRowsReplaced(
+				ImmutableSet.of(10),
+				ImmutableList.of());
+
+		assertThat(topLevelRowIds(newData), contains(
+				PPOrderLinesLoader.createRowIdForMainProduct(PP_ORDER_ID),
+				bomLineRowId(20)));
+		assertThat(newData.streamRecursive().anyMatch(row -> row.getM_HU_ID() == 501), is(false));
+	}
+
+	@Test
+	public void withTopLevelRowsReplaced_addsNewLines()
+	{
+		final PPOrderLinesViewData data = createData(
+				mainProductRow(),
+				bomLineRow(20, PPOrderLineType.BOMLine_Component));
+
+		final PPOrderLinesViewData newData = data.withTopLevelRowsReplaced(
+				ImmutableSet.of(10),
+				ImmutableList.of(bomLineRow(10, PPOrderLineType.BOMLine_Component)));
+
+		assertThat(topLevelRowIds(newData), contains(
+				PPOrderLinesLoader.createRowIdForMainProduct(PP_ORDER_ID),
+				bomLineRowId(10),
+				bomLineRowId(20)));
+	}
+}
@@ -0,0 +1,239 @@
+package de.metas.ui.web.pporder;
+
+import static org.adempiere.model.InterfaceWrapperHelper.newInstance;
+import static org.adempiere.model.InterfaceWrapperHelper.save;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Set;
+
+import org.adempiere.test.AdempiereTestHelper;
+import org.adempiere.util.lang.impl.TableRecordReference;
+import org.compiere.model.I_C_BPartner;
+import org.eevolution.model.I_PP_Order;
+import org.eevolution.model.I_PP_Order_BOMLine;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import de.metas.handlingunits.model.I_M_HU;
+import de.metas.handlingunits.model.I_PP_Order_Qty;
+import de.metas.i18n.ImmutableTranslatableString;
+import de.metas.ui.web.window.datatypes.DocumentId;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Tests how {@link PPOrderLinesView#notifyRecordsChanged(Set)} maps the changed records to the top level rows to be reloaded.
+ */
+public class PPOrderLinesView_notifyRecordsChanged_Test
+{
+	private static final int PP_ORDER_ID = 100;
+	private static final int OTHER_PP_ORDER_ID = 101;
+
+	private static final int BOMLINE_ID_WithHU = 201;
+	private static final int BOMLINE_ID_WithoutHUs = 202;
+
+	private static final int HU_ID_MainProduct = 501;
+	private static final int PP_ORDER_QTY_ID_MainProduct = 601;
+	private static final int HU_ID_BOMLine = 502;
+	private static final int PP_ORDER_QTY_ID_BOMLine = 602;
+
+	private PPOrderLinesViewData data;
+
+	@Before
+	public void init()
+	{
+		AdempiereTestHelper.get().init();
+
+		data = new PPOrderLinesViewData(
+				ImmutableTranslatableString.constant("test"),
+				"P",
+				ImmutableList.of(
+						PPOrderLineRow.builder(PPOrderLinesLoader.createRowIdForMainProduct(PP_ORDER_ID))
+								.ppOrder(PP_ORDER_ID)
+								.setType(PPOrderLineType.MainProduct)
+								.addIncludedDocument(createHURow(HU_ID_MainProduct, PP_ORDER_QTY_ID_MainProduct))
+								.build(),
+						PPOrderLineRow.builder(PPOrderLinesLoader.createRowIdForBOMLine(BOMLINE_ID_WithHU))
+								.ppOrderBOMLineId(PP_ORDER_ID, BOMLINE_ID_WithHU)
+								.setType(PPOrderLineType.BOMLine_Component)
+								.addIncludedDocument(createHURow(HU_ID_BOMLine, PP_ORDER_QTY_ID_BOMLine))
+								.build(),
+						PPOrderLineRow.builder(PPOrderLinesLoader.createRowIdForBOMLine(BOMLINE_ID_WithoutHUs))
+								.ppOrderBOMLineId(PP_ORDER_ID, BOMLINE_ID_WithoutHUs)
+								.setType(PPOrderLineType.BOMLine_Component)
+								.build()));
+	}
+
+	private static PPOrderLineRow createHURow(final int huId, final int ppOrderQtyId)
+	{
+		return PPOrderLineRow.builder(DocumentId.of(huId))
+				.huId(huId)
+				.ppOrderQtyId(ppOrderQtyId)
+				.setType(PPOrderLineType.HU_LU)
+				.build();
+	}
+
+	private Set<Integer> extractTopLevelRowBOMLineIds(final TableRecordReference... recordRefs)
+	{
+		return PPOrderLinesView.extractTopLevelRowBOMLineIds(data, PP_ORDER_ID, ImmutableSet.copyOf(recordRefs));
+	}
+
+	private static void createBOMLine(final int ppOrderBOMLineId, final int ppOrderId)
+	{
+		final I_PP_Order_BOMLine ppOrderBOMLine = newInstance(I_PP_Order_BOMLine.class);
+		ppOrderBOMLine.setPP_Order_BOMLine_ID(ppOrderBOMLineId);
+		ppOrderBOMLine.setPP_Order_ID(ppOrderId);
+		save(ppOrderBOMLine);
+	}
+
+	private static I_PP_Order_Qty createPPOrderQty(final int ppOrderId, final int ppOrderBOMLineId, final int huId)
+	{
+		final I_PP_Order_Qty ppOrderQty = newInstance(I_PP_Order_Qty.class);
+		ppOrderQty.setPP_Order_ID(ppOrderId);
+		ppOrderQty.setPP_Order_BOMLine_ID(ppOrderBOMLineId);
+		ppOrderQty.setM_HU_ID(huId);
+		save(ppOrderQty);
+		return ppOrderQty;
+	}
+
+	@Test
+	public void ppOrder_mapsToMainProductRow()
+	{
+		assertThat(extractTopLevelRowBOMLineIds(TableRecordReference.of(I_PP_Order.Table_Name, PP_ORDER_ID)),
+				is(ImmutableSet.of(PPOrderLinesLoader.MAIN_PRODUCT_BOMLINE_ID)));
+	}
+
+	@Test
+	public void otherPPOrder_isIgnored()
+	{
+		assertThat(extractTopLevelRowBOMLineIds(TableRecordReference.of(I_PP_Order.Table_Name, OTHER_PP_ORDER_ID)), is(empty()));
+	}
+
+	@Test
+	public void bomLine_inView()
+	{
+		assertThat(extractTopLevelRowBOMLineIds(TableRecordReference.of(I_PP_Order_BOMLine.Table_Name, BOMLINE_ID_WithoutHUs)),
+				is(ImmutableSet.of(BOMLINE_ID_WithoutHUs)));
+	}
+
+	@Test
+	public void bomLine_newInOurPPOrder()
+	{
+		createBOMLine(203, PP_ORDER_ID);
+
+		assertThat(extractTopLevelRowBOMLineIds(TableRecordReference.of(I_PP_Order_BOMLine.Table_Name, 203)),
+				is(ImmutableSet.of(203)));
+	}
+
+	@Test
+	public void bomLine_ofOtherPPOrder_isIgnored()
+	{
+		createBOMLine(301, OTHER_PP_ORDER_ID);
+
+		assertThat(extractTopLevelRowBOMLineIds(TableRecordReference.of(I_PP_Order_BOMLine.Table_Name, 301)), is(empty()));
+	}
+
+	@Test
+	public void ppOrderQty_inView()
+	{
+		assertThat(extractTopLevelRowBOMLineIds(TableRecordReference.of(I_PP_Order_Qty.Table_Name, PP_ORDER_QTY_ID_MainProduct)),
+				is(ImmutableSet.of(PPOrderLinesLoader.MAIN_PRODUCT_BOMLINE_ID)));
+		assertThat(extractTopLevelRowBOMLineIds(TableRecordReference.of(I_PP_Order_Qty.Table_Name, PP_ORDER_QTY_ID_BOMLine)),
+				is(ImmutableSet.of(BOMLINE_ID_WithHU)));
+	}
+
+	@Test
+	public void ppOrderQty_newInOurPPOrder()
+	{
+		final I_PP_Order_Qty ppOrderQty = createPPOrderQty(PP_ORDER_ID, BOMLINE_ID_WithoutHUs, 503);
+
+		assertThat(extractTopLevelRowBOMLineIds(TableRecordReference.of(I_PP_Order_Qty.Table_Name, ppOrderQty.getPP_Order_Qty_ID())),
+				is(ImmutableSet.of(BOMLINE_ID_WithoutHUs)));
+	}
+
+	@Test
+	public void ppOrderQty_ofOtherPPOrder_isIgnored()
+	{
+		final I_PP_Order_Qty ppOrderQty = createPPOrderQty(OTHER_PP_ORDER_ID, 301, 503);
+
+		assertThat(extractTopLevelRowBOMLineIds(TableRecordReference.of(I_PP_Order_Qty.Table_Name, ppOrderQty.getPP_Order_Qty_ID())), is(empty()));
+	}
+
+	@Test
+	public void hu_inView()
+	{
+		assertThat(extractTopLevelRowBOMLineIds(TableRecordReference.of(I_M_HU.Table_Name, HU_ID_BOMLine)),
+				is(ImmutableSet.of(BOMLINE_ID_WithHU)));
+	}
+
+	@Test
+	public void hu_newlyIssued()
+	{
+		createPPOrderQty(PP_ORDER_ID, BOMLINE_ID_WithoutHUs, 503);
+
+		assertThat(extractTopLevelRowBOMLineIds(TableRecordReference.of(I_M_HU.Table_Name, 503)),
+				is(ImmutableSet.of(BOMLINE_ID_WithoutHUs)));
+	}
+
+	@Test
+	public void hu_newlyReceived()
+	{
+		createPPOrderQty(PP_ORDER_ID, 0, 503);
+
+		assertThat(extractTopLevelRowBOMLineIds(TableRecordReference.of(I_M_HU.Table_Name, 503)),
+				is(ImmutableSet.of(PPOrderLinesLoader.MAIN_PRODUCT_BOMLINE_ID)));
+	}
+
+	@Test
+	public void hu_ofOtherPPOrder_isIgnored()
+	{
+		createPPOrderQty(OTHER_PP_ORDER_ID, 301, 503);
+		createPPOrderQty(PP_ORDER_ID, BOMLINE_ID_WithoutHUs, 504);
+
+		assertThat(extractTopLevelRowBOMLineIds(TableRecordReference.of(I_M_HU.Table_Name, 503)), is(empty()));
+	}
+
+	@Test
+	public void unrelatedTable_isIgnored()
+	{
+		assertThat(extractTopLevelRowBOMLineIds(TableRecordReference.of(I_C_BPartner.Table_Name, PP_ORDER_ID)), is(empty()));
+	}
+
+	@Test
+	public void mixedRecords()
+	{
+		createPPOrderQty(PP_ORDER_ID, BOMLINE_ID_WithoutHUs, 503);
+
+		final Set<Integer> topLevelRowBOMLineIds = extractTopLevelRowBOMLineIds(
+				TableRecordReference.of(I_PP_Order.Table_Name, PP_ORDER_ID),
+				TableRecordReference.of(I_PP_Order_Qty.Table_Name, PP_ORDER_QTY_ID_BOMLine),
+				TableRecordReference.of(I_M_HU.Table_Name, 503));
+
+		assertThat(topLevelRowBOMLineIds, is(ImmutableSet.of(PPOrderLinesLoader.MAIN_PRODUCT_BOMLINE_ID, BOMLINE_ID_WithHU, BOMLINE_ID_WithoutHUs)));
+	}
+}
@@ -0,0 +1,165 @@
+package de.metas.ui.web.session;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.Locale;
+import java.util.Properties;
+
+import org.adempiere.test.AdempiereTestHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.session.MapSession;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.google.common.base.Strings;
+
+import de.metas.ui.web.window.MockedRequestAttributes;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class MapSessionHazelcastSerializerTest
+{
+	@Before
+	public void init()
+	{
+		AdempiereTestHelper.get().init();
+		RequestContextHolder.setRequestAttributes(new MockedRequestAttributes());
+	}
+
+	@After
+	public void cleanup()
+	{
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	/** Also used by the session serialization benchmark */
+	public static MapSession createTypicalSession()
+	{
+		final InternalUserSessionData data = new InternalUserSessionData();
+		data.setLoggedIn(true);
+		data.setLocale(Locale.GERMANY);
+		data.setUserFullname("Test User");
+		data.setUserEmail("test@example.com");
+		data.setHttpCacheMaxAge(60);
+		data.setShowColumnNamesForCaption(true);
+
+		final Properties ctx = new Properties();
+		for (int i = 0; i < 50; i++)
+		{
+			ctx.setProperty("#ContextVariable" + i, "value" + i);
+		}
+
+		final MapSession session = new MapSession("session-1");
+		session.setAttribute("scopedTarget.internalUserSessionData", data);
+		session.setAttribute(WebRestApiContextProvider.class.getName() + ".UserSessionCtx", ctx);
+		session.setAttribute("someString", "someValue");
+		session.setAttribute("someInteger", 12345);
+		return session;
+	}
+
+	@Test
+	public void test_RoundTrip() throws IOException
+	{
+		final MapSession session = createTypicalSession();
+
+		final MapSession sessionDeserialized = MapSessionHazelcastSerializer.readSession(new DataInputStream(new ByteArrayInputStream(serializeCompact(session))));
+
+		assertThat(sessionDeserialized.getId(), is(session.getId()));
+		assertThat(sessionDeserialized.getCreationTime(), is(session.getCreationTime()));
+		assertThat(sessionDeserialized.getLastAccessedTime(), is(session.getLastAccessedTime()));
+		assertThat(sessionDeserialized.getMaxInactiveIntervalInSeconds(), is(session.getMaxInactiveIntervalInSeconds()));
+		assertThat(sessionDeserialized.getAttributeNames(), is(session.getAttributeNames()));
+		assertThat(sessionDeserialized.getAttribute("someString"), is("someValue"));
+		assertThat(sessionDeserialized.getAttribute("someInteger"), is(12345));
+
+		final Properties ctx = sessionDeserialized.getAttribute(WebRestApiContextProvider.class.getName() + ".UserSessionCtx");
+		assertThat(ctx.size(), is(50));
+		assertThat(ctx.getProperty("#ContextVariable7"), is("value7"));
+
+		final InternalUserSessionData data = sessionDeserialized.getAttribute("scopedTarget.internalUserSessionData");
+		assertThat(data.isLoggedIn(), is(true));
+		assertThat(data.getLocale(), is(Locale.GERMANY));
+		assertThat(data.getUserFullname(), is("Test User"));
+		assertThat(data.getUserEmail(), is("test@example.com"));
+		assertThat(data.getAvatarId(), is((String)null));
+		assertThat(data.getHttpCacheMaxAge(), is(60));
+		assertThat(data.isShowColumnNamesForCaption(), is(true));
+		assertThat(data.isAllowDeprecatedRestAPI(), is(false));
+	}
+
+	@Test
+	public void test_RoundTrip_StringsLongerThan64KB() throws IOException
+	{
+		final String longString = Strings.repeat("\u00e4bc", 40000); // more than 64KB when UTF-8 encoded
+
+		final Properties ctx = new Properties();
+		ctx.setProperty("#LongValue", longString);
+
+		final MapSession session = new MapSession("session-1");
+		session.setAttribute("longString", longString);
+		session.setAttribute("ctx", ctx);
+
+		final MapSession sessionDeserialized = MapSessionHazelcastSerializer.readSession(new DataInputStream(new ByteArrayInputStream(serializeCompact(session))));
+
+		assertThat(sessionDeserialized.getAttribute("longString"), is(longString));
+		final Properties ctxDeserialized = sessionDeserialized.getAttribute("ctx");
+		assertThat(ctxDeserialized.getProperty("#LongValue"), is(longString));
+	}
+
+	@Test
+	public void test_CompactIsSmallerThanJavaSerialization() throws IOException
+	{
+		final MapSession session = createTypicalSession();
+
+		assertThat(serializeCompact(session).length, lessThan(serializeJava(session).length));
+	}
+
+	public static byte[] serializeCompact(final MapSession session) throws IOException
+	{
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (final DataOutputStream out = new DataOutputStream(bytes))
+		{
+			MapSessionHazelcastSerializer.writeSession(out, session);
+		}
+		return bytes.toByteArray();
+	}
+
+	public static byte[] serializeJava(final MapSession session) throws IOException
+	{
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (final ObjectOutputStream out = new ObjectOutputStream(bytes))
+		{
+			out.writeObject(session);
+		}
+		return bytes.toByteArray();
+	}
+}
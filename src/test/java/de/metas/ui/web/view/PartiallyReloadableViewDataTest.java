@@ -0,0 +1,98 @@
+package de.metas.ui.web.view;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class PartiallyReloadableViewDataTest
+{
+	private int fullLoadsCount = 0;
+	private final List<Set<String>> partialReloads = new ArrayList<>();
+
+	private PartiallyReloadableViewData<List<String>, String> createData()
+	{
+		return PartiallyReloadableViewData.of(
+				() -> {
+					fullLoadsCount++;
+					return ImmutableList.of("data" + fullLoadsCount);
+				},
+				(currentData, keys) -> {
+					partialReloads.add(keys);
+					return ImmutableList.<String> builder().addAll(currentData).addAll(keys).build();
+				});
+	}
+
+	@Test
+	public void invalidate_whenNothingLoaded_doesNothing()
+	{
+		final PartiallyReloadableViewData<List<String>, String> data = createData();
+
+		assertFalse(data.invalidate(ImmutableSet.of("k1")));
+		assertThat(data.getIfLoaded(), nullValue());
+
+		assertThat(data.get(), contains("data1"));
+		assertThat(partialReloads, empty());
+	}
+
+	@Test
+	public void invalidate_reloadsOnlyStalePartsOnNextAccess()
+	{
+		final PartiallyReloadableViewData<List<String>, String> data = createData();
+		assertThat(data.get(), contains("data1"));
+
+		assertTrue(data.invalidate(ImmutableSet.of("k1")));
+		assertThat(data.getIfLoaded(), contains("data1"));
+
+		assertThat(data.get(), contains("data1", "k1"));
+		assertThat(data.get(), contains("data1", "k1"));
+		assertThat(partialReloads, contains(ImmutableSet.of("k1")));
+	}
+
+	@Test
+	public void invalidateAll_loadsEverythingOnNextAccess()
+	{
+		final PartiallyReloadableViewData<List<String>, String> data = createData();
+		data.get();
+		data.invalidate(ImmutableSet.of("k1"));
+
+		data.invalidateAll();
+
+		assertThat(data.getIfLoaded(), nullValue());
+		assertThat(data.get(), contains("data2"));
+		assertThat(partialReloads, empty());
+	}
+}
@@ -0,0 +1,161 @@
+package de.metas.ui.web.view.export;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import de.metas.ui.web.view.IView;
+import de.metas.ui.web.view.descriptor.ViewLayout;
+import de.metas.ui.web.window.datatypes.WindowId;
+import de.metas.ui.web.window.descriptor.DocumentFieldWidgetType;
+import de.metas.ui.web.window.descriptor.DocumentLayoutElementDescriptor;
+import de.metas.ui.web.window.descriptor.DocumentLayoutElementFieldDescriptor;
+import de.metas.ui.web.window.model.DocumentQueryOrderBy;
+import mockit.Delegate;
+import mockit.Expectations;
+import mockit.Mocked;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class ViewExporterTest
+{
+	@Mocked
+	private IView view;
+
+	private static ViewLayout createLayout()
+	{
+		return ViewLayout.builder()
+				.setWindowId(WindowId.of(123))
+				.setCaption("Test")
+				.addElement(DocumentLayoutElementDescriptor.builder()
+						.setCaption("Name")
+						.setWidgetType(DocumentFieldWidgetType.Text)
+						.addField(DocumentLayoutElementFieldDescriptor.builder("Name")))
+				.addElement(DocumentLayoutElementDescriptor.builder()
+						.setCaption("Qty")
+						.setWidgetType(DocumentFieldWidgetType.Quantity)
+						.addField(DocumentLayoutElementFieldDescriptor.builder("Qty")))
+				.build();
+	}
+
+	private void expectRows(final List<Map<String, Object>> rows)
+	{
+		new Expectations()
+		{
+			{
+				view.streamAllRowValues((List<DocumentQueryOrderBy>)any, (Consumer<Map<String, Object>>)any);
+				result = new Delegate<Void>()
+				{
+					@SuppressWarnings("unused")
+					void delegate(final List<DocumentQueryOrderBy> orderBys, final Consumer<Map<String, Object>> rowValuesConsumer)
+					{
+						rows.forEach(rowValuesConsumer);
+					}
+				};
+			}
+		};
+	}
+
+	private void expectStreamingFails(final RuntimeException exception)
+	{
+		new Expectations()
+		{
+			{
+				view.streamAllRowValues((List<DocumentQueryOrderBy>)any, (Consumer<Map<String, Object>>)any);
+				result = exception;
+			}
+		};
+	}
+
+	private static String quoteIfNeeded(final String value)
+	{
+		final StringBuilder line = new StringBuilder();
+		ViewExporter.CSVRowWriter.appendQuotedIfNeeded(line, value);
+		return line.toString();
+	}
+
+	@Test
+	public void csv_quoting()
+	{
+		assertThat(quoteIfNeeded("plain value"), is("plain value"));
+		assertThat(quoteIfNeeded(""), is(""));
+		assertThat(quoteIfNeeded("a,b"), is("\"a,b\""));
+		assertThat(quoteIfNeeded("say \"hi\""), is("\"say \"\"hi\"\"\""));
+		assertThat(quoteIfNeeded("line1\nline2"), is("\"line1\nline2\""));
+		assertThat(quoteIfNeeded("line1\r\nline2"), is("\"line1\r\nline2\""));
+	}
+
+	@Test
+	public void exportCSV() throws IOException
+	{
+		expectRows(ImmutableList.of(
+				ImmutableMap.of("Name", "Product, big", "Qty", "10"),
+				ImmutableMap.of("Name", "Product \"small\"")));
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ViewExporter.of(createLayout(), "en_US").export(view, ImmutableList.of(), ViewExportFormat.CSV, out);
+
+		assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8), is("\uFEFF"
+				+ "Name,Qty\r\n"
+				+ "\"Product, big\",10\r\n"
+				+ "\"Product \"\"small\"\"\",\r\n"));
+	}
+
+	@Test
+	public void exportXLSX_nothingWrittenWhenStreamingFails() throws IOException
+	{
+		expectStreamingFails(new IllegalStateException("streaming failed"));
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try
+		{
+			ViewExporter.of(createLayout(), "en_US").export(view, ImmutableList.of(), ViewExportFormat.XLSX, out);
+		}
+		catch (final IllegalStateException expected)
+		{
+		}
+
+		assertThat(out.size(), is(0));
+	}
+
+	@Test(expected = IOException.class)
+	public void export_unwrapsWrappedIOException() throws IOException
+	{
+		final UncheckedIOException ioException = new UncheckedIOException(new IOException("connection reset"));
+		expectStreamingFails(new RuntimeException("wrapped by the transaction", ioException));
+
+		ViewExporter.of(createLayout(), "en_US").export(view, ImmutableList.of(), ViewExportFormat.CSV, new ByteArrayOutputStream());
+	}
+}
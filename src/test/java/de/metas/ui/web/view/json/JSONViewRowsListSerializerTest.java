@@ -0,0 +1,103 @@
+package de.metas.ui.web.view.json;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+
+import de.metas.ui.web.view.IViewRow;
+import de.metas.ui.web.view.ViewRow;
+import de.metas.ui.web.view.ViewRow.DefaultRowType;
+import de.metas.ui.web.window.datatypes.WindowId;
+import de.metas.ui.web.window.datatypes.json.JSONLookupValue;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class JSONViewRowsListSerializerTest
+{
+	private static final String AD_Language = "en_US";
+
+	private ObjectMapper jsonObjectMapper;
+
+	@Before
+	public void init()
+	{
+		jsonObjectMapper = new ObjectMapper();
+	}
+
+	private void assertSameJsonAsJSONViewRows(final List<IViewRow> rows) throws Exception
+	{
+		final String jsonExpected = jsonObjectMapper.writeValueAsString(JSONViewRow.ofViewRows(rows, AD_Language));
+		final String json = jsonObjectMapper.writeValueAsString(JSONViewRowsList.of(rows, AD_Language));
+		Assert.assertEquals(jsonExpected, json);
+	}
+
+	@Test
+	public void test_empty() throws Exception
+	{
+		assertSameJsonAsJSONViewRows(ImmutableList.of());
+	}
+
+	@Test
+	public void test_simpleRows() throws Exception
+	{
+		final WindowId windowId = WindowId.of(143);
+		assertSameJsonAsJSONViewRows(ImmutableList.of(
+				ViewRow.builder(windowId)
+						.setRowIdFromObject(1)
+						.setType(DefaultRowType.Row)
+						.putFieldValue("DocumentNo", "SO1")
+						.putFieldValue("C_BPartner_ID", JSONLookupValue.of(2000000, "Business Partner"))
+						.putFieldValue("GrandTotal", new BigDecimal("1234.56"))
+						.putFieldValue("IsSOTrx", true)
+						.build(),
+				ViewRow.builder(windowId)
+						.setRowIdFromObject(2)
+						.setProcessed(true)
+						.putFieldValue("DocumentNo", "SO2")
+						.build()));
+	}
+
+	@Test
+	public void test_includedRows() throws Exception
+	{
+		final WindowId windowId = WindowId.of(143);
+		final IViewRow line = ViewRow.builder(windowId)
+				.setRowIdFromObject(11)
+				.setType(DefaultRowType.Line)
+				.putFieldValue("Line", 10)
+				.build();
+
+		assertSameJsonAsJSONViewRows(ImmutableList.of(
+				ViewRow.builder(windowId)
+						.setRowIdFromObject(1)
+						.putFieldValue("DocumentNo", "SO1")
+						.addIncludedRow(line)
+						.build()));
+	}
+}
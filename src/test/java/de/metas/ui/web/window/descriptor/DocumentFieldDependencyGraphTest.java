@@ -0,0 +1,137 @@
+package de.metas.ui.web.window.descriptor;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.ui.web.window.descriptor.DocumentFieldDependencyGraph.PendingUpdate;
+import de.metas.ui.web.window.descriptor.DocumentFieldDependencyMap.DependencyType;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class DocumentFieldDependencyGraphTest
+{
+	/**
+	 * <pre>
+	 * A -> B (display logic)
+	 * B -> C (field value)
+	 * A -> C (readonly logic)
+	 * C -> D (mandatory logic)
+	 * </pre>
+	 */
+	private static DocumentFieldDependencyGraph createGraph()
+	{
+		final DocumentFieldDependencyMap dependencies = DocumentFieldDependencyMap.builder()
+				.add("D", ImmutableList.of("C"), DependencyType.MandatoryLogic)
+				.add("C", ImmutableList.of("A"), DependencyType.ReadonlyLogic)
+				.add("C", ImmutableList.of("B"), DependencyType.FieldValue)
+				.add("B", ImmutableList.of("A"), DependencyType.DisplayLogic)
+				.build();
+		return DocumentFieldDependencyGraph.of(dependencies);
+	}
+
+	private static List<String> drain(final DocumentFieldDependencyGraph.Propagation propagation, final String valueChangingFieldName)
+	{
+		final List<String> updates = new ArrayList<>();
+		while (propagation.hasNext())
+		{
+			final PendingUpdate update = propagation.next();
+			updates.add(update.getDependentFieldName() + "/" + update.getDependencyType());
+
+			if (update.getDependentFieldName().equals(valueChangingFieldName))
+			{
+				propagation.addDependenciesOf(valueChangingFieldName);
+			}
+		}
+		return updates;
+	}
+
+	@Test
+	public void directDependenciesAreOrderedTopologically()
+	{
+		final DocumentFieldDependencyGraph graph = createGraph();
+
+		assertThat(graph.getDependencies("A").size(), is(2));
+		assertThat(graph.getDependencies("A").get(0).getDependentFieldName(), is("B"));
+		assertThat(graph.getDependencies("A").get(1).getDependentFieldName(), is("C"));
+	}
+
+	@Test
+	public void propagation_eachDependencyOnlyOnce()
+	{
+		final DocumentFieldDependencyGraph graph = createGraph();
+
+		final List<String> updates = drain(graph.newPropagation().addDependenciesOf("A").addDependenciesOf("B"), "C");
+
+		assertThat(updates, contains("B/DisplayLogic", "C/ReadonlyLogic", "C/FieldValue", "D/MandatoryLogic"));
+	}
+
+	/** A change set where the fields are changed in reverse topological order is still evaluated once, in topological order */
+	@Test
+	public void propagation_changeSet()
+	{
+		final DocumentFieldDependencyGraph graph = createGraph();
+
+		final List<String> updates = drain(graph.newPropagation().addDependenciesOf("C").addDependenciesOf("B").addDependenciesOf("A"), null);
+
+		assertThat(updates, contains("B/DisplayLogic", "C/ReadonlyLogic", "C/FieldValue", "D/MandatoryLogic"));
+	}
+
+	@Test
+	public void propagation_noValueChange_stopsAtDirectDependencies()
+	{
+		final DocumentFieldDependencyGraph graph = createGraph();
+
+		final List<String> updates = drain(graph.newPropagation().addDependenciesOf("A"), null);
+
+		assertThat(updates, contains("B/DisplayLogic", "C/ReadonlyLogic"));
+	}
+
+	@Test
+	public void cycles_areTolerated()
+	{
+		final DocumentFieldDependencyMap dependencies = DocumentFieldDependencyMap.builder()
+				.add("B", ImmutableList.of("A"), DependencyType.FieldValue)
+				.add("A", ImmutableList.of("B"), DependencyType.FieldValue)
+				.build();
+		final DocumentFieldDependencyGraph graph = DocumentFieldDependencyGraph.of(dependencies);
+
+		final DocumentFieldDependencyGraph.Propagation propagation = graph.newPropagation().addDependenciesOf("A");
+		final List<String> updates = new ArrayList<>();
+		while (propagation.hasNext())
+		{
+			final PendingUpdate update = propagation.next();
+			updates.add(update.getDependentFieldName());
+			propagation.addDependenciesOf(update.getDependentFieldName());
+		}
+
+		assertThat(updates, contains("B", "A"));
+	}
+}
@@ -0,0 +1,136 @@
+package de.metas.ui.web.window.model;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.adempiere.test.AdempiereTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.ui.web.window.datatypes.DocumentId;
+import de.metas.ui.web.window.datatypes.DocumentType;
+import de.metas.ui.web.window.datatypes.LookupValue.IntegerLookupValue;
+import de.metas.ui.web.window.datatypes.json.JSONDocumentChangedEvent;
+import de.metas.ui.web.window.descriptor.DocumentEntityDataBindingDescriptor;
+import de.metas.ui.web.window.descriptor.DocumentEntityDescriptor;
+import de.metas.ui.web.window.descriptor.DocumentFieldDescriptor;
+import de.metas.ui.web.window.descriptor.DocumentFieldWidgetType;
+import de.metas.ui.web.window.model.IDocumentChangesCollector.ReasonSupplier;
+import de.metas.ui.web.window.model.lookup.ProductsByCategoryLookupDescriptor;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Checks that the value of a lookup field is validated each time a field its lookup depends on is changed.
+ */
+public class Document_lookupValueStillValid_Test
+{
+	private static final String FIELDNAME_Category = ProductsByCategoryLookupDescriptor.PARAM_Category;
+	private static final String FIELDNAME_Product = "Product";
+
+	private Document document;
+
+	@Before
+	public void init()
+	{
+		AdempiereTestHelper.get().init();
+
+		final DocumentEntityDataBindingDescriptor dataBinding = () -> {
+			throw new IllegalStateException("No repository available");
+		};
+
+		final DocumentEntityDescriptor.Builder entityDescriptor = DocumentEntityDescriptor.builder()
+				.setDocumentType(DocumentType.Window, 1)
+				.setCaption("Test")
+				.setDataBinding(() -> dataBinding)
+				.disableCallouts()
+				.disableDefaultTableCallouts();
+		entityDescriptor.addField(DocumentFieldDescriptor.builder(FIELDNAME_Category)
+				.setCaption(FIELDNAME_Category)
+				.setValueClass(String.class)
+				.setWidgetType(DocumentFieldWidgetType.Text)
+				.setLookupDescriptorProvider_None());
+		entityDescriptor.addField(DocumentFieldDescriptor.builder(FIELDNAME_Product)
+				.setCaption(FIELDNAME_Product)
+				.setValueClass(IntegerLookupValue.class)
+				.setWidgetType(DocumentFieldWidgetType.List)
+				.setLookupDescriptorProvider(new ProductsByCategoryLookupDescriptor()));
+
+		document = Document.builder(entityDescriptor.build())
+				.initializeAsNewDocument(DocumentId.of(1), "0");
+	}
+
+	private void processValueChange(final String fieldName, final Object value)
+	{
+		document.processValueChanges(ImmutableList.of(JSONDocumentChangedEvent.replace(fieldName, value)), ReasonSupplier.NONE);
+	}
+
+	private Integer getProductId()
+	{
+		final IntegerLookupValue product = document.getFieldView(FIELDNAME_Product).getValueAs(IntegerLookupValue.class);
+		return product != null ? product.getIdAsInt() : null;
+	}
+
+	@Test
+	public void valueIsResetWhenNoLongerValid()
+	{
+		processValueChange(FIELDNAME_Category, "A");
+		processValueChange(FIELDNAME_Product, 1);
+		assertThat(getProductId(), is(1));
+
+		processValueChange(FIELDNAME_Category, "B");
+		assertThat(getProductId(), nullValue());
+	}
+
+	@Test
+	public void twoChangesInARow()
+	{
+		processValueChange(FIELDNAME_Category, "A");
+		processValueChange(FIELDNAME_Product, 2);
+
+		// lookup values are staled now, but product 2 is still valid
+		processValueChange(FIELDNAME_Category, "B");
+		assertThat(getProductId(), is(2));
+		assertThat(document.getFieldView(FIELDNAME_Product).isLookupValuesStale(), is(true));
+
+		// lookup values were already staled, but the product shall be checked again
+		processValueChange(FIELDNAME_Category, "C");
+		assertThat(getProductId(), nullValue());
+	}
+
+	@Test
+	public void twoChangesInARow_sameChangeSet()
+	{
+		processValueChange(FIELDNAME_Category, "A");
+		processValueChange(FIELDNAME_Product, 2);
+
+		document.processValueChanges(ImmutableList.of(
+				JSONDocumentChangedEvent.replace(FIELDNAME_Category, "B"),
+				JSONDocumentChangedEvent.replace(FIELDNAME_Category, "C")),
+				ReasonSupplier.NONE);
+		assertThat(getProductId(), nullValue());
+	}
+}
@@ -0,0 +1,120 @@
+package de.metas.ui.web.window.model;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.adempiere.ad.expression.api.impl.LogicExpressionCompiler;
+import org.adempiere.test.AdempiereTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.ui.web.window.datatypes.DocumentId;
+import de.metas.ui.web.window.datatypes.DocumentType;
+import de.metas.ui.web.window.datatypes.json.JSONDocumentChangedEvent;
+import de.metas.ui.web.window.descriptor.DocumentEntityDataBindingDescriptor;
+import de.metas.ui.web.window.descriptor.DocumentEntityDescriptor;
+import de.metas.ui.web.window.descriptor.DocumentFieldDescriptor;
+import de.metas.ui.web.window.descriptor.DocumentFieldWidgetType;
+import de.metas.ui.web.window.exceptions.DocumentFieldReadonlyException;
+import de.metas.ui.web.window.model.IDocumentChangesCollector.ReasonSupplier;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class Document_processValueChanges_Test
+{
+	private static final String FIELDNAME_IsLocked = "IsLocked";
+	private static final String FIELDNAME_Description = "Description";
+
+	private Document document;
+
+	@Before
+	public void init()
+	{
+		AdempiereTestHelper.get().init();
+
+		final DocumentEntityDataBindingDescriptor dataBinding = () -> {
+			throw new IllegalStateException("No repository available");
+		};
+
+		final DocumentEntityDescriptor.Builder entityDescriptor = DocumentEntityDescriptor.builder()
+				.setDocumentType(DocumentType.Window, 1)
+				.setCaption("Test")
+				.setDataBinding(() -> dataBinding)
+				.disableCallouts()
+				.disableDefaultTableCallouts();
+		entityDescriptor.addField(DocumentFieldDescriptor.builder(FIELDNAME_IsLocked)
+				.setCaption(FIELDNAME_IsLocked)
+				.setValueClass(Boolean.class)
+				.setWidgetType(DocumentFieldWidgetType.YesNo)
+				.setLookupDescriptorProvider_None());
+		entityDescriptor.addField(DocumentFieldDescriptor.builder(FIELDNAME_Description)
+				.setCaption(FIELDNAME_Description)
+				.setValueClass(String.class)
+				.setWidgetType(DocumentFieldWidgetType.Text)
+				.setLookupDescriptorProvider_None()
+				.setReadonlyLogic(LogicExpressionCompiler.instance.compile("@" + FIELDNAME_IsLocked + "/N@=Y")));
+
+		document = Document.builder(entityDescriptor.build())
+				.initializeAsNewDocument(DocumentId.of(1), "0");
+	}
+
+	private void processValueChanges(final JSONDocumentChangedEvent... events)
+	{
+		document.processValueChanges(ImmutableList.copyOf(events), ReasonSupplier.NONE);
+	}
+
+	@Test(expected = DocumentFieldReadonlyException.class)
+	public void secondChangeTargetsFieldMadeReadonlyByFirstChange()
+	{
+		processValueChanges(
+				JSONDocumentChangedEvent.replace(FIELDNAME_IsLocked, true),
+				JSONDocumentChangedEvent.replace(FIELDNAME_Description, "changed"));
+	}
+
+	@Test
+	public void secondChangeTargetsFieldMadeWritableByFirstChange()
+	{
+		processValueChanges(JSONDocumentChangedEvent.replace(FIELDNAME_IsLocked, true));
+		assertThat(document.getFieldView(FIELDNAME_Description).isReadonly(), is(true));
+
+		processValueChanges(
+				JSONDocumentChangedEvent.replace(FIELDNAME_IsLocked, false),
+				JSONDocumentChangedEvent.replace(FIELDNAME_Description, "changed"));
+
+		assertThat(document.getFieldView(FIELDNAME_Description).isReadonly(), is(false));
+		assertThat(document.getFieldView(FIELDNAME_Description).getValue(), is("changed"));
+	}
+
+	@Test
+	public void dependenciesAreUpdatedWhenChangeSetIsCompleted()
+	{
+		processValueChanges(
+				JSONDocumentChangedEvent.replace(FIELDNAME_Description, "changed"),
+				JSONDocumentChangedEvent.replace(FIELDNAME_IsLocked, true));
+
+		assertThat(document.getFieldView(FIELDNAME_Description).isReadonly(), is(true));
+		assertThat(document.getFieldView(FIELDNAME_Description).getValue(), is("changed"));
+	}
+}
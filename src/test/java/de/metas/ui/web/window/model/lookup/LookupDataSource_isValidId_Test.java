@@ -0,0 +1,74 @@
+package de.metas.ui.web.window.model.lookup;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.adempiere.test.AdempiereTestHelper;
+import org.compiere.util.Evaluatee;
+import org.compiere.util.Evaluatees;
+import org.junit.Before;
+import org.junit.Test;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class LookupDataSource_isValidId_Test
+{
+	@Before
+	public void init()
+	{
+		AdempiereTestHelper.get().init();
+	}
+
+	private static Evaluatee category(final String category)
+	{
+		return Evaluatees.ofSingleton(ProductsByCategoryLookupDescriptor.PARAM_Category, category);
+	}
+
+	private static void assertValidIds(final LookupDataSource lookupDataSource)
+	{
+		assertThat(lookupDataSource.isValidId(category("A"), 1), is(true));
+		assertThat(lookupDataSource.isValidId(category("A"), 2), is(true));
+		assertThat(lookupDataSource.isValidId(category("A"), 3), is(false));
+
+		assertThat(lookupDataSource.isValidId(category("B"), 1), is(false));
+		assertThat(lookupDataSource.isValidId(category("B"), 2), is(true));
+		assertThat(lookupDataSource.isValidId(category("B"), 3), is(true));
+
+		assertThat(lookupDataSource.isValidId(category("C"), 2), is(false));
+		assertThat(lookupDataSource.isValidId(category("C"), "3"), is(true)); // ID is normalized
+
+		assertThat(lookupDataSource.isValidId(category("A"), null), is(false));
+	}
+
+	@Test
+	public void lookupDataSourceAdapter()
+	{
+		assertValidIds(LookupDataSourceAdapter.of(new ProductsByCategoryLookupDescriptor()));
+	}
+
+	@Test
+	public void fullyCachedLookupDataSource()
+	{
+		assertValidIds(FullyCachedLookupDataSource.of(new ProductsByCategoryLookupDescriptor()));
+	}
+}
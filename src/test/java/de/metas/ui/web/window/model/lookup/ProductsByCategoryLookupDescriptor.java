@@ -0,0 +1,97 @@
+package de.metas.ui.web.window.model.lookup;
+
+import java.util.Optional;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableSet;
+
+import de.metas.ui.web.window.datatypes.LookupValue;
+import de.metas.ui.web.window.datatypes.LookupValue.IntegerLookupValue;
+import de.metas.ui.web.window.datatypes.LookupValuesList;
+import de.metas.ui.web.window.descriptor.SimpleLookupDescriptorTemplate;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * In memory lookup of products, depending on the {@value #PARAM_Category} parameter.
+ * <p>
+ * Products: 1, 2 in category A; 2, 3 in category B; 3 in category C.
+ */
+public class ProductsByCategoryLookupDescriptor extends SimpleLookupDescriptorTemplate
+{
+	public static final String PARAM_Category = "Category";
+
+	private static final ImmutableListMultimap<String, Integer> productIdsByCategory = ImmutableListMultimap.<String, Integer> builder()
+			.putAll("A", 1, 2)
+			.putAll("B", 2, 3)
+			.putAll("C", 3)
+			.build();
+
+	private static LookupValue toLookupValue(final int productId)
+	{
+		return IntegerLookupValue.of(productId, "Product" + productId);
+	}
+
+	@Override
+	public boolean isNumericKey()
+	{
+		return true;
+	}
+
+	@Override
+	public Set<String> getDependsOnFieldNames()
+	{
+		return ImmutableSet.of(PARAM_Category);
+	}
+
+	@Override
+	public Optional<String> getLookupTableName()
+	{
+		return Optional.empty();
+	}
+
+	@Override
+	public LookupDataSourceContext.Builder newContextForFetchingList()
+	{
+		return super.newContextForFetchingList()
+				.requiresParameter(PARAM_Category);
+	}
+
+	@Override
+	public LookupValue retrieveLookupValueById(final LookupDataSourceContext evalCtx)
+	{
+		final int productId = evalCtx.getIdToFilterAsInt(-1);
+		return productIdsByCategory.containsValue(productId) ? toLookupValue(productId) : LOOKUPVALUE_NULL;
+	}
+
+	@Override
+	public LookupValuesList retrieveEntities(final LookupDataSourceContext evalCtx)
+	{
+		final String category = evalCtx.get_ValueAsString(PARAM_Category);
+		return productIdsByCategory.get(category)
+				.stream()
+				.map(ProductsByCategoryLookupDescriptor::toLookupValue)
+				.collect(LookupValuesList.collect());
+	}
+}
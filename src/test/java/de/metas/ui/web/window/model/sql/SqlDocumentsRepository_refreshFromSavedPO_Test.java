@@ -0,0 +1,212 @@
+package de.metas.ui.web.window.model.sql;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import org.adempiere.test.AdempiereTestHelper;
+import org.compiere.model.PO;
+import org.compiere.model.POInfo;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.ui.web.window.datatypes.DocumentId;
+import de.metas.ui.web.window.datatypes.DocumentType;
+import de.metas.ui.web.window.datatypes.json.JSONDocumentChangedEvent;
+import de.metas.ui.web.window.descriptor.DocumentEntityDataBindingDescriptor;
+import de.metas.ui.web.window.descriptor.DocumentEntityDescriptor;
+import de.metas.ui.web.window.descriptor.DocumentFieldDescriptor;
+import de.metas.ui.web.window.descriptor.DocumentFieldWidgetType;
+import de.metas.ui.web.window.descriptor.sql.SqlDocumentEntityDataBindingDescriptor;
+import de.metas.ui.web.window.descriptor.sql.SqlDocumentFieldDataBindingDescriptor;
+import de.metas.ui.web.window.model.Document;
+import de.metas.ui.web.window.model.IDocumentChangesCollector.ReasonSupplier;
+import de.metas.ui.web.window.model.sql.SqlDocumentsRepository.SavedFieldRefreshType;
+import mockit.Expectations;
+import mockit.Mocked;
+
+/*
+ * #%L
+ * metasfresh-webui-api
+ * %%
+ * Copyright (C) 2017 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class SqlDocumentsRepository_refreshFromSavedPO_Test
+{
+	private static final String TABLENAME = "Test_Table";
+
+	@Mocked
+	private PO po;
+	@Mocked
+	private POInfo poInfo;
+
+	@Test
+	public void existingRecord_fieldNotChangedOnSave()
+	{
+		Assert.assertEquals(SavedFieldRefreshType.KeepDocumentValue, refreshType(false, true, false, false));
+		Assert.assertEquals(SavedFieldRefreshType.KeepDocumentValue, refreshType(false, true, false, true));
+	}
+
+	@Test
+	public void existingRecord_fieldChangedOnSave()
+	{
+		Assert.assertEquals(SavedFieldRefreshType.TakePOValue, refreshType(false, true, true, false));
+		Assert.assertEquals(SavedFieldRefreshType.Requery, refreshType(false, true, true, true));
+	}
+
+	@Test
+	public void virtualColumn_alwaysRequeried()
+	{
+		Assert.assertEquals(SavedFieldRefreshType.Requery, refreshType(true, true, false, false));
+		Assert.assertEquals(SavedFieldRefreshType.Requery, refreshType(true, false, false, false));
+		Assert.assertEquals(SavedFieldRefreshType.Requery, refreshType(true, true, false, true));
+	}
+
+	@Test
+	public void notAPOColumn_alwaysRequeried()
+	{
+		Assert.assertEquals(SavedFieldRefreshType.Requery, refreshType(false, false, false, false));
+	}
+
+	@Test
+	public void version_entityWithVersionField()
+	{
+		final Date updated = new Date(1500000000123L);
+		Assert.assertEquals("1500000000123", SqlDocumentsRepository.getSavedVersion(true, updated));
+		Assert.assertEquals("0", SqlDocumentsRepository.getSavedVersion(true, null));
+	}
+
+	/**
+	 * Included documents (e.g. tabs without the Updated field) are loaded with the default version, even if their table has the Updated column,
+	 * so after save they shall have the default version too.
+	 */
+	@Test
+	public void version_includedEntityWithoutVersionField()
+	{
+		final Date updated = new Date(1500000000123L);
+		Assert.assertEquals("0", SqlDocumentsRepository.getSavedVersion(false, updated));
+		Assert.assertEquals("0", SqlDocumentsRepository.getSavedVersion(false, null));
+	}
+
+	/**
+	 * Refreshes a document from a saved PO which has:
+	 * <ul>
+	 * <li>Description: not changed on save
+	 * <li>Name: changed on save (e.g. by a model interceptor)
+	 * <li>Qty: set on save (e.g. by database default), while the document value was null
+	 * </ul>
+	 */
+	@Test
+	public void refreshFromSavedPO()
+	{
+		AdempiereTestHelper.get().init();
+
+		final Document document = Document.builder(createEntityDescriptor())
+				.initializeAsNewDocument(DocumentId.of(1), "0");
+		document.processValueChanges(ImmutableList.of(
+				JSONDocumentChangedEvent.replace("Description", "description"),
+				JSONDocumentChangedEvent.replace("Name", "name")),
+				ReasonSupplier.NONE);
+
+		new Expectations()
+		{
+			{
+				po.getPOInfo();
+				result = poInfo;
+				poInfo.getColumnIndex(SqlDocumentEntityDataBindingDescriptor.FIELDNAME_Version);
+				result = -1;
+				poInfo.isVirtualColumn(anyInt);
+				result = false;
+
+				poInfo.getColumnIndex("Description");
+				result = 1;
+				poInfo.getColumnClass(1);
+				result = String.class;
+				po.get_Value(1);
+				result = "description";
+
+				poInfo.getColumnIndex("Name");
+				result = 2;
+				poInfo.getColumnClass(2);
+				result = String.class;
+				po.get_Value(2);
+				result = "name changed on save";
+
+				poInfo.getColumnIndex("Qty");
+				result = 3;
+				poInfo.getColumnClass(3);
+				result = BigDecimal.class;
+				po.get_Value(3);
+				result = new BigDecimal("10");
+			}
+		};
+
+		SqlDocumentsRepository.instance.refreshFromSavedPO(document, DocumentId.of(1), po);
+
+		Assert.assertEquals("description", document.getFieldView("Description").getValue());
+		Assert.assertEquals("name changed on save", document.getFieldView("Name").getValue());
+		Assert.assertEquals(new BigDecimal("10"), document.getFieldView("Qty").getValue());
+		Assert.assertFalse(document.getFieldView("Name").hasChangesToSave());
+		Assert.assertFalse(document.getFieldView("Qty").hasChangesToSave());
+	}
+
+	private static DocumentEntityDescriptor createEntityDescriptor()
+	{
+		final DocumentEntityDataBindingDescriptor dataBinding = () -> {
+			throw new IllegalStateException("No repository available");
+		};
+
+		final DocumentEntityDescriptor.Builder entityDescriptor = DocumentEntityDescriptor.builder()
+				.setDocumentType(DocumentType.Window, 1)
+				.setCaption("Test")
+				.setDataBinding(() -> dataBinding)
+				.disableCallouts()
+				.disableDefaultTableCallouts();
+		entityDescriptor.addField(createFieldDescriptor("Description", String.class, DocumentFieldWidgetType.Text));
+		entityDescriptor.addField(createFieldDescriptor("Name", String.class, DocumentFieldWidgetType.Text));
+		entityDescriptor.addField(createFieldDescriptor("Qty", BigDecimal.class, DocumentFieldWidgetType.Quantity));
+		return entityDescriptor.build();
+	}
+
+	private static DocumentFieldDescriptor.Builder createFieldDescriptor(final String fieldName, final Class<?> valueClass, final DocumentFieldWidgetType widgetType)
+	{
+		return DocumentFieldDescriptor.builder(fieldName)
+				.setCaption(fieldName)
+				.setValueClass(valueClass)
+				.setWidgetType(widgetType)
+				.setLookupDescriptorProvider_None()
+				.setDataBinding(SqlDocumentFieldDataBindingDescriptor.builder()
+						.setFieldName(fieldName)
+						.setTableName(TABLENAME)
+						.setTableAlias("master")
+						.setColumnName(fieldName)
+						.setColumnSql(fieldName)
+						.setVirtualColumn(false)
+						.setValueClass(valueClass)
+						.setWidgetType(widgetType)
+						.setSqlValueClass(valueClass)
+						.build());
+	}
+
+	private static SavedFieldRefreshType refreshType(final boolean virtualColumn, final boolean poColumnExists, final boolean changedOnSave, final boolean needsDisplayValue)
+	{
+		return SqlDocumentsRepository.getSavedFieldRefreshType(virtualColumn, poColumnExists, changedOnSave, needsDisplayValue);
+	}
+}